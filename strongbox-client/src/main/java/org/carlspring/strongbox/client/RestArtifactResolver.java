@@ -6,6 +6,8 @@ import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.Feature;
 import javax.ws.rs.core.Response;
 import java.io.Closeable;
+import java.util.Collections;
+import java.util.Map;
 
 import org.apache.http.client.config.RequestConfig;
 import org.glassfish.jersey.apache.connector.ApacheClientProperties;
@@ -54,6 +56,20 @@ public class RestArtifactResolver
         return true;
     }
 
+    /**
+     * Records the successful (responsive) request to the remote repository.
+     */
+    public void recordSuccess()
+    {
+    }
+
+    /**
+     * Records the failed request to the remote repository, like the connection failure or the server error.
+     */
+    public void recordFailure()
+    {
+    }
+
     @Override
     public void close()
     {
@@ -70,6 +86,16 @@ public class RestArtifactResolver
 
     public CloseableRestResponse get(String path,
                                      long offset)
+    {
+        return get(path, offset, Collections.emptyMap());
+    }
+
+    /**
+     * @param headers the additional request headers, like the conditional request headers
+     */
+    public CloseableRestResponse get(String path,
+                                     long offset,
+                                     Map<String, String> headers)
     {
         String url = escapeUrl(path);
 
@@ -80,6 +106,8 @@ public class RestArtifactResolver
                                                       .build();
 
         Invocation.Builder request = resource.request();
+        headers.forEach(request::header);
+
         Response response;
 
         if (offset > 0)
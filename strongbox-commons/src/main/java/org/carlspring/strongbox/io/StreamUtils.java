@@ -6,6 +6,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 
 import org.carlspring.commons.http.range.ByteRange;
 import org.springframework.util.ReflectionUtils;
@@ -13,6 +17,8 @@ import org.springframework.util.ReflectionUtils;
 public class StreamUtils
 {
 
+    public static final int TRANSFER_BUFFER_SIZE = 64 * 1024;
+
     private StreamUtils()
     {
 
@@ -54,7 +60,7 @@ public class StreamUtils
             {
                 return null;
             }
-            if (sourceClass.isAssignableFrom(source.getClass()))
+            if (source != null && sourceClass.isAssignableFrom(source.getClass()))
             {
                 return sourceClass.cast(source);
             }
@@ -84,7 +90,7 @@ public class StreamUtils
             {
                 return null;
             }
-            if (sourceClass.isAssignableFrom(source.getClass()))
+            if (source != null && sourceClass.isAssignableFrom(source.getClass()))
             {
                 return sourceClass.cast(source);
             }
@@ -93,4 +99,61 @@ public class StreamUtils
         return null;
     }
 
+    /**
+     * Transfers the remaining content of the source {@link FileChannel} into the target channel using
+     * {@link FileChannel#transferTo(long, long, WritableByteChannel)}, which allows the OS to avoid copying
+     * the data through the user space where the target channel supports it.
+     *
+     * @return the number of transferred bytes
+     */
+    public static long transfer(FileChannel source,
+                                WritableByteChannel target)
+        throws IOException
+    {
+        long size = source.size();
+        long position = source.position();
+        long totalBytes = 0L;
+
+        while (position < size)
+        {
+            long transferredBytes = source.transferTo(position, size - position, target);
+            if (transferredBytes <= 0)
+            {
+                break;
+            }
+
+            position += transferredBytes;
+            totalBytes += transferredBytes;
+        }
+
+        source.position(position);
+
+        return totalBytes;
+    }
+
+    /**
+     * Transfers the content of the source channel into the target channel through a single direct buffer.
+     *
+     * @return the number of transferred bytes
+     */
+    public static long transfer(ReadableByteChannel source,
+                                WritableByteChannel target)
+        throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(TRANSFER_BUFFER_SIZE);
+        long totalBytes = 0L;
+
+        while (source.read(buffer) != -1)
+        {
+            buffer.flip();
+            while (buffer.hasRemaining())
+            {
+                totalBytes += target.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        return totalBytes;
+    }
+
 }
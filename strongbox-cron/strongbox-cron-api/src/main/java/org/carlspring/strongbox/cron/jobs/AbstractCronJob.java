@@ -43,7 +43,7 @@ public abstract class AbstractCronJob
     @Inject
     protected CronTaskConfigurationService cronTaskConfigurationService;
 
-    private String status = CronJobStatusEnum.SLEEPING.getStatus();
+    private volatile String status = CronJobStatusEnum.SLEEPING.getStatus();
 
     public abstract void executeTask(CronTaskConfigurationDto config)
             throws Throwable;
@@ -0,0 +1,25 @@
+package org.carlspring.strongbox.cron.jobs.fields;
+
+import javax.annotation.concurrent.Immutable;
+
+@Immutable
+public class CronJobLongTypeField
+        extends CronJobTypeField
+{
+
+    public CronJobLongTypeField()
+    {
+        this(null);
+    }
+
+    public CronJobLongTypeField(CronJobField field)
+    {
+        super(field);
+    }
+
+    @Override
+    public String getValue()
+    {
+        return long.class.getSimpleName();
+    }
+}
@@ -0,0 +1,115 @@
+package org.carlspring.strongbox.cron.jobs;
+
+import org.carlspring.strongbox.cron.CronJobStatusEnum;
+import org.carlspring.strongbox.cron.domain.CronTaskConfigurationDto;
+import org.carlspring.strongbox.cron.jobs.fields.*;
+import org.carlspring.strongbox.providers.repository.proxied.LocalStorageProxyRepositoryCacheEvictor;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryCacheEvictionPolicy;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryCacheEvictionResult;
+
+import javax.inject.Inject;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Evicts the proxied artifacts from the proxy repository, once the repository exceeds its storage budget.
+ */
+public class EvictProxyRepositoryCacheCronJob
+        extends JavaCronJob
+{
+
+    private static final String PROPERTY_STORAGE_ID = "storageId";
+
+    private static final String PROPERTY_REPOSITORY_ID = "repositoryId";
+
+    private static final String PROPERTY_MAX_SIZE_IN_BYTES = "maxSizeInBytes";
+
+    private static final String PROPERTY_LOW_WATERMARK_PERCENTAGE = "lowWatermarkPercentage";
+
+    private static final String PROPERTY_EVICTION_POLICY = "evictionPolicy";
+
+    private static final String PROPERTY_BATCH_SIZE = "batchSize";
+
+    private static final int DEFAULT_LOW_WATERMARK_PERCENTAGE = 90;
+
+    private static final int DEFAULT_BATCH_SIZE = 100;
+
+    private static final Set<CronJobField> FIELDS = ImmutableSet.of(
+            new CronJobStorageIdAutocompleteField(new CronJobStringTypeField(
+                    new CronJobRequiredField(new CronJobNamedField(PROPERTY_STORAGE_ID)))),
+            new CronJobRepositoryIdAutocompleteField(new CronJobStringTypeField(
+                    new CronJobRequiredField(new CronJobNamedField(PROPERTY_REPOSITORY_ID)))),
+            new CronJobLongTypeField(
+                    new CronJobRequiredField(new CronJobNamedField(PROPERTY_MAX_SIZE_IN_BYTES))),
+            new CronJobIntegerTypeField(
+                    new CronJobOptionalField(new CronJobNamedField(PROPERTY_LOW_WATERMARK_PERCENTAGE))),
+            new CronJobStringTypeField(
+                    new CronJobOptionalField(new CronJobNamedField(PROPERTY_EVICTION_POLICY))),
+            new CronJobIntegerTypeField(
+                    new CronJobOptionalField(new CronJobNamedField(PROPERTY_BATCH_SIZE))));
+
+    @Inject
+    private LocalStorageProxyRepositoryCacheEvictor localStorageProxyRepositoryCacheEvictor;
+
+    @Override
+    public void executeTask(final CronTaskConfigurationDto config)
+            throws Throwable
+    {
+        final String storageId = config.getRequiredProperty(PROPERTY_STORAGE_ID);
+        final String repositoryId = config.getRequiredProperty(PROPERTY_REPOSITORY_ID);
+
+        final long maxSizeInBytes;
+        final int lowWatermarkPercentage;
+        final int batchSize;
+        final ProxyRepositoryCacheEvictionPolicy evictionPolicy;
+        try
+        {
+            maxSizeInBytes = Long.parseLong(config.getRequiredProperty(PROPERTY_MAX_SIZE_IN_BYTES));
+            lowWatermarkPercentage = getIntProperty(config, PROPERTY_LOW_WATERMARK_PERCENTAGE,
+                                                    DEFAULT_LOW_WATERMARK_PERCENTAGE);
+            batchSize = getIntProperty(config, PROPERTY_BATCH_SIZE, DEFAULT_BATCH_SIZE);
+
+            String evictionPolicyText = config.getProperty(PROPERTY_EVICTION_POLICY);
+            evictionPolicy = evictionPolicyText == null ? ProxyRepositoryCacheEvictionPolicy.LRU
+                                                        : ProxyRepositoryCacheEvictionPolicy.valueOf(
+                                                                evictionPolicyText.trim().toUpperCase());
+        }
+        catch (IllegalArgumentException ex)
+        {
+            logger.error("Invalid properties of the proxy repository cache eviction. Cron job won't be fired.", ex);
+            return;
+        }
+
+        final long lowWatermarkInBytes = maxSizeInBytes / 100 * Math.min(100, Math.max(0, lowWatermarkPercentage));
+
+        // The evicted artifacts and bytes are reported through the task status while the eviction is running.
+        ProxyRepositoryCacheEvictionResult result = localStorageProxyRepositoryCacheEvictor.evict(
+                storageId, repositoryId, maxSizeInBytes, lowWatermarkInBytes, evictionPolicy, batchSize,
+                r -> setStatus(String.format("%s: %s", CronJobStatusEnum.EXECUTING.getStatus(), r)));
+
+        logger.info(String.format("Proxy repository [%s:%s] cache eviction completed: %s", storageId, repositoryId,
+                                  result));
+    }
+
+    private int getIntProperty(CronTaskConfigurationDto config,
+                               String name,
+                               int defaultValue)
+    {
+        String value = config.getProperty(name);
+
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    @Override
+    public CronJobDefinition getCronJobDefinition()
+    {
+        return CronJobDefinition.newBuilder()
+                                .jobClass(EvictProxyRepositoryCacheCronJob.class.getName())
+                                .name("Evict Proxy Repository Cache Cron Job")
+                                .description("Evict Proxy Repository Cache Cron Job")
+                                .fields(FIELDS)
+                                .build();
+    }
+
+}
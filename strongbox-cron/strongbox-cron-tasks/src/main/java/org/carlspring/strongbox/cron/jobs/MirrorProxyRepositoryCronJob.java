@@ -0,0 +1,151 @@
+package org.carlspring.strongbox.cron.jobs;
+
+import org.carlspring.strongbox.booters.PropertiesBooter;
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.cron.CronJobStatusEnum;
+import org.carlspring.strongbox.cron.domain.CronTaskConfigurationDto;
+import org.carlspring.strongbox.cron.jobs.fields.*;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryMirror;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryMirrorListFormat;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryMirrorProgress;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Pre-warms the proxy repository from the list of the artifacts, like the Maven dependency list, the NPM
+ * <code>package-lock.json</code> or the NuGet <code>packages.lock.json</code>. The list is read from within the vault
+ * directory (the relative list path is resolved against it), so the task can't be used to read the other files of the
+ * server.
+ */
+public class MirrorProxyRepositoryCronJob
+        extends JavaCronJob
+{
+
+    private static final String PROPERTY_STORAGE_ID = "storageId";
+
+    private static final String PROPERTY_REPOSITORY_ID = "repositoryId";
+
+    private static final String PROPERTY_LIST_PATH = "listPath";
+
+    private static final String PROPERTY_LIST_FORMAT = "listFormat";
+
+    private static final String PROPERTY_PARALLELISM = "parallelism";
+
+    private static final int DEFAULT_PARALLELISM = 4;
+
+    private static final Set<CronJobField> FIELDS = ImmutableSet.of(
+            new CronJobStorageIdAutocompleteField(new CronJobStringTypeField(
+                    new CronJobRequiredField(new CronJobNamedField(PROPERTY_STORAGE_ID)))),
+            new CronJobRepositoryIdAutocompleteField(new CronJobStringTypeField(
+                    new CronJobRequiredField(new CronJobNamedField(PROPERTY_REPOSITORY_ID)))),
+            new CronJobStringTypeField(
+                    new CronJobRequiredField(new CronJobNamedField(PROPERTY_LIST_PATH))),
+            new CronJobStringTypeField(
+                    new CronJobRequiredField(new CronJobNamedField(PROPERTY_LIST_FORMAT))),
+            new CronJobIntegerTypeField(
+                    new CronJobOptionalField(new CronJobNamedField(PROPERTY_PARALLELISM))));
+
+    @Inject
+    private ProxyRepositoryMirror proxyRepositoryMirror;
+
+    @Inject
+    private ConfigurationManager configurationManager;
+
+    @Inject
+    private PropertiesBooter propertiesBooter;
+
+    @Override
+    public void executeTask(final CronTaskConfigurationDto config)
+            throws Throwable
+    {
+        final String storageId = config.getRequiredProperty(PROPERTY_STORAGE_ID);
+        final String repositoryId = config.getRequiredProperty(PROPERTY_REPOSITORY_ID);
+        final String listPath = config.getRequiredProperty(PROPERTY_LIST_PATH);
+        final String parallelismText = config.getProperty(PROPERTY_PARALLELISM);
+
+        final ProxyRepositoryMirrorListFormat listFormat;
+        final int parallelism;
+        try
+        {
+            listFormat = ProxyRepositoryMirrorListFormat.valueOf(
+                    config.getRequiredProperty(PROPERTY_LIST_FORMAT).trim().toUpperCase());
+            parallelism = parallelismText == null ? DEFAULT_PARALLELISM : Integer.parseInt(parallelismText);
+        }
+        catch (IllegalArgumentException ex)
+        {
+            logger.error("Invalid properties of the proxy repository mirroring. Cron job won't be fired.", ex);
+            return;
+        }
+
+        final Repository repository = configurationManager.getRepository(storageId, repositoryId);
+        if (repository == null)
+        {
+            logger.error(String.format("Repository [%s:%s] was not found. Cron job won't be fired.", storageId,
+                                       repositoryId));
+            return;
+        }
+
+        final Path list;
+        try
+        {
+            list = resolveList(listPath);
+        }
+        catch (IllegalArgumentException | IOException ex)
+        {
+            logger.error(String.format("Invalid list [%s] of the proxy repository mirroring. Cron job won't be fired.",
+                                       listPath), ex);
+            return;
+        }
+
+        final Set<String> paths;
+        try (InputStream is = Files.newInputStream(list))
+        {
+            paths = listFormat.parse(is);
+        }
+
+        // The progress, throughput and failures are reported through the task status while the mirroring is running.
+        ProxyRepositoryMirrorProgress progress = new ProxyRepositoryMirrorProgress(
+                p -> setStatus(String.format("%s: %s", CronJobStatusEnum.EXECUTING.getStatus(), p)));
+
+        proxyRepositoryMirror.mirror(repository, paths, parallelism, progress);
+
+        logger.info(String.format("Proxy repository [%s:%s] mirroring completed: %s in %s ms", storageId,
+                                  repositoryId, progress, progress.getElapsedMillis()));
+    }
+
+    private Path resolveList(String listPath)
+        throws IOException
+    {
+        Path vaultDirectory = Paths.get(propertiesBooter.getVaultDirectory()).toRealPath();
+        // The real path is checked, so neither the '..' segments nor the symbolic links lead out of the vault.
+        Path list = vaultDirectory.resolve(listPath).toRealPath();
+        if (!list.startsWith(vaultDirectory))
+        {
+            throw new IllegalArgumentException(String.format("List [%s] is not within the vault directory.",
+                                                             listPath));
+        }
+
+        return list;
+    }
+
+    @Override
+    public CronJobDefinition getCronJobDefinition()
+    {
+        return CronJobDefinition.newBuilder()
+                                .jobClass(MirrorProxyRepositoryCronJob.class.getName())
+                                .name("Mirror Proxy Repository Cron Job")
+                                .description("Mirror Proxy Repository Cron Job")
+                                .fields(FIELDS)
+                                .build();
+    }
+
+}
@@ -1,9 +1,11 @@
 package org.carlspring.strongbox.cron.jobs;
 
 import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.cron.CronJobStatusEnum;
 import org.carlspring.strongbox.cron.domain.CronTaskConfigurationDto;
 import org.carlspring.strongbox.cron.jobs.fields.*;
 import org.carlspring.strongbox.services.ChecksumService;
+import org.carlspring.strongbox.services.support.ChecksumRegenerationProgress;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
 
@@ -56,26 +58,33 @@ public class RegenerateChecksumCronJob
         /**
          * The values of forceRegeneration are:
          * - true  - to re-write existing checksum and to regenerate missing checksum,
-         * - false - to regenerate missing checksum only
+         * - false - to regenerate missing and outdated checksum only
          */
         boolean forceRegeneration = Boolean.valueOf(config.getProperty(PROPERTY_FORCE_REGENERATION));
 
+        // The progress and throughput are reported through the task status while the regeneration is running.
+        ChecksumRegenerationProgress progress = new ChecksumRegenerationProgress(
+                p -> setStatus(String.format("%s: %s", CronJobStatusEnum.EXECUTING.getStatus(), p)));
+
         if (storageId == null)
         {
             Map<String, Storage> storages = getStorages();
             for (String storage : storages.keySet())
             {
-                regenerateRepositoriesChecksum(storage, forceRegeneration);
+                regenerateRepositoriesChecksum(storage, forceRegeneration, progress);
             }
         }
         else if (repositoryId == null)
         {
-            regenerateRepositoriesChecksum(storageId, forceRegeneration);
+            regenerateRepositoriesChecksum(storageId, forceRegeneration, progress);
         }
         else
         {
-            checksumService.regenerateChecksum(storageId, repositoryId, basePath, forceRegeneration);
+            checksumService.regenerateChecksum(storageId, repositoryId, basePath, forceRegeneration, progress);
         }
+
+        logger.info(String.format("Checksum regeneration completed: %s in %s ms", progress,
+                                  progress.getElapsedMillis()));
     }
 
     @Override
@@ -94,18 +103,20 @@ public class RegenerateChecksumCronJob
      *
      * @param storageId         path of storage
      * @param forceRegeneration true - to re-write existing checksum and to regenerate missing checksum,
-     *                          false - to regenerate missing checksum only
+     *                          false - to regenerate missing and outdated checksum only
+     * @param progress          the progress of the whole task
      * @throws IOException
      */
     private void regenerateRepositoriesChecksum(String storageId,
-                                                boolean forceRegeneration)
+                                                boolean forceRegeneration,
+                                                ChecksumRegenerationProgress progress)
             throws IOException
     {
         Map<String, ? extends Repository> repositories = getRepositories(storageId);
 
         for (String repositoryId : repositories.keySet())
         {
-            checksumService.regenerateChecksum(storageId, repositoryId, null, forceRegeneration);
+            checksumService.regenerateChecksum(storageId, repositoryId, null, forceRegeneration, progress);
         }
     }
 
@@ -54,6 +54,24 @@ public class HazelcastConfiguration
     @Value("${cacheManagerConfiguration.caches.remoteRepositoryAliveness.evictionPolicy:LFU}")
     public EvictionPolicy remoteRepositoryAlivenessEvictionPolicy;
 
+    @Value("${cacheManagerConfiguration.caches.remoteNegativeLookup.maxSizeLimit:10000}")
+    public int remoteNegativeLookupMaxSizeLimit;
+
+    @Value("${cacheManagerConfiguration.caches.remoteNegativeLookup.maxSizePolicy:PER_NODE}")
+    public MaxSizeConfig.MaxSizePolicy remoteNegativeLookupMaxSizePolicy;
+
+    @Value("${cacheManagerConfiguration.caches.remoteNegativeLookup.evictionPolicy:LRU}")
+    public EvictionPolicy remoteNegativeLookupEvictionPolicy;
+
+    @Value("${cacheManagerConfiguration.caches.remoteResourceValidators.maxSizeLimit:10000}")
+    public int remoteResourceValidatorsMaxSizeLimit;
+
+    @Value("${cacheManagerConfiguration.caches.remoteResourceValidators.maxSizePolicy:PER_NODE}")
+    public MaxSizeConfig.MaxSizePolicy remoteResourceValidatorsMaxSizePolicy;
+
+    @Value("${cacheManagerConfiguration.caches.remoteResourceValidators.evictionPolicy:LRU}")
+    public EvictionPolicy remoteResourceValidatorsEvictionPolicy;
+
     @Value("${cacheManagerConfiguration.caches.tags.maxSizeLimit:1000}")
     public int tagsMaxSizeLimit;
 
@@ -123,6 +141,15 @@ public class HazelcastConfiguration
                                                                             remoteRepositoryAlivenessMaxSizeLimit,
                                                                             remoteRepositoryAlivenessMaxSizePolicy,
                                                                             remoteRepositoryAlivenessEvictionPolicy))
+                                          // One map per proxy repository, the entries expire by their own TTL.
+                                          .addMapConfig(newDefaultMapConfig(CacheName.Repository.REMOTE_NEGATIVE_LOOKUP + ".*",
+                                                                            remoteNegativeLookupMaxSizeLimit,
+                                                                            remoteNegativeLookupMaxSizePolicy,
+                                                                            remoteNegativeLookupEvictionPolicy))
+                                          .addMapConfig(newDefaultMapConfig(CacheName.Repository.REMOTE_RESOURCE_VALIDATORS,
+                                                                            remoteResourceValidatorsMaxSizeLimit,
+                                                                            remoteResourceValidatorsMaxSizePolicy,
+                                                                            remoteResourceValidatorsEvictionPolicy))
                                           .addMapConfig(newDefaultMapConfig(CacheName.Artifact.TAGS,
                                                                             tagsMaxSizeLimit,
                                                                             tagsMaxSizePolicy,
@@ -22,6 +22,13 @@ public final class CacheName
 
         public static final String REMOTE_REPOSITORY_ALIVENESS = "remoteRepositoryAliveness";
 
+        /**
+         * The prefix of the per proxy repository caches of the paths, which were not found within the remote repository.
+         */
+        public static final String REMOTE_NEGATIVE_LOOKUP = "remoteNegativeLookup";
+
+        public static final String REMOTE_RESOURCE_VALIDATORS = "remoteResourceValidators";
+
     }
 
 
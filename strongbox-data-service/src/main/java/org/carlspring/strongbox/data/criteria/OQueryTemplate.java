@@ -246,6 +246,8 @@ public class OQueryTemplate<R, T extends GenericEntity> implements QueryTemplate
             return " IS NULL ";
         case IS_NOT_NULL:
             return " IS NOT NULL ";            
+        case IN:
+            return " IN ";
         }
         return null;
     }
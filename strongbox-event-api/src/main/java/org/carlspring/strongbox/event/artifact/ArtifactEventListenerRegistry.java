@@ -226,4 +226,15 @@ public class ArtifactEventListenerRegistry extends AbstractEventListenerRegistry
         dispatchEvent(event);
     }
 
+    public void dispatchArtifactChecksumExpiredEvent(Path path)
+    {
+        ArtifactEvent event = new ArtifactEvent(path,
+                                                ArtifactEventTypeEnum.EVENT_ARTIFACT_CHECKSUM_EXPIRED.getType());
+
+        logger.debug("Dispatching ArtifactEventTypeEnum.EVENT_ARTIFACT_CHECKSUM_EXPIRED event for " +
+                      path + "...");
+
+        dispatchEvent(event);
+    }
+
 }
@@ -101,7 +101,12 @@ public enum ArtifactEventTypeEnum
     /**
      * Occurs when an artifact file has been physically stored.
      */
-    EVENT_ARTIFACT_FILE_STORED(22);
+    EVENT_ARTIFACT_FILE_STORED(22),
+
+    /**
+     * Occurs when an artifact checksum calculated during the upload has not been claimed by the checksum upload in time.
+     */
+    EVENT_ARTIFACT_CHECKSUM_EXPIRED(23);
 
 
     private int type;
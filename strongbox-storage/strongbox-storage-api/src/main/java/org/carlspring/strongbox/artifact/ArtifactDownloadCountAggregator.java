@@ -0,0 +1,404 @@
+package org.carlspring.strongbox.artifact;
+
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathLock;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+
+import com.orientechnologies.common.concur.ONeedRetryException;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Write-behind aggregator for the {@link ArtifactEntry#getDownloadCount()} and {@link ArtifactEntry#getLastUsed()}
+ * updates.
+ * <p>
+ * Downloads are coalesced in memory per artifact and flushed in batched transactions, either periodically or as soon
+ * as the amount of pending downloads reaches the batch size. The pending downloads are always flushed on shutdown.
+ * <p>
+ * Each {@link ArtifactEntry} is updated under its (cluster wide) {@link RepositoryPathLock}, the same lock the other
+ * {@link ArtifactEntry} writers take. The artifacts whose lock can't be taken, as well as the whole batch whose
+ * transaction fails, are merged back into the pending downloads and retried with the next flush.
+ */
+@Component
+public class ArtifactDownloadCountAggregator
+        implements InitializingBean, DisposableBean
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactDownloadCountAggregator.class);
+
+    @Inject
+    private ArtifactEntryService artifactEntryService;
+
+    @Inject
+    private PlatformTransactionManager transactionManager;
+
+    @Inject
+    private RepositoryPathLock repositoryPathLock;
+
+    @Value("${strongbox.artifact.downloadCount.flushIntervalMillis:1000}")
+    private long flushIntervalMillis;
+
+    @Value("${strongbox.artifact.downloadCount.flushBatchSize:500}")
+    private int flushBatchSize;
+
+    @Value("${strongbox.artifact.downloadCount.lockTimeoutMillis:100}")
+    private long lockTimeoutMillis;
+
+    @Value("${strongbox.artifact.downloadCount.shutdownFlushAttempts:3}")
+    private int shutdownFlushAttempts;
+
+    /**
+     * The pending downloads are only updated within the {@link ConcurrentHashMap} compute operations, so the updates
+     * are striped by the map bins and a removed entry can't be changed anymore.
+     */
+    private final Map<ArtifactKey, PendingDownloads> pendingDownloads = new ConcurrentHashMap<>();
+
+    private final AtomicLong pendingUpdates = new AtomicLong();
+
+    private final AtomicLong flushedUpdates = new AtomicLong();
+
+    private final AtomicLong failedFlushes = new AtomicLong();
+
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private final Object flushLock = new Object();
+
+    private ScheduledExecutorService executor;
+
+    @Override
+    public void afterPropertiesSet()
+    {
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, ArtifactDownloadCountAggregator.class.getSimpleName());
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis,
+                                        TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy()
+        throws InterruptedException
+    {
+        executor.shutdown();
+        executor.awaitTermination(flushIntervalMillis, TimeUnit.MILLISECONDS);
+
+        for (int i = 0; i < shutdownFlushAttempts && !pendingDownloads.isEmpty(); i++)
+        {
+            flush();
+        }
+
+        if (!pendingDownloads.isEmpty())
+        {
+            logger.error(String.format("Failed to flush [%s] download count updates on shutdown.",
+                                       pendingUpdates.get()));
+        }
+    }
+
+    public void recordDownload(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        Repository repository = repositoryPath.getRepository();
+        ArtifactKey artifactKey = new ArtifactKey(repository.getStorage().getId(),
+                                                  repository.getId(),
+                                                  RepositoryFiles.relativizePath(repositoryPath));
+
+        Date date = new Date();
+        pendingDownloads.compute(artifactKey,
+                                 (k, v) -> (v == null ? new PendingDownloads(repositoryPath) : v).record(1, date));
+
+        if (pendingUpdates.incrementAndGet() >= flushBatchSize && flushScheduled.compareAndSet(false, true))
+        {
+            executor.execute(() -> {
+                flushScheduled.set(false);
+                flushQuietly();
+            });
+        }
+    }
+
+    /**
+     * Writes the pending downloads into the {@link ArtifactEntry}s. The downloads which fail to be written stay
+     * pending, and are not retried within the same flush.
+     */
+    public void flush()
+    {
+        synchronized (flushLock)
+        {
+            List<Map.Entry<ArtifactKey, PendingDownloads>> batch = new ArrayList<>(flushBatchSize);
+            for (ArtifactKey artifactKey : new ArrayList<>(pendingDownloads.keySet()))
+            {
+                PendingDownloads downloads = pendingDownloads.remove(artifactKey);
+                if (downloads == null)
+                {
+                    continue;
+                }
+
+                batch.add(new SimpleImmutableEntry<>(artifactKey, downloads));
+                if (batch.size() >= flushBatchSize)
+                {
+                    flushBatch(batch);
+                    batch = new ArrayList<>(flushBatchSize);
+                }
+            }
+
+            if (!batch.isEmpty())
+            {
+                flushBatch(batch);
+            }
+        }
+    }
+
+    public long getPendingUpdates()
+    {
+        return pendingUpdates.get();
+    }
+
+    public long getFlushedUpdates()
+    {
+        return flushedUpdates.get();
+    }
+
+    public long getFailedFlushes()
+    {
+        return failedFlushes.get();
+    }
+
+    private void flushQuietly()
+    {
+        try
+        {
+            flush();
+        }
+        catch (Exception e)
+        {
+            logger.error("Failed to flush artifact download counts.", e);
+        }
+    }
+
+    private void flushBatch(List<Map.Entry<ArtifactKey, PendingDownloads>> batch)
+    {
+        List<Map.Entry<ArtifactKey, PendingDownloads>> lockedBatch = new ArrayList<>(batch.size());
+        List<Lock> locks = new ArrayList<>(batch.size());
+        try
+        {
+            for (Map.Entry<ArtifactKey, PendingDownloads> e : batch)
+            {
+                Lock lock = tryLock(e.getValue().repositoryPath);
+                if (lock == null)
+                {
+                    requeue(e);
+                    continue;
+                }
+
+                locks.add(lock);
+                lockedBatch.add(e);
+            }
+
+            if (lockedBatch.isEmpty())
+            {
+                return;
+            }
+
+            long updates = lockedBatch.stream().mapToLong(e -> e.getValue().count).sum();
+            try
+            {
+                new TransactionTemplate(transactionManager).execute(t -> {
+                    lockedBatch.forEach(e -> updateArtifactEntry(e.getKey(), e.getValue()));
+
+                    return null;
+                });
+            }
+            catch (RuntimeException e)
+            {
+                failedFlushes.incrementAndGet();
+                lockedBatch.forEach(this::requeue);
+
+                if (ExceptionUtils.indexOfType(e, ONeedRetryException.class) >= 0)
+                {
+                    // Concurrent modification of some artifact entry.
+                    logger.debug(String.format("Retry [%s] download count updates.", updates));
+                }
+                else
+                {
+                    logger.warn(String.format("Failed to flush [%s] download count updates, retry with the next flush.",
+                                              updates), e);
+                }
+
+                return;
+            }
+
+            pendingUpdates.addAndGet(-updates);
+            flushedUpdates.addAndGet(updates);
+
+            logger.debug(String.format("Flushed [%s] download count updates for [%s] artifacts.", updates,
+                                       lockedBatch.size()));
+        }
+        finally
+        {
+            locks.forEach(Lock::unlock);
+        }
+    }
+
+    /**
+     * @return the locked {@link ArtifactEntry} write lock, or <code>null</code> if it can't be taken in time
+     */
+    private Lock tryLock(RepositoryPath repositoryPath)
+    {
+        try
+        {
+            Lock lock = repositoryPathLock.lock(repositoryPath, ArtifactEntry.class.getSimpleName()).writeLock();
+
+            return lock.tryLock(lockTimeoutMillis, TimeUnit.MILLISECONDS) ? lock : null;
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (IOException e)
+        {
+            logger.warn(String.format("Failed to lock [%s].", repositoryPath), e);
+        }
+
+        return null;
+    }
+
+    /**
+     * Merges the downloads back into the pending ones, they are still counted by the {@link #pendingUpdates}.
+     */
+    private void requeue(Map.Entry<ArtifactKey, PendingDownloads> e)
+    {
+        PendingDownloads downloads = e.getValue();
+        pendingDownloads.compute(e.getKey(),
+                                 (k, v) -> (v == null ? new PendingDownloads(downloads.repositoryPath) : v).record(
+                                         downloads.count, downloads.lastUsed));
+    }
+
+    private void updateArtifactEntry(ArtifactKey artifactKey,
+                                     PendingDownloads downloads)
+    {
+        ArtifactEntry artifactEntry = artifactEntryService.findOneArtifact(artifactKey.storageId,
+                                                                           artifactKey.repositoryId,
+                                                                           artifactKey.path);
+        if (artifactEntry == null)
+        {
+            logger.debug(String.format("No [%s] for [%s], skip [%s] downloads.",
+                                       ArtifactEntry.class.getSimpleName(), artifactKey, downloads.count));
+
+            return;
+        }
+
+        artifactEntry.setDownloadCount(artifactEntry.getDownloadCount() + (int) downloads.count);
+        if (artifactEntry.getLastUsed() == null || artifactEntry.getLastUsed().before(downloads.lastUsed))
+        {
+            artifactEntry.setLastUsed(downloads.lastUsed);
+        }
+
+        artifactEntryService.save(artifactEntry);
+    }
+
+    private static class PendingDownloads
+    {
+
+        private final RepositoryPath repositoryPath;
+
+        private long count;
+
+        private Date lastUsed;
+
+        private PendingDownloads(RepositoryPath repositoryPath)
+        {
+            this.repositoryPath = repositoryPath;
+        }
+
+        private PendingDownloads record(long downloads,
+                                        Date date)
+        {
+            count += downloads;
+            if (lastUsed == null || lastUsed.before(date))
+            {
+                lastUsed = date;
+            }
+
+            return this;
+        }
+
+    }
+
+    private static class ArtifactKey
+    {
+
+        private final String storageId;
+
+        private final String repositoryId;
+
+        private final String path;
+
+        private ArtifactKey(String storageId,
+                            String repositoryId,
+                            String path)
+        {
+            this.storageId = storageId;
+            this.repositoryId = repositoryId;
+            this.path = path;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof ArtifactKey))
+            {
+                return false;
+            }
+
+            ArtifactKey that = (ArtifactKey) o;
+
+            return storageId.equals(that.storageId) && repositoryId.equals(that.repositoryId) && path.equals(that.path);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(storageId, repositoryId, path);
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.format("%s:%s:%s", storageId, repositoryId, path);
+        }
+
+    }
+
+}
@@ -0,0 +1,26 @@
+package org.carlspring.strongbox.artifact;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Thrown when the conditional request of the remote resource was answered with <code>304 Not Modified</code>.
+ */
+public class ArtifactNotModifiedException extends IOException
+{
+
+    private URI artifactResource;
+
+    public ArtifactNotModifiedException(URI artifactResource)
+    {
+        super(String.format("Artifact [%s] not modified.", artifactResource));
+
+        this.artifactResource = artifactResource;
+    }
+
+    public URI getArtifactResource()
+    {
+        return artifactResource;
+    }
+
+}
@@ -154,6 +154,9 @@ public abstract class AsyncArtifactEntryHandler
         new TransactionTemplate(transactionManager).execute(t -> {
             try
             {
+                // The entry should be fetched within the transaction.
+                repositoryPath.invalidateArtifactEntry();
+
                 ArtifactEntry result = handleEvent(repositoryPath);
                 if (result == null)
                 {
@@ -165,7 +168,10 @@ public abstract class AsyncArtifactEntryHandler
                     return null;
                 }
 
-                return artifactEntryService.save(result);
+                ArtifactEntry artifactEntry = artifactEntryService.save(result);
+                repositoryPath.invalidateArtifactEntry();
+
+                return artifactEntry;
             }
             catch (IOException e)
             {
@@ -2,6 +2,7 @@ package org.carlspring.strongbox.config;
 
 import org.carlspring.strongbox.booters.StorageBooter;
 import org.carlspring.strongbox.booters.TempDirBooter;
+import org.carlspring.strongbox.event.artifact.ArtifactEventListenerRegistry;
 import org.carlspring.strongbox.storage.checksum.ChecksumCacheManager;
 import org.carlspring.strongbox.storage.validation.ArtifactCoordinatesValidator;
 
@@ -34,12 +35,15 @@ public class StorageApiConfig
     @Inject
     private List<ArtifactCoordinatesValidator> versionValidators;
 
-    @Bean
-    ChecksumCacheManager checksumCacheManager()
+    @Bean(destroyMethod = "stopMonitor")
+    ChecksumCacheManager checksumCacheManager(ArtifactEventListenerRegistry artifactEventListenerRegistry)
     {
         ChecksumCacheManager checksumCacheManager = new ChecksumCacheManager();
-        checksumCacheManager.setCachedChecksumExpiredCheckInterval(300000);
+        checksumCacheManager.setCachedChecksumExpiredCheckInterval(30000);
         checksumCacheManager.setCachedChecksumLifetime(60000);
+        checksumCacheManager.setCachedChecksumMaxSize(10000);
+        checksumCacheManager.setArtifactEventListenerRegistry(artifactEventListenerRegistry);
+        checksumCacheManager.startMonitor();
 
         return checksumCacheManager;
     }
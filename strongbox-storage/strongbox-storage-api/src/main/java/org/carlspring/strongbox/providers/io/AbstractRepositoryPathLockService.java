@@ -0,0 +1,130 @@
+package org.carlspring.strongbox.providers.io;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+/**
+ * Interns the lock objects by the lock name, so that the same lock object is returned for the same name while it's in
+ * use, and it can be garbage collected afterwards.
+ * <p>
+ * The interned lock is referenced from its read and write locks, so it can't be collected while any of them is held.
+ * <p>
+ * Only the lock objects within the JVM are released this way, the state which the backend keeps for the lock outside
+ * of the JVM (see {@link HazelcastRepositoryPathLockService}) is not.
+ */
+public abstract class AbstractRepositoryPathLockService
+        implements RepositoryPathLockService
+{
+
+    private final LoadingCache<String, ReadWriteLock> locks = CacheBuilder.newBuilder()
+                                                                          .weakValues()
+                                                                          .build(CacheLoader.from(this::createInternedLock));
+
+    @Override
+    public ReadWriteLock getReadWriteLock(String lockName)
+    {
+        return locks.getUnchecked(lockName);
+    }
+
+    public long getLockCount()
+    {
+        return locks.size();
+    }
+
+    protected abstract ReadWriteLock createLock(String lockName);
+
+    private ReadWriteLock createInternedLock(String lockName)
+    {
+        return new InternedReadWriteLock(createLock(lockName));
+    }
+
+    private static class InternedReadWriteLock
+            implements ReadWriteLock
+    {
+
+        private final Lock readLock;
+
+        private final Lock writeLock;
+
+        private InternedReadWriteLock(ReadWriteLock target)
+        {
+            this.readLock = new InternedLock(target.readLock());
+            this.writeLock = new InternedLock(target.writeLock());
+        }
+
+        @Override
+        public Lock readLock()
+        {
+            return readLock;
+        }
+
+        @Override
+        public Lock writeLock()
+        {
+            return writeLock;
+        }
+
+        /**
+         * Non-static, so it holds the reference to the owning {@link InternedReadWriteLock}.
+         */
+        private class InternedLock
+                implements Lock
+        {
+
+            private final Lock target;
+
+            private InternedLock(Lock target)
+            {
+                this.target = target;
+            }
+
+            @Override
+            public void lock()
+            {
+                target.lock();
+            }
+
+            @Override
+            public void lockInterruptibly()
+                throws InterruptedException
+            {
+                target.lockInterruptibly();
+            }
+
+            @Override
+            public boolean tryLock()
+            {
+                return target.tryLock();
+            }
+
+            @Override
+            public boolean tryLock(long time,
+                                   TimeUnit unit)
+                throws InterruptedException
+            {
+                return target.tryLock(time, unit);
+            }
+
+            @Override
+            public void unlock()
+            {
+                target.unlock();
+            }
+
+            @Override
+            public Condition newCondition()
+            {
+                return target.newCondition();
+            }
+
+        }
+
+    }
+
+}
@@ -31,6 +31,7 @@ import org.carlspring.strongbox.providers.io.RepositoryStreamSupport.RepositoryO
 import org.carlspring.strongbox.providers.layout.LayoutProviderRegistry;
 import org.carlspring.strongbox.providers.repository.RepositoryProvider;
 import org.carlspring.strongbox.providers.repository.RepositoryProviderRegistry;
+import org.carlspring.strongbox.providers.repository.group.GroupMemberArtifactPathFilter;
 import org.carlspring.strongbox.services.ArtifactEntryService;
 import org.carlspring.strongbox.services.RepositoryArtifactIdGroupService;
 import org.carlspring.strongbox.storage.Storage;
@@ -71,6 +72,9 @@ public abstract class AbstractRepositoryProvider implements RepositoryProvider,
     
     @Inject
     private RepositoryPathLock repositoryPathLock;
+
+    @Inject
+    private GroupMemberArtifactPathFilter groupMemberArtifactPathFilter;
     
     protected Configuration getConfiguration()
     {
@@ -148,6 +152,7 @@ public abstract class AbstractRepositoryProvider implements RepositoryProvider,
         String storageId = repository.getStorage().getId();
         String repositoryId = repository.getId();
 
+        repositoryPath.invalidateArtifactEntry();
         ArtifactEntry artifactEntry = provideArtifactEntry(repositoryPath);
         if (!shouldStoreArtifactEntry(artifactEntry))
         {
@@ -229,8 +234,16 @@ public abstract class AbstractRepositoryProvider implements RepositoryProvider,
         artifactEntry.getChecksums().clear();
         artifactEntry.getChecksums().putAll(los.getDigestMap());
 
+        // The path must be in the filter before the artifact exists, otherwise the groups could miss it, and it's put
+        // again once the artifact exists, as a filter rebuild started meanwhile could have read past its entry.
+        groupMemberArtifactPathFilter.put(repositoryPath);
+
         RepositoryArtifactIdGroupEntry artifactGroup = repositoryArtifactIdGroupService.findOneOrCreate(storage.getId(), repository.getId(), coordinates.getId());
         repositoryArtifactIdGroupService.addArtifactToGroup(artifactGroup, artifactEntry);
+
+        groupMemberArtifactPathFilter.put(repositoryPath);
+
+        repositoryPath.invalidateArtifactEntry();
     }
 
     protected ArtifactEntry provideArtifactEntry(RepositoryPath repositoryPath) throws IOException
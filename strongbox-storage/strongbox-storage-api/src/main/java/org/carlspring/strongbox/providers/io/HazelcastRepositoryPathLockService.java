@@ -0,0 +1,32 @@
+package org.carlspring.strongbox.providers.io;
+
+import java.util.concurrent.locks.ReadWriteLock;
+
+import com.hazelcast.core.HazelcastInstance;
+
+import ca.thoughtwire.lock.DistributedLockService;
+
+/**
+ * Cluster wide locks backed by Hazelcast.
+ * <p>
+ * The Hazelcast state of the locks is managed by the {@link DistributedLockService}, it's not released when the
+ * interned lock object is garbage collected.
+ */
+public class HazelcastRepositoryPathLockService
+        extends AbstractRepositoryPathLockService
+{
+
+    private final DistributedLockService lockService;
+
+    public HazelcastRepositoryPathLockService(HazelcastInstance hazelcastInstance)
+    {
+        this.lockService = DistributedLockService.newHazelcastLockService(hazelcastInstance);
+    }
+
+    @Override
+    protected ReadWriteLock createLock(String lockName)
+    {
+        return lockService.getReentrantReadWriteLock(lockName);
+    }
+
+}
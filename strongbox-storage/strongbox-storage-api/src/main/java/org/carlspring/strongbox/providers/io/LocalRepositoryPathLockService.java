@@ -0,0 +1,19 @@
+package org.carlspring.strongbox.providers.io;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-JVM locks for the single node deployments.
+ */
+public class LocalRepositoryPathLockService
+        extends AbstractRepositoryPathLockService
+{
+
+    @Override
+    protected ReadWriteLock createLock(String lockName)
+    {
+        return new ReentrantReadWriteLock();
+    }
+
+}
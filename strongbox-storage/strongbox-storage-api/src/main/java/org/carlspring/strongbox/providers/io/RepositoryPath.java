@@ -65,6 +65,24 @@ public class RepositoryPath
         return artifactEntry;
     }
 
+    /**
+     * @return the {@link ArtifactEntry} the path was resolved with (like the search results are), or <code>null</code>,
+     * without looking the entry up by the path
+     */
+    public ArtifactEntry getResolvedArtifactEntry()
+    {
+        return artifactEntry;
+    }
+
+    /**
+     * Drops the memoized {@link ArtifactEntry} (if any), so that the next {@link #getArtifactEntry()} call will look
+     * the entry up by the path again. This should be called once the {@link ArtifactEntry} has been stored or deleted.
+     * The plain path doesn't look the entry up, so there is nothing to drop.
+     */
+    public void invalidateArtifactEntry()
+    {
+    }
+
     public LayoutFileSystem getFileSystem()
     {
         return fileSystem;
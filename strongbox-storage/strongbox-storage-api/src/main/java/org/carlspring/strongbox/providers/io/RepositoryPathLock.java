@@ -7,18 +7,18 @@ import java.util.Optional;
 import java.util.concurrent.locks.ReadWriteLock;
 
 import javax.annotation.Nonnull;
+import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 
 import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
 import com.hazelcast.core.HazelcastInstance;
 
-import ca.thoughtwire.lock.DistributedLockService;
-
 /**
  * @author Przemyslaw Fusik
  */
@@ -26,14 +26,43 @@ import ca.thoughtwire.lock.DistributedLockService;
 public class RepositoryPathLock
 {
 
+    public static final String LOCK_MODE_LOCAL = "local";
+
+    public static final String LOCK_MODE_DISTRIBUTED = "distributed";
+
     private static final Logger logger = LoggerFactory.getLogger(RepositoryPathLock.class);
 
-    private DistributedLockService lockService;
+    /**
+     * The <code>local</code> mode can be used for the single node deployments, it's the <code>distributed</code> one
+     * by default.
+     */
+    @Value("${strongbox.repositoryPathLock.mode:distributed}")
+    private String lockMode;
 
     @Inject
-    public void setHazelcastInstance(HazelcastInstance hazelcastInstance)
+    private HazelcastInstance hazelcastInstance;
+
+    private RepositoryPathLockService lockService;
+
+    @PostConstruct
+    public void init()
     {
-        lockService = DistributedLockService.newHazelcastLockService(hazelcastInstance);
+        if (LOCK_MODE_LOCAL.equals(lockMode))
+        {
+            lockService = new LocalRepositoryPathLockService();
+        }
+        else if (LOCK_MODE_DISTRIBUTED.equals(lockMode))
+        {
+            lockService = new HazelcastRepositoryPathLockService(hazelcastInstance);
+        }
+        else
+        {
+            throw new IllegalStateException(String.format("Unknown repository path lock mode [%s], " +
+                                                          "expected [%s] or [%s].",
+                                                          lockMode, LOCK_MODE_LOCAL, LOCK_MODE_DISTRIBUTED));
+        }
+
+        logger.info(String.format("Using [%s] repository path locks.", lockService.getClass().getSimpleName()));
     }
 
     public ReadWriteLock lock(final @Nonnull RepositoryPath repositoryPath) throws IOException
@@ -50,7 +79,7 @@ public class RepositoryPathLock
                                   .orElseGet(() -> lock.toString());
         logger.debug(String.format("Get lock for [%s]", lock));
         
-        return lockService.getReentrantReadWriteLock(lockName);
+        return lockService.getReadWriteLock(lockName);
     }
 
     private URI getLock(final @Nonnull RepositoryPath repositoryPath) throws IOException
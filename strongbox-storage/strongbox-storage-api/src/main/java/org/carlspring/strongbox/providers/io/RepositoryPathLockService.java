@@ -0,0 +1,16 @@
+package org.carlspring.strongbox.providers.io;
+
+import java.util.concurrent.locks.ReadWriteLock;
+
+/**
+ * The lock backend for the {@link RepositoryPathLock}.
+ *
+ * @see LocalRepositoryPathLockService
+ * @see HazelcastRepositoryPathLockService
+ */
+public interface RepositoryPathLockService
+{
+
+    ReadWriteLock getReadWriteLock(String lockName);
+
+}
@@ -83,6 +83,13 @@ public class RepositoryPathResolver
     private class CachedRepositoryPath extends RepositoryPath
     {
 
+        /**
+         * The existing entry is memoized for the lifetime of the path, until it is stored or deleted (see
+         * {@link #invalidateArtifactEntry()}). The missing entry is not memoized, so the entry stored after the first
+         * lookup will be fetched with the next call.
+         */
+        private volatile ArtifactEntry cachedArtifactEntry;
+
         private CachedRepositoryPath(RepositoryPath target)
         {
             super(target.getTarget(), target.getFileSystem());
@@ -92,14 +99,23 @@ public class RepositoryPathResolver
         public ArtifactEntry getArtifactEntry()
             throws IOException
         {
+            ArtifactEntry result = cachedArtifactEntry;
+            if (result != null)
+            {
+                return result;
+            }
+
             if (this.getRepository().isGroupRepository() || !RepositoryFiles.isArtifact(this))
             {
                 return null;
             }
 
-            return artifactEntryService.findOneArtifact(getRepository().getStorage().getId(),
-                                                        getRepository().getId(),
-                                                        RepositoryFiles.relativizePath(this));
+            result = artifactEntryService.findOneArtifact(getRepository().getStorage().getId(),
+                                                          getRepository().getId(),
+                                                          RepositoryFiles.relativizePath(this));
+            cachedArtifactEntry = result;
+
+            return result;
             // TODO: we should check this restriction 
 //            if (Files.exists(this) && !Files.isDirectory(this) && RepositoryFiles.isArtifact(this) && result == null)
 //            {
@@ -109,6 +125,12 @@ public class RepositoryPathResolver
 
         }
 
+        @Override
+        public void invalidateArtifactEntry()
+        {
+            cachedArtifactEntry = null;
+        }
+
         @Override
         public RepositoryPath normalize()
         {
@@ -3,7 +3,12 @@ package org.carlspring.strongbox.providers.io;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Optional;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -185,6 +190,8 @@ public class RepositoryStreamSupport
             extends ProxyInputStream
     {
 
+        private long transferredBytes;
+
         protected RepositoryInputStream(Path path,
                                         InputStream in) throws IOException
         {
@@ -221,10 +228,45 @@ public class RepositoryStreamSupport
         protected void beforeRead(int n)
             throws IOException
         {
-            if (((CountingInputStream) in).getByteCount() == 0)
+            if (!isReadStarted())
+            {
+                callback.onBeforeRead((RepositoryStreamReadContext) ctx);
+            }
+        }
+
+        /**
+         * Transfers the whole file content directly from the storage channel into the target channel. The
+         * decorating streams (and their digest calculation) are bypassed, while the lock and the read callbacks
+         * of this stream are still applied.
+         *
+         * @param target the channel to transfer the content into
+         * @return the number of transferred bytes
+         * @throws IOException
+         */
+        public long transferTo(WritableByteChannel target)
+            throws IOException
+        {
+            if (!isReadStarted())
             {
                 callback.onBeforeRead((RepositoryStreamReadContext) ctx);
             }
+
+            Path path = getContext().getPath();
+            try (SeekableByteChannel channel = Files.newByteChannel(path, StandardOpenOption.READ))
+            {
+                long count = channel instanceof FileChannel ? StreamUtils.transfer((FileChannel) channel, target)
+                        : StreamUtils.transfer(channel, target);
+                transferredBytes += count;
+
+                logger.debug(String.format("Transferred [%s] bytes of [%s]", count, path));
+
+                return count;
+            }
+        }
+
+        private boolean isReadStarted()
+        {
+            return ((CountingInputStream) in).getByteCount() > 0 || transferredBytes > 0;
         }
 
         @Override
@@ -234,7 +276,7 @@ public class RepositoryStreamSupport
             try
             {
                 super.close();
-                if (((CountingInputStream) in).getByteCount() > 0) 
+                if (isReadStarted()) 
                 {
                     callback.onAfterRead((RepositoryStreamReadContext) ctx);
                 }
@@ -510,9 +510,7 @@ public abstract class StorageFileSystemProvider
             throw new IOException(String.format("Requested path is not [%s].", RepositoryPath.class.getSimpleName()));
         }
 
-        BasicFileAttributes targetAttributes = getTarget().readAttributes(unwrap(path),
-                                                                                        BasicFileAttributes.class,
-                                                                                        options);
+        BasicFileAttributes targetAttributes = readTargetAttributes(path, options);
         if (!RepositoryFileAttributes.class.isAssignableFrom(type))
         {
             return (A) targetAttributes;
@@ -526,6 +524,13 @@ public abstract class StorageFileSystemProvider
         return (A) repositoryFileAttributes;
     }
 
+    protected BasicFileAttributes readTargetAttributes(Path path,
+                                                       LinkOption... options)
+        throws IOException
+    {
+        return getTarget().readAttributes(unwrap(path), BasicFileAttributes.class, options);
+    }
+
     public Map<String, Object> readAttributes(Path path,
                                               String attributes,
                                               LinkOption... options)
@@ -651,11 +656,17 @@ public abstract class StorageFileSystemProvider
     }
 
     
-    private class TempOutputStream extends ProxyOutputStream
+    /**
+     * Writes into the temporary file, which is moved to the target path on {@link #close()}, unless the stream was
+     * {@link #discard()}ed.
+     */
+    public class TempOutputStream extends ProxyOutputStream
     {
 
         private TempRepositoryPath path;
 
+        private volatile boolean discarded;
+
         public TempOutputStream(TempRepositoryPath path,
                                 OpenOption... options)
             throws IOException
@@ -665,6 +676,20 @@ public abstract class StorageFileSystemProvider
             this.path = path;
         }
 
+        /**
+         * Marks the content as incomplete, so the temporary file is deleted on {@link #close()} instead of being moved
+         * to the target path.
+         */
+        public void discard()
+        {
+            discarded = true;
+        }
+
+        public boolean isDiscarded()
+        {
+            return discarded;
+        }
+
         @Override
         public void close()
             throws IOException
@@ -673,6 +698,13 @@ public abstract class StorageFileSystemProvider
 
             try
             {
+                if (discarded)
+                {
+                    logger.debug(String.format("Discarding [%s]", path.getTarget()));
+
+                    return;
+                }
+
                 moveFromTemporaryDirectory(path);
             } 
             finally
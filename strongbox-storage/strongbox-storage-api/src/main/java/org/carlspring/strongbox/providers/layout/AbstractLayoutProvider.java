@@ -78,22 +78,49 @@ public abstract class AbstractLayoutProvider<T extends ArtifactCoordinates>
                      .collect(Collectors.toSet());
     }
 
+    /**
+     * Returns the digest algorithms which can be served as virtual checksums (see
+     * {@link Repository#isVirtualChecksumsEnabled()}), all of them are calculated while the artifact is stored (or
+     * its checksums are regenerated) and served from the {@link org.carlspring.strongbox.domain.ArtifactEntry}.
+     */
+    public Set<String> getVirtualChecksumAlgorithmSet()
+    {
+        return Sets.union(getDigestAlgorithmSet(),
+                          ImmutableSet.of(MessageDigestAlgorithms.SHA_256, MessageDigestAlgorithms.SHA_512));
+    }
+
     public boolean isChecksum(RepositoryPath repositoryPath)
     {
-        return isChecksum(repositoryPath.getFileName().toString());
+        String fileName = repositoryPath.getFileName().toString();
+        if (repositoryPath.getRepository().isVirtualChecksumsEnabled())
+        {
+            return getChecksumAlgorithm(fileName, getVirtualChecksumAlgorithmSet()) != null;
+        }
+
+        return isChecksum(fileName);
     }
 
     protected boolean isChecksum(String fileName)
     {
-        for (String e : getDigestAlgorithmSet())
+        return getChecksumAlgorithm(fileName, getDigestAlgorithmSet()) != null;
+    }
+
+    /**
+     * Returns the digest algorithm of the given checksum file name, or <code>null</code> if the file name doesn't
+     * have a checksum extension of any of the given algorithms.
+     */
+    public static String getChecksumAlgorithm(String fileName,
+                                              Set<String> digestAlgorithmSet)
+    {
+        for (String e : digestAlgorithmSet)
         {
-            if (fileName.toString().endsWith("." + e.replaceAll("-", "").toLowerCase()))
+            if (fileName.endsWith("." + e.replaceAll("-", "").toLowerCase()))
             {
-                return true;
+                return e;
             }
         }
 
-        return false;
+        return null;
     }
 
 
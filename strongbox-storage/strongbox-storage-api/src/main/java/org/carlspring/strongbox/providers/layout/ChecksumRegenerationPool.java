@@ -0,0 +1,44 @@
+package org.carlspring.strongbox.providers.layout;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * The dedicated pool of the checksum regeneration workers, which block on the file IO, so they are kept off the
+ * {@link ForkJoinPool#commonPool()}.
+ */
+@Component
+public class ChecksumRegenerationPool
+        implements InitializingBean, DisposableBean
+{
+
+    /**
+     * The amount of the checksum regeneration workers, <code>0</code> means the amount of the available processors.
+     */
+    @Value("${strongbox.checksum.regeneration.parallelism:0}")
+    private int parallelism;
+
+    private ForkJoinPool pool;
+
+    @Override
+    public void afterPropertiesSet()
+    {
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public void destroy()
+    {
+        pool.shutdownNow();
+    }
+
+    public void invoke(ChecksumRegenerationTask task)
+    {
+        pool.invoke(task);
+    }
+
+}
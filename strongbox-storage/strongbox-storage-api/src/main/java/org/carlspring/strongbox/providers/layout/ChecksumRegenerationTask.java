@@ -0,0 +1,149 @@
+package org.carlspring.strongbox.providers.layout;
+
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.services.support.ChecksumRegenerationProgress;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Regenerates the checksums of the directory files and forks a subtask for each of the subdirectories, so the work is
+ * sharded per directory starting with the top-level directories of the base path, and the uneven trees are balanced
+ * by the work stealing.
+ * <p>
+ * The files are only processed within the directories which contain (or are nested into the directory which contains)
+ * metadata, unless the task is created to process all the files.
+ */
+public class ChecksumRegenerationTask
+        extends RecursiveAction
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ChecksumRegenerationTask.class);
+
+    private final LayoutFileSystemProvider provider;
+
+    private final RepositoryPath directory;
+
+    private final boolean forceRegeneration;
+
+    private final boolean processFiles;
+
+    private final ChecksumRegenerationProgress progress;
+
+    public ChecksumRegenerationTask(LayoutFileSystemProvider provider,
+                                    RepositoryPath directory,
+                                    boolean forceRegeneration,
+                                    boolean processFiles,
+                                    ChecksumRegenerationProgress progress)
+    {
+        this.provider = provider;
+        this.directory = directory;
+        this.forceRegeneration = forceRegeneration;
+        this.processFiles = processFiles;
+        this.progress = progress;
+    }
+
+    @Override
+    protected void compute()
+    {
+        List<RepositoryPath> files = new ArrayList<>();
+        List<RepositoryPath> directories = new ArrayList<>();
+        try (Stream<Path> pathStream = Files.list(directory))
+        {
+            for (Path path : pathStream.collect(Collectors.toList()))
+            {
+                if (!Files.isDirectory(path))
+                {
+                    files.add((RepositoryPath) path);
+                }
+                // Skip directories which start with a dot (like, for example: .index)
+                else if (!path.getFileName().toString().startsWith("."))
+                {
+                    directories.add((RepositoryPath) path);
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            logger.error(String.format("Failed to list [%s]", directory), e);
+
+            return;
+        }
+
+        boolean containsMetadata = processFiles || files.stream().anyMatch(this::isMetadata);
+
+        List<ChecksumRegenerationTask> subtasks = directories.stream()
+                                                             .map(d -> new ChecksumRegenerationTask(provider, d,
+                                                                                                    forceRegeneration,
+                                                                                                    containsMetadata,
+                                                                                                    progress))
+                                                             .collect(Collectors.toList());
+        subtasks.forEach(ChecksumRegenerationTask::fork);
+
+        if (containsMetadata)
+        {
+            files.stream().filter(p -> !isChecksum(p)).forEach(this::regenerate);
+        }
+
+        subtasks.forEach(ChecksumRegenerationTask::join);
+    }
+
+    private void regenerate(RepositoryPath path)
+    {
+        try
+        {
+            long bytesRead = provider.writeChecksum(path, forceRegeneration);
+            if (bytesRead < 0)
+            {
+                progress.fileSkipped();
+            }
+            else
+            {
+                progress.fileRegenerated(bytesRead);
+            }
+        }
+        catch (IOException e)
+        {
+            logger.error(String.format("Failed to write checksum for [%s]", path), e);
+
+            progress.fileFailed();
+        }
+    }
+
+    private boolean isMetadata(RepositoryPath path)
+    {
+        try
+        {
+            return Boolean.TRUE.equals(RepositoryFiles.isMetadata(path));
+        }
+        catch (IOException e)
+        {
+            logger.error(String.format("Failed to read attributes for [%s]", path), e);
+        }
+        return false;
+    }
+
+    private boolean isChecksum(RepositoryPath path)
+    {
+        try
+        {
+            return Boolean.TRUE.equals(RepositoryFiles.isChecksum(path));
+        }
+        catch (IOException e)
+        {
+            logger.error(String.format("Failed to read attributes for [%s]", path), e);
+        }
+        return true;
+    }
+
+}
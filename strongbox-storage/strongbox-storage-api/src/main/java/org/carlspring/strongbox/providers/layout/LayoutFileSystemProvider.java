@@ -1,23 +1,33 @@
 package org.carlspring.strongbox.providers.layout;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AccessMode;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.nio.file.spi.FileSystemProvider;
 import java.security.NoSuchAlgorithmException;
 import java.util.Collections;
+import java.util.Date;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Predicate;
 
 import javax.inject.Inject;
 
 import org.carlspring.commons.io.reloading.FSReloadableInputStreamHandler;
 import org.carlspring.strongbox.artifact.ArtifactNotFoundException;
 import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.domain.RemoteArtifactEntry;
 import org.carlspring.strongbox.event.artifact.ArtifactEventListenerRegistry;
 import org.carlspring.strongbox.event.repository.RepositoryEventListenerRegistry;
 import org.carlspring.strongbox.io.ByteRangeInputStream;
@@ -32,6 +42,7 @@ import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.StorageFileSystemProvider;
 import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.services.support.ChecksumRegenerationProgress;
 import org.carlspring.strongbox.storage.ArtifactResolutionException;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
@@ -60,6 +71,9 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
     @Inject
     private ArtifactEntryService artifactEntryService;
 
+    @Inject
+    private ChecksumRegenerationPool checksumRegenerationPool;
+
 
     public LayoutFileSystemProvider(FileSystemProvider storageFileSystemProvider)
     {
@@ -88,9 +102,26 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
                                                                       path.toString()));
                 }
                 
-                ByteRangeInputStream bris = new ByteRangeInputStream(super.newInputStream(path, options));
-                bris.setReloadableInputStreamHandler(new FSReloadableInputStreamHandler(path.toFile()));
-                bris.setLength(Files.size(path));
+                ByteRangeInputStream bris;
+                try
+                {
+                    bris = new ByteRangeInputStream(super.newInputStream(path, options));
+                    bris.setReloadableInputStreamHandler(new FSReloadableInputStreamHandler(path.toFile()));
+                    bris.setLength(Files.size(path));
+                }
+                catch (NoSuchFileException e)
+                {
+                    // There is no file for the virtual checksum.
+                    String virtualChecksum = readVirtualChecksum((RepositoryPath) path);
+                    if (virtualChecksum == null)
+                    {
+                        throw e;
+                    }
+
+                    byte[] checksumBytes = virtualChecksum.getBytes(StandardCharsets.UTF_8);
+                    bris = new ByteRangeInputStream(new ByteArrayInputStream(checksumBytes));
+                    bris.setLength(checksumBytes.length);
+                }
 
                 return decorateStream((RepositoryPath) path, bris);
             }
@@ -114,6 +145,22 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
         return new LayoutInputStream(is, path.getFileSystem().getDigestAlgorithmSet());
     }
 
+    /**
+     * @return the digest algorithms calculated while the file is stored or its checksums are regenerated, which are
+     * all the {@link AbstractLayoutProvider#getVirtualChecksumAlgorithmSet()} for the artifacts of the repositories
+     * with the virtual checksums, so every virtual checksum is stored on the {@link ArtifactEntry}
+     */
+    protected Set<String> getDigestAlgorithmSet(RepositoryPath path)
+        throws IOException
+    {
+        if (path.getRepository().isVirtualChecksumsEnabled() && Boolean.TRUE.equals(RepositoryFiles.isArtifact(path)))
+        {
+            return getLayoutProvider().getVirtualChecksumAlgorithmSet();
+        }
+
+        return path.getFileSystem().getDigestAlgorithmSet();
+    }
+
     public RepositoryPath getChecksumPath(RepositoryPath path,
                                           String digestAlgorithm)
     {
@@ -121,6 +168,110 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
 
         return path.resolveSibling(path.getFileName().toString().concat(checksumExtension));
     }
+
+    @Override
+    public void checkAccess(Path path,
+                            AccessMode... modes)
+        throws IOException
+    {
+        try
+        {
+            super.checkAccess(path, modes);
+        }
+        catch (NoSuchFileException e)
+        {
+            if (!(path instanceof RepositoryPath) || readVirtualChecksum((RepositoryPath) path) == null)
+            {
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    protected BasicFileAttributes readTargetAttributes(Path path,
+                                                       LinkOption... options)
+        throws IOException
+    {
+        try
+        {
+            return super.readTargetAttributes(path, options);
+        }
+        catch (NoSuchFileException e)
+        {
+            RepositoryPath artifactPath = path instanceof RepositoryPath
+                    ? resolveVirtualChecksumArtifactPath((RepositoryPath) path)
+                    : null;
+            String checksum = artifactPath != null ? readVirtualChecksum((RepositoryPath) path) : null;
+            if (checksum == null)
+            {
+                throw e;
+            }
+
+            return new VirtualChecksumFileAttributes(super.readTargetAttributes(artifactPath, options),
+                                                     checksum.getBytes(StandardCharsets.UTF_8).length);
+        }
+    }
+
+    /**
+     * Checks if the path is a virtual checksum, which means that the repository has
+     * {@link Repository#isVirtualChecksumsEnabled()} and the checksum is served from the {@link ArtifactEntry}
+     * digests of the artifact instead of the checksum file.
+     * 
+     * @return the artifact path for the checksum, or <code>null</code> if the path is not a virtual checksum
+     */
+    public RepositoryPath resolveVirtualChecksumArtifactPath(RepositoryPath path)
+        throws IOException
+    {
+        if (!path.getRepository().isVirtualChecksumsEnabled())
+        {
+            return null;
+        }
+
+        String fileName = path.getFileName().toString();
+        String algorithm = AbstractLayoutProvider.getChecksumAlgorithm(fileName,
+                                                                       getLayoutProvider().getVirtualChecksumAlgorithmSet());
+        if (algorithm == null)
+        {
+            return null;
+        }
+
+        String checksumExtension = ".".concat(algorithm.toLowerCase().replaceAll("-", ""));
+        RepositoryPath artifactPath = path.resolveSibling(fileName.substring(0, fileName.length()
+                - checksumExtension.length()));
+
+        return Boolean.TRUE.equals(RepositoryFiles.isArtifact(artifactPath)) ? artifactPath : null;
+    }
+
+    /**
+     * Reads the virtual checksum value from the {@link ArtifactEntry} of the artifact. The digests are calculated and
+     * stored while the artifact is stored, or by the checksum regeneration (see
+     * {@link #storeChecksum(RepositoryPath, boolean)}) for the artifacts stored before: the artifact is never read
+     * here.
+     * 
+     * @return the checksum value, or <code>null</code> if the path is not a virtual checksum, there is no artifact, or
+     * its {@link ArtifactEntry} doesn't hold the digest
+     */
+    public String readVirtualChecksum(RepositoryPath path)
+        throws IOException
+    {
+        RepositoryPath artifactPath = resolveVirtualChecksumArtifactPath(path);
+        if (artifactPath == null)
+        {
+            return null;
+        }
+
+        ArtifactEntry artifactEntry = artifactPath.getArtifactEntry();
+        if (artifactEntry == null || artifactEntry instanceof RemoteArtifactEntry
+                && !Boolean.TRUE.equals(((RemoteArtifactEntry) artifactEntry).getIsCached()))
+        {
+            return null;
+        }
+
+        String algorithm = AbstractLayoutProvider.getChecksumAlgorithm(path.getFileName().toString(),
+                                                                       getLayoutProvider().getVirtualChecksumAlgorithmSet());
+
+        return artifactEntry.getChecksums().get(algorithm);
+    }
     
     @Override
     public LazyOutputStream newOutputStream(Path path,
@@ -151,7 +302,7 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
                                                 OutputStream os)
             throws NoSuchAlgorithmException, IOException
     {
-        Set<String> digestAlgorithmSet = path.getFileSystem().getDigestAlgorithmSet();
+        Set<String> digestAlgorithmSet = getDigestAlgorithmSet(path);
         LayoutOutputStream result = new LayoutOutputStream(os);
         
         // Add digest algorithm only if it is not a Checksum (we don't need a Checksum of Checksum).
@@ -178,54 +329,73 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
                               boolean forceRegeneration)
             throws IOException
     {
-        Files.walk(basePath)
-             .filter(p -> !Files.isDirectory(p))
-             .filter(p -> {
-                 try
-                 {
-                     return !Boolean.TRUE.equals(RepositoryFiles.isChecksum((RepositoryPath) p));
-                 }
-                 catch (IOException e)
-                 {
-                     logger.error(String.format("Failed to read attributes for [%s]", p), e);
-                 }
-                 return false;
-             })
-             .forEach(p -> {
-                 try
-                 {
-                     writeChecksum((RepositoryPath) p, forceRegeneration);
-                 }
-                 catch (IOException e)
-                 {
-                     logger.error(String.format("Failed to write checksum for [%s]", p), e);
-                 }
-             });
+        if (!Files.isDirectory(basePath))
+        {
+            writeChecksum(basePath, forceRegeneration);
+            return;
+        }
+
+        checksumRegenerationPool.invoke(new ChecksumRegenerationTask(this, basePath, forceRegeneration, true,
+                                                                     new ChecksumRegenerationProgress()));
     }
 
-    
-    protected void writeChecksum(RepositoryPath path,
+    /**
+     * Regenerates the checksums of the file. Unless the regeneration is forced, the file is not read if all of its
+     * checksums are up to date, which means that the checksum files (or the {@link ArtifactEntry} digests for the
+     * repositories with the virtual checksums) exist and are not older than the file.
+     * 
+     * @return the number of bytes read, or <code>-1</code> if the checksums are up to date
+     */
+    protected long writeChecksum(RepositoryPath path,
                                  boolean force)
             throws IOException
     {
-        try (InputStream is = newInputStream(path))
+        Set<String> digestAlgorithmSet = getDigestAlgorithmSet(path);
+        FileTime lastModified = Files.getLastModifiedTime(path);
+
+        ArtifactEntry artifactEntry = null;
+        boolean virtual = path.getRepository().isVirtualChecksumsEnabled()
+                && Boolean.TRUE.equals(RepositoryFiles.isArtifact(path));
+        if (virtual)
         {
-            byte[] buffer = new byte[1024];
-            while (is.read(buffer) > 0)
+            // The digests are saved with the actual entry, rather than with the one memoized by the path.
+            path.invalidateArtifactEntry();
+            artifactEntry = Optional.ofNullable(path.getArtifactEntry()).orElseGet(() -> fetchArtifactEntry(path));
+            if (artifactEntry == null)
+            {
+                logger.warn(String.format("Artifact entry not found for [%s], skip checksum generation.", path));
+                return -1;
+            }
+        }
+
+        if (!force && digestAlgorithmSet.stream().allMatch(isChecksumUpToDate(path, artifactEntry, lastModified)))
+        {
+            return -1;
+        }
+
+        long bytesRead = 0;
+        try (LayoutInputStream is = newChecksumInputStream(path, digestAlgorithmSet))
+        {
+            byte[] buffer = new byte[StreamUtils.TRANSFER_BUFFER_SIZE];
+            int len;
+            while ((len = is.read(buffer)) != -1)
             {
                 //calculate checksum while reading the stream
+                bytesRead += len;
             }
-            Set<String> digestAlgorithmSet = path.getFileSystem().getDigestAlgorithmSet();
+
+            if (virtual)
+            {
+                writeVirtualChecksum(path, artifactEntry, is, digestAlgorithmSet, lastModified, force);
+                return bytesRead;
+            }
+            
             digestAlgorithmSet.stream()
+                              .filter(p -> force || !isChecksumUpToDate(path, null, lastModified).test(p))
                               .forEach(p ->
                                        {
-                                           String checksum = StreamUtils.findSource(LayoutInputStream.class, is)
-                                                                        .getMessageDigestAsHexadecimalString(p);
+                                           String checksum = is.getMessageDigestAsHexadecimalString(p);
                                            RepositoryPath checksumPath = getChecksumPath(path, p);
-                                           if (Files.exists(checksumPath) && !force)
-                                           {
-                                               return;
-                                           }
                                            try
                                            {
                                                Files.write(checksumPath, checksum.getBytes());
@@ -237,6 +407,80 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
                                            }
                                        });
         }
+
+        return bytesRead;
+    }
+
+    private LayoutInputStream newChecksumInputStream(RepositoryPath path,
+                                                     Set<String> digestAlgorithmSet)
+        throws IOException
+    {
+        try
+        {
+            return new LayoutInputStream(super.newInputStream(path), digestAlgorithmSet);
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IOException(e);
+        }
+    }
+
+    private Predicate<String> isChecksumUpToDate(RepositoryPath path,
+                                                 ArtifactEntry artifactEntry,
+                                                 FileTime lastModified)
+    {
+        if (artifactEntry != null)
+        {
+            Date lastUpdated = artifactEntry.getLastUpdated();
+            boolean entryUpToDate = lastUpdated == null || lastUpdated.getTime() >= lastModified.toMillis();
+
+            return algorithm -> entryUpToDate && artifactEntry.getChecksums().containsKey(algorithm);
+        }
+
+        return algorithm -> {
+            RepositoryPath checksumPath = getChecksumPath(path, algorithm);
+            try
+            {
+                return Files.exists(checksumPath)
+                        && Files.getLastModifiedTime(checksumPath).compareTo(lastModified) >= 0;
+            }
+            catch (IOException e)
+            {
+                logger.warn(String.format("Failed to read attributes for [%s]", checksumPath), e);
+            }
+            return false;
+        };
+    }
+
+    private void writeVirtualChecksum(RepositoryPath path,
+                                      ArtifactEntry artifactEntry,
+                                      LayoutInputStream is,
+                                      Set<String> digestAlgorithmSet,
+                                      FileTime lastModified,
+                                      boolean force)
+        throws IOException
+    {
+        Predicate<String> upToDate = isChecksumUpToDate(path, artifactEntry, lastModified);
+        Map<String, String> checksums = artifactEntry.getChecksums();
+        boolean changed = false;
+        for (String algorithm : digestAlgorithmSet)
+        {
+            if (!force && upToDate.test(algorithm))
+            {
+                continue;
+            }
+
+            checksums.put(algorithm, is.getMessageDigestAsHexadecimalString(algorithm));
+            changed = true;
+        }
+
+        if (changed)
+        {
+            // Mark the digests as newer than the file, so they are skipped by the next incremental regeneration.
+            artifactEntry.setLastUpdated(new Date());
+            artifactEntryService.save(artifactEntry);
+            path.invalidateArtifactEntry();
+        }
     }
 
     @Override
@@ -283,6 +527,7 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
         if (artifactEntry != null)
         {
             artifactEntryService.delete(artifactEntry);
+            repositoryPath.invalidateArtifactEntry();
         }
         
         super.doDeletePath(repositoryPath, force);
@@ -355,6 +600,76 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
 
     }
 
+    private static class VirtualChecksumFileAttributes implements BasicFileAttributes
+    {
+
+        private final BasicFileAttributes artifactAttributes;
+
+        private final long size;
+
+        VirtualChecksumFileAttributes(BasicFileAttributes artifactAttributes,
+                                      long size)
+        {
+            this.artifactAttributes = artifactAttributes;
+            this.size = size;
+        }
+
+        @Override
+        public FileTime lastModifiedTime()
+        {
+            return artifactAttributes.lastModifiedTime();
+        }
+
+        @Override
+        public FileTime lastAccessTime()
+        {
+            return artifactAttributes.lastAccessTime();
+        }
+
+        @Override
+        public FileTime creationTime()
+        {
+            return artifactAttributes.creationTime();
+        }
+
+        @Override
+        public boolean isRegularFile()
+        {
+            return true;
+        }
+
+        @Override
+        public boolean isDirectory()
+        {
+            return false;
+        }
+
+        @Override
+        public boolean isSymbolicLink()
+        {
+            return false;
+        }
+
+        @Override
+        public boolean isOther()
+        {
+            return false;
+        }
+
+        @Override
+        public long size()
+        {
+            return size;
+        }
+
+        @Override
+        public Object fileKey()
+        {
+            return null;
+        }
+
+    }
+
     public class PathOutputStreamSupplier implements OutputStreamSupplier
     {
         private Path path;
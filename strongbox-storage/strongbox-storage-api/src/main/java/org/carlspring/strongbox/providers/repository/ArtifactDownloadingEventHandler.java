@@ -1,32 +1,44 @@
 package org.carlspring.strongbox.providers.repository;
 
 import java.io.IOException;
-import java.util.Date;
 
-import org.carlspring.strongbox.artifact.AsyncArtifactEntryHandler;
-import org.carlspring.strongbox.domain.ArtifactEntry;
+import javax.inject.Inject;
+
+import org.carlspring.strongbox.artifact.ArtifactDownloadCountAggregator;
+import org.carlspring.strongbox.event.AsyncEventListener;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
 import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.springframework.stereotype.Component;
 
+/**
+ * Counts the artifact downloads, the {@link org.carlspring.strongbox.domain.ArtifactEntry} updates are written behind
+ * by the {@link ArtifactDownloadCountAggregator}.
+ */
 @Component
-public class ArtifactDownloadingEventHandler extends AsyncArtifactEntryHandler
+public class ArtifactDownloadingEventHandler
 {
 
-    public ArtifactDownloadingEventHandler()
-    {
-        super(ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_DOWNLOADING);
-    }
+    @Inject
+    private ArtifactDownloadCountAggregator artifactDownloadCountAggregator;
 
-    @Override
-    protected ArtifactEntry handleEvent(RepositoryPath repositoryPath) throws IOException
+    @AsyncEventListener
+    public void handleEvent(final ArtifactEvent<RepositoryPath> event)
+        throws IOException
     {
-        ArtifactEntry artifactEntry = repositoryPath.getArtifactEntry();
-        
-        artifactEntry.setDownloadCount(artifactEntry.getDownloadCount() + 1);
-        artifactEntry.setLastUsed(new Date());
+        if (ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_DOWNLOADING.getType() != event.getType())
+        {
+            return;
+        }
+
+        RepositoryPath repositoryPath = (RepositoryPath) event.getPath();
+        if (!RepositoryFiles.isArtifact(repositoryPath))
+        {
+            return;
+        }
 
-        return artifactEntry;
+        artifactDownloadCountAggregator.recordDownload(repositoryPath);
     }
 
 }
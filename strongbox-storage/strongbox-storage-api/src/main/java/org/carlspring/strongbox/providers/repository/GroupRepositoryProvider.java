@@ -3,16 +3,25 @@ package org.carlspring.strongbox.providers.repository;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.inject.Inject;
 import javax.persistence.EntityManager;
@@ -20,6 +29,7 @@ import javax.persistence.PersistenceContext;
 
 import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
 import org.carlspring.strongbox.configuration.ConfigurationUtils;
+import org.carlspring.strongbox.data.criteria.Expression.ExpOperator;
 import org.carlspring.strongbox.data.criteria.OQueryTemplate;
 import org.carlspring.strongbox.data.criteria.Paginator;
 import org.carlspring.strongbox.data.criteria.Predicate;
@@ -31,14 +41,23 @@ import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
 import org.carlspring.strongbox.providers.repository.event.GroupRepositoryPathFetchEvent;
+import org.carlspring.strongbox.providers.repository.group.GroupMemberArtifactPathFilter;
+import org.carlspring.strongbox.providers.repository.group.GroupRepositoryPathResolutionCache;
+import org.carlspring.strongbox.providers.repository.group.GroupRepositorySearchCursor;
 import org.carlspring.strongbox.providers.repository.group.GroupRepositorySetCollector;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyStreamThroughContext;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyStreamThroughTarget;
 import org.carlspring.strongbox.services.support.ArtifactRoutingRulesChecker;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
-import org.carlspring.strongbox.util.ThrowingFunction;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
 /**
@@ -47,6 +66,7 @@ import org.springframework.stereotype.Component;
 @Component
 public class GroupRepositoryProvider
         extends AbstractRepositoryProvider
+        implements InitializingBean, DisposableBean
 {
 
     private static final Logger logger = LoggerFactory.getLogger(GroupRepositoryProvider.class);
@@ -62,12 +82,55 @@ public class GroupRepositoryProvider
     @Inject
     private GroupRepositorySetCollector groupRepositorySetCollector;
 
+    @Inject
+    private GroupRepositoryPathResolutionCache groupRepositoryPathResolutionCache;
+
+    @Inject
+    private GroupMemberArtifactPathFilter groupMemberArtifactPathFilter;
+
     @PersistenceContext
     private EntityManager entityManager;
 
     @Inject
     private RepositoryPathResolver repositoryPathResolver;
 
+    @Value("${strongbox.group.hedgedResolution.enabled:false}")
+    private boolean hedgedResolutionEnabled;
+
+    @Value("${strongbox.group.hedgedResolution.delayMillis:50}")
+    private long hedgingDelayMillis;
+
+    @Value("${strongbox.group.hedgedResolution.poolSize:32}")
+    private int hedgedResolutionPoolSize;
+
+    private ExecutorService hedgedResolutionExecutor;
+
+    @Override
+    public void afterPropertiesSet()
+    {
+        if (!hedgedResolutionEnabled)
+        {
+            return;
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        hedgedResolutionExecutor = Executors.newFixedThreadPool(hedgedResolutionPoolSize, r -> {
+            Thread thread = new Thread(r, "group-hedged-resolution-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        });
+    }
+
+    @Override
+    public void destroy()
+    {
+        if (hedgedResolutionExecutor != null)
+        {
+            hedgedResolutionExecutor.shutdownNow();
+        }
+    }
+
     @Override
     public String getAlias()
     {
@@ -98,36 +161,254 @@ public class GroupRepositoryProvider
 
     protected RepositoryPath resolvePathTraversal(RepositoryPath repositoryPath)
             throws IOException
+    {
+        return resolvePathTraversal(repositoryPath, new GroupTraversal());
+    }
+
+    private RepositoryPath resolvePathTraversal(RepositoryPath repositoryPath,
+                                                GroupTraversal traversal)
+            throws IOException
+    {
+        GroupRepositoryPathResolutionCache.Entry resolution = groupRepositoryPathResolutionCache.get(repositoryPath);
+        if (resolution != null && resolution.isMissing())
+        {
+            return null;
+        }
+        else if (resolution != null)
+        {
+            // The member could have lost the path in the meantime, so it's re-checked.
+            RepositoryPath result = resolvePathFromGroupMemberOrTraverse(
+                    repositoryPathResolver.resolve(resolution.getMember(), repositoryPath), traversal);
+            if (result != null)
+            {
+                return result;
+            }
+        }
+
+        RepositoryPath result = hedgedResolutionExecutor != null ? resolvePathHedged(repositoryPath, traversal)
+                                                                 : resolvePathSequential(repositoryPath, traversal);
+        if (result == null && traversal.isConclusive())
+        {
+            groupRepositoryPathResolutionCache.missing(repositoryPath);
+        }
+        else if (result != null)
+        {
+            groupRepositoryPathResolutionCache.resolved(repositoryPath, result.getRepository());
+        }
+
+        return result;
+    }
+
+    private RepositoryPath resolvePathSequential(RepositoryPath repositoryPath,
+                                                 GroupTraversal traversal)
+            throws IOException
     {
         Repository groupRepository = repositoryPath.getRepository();
-        Storage storage = groupRepository.getStorage();
 
         // Iterate over the `repositories` collection.
         for (String storageAndRepositoryId : groupRepository.getGroupRepositories())
         {
-            String sId = ConfigurationUtils.getStorageId(storage.getId(), storageAndRepositoryId);
-            String rId = ConfigurationUtils.getRepositoryId(storageAndRepositoryId);
+            RepositoryPath subRepositoryPath = resolveGroupMemberPath(repositoryPath, storageAndRepositoryId);
+            if (subRepositoryPath == null)
+            {
+                continue;
+            }
 
-            Repository subRepository = getConfiguration().getStorage(sId).getRepository(rId);
-            RepositoryPath subRepositoryPath = repositoryPathResolver.resolve(subRepository, repositoryPath);
+            subRepositoryPath = resolvePathFromGroupMemberOrTraverse(subRepositoryPath, traversal);
+            if (subRepositoryPath == null)
+            {
+                continue;
+            }
+
+            logger.debug(String.format("Located artifact: [%s]", subRepositoryPath));
+
+            return subRepositoryPath;
+        }
+
+        return null;
+    }
+
+    /**
+     * @return the path within the group member, or <code>null</code> if the group member is not resolvable, or
+     * definitely doesn't hold the path
+     */
+    private RepositoryPath resolveGroupMemberPath(RepositoryPath repositoryPath,
+                                                  String storageAndRepositoryId)
+            throws IOException
+    {
+        Repository groupRepository = repositoryPath.getRepository();
+        Storage storage = groupRepository.getStorage();
+
+        String sId = ConfigurationUtils.getStorageId(storage.getId(), storageAndRepositoryId);
+        String rId = ConfigurationUtils.getRepositoryId(storageAndRepositoryId);
+
+        Repository subRepository = getConfiguration().getStorage(sId).getRepository(rId);
+        RepositoryPath subRepositoryPath = repositoryPathResolver.resolve(subRepository, repositoryPath);
+
+        return isRepositoryResolvable(groupRepository, subRepository, subRepositoryPath) &&
+               groupMemberArtifactPathFilter.mightContain(subRepositoryPath) ? subRepositoryPath : null;
+    }
+
+    /**
+     * Resolves the local (hosted and nested group) members first, and then queries the proxy members which precede the
+     * first local hit in parallel, so the miss in the slow proxy member doesn't delay the next ones. The proxy member
+     * fetches are hedged: while waiting for the preceding member, one more member is queried per hedging delay. The
+     * winner is still the first member (in the group order) which holds the path, the other fetches are cancelled
+     * (the pending ones are dropped, the running ones are completed into the member cache rather than interrupted).
+     * Only the fetch submitted once all the preceding members missed is the sure winner, so only that one streams the
+     * content through to the caller (see {@link ProxyStreamThroughContext}), the hedged ones never do.
+     */
+    private RepositoryPath resolvePathHedged(RepositoryPath repositoryPath,
+                                             GroupTraversal traversal)
+            throws IOException
+    {
+        Repository groupRepository = repositoryPath.getRepository();
 
-            if (!isRepositoryResolvable(groupRepository, subRepository, subRepositoryPath))
+        List<RepositoryPath> proxyMemberPaths = new ArrayList<>();
+        for (String storageAndRepositoryId : groupRepository.getGroupRepositories())
+        {
+            RepositoryPath subRepositoryPath = resolveGroupMemberPath(repositoryPath, storageAndRepositoryId);
+            if (subRepositoryPath == null)
+            {
+                continue;
+            }
+            if (subRepositoryPath.getRepository().isProxyRepository())
             {
+                proxyMemberPaths.add(subRepositoryPath);
                 continue;
             }
 
-            subRepositoryPath = resolvePathFromGroupMemberOrTraverse(subRepositoryPath);
+            subRepositoryPath = resolvePathFromGroupMemberOrTraverse(subRepositoryPath, traversal);
             if (subRepositoryPath == null)
             {
                 continue;
             }
 
+            RepositoryPath proxyResult = resolveProxyMembersHedged(proxyMemberPaths, traversal);
+            subRepositoryPath = proxyResult != null ? proxyResult : subRepositoryPath;
+
             logger.debug(String.format("Located artifact: [%s]", subRepositoryPath));
 
             return subRepositoryPath;
         }
 
-        return null;
+        RepositoryPath result = resolveProxyMembersHedged(proxyMemberPaths, traversal);
+        if (result != null)
+        {
+            logger.debug(String.format("Located artifact: [%s]", result));
+        }
+
+        return result;
+    }
+
+    private RepositoryPath resolveProxyMembersHedged(List<RepositoryPath> proxyMemberPaths,
+                                                     GroupTraversal traversal)
+            throws IOException
+    {
+        List<Future<RepositoryPath>> fetches = new ArrayList<>(proxyMemberPaths.size());
+        try
+        {
+            for (int i = 0; i < proxyMemberPaths.size(); i++)
+            {
+                if (fetches.size() <= i)
+                {
+                    // All the preceding members missed, so this one wins if it holds the path.
+                    fetches.add(submitFetch(proxyMemberPaths.get(i), traversal, ProxyStreamThroughContext.current()));
+                }
+
+                RepositoryPath result = awaitFetch(fetches, i, proxyMemberPaths, traversal);
+                if (result != null)
+                {
+                    return result;
+                }
+            }
+
+            return null;
+        }
+        finally
+        {
+            // Cancel the losing (and the no longer needed) fetches, without interrupting the running downloads.
+            fetches.forEach(f -> f.cancel(false));
+        }
+    }
+
+    private RepositoryPath awaitFetch(List<Future<RepositoryPath>> fetches,
+                                      int index,
+                                      List<RepositoryPath> proxyMemberPaths,
+                                      GroupTraversal traversal)
+            throws IOException
+    {
+        Future<RepositoryPath> fetch = fetches.get(index);
+        try
+        {
+            while (true)
+            {
+                if (fetches.size() == proxyMemberPaths.size())
+                {
+                    return fetch.get();
+                }
+
+                try
+                {
+                    return fetch.get(hedgingDelayMillis, TimeUnit.MILLISECONDS);
+                }
+                catch (TimeoutException e)
+                {
+                    // Hedge with the next member, while the preceding one is still pending.
+                    fetches.add(submitFetch(proxyMemberPaths.get(fetches.size()), traversal, null));
+                }
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException(String.format("Interrupted while resolving [%s].",
+                                                           proxyMemberPaths.get(index)));
+        }
+        catch (ExecutionException e)
+        {
+            // The member failure is the miss of the group resolution, the next member is consulted.
+            traversal.inconclusive();
+            if (e.getCause() instanceof IOException)
+            {
+                logger.debug(String.format("Failed to resolve path [%s]: %s", proxyMemberPaths.get(index),
+                                           e.getCause().getMessage()));
+            }
+            else
+            {
+                logger.warn(String.format("Failed to resolve path [%s]", proxyMemberPaths.get(index)), e.getCause());
+            }
+
+            return null;
+        }
+    }
+
+    /**
+     * @param streamThroughTarget the caller's target the member content is streamed through to, or <code>null</code>
+     *                            if the member is not the sure winner, as the target is claimed by the first fetch
+     *                            which responds
+     */
+    private Future<RepositoryPath> submitFetch(RepositoryPath repositoryPath,
+                                               GroupTraversal traversal,
+                                               ProxyStreamThroughTarget streamThroughTarget)
+    {
+        // The member is fetched on behalf of the caller, so the fetch carries the caller's context along.
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+
+        return hedgedResolutionExecutor.submit(() -> {
+            ProxyStreamThroughContext.bind(streamThroughTarget);
+            SecurityContextHolder.setContext(securityContext);
+            try
+            {
+                return resolvePathFromGroupMemberOrTraverse(repositoryPath, traversal);
+            }
+            finally
+            {
+                SecurityContextHolder.clearContext();
+                ProxyStreamThroughContext.unbind();
+            }
+        });
     }
 
     private boolean isRepositoryResolvable(Repository groupRepository,
@@ -166,13 +447,27 @@ public class GroupRepositoryProvider
         return null;
     }
 
-    protected RepositoryPath resolvePathFromGroupMemberOrTraverse(RepositoryPath repositoryPath)
+    private RepositoryPath resolvePathFromGroupMemberOrTraverse(RepositoryPath repositoryPath,
+                                                                GroupTraversal traversal)
             throws IOException
     {
         Repository repository = repositoryPath.getRepository();
         if (getAlias().equals(repository.getType()))
         {
-            return resolvePathTraversal(repositoryPath);
+            GroupTraversal nestedTraversal = new GroupTraversal();
+            RepositoryPath result = resolvePathTraversal(repositoryPath, nestedTraversal);
+            if (!nestedTraversal.isConclusive())
+            {
+                traversal.inconclusive();
+            }
+
+            return result;
+        }
+        if (repository.isProxyRepository())
+        {
+            // The proxy repository can't tell the remote miss from the remote repository being unavailable here, its
+            // misses are cached by the proxy repository itself.
+            traversal.inconclusive();
         }
 
         RepositoryProvider provider = repositoryProviderRegistry.getProvider(repository.getType());
@@ -183,6 +478,7 @@ public class GroupRepositoryProvider
         catch (IOException e)
         {
             logger.error(String.format("Failed to resolve path [%s]", repositoryPath));
+            traversal.inconclusive();
             return null;
         }
     }
@@ -205,79 +501,84 @@ public class GroupRepositoryProvider
     {
         logger.debug(String.format("Search in [%s]:[%s] ...", storageId, repositoryId));
 
-        Map<ArtifactCoordinates, Path> resultMap = new LinkedHashMap<>();
-
         Storage storage = getConfiguration().getStorage(storageId);
         Repository groupRepository = storage.getRepository(repositoryId);
         Set<Repository> groupRepositorySet = groupRepositorySetCollector.collect(groupRepository);
 
-        if (groupRepositorySet.isEmpty())
-        {
-            return new LinkedList<>();
-        }
-
         int skip = paginator.getSkip();
         int limit = paginator.getLimit();
 
-        int groupSize = groupRepositorySet.size();
-        int groupSkip = (skip / (limit * groupSize)) * limit;
-        int groupLimit = limit;
-
-        skip = skip - groupSkip;
-
-        outer:
-        do
+        // The ordered results of each member are merged, so that the members are queried only as deep as needed.
+        PriorityQueue<GroupRepositorySearchCursor> cursors = new PriorityQueue<>(
+                Math.max(1, groupRepositorySet.size()), GroupRepositorySearchCursor.comparator(paginator));
+        int memberIndex = 0;
+        for (Repository r : groupRepositorySet)
         {
-            Paginator paginatorLocal = new Paginator();
-            paginatorLocal.setLimit(groupLimit);
-            paginatorLocal.setSkip(groupSkip);
-            paginatorLocal.setProperty(paginator.getProperty());
-            paginatorLocal.setOrder(paginator.getOrder());
-
-            groupLimit = 0;
-
-            for (Iterator<Repository> i = groupRepositorySet.iterator(); i.hasNext(); )
+            RepositoryProvider repositoryProvider = repositoryProviderRegistry.getProvider(r.getType());
+            GroupRepositorySearchCursor cursor = new GroupRepositorySearchCursor(
+                    memberIndex++,
+                    p -> repositoryProvider.search(r.getStorage().getId(), r.getId(), predicate, p),
+                    paginator,
+                    limit,
+                    p -> getSortKey(p, paginator.getProperty()));
+            if (cursor.hasNext())
             {
-                Repository r = i.next();
-                RepositoryProvider repositoryProvider = repositoryProviderRegistry.getProvider(r.getType());
+                cursors.add(cursor);
+            }
+        }
 
-                List<Path> repositoryResult = repositoryProvider.search(r.getStorage().getId(), r.getId(), predicate,
-                                                                        paginatorLocal);
-                if (repositoryResult.isEmpty())
-                {
-                    i.remove();
-                    continue;
-                }
+        List<Path> result = new ArrayList<>(limit);
+        Set<ArtifactCoordinates> merged = new HashSet<>();
+        while (!cursors.isEmpty() && merged.size() < skip + limit)
+        {
+            GroupRepositorySearchCursor cursor = cursors.poll();
+            Path path = cursor.next();
+            if (cursor.hasNext())
+            {
+                cursors.add(cursor);
+            }
 
-                // count coordinates intersection
-                groupLimit += repositoryResult.stream()
-                                              .map(ThrowingFunction.unchecked((Path p) -> resultMap.put(getArtifactCoordinates(p), p)))
-                                              .filter(p -> p != null)
-                                              .collect(Collectors.toList())
-                                              .size();
+            ArtifactCoordinates artifactCoordinates;
+            try
+            {
+                artifactCoordinates = getArtifactCoordinates(path);
+            }
+            catch (IOException e)
+            {
+                logger.error(String.format("Failed to read the coordinates of [%s]", path), e);
+                continue;
+            }
 
-                //Break search iterations if we have reached enough list size.
-                if (resultMap.size() >= limit + skip)
-                {
-                    break outer;
-                }
+            // The artifact is taken from the first member which holds it (within the order of the results).
+            if (merged.add(artifactCoordinates) && merged.size() > skip)
+            {
+                result.add(path);
             }
-            groupSkip += limit;
+        }
+
+        return result;
+    }
 
-            // Will iterate until there is no more coordinates intersection and
-            // there is more search results within group repositories
+    private Object getSortKey(Path path,
+                              String property)
+    {
+        if (property == null || property.trim().isEmpty())
+        {
+            return null;
         }
-        while (groupLimit > 0 && !groupRepositorySet.isEmpty());
 
-        LinkedList<Path> resultList = new LinkedList<>();
-        if (skip >= resultMap.size())
+        try
         {
-            return resultList;
+            // The entry comes along with the member search result, so the merge doesn't look it up for each path.
+            return GroupRepositorySearchCursor.getPropertyValue(((RepositoryPath) path).getResolvedArtifactEntry(),
+                                                                property.trim());
         }
-        resultList.addAll(resultMap.values());
+        catch (RuntimeException e)
+        {
+            logger.debug(String.format("Failed to read [%s] of [%s]", property, path), e);
 
-        int toIndex = resultList.size() - skip > limit ? limit + skip : resultList.size();
-        return resultList.subList(skip, toIndex);
+            return null;
+        }
     }
 
     private ArtifactCoordinates getArtifactCoordinates(Path p) throws IOException
@@ -296,12 +597,25 @@ public class GroupRepositoryProvider
 
         Repository groupRepository = storage.getRepository(repositoryId);
 
-        Predicate p = Predicate.empty();
-
-        p.or(createPredicate(storageId, repositoryId, predicate));
+        // The repositories are grouped by the storage, so that the predicate has a branch per storage (matching the
+        // storageId and the repositoryId, like the leading fields of the idx_artifact key), rather than per member.
+        Map<String, Set<String>> repositoryIdsByStorageId = new LinkedHashMap<>();
+        repositoryIdsByStorageId.computeIfAbsent(storageId, k -> new LinkedHashSet<>()).add(repositoryId);
         groupRepositorySetCollector.collect(groupRepository, true)
-                                   .stream()
-                                   .forEach(r -> p.or(createPredicate(r.getStorage().getId(), r.getId(), predicate)));
+                                   .forEach(r -> repositoryIdsByStorageId.computeIfAbsent(r.getStorage().getId(),
+                                                                                          k -> new LinkedHashSet<>())
+                                                                         .add(r.getId()));
+
+        Predicate repositoriesPredicate = Predicate.empty();
+        repositoryIdsByStorageId.forEach((sId, repositoryIds) -> repositoriesPredicate.or(
+                Predicate.of(ExpOperator.EQ.of("storageId", sId))
+                         .and(Predicate.of(ExpOperator.IN.of("repositoryId", new ArrayList<>(repositoryIds))))));
+
+        Predicate p = repositoriesPredicate.nested();
+        if (!predicate.isEmpty())
+        {
+            p = Predicate.empty().and(p).and(Predicate.empty().and(predicate).nested());
+        }
 
         Selector<ArtifactEntry> selector = new Selector<>(ArtifactEntry.class);
         selector.select("count(distinct(artifactCoordinates))").where(p);
@@ -312,4 +626,25 @@ public class GroupRepositoryProvider
 
     }
 
+    /**
+     * Tracks whether the group traversal miss is definitive (every consulted member reported the path as not found),
+     * so it can be cached as the miss of the whole group.
+     */
+    private static class GroupTraversal
+    {
+
+        private volatile boolean conclusive = true;
+
+        void inconclusive()
+        {
+            conclusive = false;
+        }
+
+        boolean isConclusive()
+        {
+            return conclusive;
+        }
+
+    }
+
 }
@@ -1,6 +1,7 @@
 package org.carlspring.strongbox.providers.repository;
 
 
+import org.carlspring.strongbox.artifact.ArtifactNotFoundException;
 import org.carlspring.strongbox.data.criteria.Paginator;
 import org.carlspring.strongbox.data.criteria.Predicate;
 import org.carlspring.strongbox.domain.ArtifactEntry;
@@ -8,10 +9,13 @@ import org.carlspring.strongbox.domain.RemoteArtifactEntry;
 import org.carlspring.strongbox.providers.io.AbstractRepositoryProvider;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
-import org.carlspring.strongbox.providers.io.RepositoryPathLock;
 import org.carlspring.strongbox.providers.repository.event.ProxyRepositoryPathExpiredEvent;
 import org.carlspring.strongbox.providers.repository.event.RemoteRepositorySearchEvent;
 import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryArtifactResolver;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryFetchCoalescer;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryNegativeLookupCache;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryPrefetcher;
+import org.carlspring.strongbox.providers.repository.proxied.RemoteRepositoryOverloadedException;
 
 import javax.inject.Inject;
 import java.io.IOException;
@@ -20,8 +24,6 @@ import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,7 +49,13 @@ public class ProxyRepositoryProvider
     private HostedRepositoryProvider hostedRepositoryProvider;
 
     @Inject
-    private RepositoryPathLock repositoryPathLock;
+    private ProxyRepositoryFetchCoalescer proxyRepositoryFetchCoalescer;
+
+    @Inject
+    private ProxyRepositoryNegativeLookupCache proxyRepositoryNegativeLookupCache;
+
+    @Inject
+    private ProxyRepositoryPrefetcher proxyRepositoryPrefetcher;
 
     @Override
     public String getAlias()
@@ -66,10 +74,17 @@ public class ProxyRepositoryProvider
     protected RepositoryPath fetchPath(RepositoryPath repositoryPath)
         throws IOException
     {
+        proxyRepositoryPrefetcher.onRequest(repositoryPath);
+
         RepositoryPath targetPath = hostedRepositoryProvider.fetchPath(repositoryPath);
 
         if (targetPath == null)
         {
+            if (proxyRepositoryNegativeLookupCache.isMissing(repositoryPath))
+            {
+                return null;
+            }
+
             targetPath = resolvePathExclusive(repositoryPath);
         }
         else if (RepositoryFiles.hasExpired(targetPath))
@@ -83,22 +98,25 @@ public class ProxyRepositoryProvider
     private RepositoryPath resolvePathExclusive(RepositoryPath repositoryPath)
             throws IOException
     {
+        try
+        {
+            return proxyRepositoryFetchCoalescer.fetch(repositoryPath,
+                                                       () -> hostedRepositoryProvider.fetchPath(repositoryPath),
+                                                       () -> proxyRepositoryArtifactResolver.fetchRemoteResource(repositoryPath));
+        }
+        catch (ArtifactNotFoundException e)
+        {
+            logger.debug(String.format("Path [%s] was not found within the remote repository.", repositoryPath));
 
-        ReadWriteLock lockSource = repositoryPathLock.lock(repositoryPath, "pre-remote-fetch");
-        Lock lock = lockSource.writeLock();
-        lock.lock();
+            proxyRepositoryNegativeLookupCache.missing(repositoryPath);
 
-        try
+            throw e;
+        }
+        catch (RemoteRepositoryOverloadedException e)
         {
-            // This is the second attempt, but this time inside exclusive write lock
-            // Things might have changed.
-            RepositoryPath targetPath = hostedRepositoryProvider.fetchPath(repositoryPath);
-            if (targetPath != null)
-            {
-                return targetPath;
+            logger.debug(e.getMessage());
 
-            }
-            return proxyRepositoryArtifactResolver.fetchRemoteResource(repositoryPath);
+            throw e;
         }
         catch (IOException e)
         {
@@ -107,10 +125,6 @@ public class ProxyRepositoryProvider
 
             throw e;
         }
-        finally
-        {
-            lock.unlock();
-        }
     }
 
     @Override
@@ -0,0 +1,567 @@
+package org.carlspring.strongbox.providers.repository.group;
+
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.data.service.support.search.Sort;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.event.repository.RepositoryEvent;
+import org.carlspring.strongbox.event.repository.RepositoryEventTypeEnum;
+import org.carlspring.strongbox.event.server.ServerEvent;
+import org.carlspring.strongbox.event.server.ServerEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathLock;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the Bloom filter of the artifact paths of each hosted repository, so the group resolution can skip the members
+ * which definitely don't hold the artifact, without the file system and the database lookups.
+ * <p>
+ * The filters are built in the background from the {@link ArtifactEntry} records at startup (in the uuid order, page
+ * by page, so the concurrent deletions don't shift the pages), as well as for the hosted repositories which are
+ * created, or appear with the configuration changes, afterwards. The repository providers {@link #put} the stored
+ * artifacts before their {@link ArtifactEntry} is saved, whichever service stores them, so the filter never misses an
+ * existing artifact; the paths stored while the filter is being built are buffered and put into the built filter.
+ * The paths can't be removed from the Bloom filter, so the deleted paths are only counted, and the filter is rebuilt
+ * once they exceed {@link #REBUILD_DELETED_RATIO} of its paths. Until its filter is built, the repository is expected
+ * to hold any path, so the real lookup is made. Only the artifacts are filtered (the existence of the artifact is
+ * defined by its {@link ArtifactEntry}), the metadata and the checksums are always looked up, as are the paths of the
+ * proxy repositories, which could be fetched from the remote repository.
+ * <p>
+ * The filter size is calculated from the number of the artifacts (with the headroom for the growth) and the
+ * configured false positive probability, and capped by the configured maximum size, at the expense of the false
+ * positive probability.
+ * <p>
+ * The filters are only updated by the events of the local node, so the filter is not used with the distributed
+ * {@link RepositoryPathLock} mode, where the artifacts could be stored by the other nodes as well.
+ */
+@Component
+public class GroupMemberArtifactPathFilter
+        implements InitializingBean, DisposableBean
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(GroupMemberArtifactPathFilter.class);
+
+    private static final double REBUILD_DELETED_RATIO = 0.1;
+
+    private static final int GROWTH_HEADROOM = 2;
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Inject
+    private ConfigurationManager configurationManager;
+
+    @Inject
+    private ArtifactEntryService artifactEntryService;
+
+    @Value("${strongbox.group.memberFilter.enabled:false}")
+    private boolean enabled;
+
+    @Value("${strongbox.group.memberFilter.falsePositiveProbability:0.01}")
+    private double falsePositiveProbability;
+
+    @Value("${strongbox.group.memberFilter.minExpectedInsertions:10000}")
+    private long minExpectedInsertions;
+
+    @Value("${strongbox.group.memberFilter.maxSizeInBytes:8388608}")
+    private long maxSizeInBytes;
+
+    @Value("${strongbox.repositoryPathLock.mode:distributed}")
+    private String lockMode;
+
+    private final ConcurrentMap<String, RepositoryFilter> filters = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private final LongAdder skippedLookups = new LongAdder();
+
+    private ExecutorService rebuildExecutor;
+
+    @Override
+    public void afterPropertiesSet()
+    {
+        if (enabled && RepositoryPathLock.LOCK_MODE_DISTRIBUTED.equals(lockMode))
+        {
+            logger.warn(String.format("Group member path filter disabled, as it's not supported with the [%s] " +
+                                      "repository path lock mode.", lockMode));
+            enabled = false;
+        }
+        if (!enabled)
+        {
+            return;
+        }
+
+        rebuildExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "group-member-path-filter-rebuild");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+    }
+
+    @Override
+    public void destroy()
+    {
+        if (rebuildExecutor != null)
+        {
+            rebuildExecutor.shutdownNow();
+        }
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void rebuildAll()
+    {
+        if (!enabled || !started.compareAndSet(false, true))
+        {
+            return;
+        }
+
+        synchronizeRepositories();
+    }
+
+    @EventListener
+    public void handle(RepositoryEvent event)
+    {
+        if (!enabled || !started.get())
+        {
+            return;
+        }
+
+        if (event.getType() == RepositoryEventTypeEnum.EVENT_REPOSITORY_CREATED.getType())
+        {
+            synchronizeRepositories();
+        }
+        else if (event.getType() == RepositoryEventTypeEnum.EVENT_REPOSITORY_DELETED.getType())
+        {
+            filters.values().removeIf(f -> f.storageId.equals(event.getStorageId()) &&
+                                           f.repositoryId.equals(event.getRepositoryId()));
+        }
+    }
+
+    @EventListener
+    public void handle(ServerEvent event)
+    {
+        if (enabled && started.get() &&
+            event.getType() == ServerEventTypeEnum.EVENT_SERVER_CONFIGURATION_CHANGED.getType())
+        {
+            synchronizeRepositories();
+        }
+    }
+
+    /**
+     * Builds the filters of the hosted repositories which don't have one yet, and drops the filters of the
+     * repositories which are gone, or are not hosted anymore.
+     */
+    private void synchronizeRepositories()
+    {
+        Set<String> hostedRepositories = new HashSet<>();
+        for (Storage storage : configurationManager.getConfiguration().getStorages().values())
+        {
+            for (Repository repository : storage.getRepositories().values())
+            {
+                if (!repository.isHostedRepository())
+                {
+                    continue;
+                }
+
+                String key = repository.getStorageIdAndRepositoryId();
+                hostedRepositories.add(key);
+
+                RepositoryFilter filter = new RepositoryFilter(repository.getStorage().getId(), repository.getId());
+                if (filters.putIfAbsent(key, filter) == null)
+                {
+                    scheduleRebuild(filter);
+                }
+            }
+        }
+
+        filters.keySet().retainAll(hostedRepositories);
+    }
+
+    /**
+     * @return <code>false</code> if the repository definitely doesn't hold the path
+     */
+    public boolean mightContain(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        Repository repository = repositoryPath.getRepository();
+        if (!enabled || !repository.isHostedRepository())
+        {
+            return true;
+        }
+
+        RepositoryFilter filter = filters.get(repository.getStorageIdAndRepositoryId());
+        if (filter == null || !filter.isReady() || !Boolean.TRUE.equals(RepositoryFiles.isArtifact(repositoryPath)))
+        {
+            return true;
+        }
+
+        boolean result = filter.mightContain(RepositoryFiles.relativizePath(repositoryPath));
+        if (!result)
+        {
+            skippedLookups.increment();
+        }
+
+        return result;
+    }
+
+    /**
+     * Puts the artifact path into the filter of its repository; it's called before the {@link ArtifactEntry} of the
+     * stored artifact is saved.
+     */
+    public void put(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        RepositoryFilter filter = getFilter(repositoryPath.getRepository());
+        if (filter != null)
+        {
+            filter.put(RepositoryFiles.relativizePath(repositoryPath));
+        }
+    }
+
+    @EventListener
+    public void handle(ArtifactEvent<RepositoryPath> event)
+    {
+        if (event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType())
+        {
+            return;
+        }
+
+        RepositoryFilter filter = getFilter(event.getPath().getRepository());
+        if (filter != null && filter.deleted())
+        {
+            scheduleRebuild(filter);
+        }
+    }
+
+    /**
+     * @return the filter of the hosted repository, or <code>null</code> if there is none (the repository is then
+     * expected to hold any path, so there is nothing to update)
+     */
+    private RepositoryFilter getFilter(Repository repository)
+    {
+        if (!enabled || !repository.isHostedRepository())
+        {
+            return null;
+        }
+
+        return filters.get(repository.getStorageIdAndRepositoryId());
+    }
+
+    private void scheduleRebuild(RepositoryFilter filter)
+    {
+        if (filter.rebuildScheduled.compareAndSet(false, true))
+        {
+            rebuildExecutor.execute(() -> rebuild(filter));
+        }
+    }
+
+    private void rebuild(RepositoryFilter filter)
+    {
+        try
+        {
+            // The paths stored from now on are buffered, so they are put into the new filter as well.
+            filter.rebuilding();
+            filter.rebuildScheduled.set(false);
+
+            long artifactCount = artifactEntryService.countArtifacts(filter.storageId, filter.repositoryId,
+                                                                     Collections.emptyMap(), true);
+            long expectedInsertions = getExpectedInsertions(artifactCount);
+
+            BloomFilter<CharSequence> bloomFilter = BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8),
+                                                                       expectedInsertions, falsePositiveProbability);
+            for (ArtifactEntry after = null; ; )
+            {
+                List<ArtifactEntry> artifactEntries = artifactEntryService.findMatchingAfter(filter.storageId,
+                                                                                             filter.repositoryId,
+                                                                                             Sort.by(), after,
+                                                                                             BATCH_SIZE);
+                artifactEntries.forEach(e -> bloomFilter.put(e.getArtifactPath()));
+                if (artifactEntries.size() < BATCH_SIZE)
+                {
+                    break;
+                }
+
+                after = artifactEntries.get(artifactEntries.size() - 1);
+            }
+
+            filter.built(bloomFilter, expectedInsertions);
+
+            logger.info(String.format("Path filter of [%s:%s] built: %s", filter.storageId, filter.repositoryId,
+                                      filter));
+        }
+        catch (RuntimeException e)
+        {
+            filter.failed();
+            filter.rebuildScheduled.set(false);
+
+            logger.error(String.format("Failed to build the path filter of [%s:%s]", filter.storageId,
+                                       filter.repositoryId), e);
+        }
+    }
+
+    private long getExpectedInsertions(long artifactCount)
+    {
+        long expectedInsertions = Math.max(minExpectedInsertions, artifactCount * GROWTH_HEADROOM);
+        long maxExpectedInsertions = (long) (maxSizeInBytes * 8 * Math.log(2) * Math.log(2) /
+                                             -Math.log(falsePositiveProbability));
+
+        return Math.max(1, Math.min(expectedInsertions, maxExpectedInsertions));
+    }
+
+    /**
+     * @return the number of the group member lookups which were skipped
+     */
+    public long getSkippedLookups()
+    {
+        return skippedLookups.sum();
+    }
+
+    /**
+     * @return the size of all the built filters in bytes
+     */
+    public long getSizeInBytes()
+    {
+        return filters.values().stream().mapToLong(RepositoryFilter::getSizeInBytes).sum();
+    }
+
+    /**
+     * @return the highest false positive probability of the built filters, or <code>0</code> if none is built
+     */
+    public double getFalsePositiveProbability()
+    {
+        return filters.values()
+                      .stream()
+                      .filter(RepositoryFilter::isReady)
+                      .mapToDouble(RepositoryFilter::expectedFpp)
+                      .max()
+                      .orElse(0);
+    }
+
+    /**
+     * @return the size of the filter of the repository in bytes, or <code>0</code> if it's not built
+     */
+    public long getSizeInBytes(Repository repository)
+    {
+        RepositoryFilter filter = filters.get(repository.getStorageIdAndRepositoryId());
+
+        return filter == null ? 0 : filter.getSizeInBytes();
+    }
+
+    /**
+     * @return the current false positive probability of the filter of the repository, or <code>1</code> if it's not
+     * built
+     */
+    public double getFalsePositiveProbability(Repository repository)
+    {
+        RepositoryFilter filter = filters.get(repository.getStorageIdAndRepositoryId());
+
+        return filter == null || !filter.isReady() ? 1 : filter.expectedFpp();
+    }
+
+    /**
+     * The Bloom filter reads are guarded by the read lock and the writes by the write lock, as the concurrent reads
+     * and writes of the {@link BloomFilter} are not safe before Guava 23, and the Guava version is managed outside of
+     * this project.
+     */
+    private class RepositoryFilter
+    {
+
+        private final String storageId;
+
+        private final String repositoryId;
+
+        private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+        private final LongAdder deletedPaths = new LongAdder();
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private volatile BloomFilter<CharSequence> current;
+
+        /**
+         * The paths stored while the filter is being built, or <code>null</code> if it's not being built.
+         */
+        private List<String> pendingPaths;
+
+        private volatile long expectedInsertions;
+
+        private RepositoryFilter(String storageId,
+                                 String repositoryId)
+        {
+            this.storageId = storageId;
+            this.repositoryId = repositoryId;
+        }
+
+        private boolean isReady()
+        {
+            return current != null;
+        }
+
+        private boolean mightContain(String path)
+        {
+            lock.readLock().lock();
+            try
+            {
+                return current.mightContain(path);
+            }
+            finally
+            {
+                lock.readLock().unlock();
+            }
+        }
+
+        private void put(String path)
+        {
+            lock.writeLock().lock();
+            try
+            {
+                if (current != null)
+                {
+                    current.put(path);
+                }
+                if (pendingPaths != null)
+                {
+                    pendingPaths.add(path);
+                }
+            }
+            finally
+            {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * @return <code>true</code> if the filter should be rebuilt
+         */
+        private boolean deleted()
+        {
+            deletedPaths.increment();
+
+            return isReady() && deletedPaths.sum() > Math.max(1, approximateElementCount()) * REBUILD_DELETED_RATIO;
+        }
+
+        private void rebuilding()
+        {
+            lock.writeLock().lock();
+            try
+            {
+                // The paths deleted from now on could have been read into the new filter.
+                deletedPaths.reset();
+                pendingPaths = new ArrayList<>();
+            }
+            finally
+            {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void built(BloomFilter<CharSequence> bloomFilter,
+                           long expectedInsertions)
+        {
+            lock.writeLock().lock();
+            try
+            {
+                pendingPaths.forEach(bloomFilter::put);
+                pendingPaths = null;
+                this.expectedInsertions = expectedInsertions;
+                current = bloomFilter;
+            }
+            finally
+            {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void failed()
+        {
+            lock.writeLock().lock();
+            try
+            {
+                pendingPaths = null;
+            }
+            finally
+            {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private long approximateElementCount()
+        {
+            lock.readLock().lock();
+            try
+            {
+                return current.approximateElementCount();
+            }
+            finally
+            {
+                lock.readLock().unlock();
+            }
+        }
+
+        private double expectedFpp()
+        {
+            lock.readLock().lock();
+            try
+            {
+                return current.expectedFpp();
+            }
+            finally
+            {
+                lock.readLock().unlock();
+            }
+        }
+
+        private long getSizeInBytes()
+        {
+            if (!isReady())
+            {
+                return 0;
+            }
+
+            // The optimal number of bits of the Bloom filter for the expected insertions and false positive rate.
+            return (long) (-expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)) / 8);
+        }
+
+        @Override
+        public String toString()
+        {
+            return !isReady() ? "not built" :
+                   String.format("%s paths, %s KB, false positive probability %.4f",
+                                 approximateElementCount(), getSizeInBytes() / 1024, expectedFpp());
+        }
+
+    }
+
+}
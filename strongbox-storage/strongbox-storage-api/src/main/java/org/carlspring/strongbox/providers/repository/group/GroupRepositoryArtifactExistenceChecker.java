@@ -33,6 +33,9 @@ public class GroupRepositoryArtifactExistenceChecker
     @Inject
     private RepositoryPathResolver repositoryPathResolver;
 
+    @Inject
+    private GroupMemberArtifactPathFilter groupMemberArtifactPathFilter;
+
     public boolean artifactExistsInTheGroupRepositorySubTree(final Repository groupRepository,
                                                              final RepositoryPath repositoryPath)
             throws IOException
@@ -74,7 +77,8 @@ public class GroupRepositoryArtifactExistenceChecker
                 final LayoutProvider layoutProvider = layoutProviderRegistry.getProvider(subRepository.getLayout());
                 RepositoryPath subRepositoryPath = repositoryPathResolver.resolve(subRepository, repositoryPath.relativize());
                 
-                if (RepositoryFiles.artifactExists(subRepositoryPath))
+                if (groupMemberArtifactPathFilter.mightContain(subRepositoryPath) &&
+                    RepositoryFiles.artifactExists(subRepositoryPath))
                 {
                     repositoryArtifactExistence.get(storageAndRepositoryId).setTrue();
                     return true;
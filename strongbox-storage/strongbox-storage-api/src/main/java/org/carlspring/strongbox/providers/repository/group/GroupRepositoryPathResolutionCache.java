@@ -0,0 +1,251 @@
+package org.carlspring.strongbox.providers.repository.group;
+
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.event.server.ServerEvent;
+import org.carlspring.strongbox.event.server.ServerEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.repository.event.ProxyRepositoryPathExpiredEvent;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers which group member the path was resolved from (or that none of the members holds it), so the repeated
+ * group lookups don't have to evaluate every member.
+ * <p>
+ * The entries are kept per path, with one entry per group, so the path stored into (or removed from) any member
+ * invalidates the path within all the groups at once. The whole cache is invalidated once the configuration changes,
+ * as the group members, the routing rules and the repository statuses could have changed. The members are expected
+ * to be re-checked by the caller, as a member could still lose the path without an event (like on the manual removal).
+ * The misses are only cached by the caller when every consulted member reported the path as not found, so the
+ * transient member failures and the proxy members' misses (which are cached by the proxy repositories themselves) are
+ * not remembered; the missing entries still expire after {@link #negativeTimeToLiveSeconds}. The cache is local to the
+ * node, as are the events it is invalidated by.
+ */
+@Component
+public class GroupRepositoryPathResolutionCache
+        implements InitializingBean
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(GroupRepositoryPathResolutionCache.class);
+
+    @Value("${strongbox.group.resolutionCache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${strongbox.group.resolutionCache.maximumSize:100000}")
+    private long maximumSize;
+
+    @Value("${strongbox.group.resolutionCache.negativeTimeToLiveSeconds:60}")
+    private long negativeTimeToLiveSeconds;
+
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * The group entries by the path.
+     */
+    private Cache<String, ConcurrentMap<String, Entry>> entries;
+
+    @Override
+    public void afterPropertiesSet()
+    {
+        entries = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    /**
+     * @return the cached resolution of the group path, or <code>null</code> if there is none
+     */
+    public Entry get(RepositoryPath groupRepositoryPath)
+        throws IOException
+    {
+        if (!enabled)
+        {
+            return null;
+        }
+
+        ConcurrentMap<String, Entry> groupEntries = entries.getIfPresent(RepositoryFiles.relativizePath(
+                groupRepositoryPath));
+        if (groupEntries == null)
+        {
+            return null;
+        }
+
+        String groupKey = getGroupKey(groupRepositoryPath.getRepository());
+        Entry entry = groupEntries.get(groupKey);
+        if (entry == null)
+        {
+            return null;
+        }
+        if (entry.isExpired())
+        {
+            groupEntries.remove(groupKey, entry);
+
+            return null;
+        }
+
+        hits.increment();
+
+        return entry;
+    }
+
+    /**
+     * @param member the (non-group) repository the group path was resolved from
+     */
+    public void resolved(RepositoryPath groupRepositoryPath,
+                         Repository member)
+        throws IOException
+    {
+        put(groupRepositoryPath, new Entry(member, Long.MAX_VALUE));
+    }
+
+    public void missing(RepositoryPath groupRepositoryPath)
+        throws IOException
+    {
+        if (negativeTimeToLiveSeconds <= 0)
+        {
+            return;
+        }
+
+        put(groupRepositoryPath,
+            new Entry(null, System.nanoTime() + TimeUnit.SECONDS.toNanos(negativeTimeToLiveSeconds)));
+    }
+
+    private void put(RepositoryPath groupRepositoryPath,
+                     Entry entry)
+        throws IOException
+    {
+        if (!enabled)
+        {
+            return;
+        }
+
+        entries.asMap()
+               .computeIfAbsent(RepositoryFiles.relativizePath(groupRepositoryPath), p -> new ConcurrentHashMap<>())
+               .put(getGroupKey(groupRepositoryPath.getRepository()), entry);
+    }
+
+    /**
+     * Invalidates the path within all the groups.
+     */
+    public void invalidate(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        entries.invalidate(RepositoryFiles.relativizePath(repositoryPath));
+    }
+
+    public void invalidateAll()
+    {
+        entries.invalidateAll();
+    }
+
+    @EventListener
+    public void handle(ArtifactEvent<RepositoryPath> event)
+    {
+        if (event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType() &&
+            event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_UPDATED.getType() &&
+            event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_METADATA_STORED.getType() &&
+            event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType())
+        {
+            return;
+        }
+
+        invalidateQuietly(event.getPath());
+    }
+
+    @EventListener
+    public void handle(ProxyRepositoryPathExpiredEvent event)
+    {
+        invalidateQuietly(event.getPath());
+    }
+
+    @EventListener
+    public void handle(ServerEvent event)
+    {
+        if (event.getType() == ServerEventTypeEnum.EVENT_SERVER_CONFIGURATION_CHANGED.getType())
+        {
+            invalidateAll();
+        }
+    }
+
+    private void invalidateQuietly(RepositoryPath repositoryPath)
+    {
+        try
+        {
+            invalidate(repositoryPath);
+        }
+        catch (IOException e)
+        {
+            logger.error(String.format("Failed to invalidate group resolution of [%s]", repositoryPath), e);
+        }
+    }
+
+    private String getGroupKey(Repository groupRepository)
+    {
+        return groupRepository.getStorage().getId() + ":" + groupRepository.getId();
+    }
+
+    /**
+     * @return the number of the group lookups which were answered from the cache
+     */
+    public long getHits()
+    {
+        return hits.sum();
+    }
+
+    public long getSize()
+    {
+        return entries.size();
+    }
+
+    public static class Entry
+    {
+
+        private final Repository member;
+
+        private final long expiresAtNanos;
+
+        private Entry(Repository member,
+                      long expiresAtNanos)
+        {
+            this.member = member;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        /**
+         * @return <code>true</code> if none of the group members holds the path
+         */
+        public boolean isMissing()
+        {
+            return member == null;
+        }
+
+        /**
+         * @return the member the path was resolved from, or <code>null</code> if the path is missing
+         */
+        public Repository getMember()
+        {
+            return member;
+        }
+
+        private boolean isExpired()
+        {
+            return expiresAtNanos != Long.MAX_VALUE && System.nanoTime() - expiresAtNanos > 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,193 @@
+package org.carlspring.strongbox.providers.repository.group;
+
+import org.carlspring.strongbox.data.criteria.Paginator;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+
+/**
+ * Iterates the ordered search results of the single group member, fetching them page by page (the page size is
+ * doubled with each page, up to {@link Paginator#MAX_LIMIT}), so that the members are only queried as deep as the
+ * merged results need. As the pages double, the rows skipped by each page query are no more than the rows of the page
+ * itself, so the whole iteration reads each member result about twice at most.
+ * <p>
+ * The cursors are merged by the {@link #comparator(Paginator)}, which follows the order of the member queries and the
+ * group order for the equal results.
+ */
+public class GroupRepositorySearchCursor
+{
+
+    private final int memberIndex;
+
+    private final Function<Paginator, List<Path>> search;
+
+    private final Paginator paginator;
+
+    private final Function<Path, Object> sortKeyExtractor;
+
+    private List<Path> page = Collections.emptyList();
+
+    private int position;
+
+    private int skip;
+
+    private int pageSize;
+
+    private boolean exhausted;
+
+    private Object headSortKey;
+
+    /**
+     * @param memberIndex the index of the member within the group
+     * @param search the search within the member
+     * @param paginator the paginator of the group search (the skip and the limit are not used)
+     * @param initialPageSize the size of the first page
+     * @param sortKeyExtractor the value of the ordering property of the result
+     */
+    public GroupRepositorySearchCursor(int memberIndex,
+                                       Function<Paginator, List<Path>> search,
+                                       Paginator paginator,
+                                       int initialPageSize,
+                                       Function<Path, Object> sortKeyExtractor)
+    {
+        this.memberIndex = memberIndex;
+        this.search = search;
+        this.paginator = paginator;
+        this.pageSize = Math.max(1, Math.min(initialPageSize, Paginator.MAX_LIMIT));
+        this.sortKeyExtractor = sortKeyExtractor;
+    }
+
+    /**
+     * @return <code>true</code> if there are more results
+     */
+    public boolean hasNext()
+    {
+        if (position < page.size())
+        {
+            return true;
+        }
+        if (exhausted)
+        {
+            return false;
+        }
+
+        Paginator pagePaginator = new Paginator();
+        pagePaginator.setSkip(skip);
+        pagePaginator.setLimit(pageSize);
+        pagePaginator.setProperty(paginator.getProperty());
+        pagePaginator.setOrder(paginator.getOrder());
+
+        page = search.apply(pagePaginator);
+        position = 0;
+        skip += pageSize;
+        // A short page is the last one.
+        exhausted = page.size() < pageSize;
+        pageSize = Math.min(pageSize * 2, Paginator.MAX_LIMIT);
+
+        if (page.isEmpty())
+        {
+            return false;
+        }
+
+        headSortKey = sortKeyExtractor.apply(page.get(0));
+
+        return true;
+    }
+
+    public Path next()
+    {
+        Path result = page.get(position++);
+        headSortKey = position < page.size() ? sortKeyExtractor.apply(page.get(position)) : null;
+
+        return result;
+    }
+
+    public int getMemberIndex()
+    {
+        return memberIndex;
+    }
+
+    /**
+     * @return the sort key of the next result, only valid once {@link #hasNext()} returned <code>true</code>
+     */
+    public Object getHeadSortKey()
+    {
+        return headSortKey;
+    }
+
+    /**
+     * The cursors are expected to have the next result (see {@link #hasNext()}).
+     */
+    public static Comparator<GroupRepositorySearchCursor> comparator(Paginator paginator)
+    {
+        Comparator<GroupRepositorySearchCursor> byMemberIndex = Comparator.comparingInt(
+                GroupRepositorySearchCursor::getMemberIndex);
+        if (paginator.getProperty() == null || paginator.getProperty().trim().isEmpty())
+        {
+            return byMemberIndex;
+        }
+
+        Comparator<GroupRepositorySearchCursor> bySortKey = (c1, c2) -> compareSortKeys(c1.getHeadSortKey(),
+                                                                                       c2.getHeadSortKey());
+
+        return (paginator.getOrder() == Paginator.Order.DESC ? bySortKey.reversed() : bySortKey).thenComparing(
+                byMemberIndex);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareSortKeys(Object k1,
+                                       Object k2)
+    {
+        if (k1 == null || k2 == null)
+        {
+            return k1 == null ? (k2 == null ? 0 : -1) : 1;
+        }
+        if (k1 instanceof Comparable && k1.getClass().isInstance(k2))
+        {
+            return ((Comparable<Object>) k1).compareTo(k2);
+        }
+
+        return k1.toString().compareTo(k2.toString());
+    }
+
+    /**
+     * Reads the (possibly nested, like <code>artifactCoordinates.coordinates.version</code>) property, with the maps
+     * accessed by the key.
+     *
+     * @return the value of the property, or <code>null</code> if it's not present
+     */
+    public static Object getPropertyValue(Object bean,
+                                          String property)
+    {
+        Object result = bean;
+        for (String name : property.split("\\."))
+        {
+            if (result == null)
+            {
+                return null;
+            }
+            else if (result instanceof Map)
+            {
+                result = ((Map<?, ?>) result).get(name);
+                continue;
+            }
+
+            BeanWrapper beanWrapper = PropertyAccessorFactory.forBeanPropertyAccess(result);
+            if (!beanWrapper.isReadableProperty(name))
+            {
+                return null;
+            }
+            result = beanWrapper.getPropertyValue(name);
+        }
+
+        return result;
+    }
+
+}
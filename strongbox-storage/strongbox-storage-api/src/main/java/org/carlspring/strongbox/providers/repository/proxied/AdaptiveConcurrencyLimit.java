@@ -0,0 +1,279 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The concurrency limit of the remote repository fetches, which adapts to the remote repository latency and failures
+ * (AIMD): the limit grows additively while the limit is utilized and the latency stays within the tolerance of its
+ * long-term average, and shrinks multiplicatively once the latency exceeds the tolerance or the fetch fails.
+ * <p>
+ * The fetches above the limit are queued for a short time, the fetches which don't fit into the queue (or don't get
+ * the permit in time) are rejected, so the request threads are not piled up behind the degraded remote repository.
+ */
+public class AdaptiveConcurrencyLimit
+{
+
+    /**
+     * The weight of the latest latency sample within the long-term latency average.
+     */
+    private static final double LATENCY_SMOOTHING = 0.05;
+
+    private final String name;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final int maxQueueSize;
+
+    private final long queueTimeoutNanos;
+
+    private final double backoffRatio;
+
+    private final double latencyTolerance;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition permitReleased = lock.newCondition();
+
+    private volatile double limit;
+
+    private volatile int inFlight;
+
+    private volatile int queueDepth;
+
+    private volatile double averageLatencyNanos;
+
+    private final LongAdder rejections = new LongAdder();
+
+    public AdaptiveConcurrencyLimit(String name,
+                                    int initialLimit,
+                                    int minLimit,
+                                    int maxLimit,
+                                    int maxQueueSize,
+                                    long queueTimeoutMillis,
+                                    double backoffRatio,
+                                    double latencyTolerance)
+    {
+        this.name = name;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.maxQueueSize = maxQueueSize;
+        this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(queueTimeoutMillis);
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    /**
+     * Acquires the permit, waiting in the queue if the limit is reached.
+     *
+     * @throws RemoteRepositoryOverloadedException if the queue is full, or the permit was not acquired in time
+     */
+    public Permit acquire()
+        throws IOException
+    {
+        lock.lock();
+        try
+        {
+            if (inFlight >= getLimit())
+            {
+                await();
+            }
+
+            inFlight++;
+
+            return new Permit();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    private void await()
+        throws IOException
+    {
+        if (queueDepth >= maxQueueSize)
+        {
+            throw reject("the queue is full");
+        }
+
+        queueDepth++;
+        try
+        {
+            long remainingNanos = queueTimeoutNanos;
+            while (inFlight >= getLimit())
+            {
+                if (remainingNanos <= 0)
+                {
+                    throw reject("the permit was not acquired in time");
+                }
+
+                remainingNanos = permitReleased.awaitNanos(remainingNanos);
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException(String.format("Interrupted while waiting for the permit of [%s].", name));
+        }
+        finally
+        {
+            queueDepth--;
+        }
+    }
+
+    private RemoteRepositoryOverloadedException reject(String reason)
+    {
+        rejections.increment();
+
+        // The client is asked to retry once the queued fetches had a chance to complete.
+        long retryAfterSeconds = Math.max(1, (long) Math.ceil((double) queueTimeoutNanos /
+                                                              TimeUnit.SECONDS.toNanos(1)));
+
+        return new RemoteRepositoryOverloadedException(
+                String.format("Remote repository [%s] is overloaded (limit [%s], in-flight [%s]): %s.", name,
+                              getLimit(), inFlight, reason),
+                retryAfterSeconds);
+    }
+
+    private void release(long latencyNanos,
+                         boolean failed)
+    {
+        lock.lock();
+        try
+        {
+            boolean utilized = inFlight * 2 >= limit;
+            inFlight--;
+
+            if (failed)
+            {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            }
+            else if (latencyNanos >= 0)
+            {
+                onLatencySample(latencyNanos, utilized);
+            }
+
+            permitReleased.signalAll();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    private void onLatencySample(long latencyNanos,
+                                 boolean utilized)
+    {
+        if (averageLatencyNanos == 0)
+        {
+            averageLatencyNanos = latencyNanos;
+
+            return;
+        }
+
+        if (latencyNanos > averageLatencyNanos * latencyTolerance)
+        {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        }
+        else if (utilized)
+        {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+
+        averageLatencyNanos += (latencyNanos - averageLatencyNanos) * LATENCY_SMOOTHING;
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public int getLimit()
+    {
+        return (int) limit;
+    }
+
+    public int getInFlight()
+    {
+        return inFlight;
+    }
+
+    public int getQueueDepth()
+    {
+        return queueDepth;
+    }
+
+    public long getRejections()
+    {
+        return rejections.sum();
+    }
+
+    public long getAverageLatencyMillis()
+    {
+        return TimeUnit.NANOSECONDS.toMillis((long) averageLatencyNanos);
+    }
+
+    /**
+     * The permit of the single remote fetch. The latency is measured until the remote repository responds, so it's
+     * not affected by the size of the fetched resource.
+     */
+    public class Permit
+    {
+
+        private final long startNanos = System.nanoTime();
+
+        private long latencyNanos = -1;
+
+        private boolean released;
+
+        /**
+         * Should be called once the remote repository has responded.
+         */
+        public void onResponse()
+        {
+            if (latencyNanos < 0)
+            {
+                latencyNanos = System.nanoTime() - startNanos;
+            }
+        }
+
+        /**
+         * Releases the permit after the successful fetch (including the fetches of the resources, which were not found
+         * or not modified).
+         */
+        public void release()
+        {
+            release(false);
+        }
+
+        /**
+         * Releases the permit after the failed fetch.
+         */
+        public void releaseFailed()
+        {
+            release(true);
+        }
+
+        private void release(boolean failed)
+        {
+            if (released)
+            {
+                return;
+            }
+            released = true;
+
+            AdaptiveConcurrencyLimit.this.release(latencyNanos, failed);
+        }
+
+    }
+
+}
@@ -0,0 +1,142 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.services.ArtifactManagementService;
+import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteRepositoryAlivenessCacheManager;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the proxy repository cache within its storage budget: once the total size of the proxied artifacts exceeds the
+ * budget, the artifacts are evicted in the order of the {@link ProxyRepositoryCacheEvictionPolicy}, until the size
+ * drops under the low watermark (so the eviction doesn't run again right after the next few fetches).
+ * <p>
+ * The eviction candidates are selected with the ordered, limited query per batch, rather than by loading all the
+ * {@link ArtifactEntry} records of the repository. Each batch continues right after the last candidate of the previous
+ * one (see {@link ArtifactEntryService#findMatchingAfter}), so the batches neither skip over the artifacts which failed
+ * to be evicted nor page through the whole order again.
+ */
+@Component
+public class LocalStorageProxyRepositoryCacheEvictor
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalStorageProxyRepositoryCacheEvictor.class);
+
+    @Inject
+    private ConfigurationManager configurationManager;
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @Inject
+    private ArtifactEntryService artifactEntryService;
+
+    @Inject
+    private RemoteRepositoryAlivenessCacheManager remoteRepositoryAlivenessCacheManager;
+
+    @Inject
+    private ArtifactManagementService artifactManagementService;
+
+    /**
+     * @param maxSizeInBytes      the storage budget of the proxy repository
+     * @param lowWatermarkInBytes the size the proxy repository cache is reduced to, once the budget is exceeded
+     * @param batchSize           the number of the eviction candidates selected at once
+     * @param progressListener    notified with the (running) result after each batch
+     */
+    public ProxyRepositoryCacheEvictionResult evict(String storageId,
+                                                    String repositoryId,
+                                                    long maxSizeInBytes,
+                                                    long lowWatermarkInBytes,
+                                                    ProxyRepositoryCacheEvictionPolicy evictionPolicy,
+                                                    int batchSize,
+                                                    Consumer<ProxyRepositoryCacheEvictionResult> progressListener)
+        throws IOException
+    {
+        Storage storage = configurationManager.getConfiguration().getStorage(storageId);
+        Repository repository = storage == null ? null : storage.getRepository(repositoryId);
+        if (repository == null || !repository.isProxyRepository() || repository.getRemoteRepository() == null)
+        {
+            throw new IllegalArgumentException(String.format("Repository [%s:%s] is not a proxy repository.",
+                                                             storageId, repositoryId));
+        }
+
+        long sizeInBytes = artifactEntryService.sumSizeInBytes(storageId, repositoryId);
+        ProxyRepositoryCacheEvictionResult result = new ProxyRepositoryCacheEvictionResult(sizeInBytes);
+        if (sizeInBytes <= maxSizeInBytes)
+        {
+            return result;
+        }
+
+        if (!remoteRepositoryAlivenessCacheManager.isAlive(repository.getRemoteRepository()))
+        {
+            logger.warn(String.format("Remote repository [%s] is down. Artifacts won't be evicted.",
+                                      repository.getRemoteRepository().getUrl()));
+
+            return result;
+        }
+
+        ArtifactEntry lastCandidate = null;
+        while (result.getSizeInBytes() > lowWatermarkInBytes)
+        {
+            List<ArtifactEntry> candidates = artifactEntryService.findMatchingAfter(storageId, repositoryId,
+                                                                                    evictionPolicy.getSort(),
+                                                                                    lastCandidate, batchSize);
+            if (candidates.isEmpty())
+            {
+                break;
+            }
+
+            for (ArtifactEntry candidate : candidates)
+            {
+                if (result.getSizeInBytes() <= lowWatermarkInBytes)
+                {
+                    break;
+                }
+
+                if (evict(repository, candidate))
+                {
+                    result.onEvicted(candidate.getSizeInBytes() == null ? 0 : candidate.getSizeInBytes());
+                }
+            }
+
+            lastCandidate = candidates.get(candidates.size() - 1);
+            progressListener.accept(result);
+        }
+
+        logger.info(String.format("Eviction of [%s:%s]: %s.", storageId, repositoryId, result));
+
+        return result;
+    }
+
+    private boolean evict(Repository repository,
+                          ArtifactEntry artifactEntry)
+    {
+        RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository).resolve(artifactEntry);
+        try
+        {
+            artifactManagementService.delete(repositoryPath, true);
+
+            return true;
+        }
+        catch (IOException e)
+        {
+            logger.warn(String.format("Failed to evict [%s].", repositoryPath), e);
+
+            return false;
+        }
+    }
+
+}
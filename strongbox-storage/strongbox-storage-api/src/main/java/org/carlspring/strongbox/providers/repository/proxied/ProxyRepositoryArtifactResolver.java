@@ -1,12 +1,19 @@
 package org.carlspring.strongbox.providers.repository.proxied;
 
+import org.carlspring.strongbox.artifact.ArtifactNotFoundException;
+import org.carlspring.strongbox.artifact.ArtifactNotModifiedException;
 import org.carlspring.strongbox.client.RestArtifactResolver;
+import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.event.artifact.ArtifactEventListenerRegistry;
+import org.carlspring.strongbox.io.StreamUtils;
 import org.carlspring.strongbox.providers.io.RepositoryFileAttributes;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathLock;
 import org.carlspring.strongbox.services.ArtifactManagementService;
+import org.carlspring.strongbox.services.ArtifactManagementService.DigestsValidator;
 import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.repository.RepositoryChecksumPolicyValidationTypeEnum;
 import org.carlspring.strongbox.storage.repository.remote.RemoteRepository;
 import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteRepositoryAlivenessCacheManager;
 
@@ -14,10 +21,19 @@ import javax.inject.Inject;
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 
+import org.apache.commons.io.input.TeeInputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -30,6 +46,11 @@ public class ProxyRepositoryArtifactResolver
 {
     private static final Logger logger = LoggerFactory.getLogger(ProxyRepositoryArtifactResolver.class);
 
+    private static final String CHECKSUM_HEADER_PREFIX = "X-Checksum-";
+
+    private static final RepositoryChecksumPolicyValidationTypeEnum DEFAULT_CHECKSUM_POLICY =
+            RepositoryChecksumPolicyValidationTypeEnum.WARN;
+
     @Inject
     private RemoteRepositoryAlivenessCacheManager remoteRepositoryAlivenessCacheManager;
 
@@ -45,6 +66,18 @@ public class ProxyRepositoryArtifactResolver
     @Inject
     private ArtifactManagementService artifactManagementService;
 
+    @Inject
+    private RemoteResourceValidatorsCache remoteResourceValidatorsCache;
+
+    @Inject
+    private RangedRemoteArtifactDownloader rangedRemoteArtifactDownloader;
+
+    @Inject
+    private RemoteChecksumFetcher remoteChecksumFetcher;
+
+    @Inject
+    private RemoteRepositoryConcurrencyLimiter remoteRepositoryConcurrencyLimiter;
+
     /**
      * This method has been developed to force fetch resource from remote.
      *
@@ -54,6 +87,31 @@ public class ProxyRepositoryArtifactResolver
      */
     public RepositoryPath fetchRemoteResource(RepositoryPath repositoryPath)
         throws IOException
+    {
+        return fetchRemoteResource(repositoryPath, Collections.emptyMap());
+    }
+
+    /**
+     * Revalidates the stored resource with the conditional request, built from the validators of the response it was
+     * fetched with. If the remote resource was not modified, only the modification time of the stored file is updated
+     * (so the resource is not considered as expired), without rewriting the file or its {@link ArtifactEntry}.
+     * Otherwise the resource is fetched as with {@link #fetchRemoteResource(RepositoryPath)}.
+     */
+    public RepositoryPath revalidateRemoteResource(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        Map<String, String> conditionalHeaders = remoteResourceValidatorsCache.getConditionalHeaders(repositoryPath);
+        if (conditionalHeaders.isEmpty() || !Files.exists(repositoryPath))
+        {
+            return fetchRemoteResource(repositoryPath);
+        }
+
+        return fetchRemoteResource(repositoryPath, conditionalHeaders);
+    }
+
+    private RepositoryPath fetchRemoteResource(RepositoryPath repositoryPath,
+                                               Map<String, String> conditionalHeaders)
+        throws IOException
     {
         Repository repository = repositoryPath.getFileSystem().getRepository();
         final RemoteRepository remoteRepository = repository.getRemoteRepository();
@@ -64,32 +122,181 @@ public class ProxyRepositoryArtifactResolver
             return null;
         }
 
-        RestArtifactResolver client = restArtifactResolverFactory.newInstance(remoteRepository);
+        // The remote checksums are never awaited under the fetch lock, see RemoteChecksumFiles.
+        RemoteChecksumFiles remoteChecksumFiles = new RemoteChecksumFiles(
+                shouldValidateRemoteChecksums(repositoryPath) ? remoteChecksumFetcher.fetchChecksums(repositoryPath)
+                                                              : Collections.emptyMap(),
+                getChecksumPolicy(remoteRepository));
+        RepositoryPath result = null;
+        try
+        {
+            remoteChecksumFiles.awaitRequired(repositoryPath);
+
+            result = fetchRemoteResourceExclusive(repositoryPath, conditionalHeaders, remoteChecksumFiles);
 
+            return result;
+        }
+        finally
+        {
+            if (result != null)
+            {
+                remoteChecksumFiles.report(repositoryPath);
+            }
+            else
+            {
+                remoteChecksumFiles.cancel();
+            }
+        }
+    }
+
+    private RepositoryPath fetchRemoteResourceExclusive(RepositoryPath repositoryPath,
+                                                        Map<String, String> conditionalHeaders,
+                                                        RemoteChecksumFiles remoteChecksumFiles)
+        throws IOException
+    {
         ReadWriteLock lockSource = repositoryPathLock.lock(repositoryPath, "remote-fetch");
         Lock lock = lockSource.writeLock();
         lock.lock();
 
-        try (InputStream is = new BufferedInputStream(new ProxyRepositoryInputStream(client, repositoryPath)))
+        AdaptiveConcurrencyLimit.Permit permit = null;
+        boolean failed = true;
+        try
+        {
+            permit = remoteRepositoryConcurrencyLimiter.acquire(repositoryPath.getRepository().getRemoteRepository());
+
+            RepositoryPath result = doFetchRemoteResource(repositoryPath, conditionalHeaders, permit,
+                                                          remoteChecksumFiles);
+            failed = false;
+
+            return result;
+        }
+        catch (ArtifactNotModifiedException e)
+        {
+            failed = false;
+            logger.debug(String.format("Remote resource [%s] was not modified.", repositoryPath));
+
+            Files.setLastModifiedTime(repositoryPath, FileTime.from(Instant.now()));
+
+            return repositoryPath;
+        }
+        catch (ArtifactNotFoundException e)
         {
-            return doFetch(repositoryPath, is);
+            failed = false;
+
+            throw e;
         }
         finally
         {
+            releasePermit(permit, failed);
             lock.unlock();
         }
     }
 
+    private RepositoryPath doFetchRemoteResource(RepositoryPath repositoryPath,
+                                                 Map<String, String> conditionalHeaders,
+                                                 AdaptiveConcurrencyLimit.Permit permit,
+                                                 RemoteChecksumFiles remoteChecksumFiles)
+        throws IOException
+    {
+        RestArtifactResolver client = restArtifactResolverFactory.newInstance(
+                repositoryPath.getRepository().getRemoteRepository());
+
+        long rangedDownloadLength = conditionalHeaders.isEmpty()
+                ? rangedRemoteArtifactDownloader.getRangedDownloadLength(client, repositoryPath) : -1;
+        if (rangedDownloadLength > 0)
+        {
+            // The range requests acquire the permits on their own.
+            onRemoteResponse(permit);
+            releasePermit(permit, false);
+
+            return doRangedFetch(client, repositoryPath, rangedDownloadLength, remoteChecksumFiles);
+        }
+
+        try (InputStream is = new BufferedInputStream(new ProxyRepositoryInputStream(client, repositoryPath,
+                                                                                     conditionalHeaders)))
+        {
+            //We need this to force initialize lazy connection to remote repository.
+            int available = is.available();
+            logger.debug(String.format("Got [%s] avaliable bytes for [%s].", available, repositoryPath));
+            onRemoteResponse(permit);
+
+            return doFetch(repositoryPath, is, remoteChecksumFiles);
+        }
+    }
+
+    private void onRemoteResponse(AdaptiveConcurrencyLimit.Permit permit)
+    {
+        if (permit != null)
+        {
+            permit.onResponse();
+        }
+    }
+
+    private void releasePermit(AdaptiveConcurrencyLimit.Permit permit,
+                               boolean failed)
+    {
+        if (permit == null)
+        {
+            return;
+        }
+
+        if (failed)
+        {
+            permit.releaseFailed();
+        }
+        else
+        {
+            permit.release();
+        }
+    }
+
+    private boolean shouldValidateRemoteChecksums(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        return repositoryPath.getRepository().getRemoteRepository().isChecksumValidation() &&
+               Boolean.TRUE.equals(RepositoryFiles.isArtifact(repositoryPath));
+    }
+
+    private RepositoryChecksumPolicyValidationTypeEnum getChecksumPolicy(RemoteRepository remoteRepository)
+    {
+        return RepositoryChecksumPolicyValidationTypeEnum.ofPolicyType(remoteRepository.getChecksumPolicy(),
+                                                                        DEFAULT_CHECKSUM_POLICY);
+    }
+
+    private RepositoryPath doRangedFetch(RestArtifactResolver client,
+                                         RepositoryPath repositoryPath,
+                                         long contentLength,
+                                         RemoteChecksumFiles remoteChecksumFiles)
+        throws IOException
+    {
+        Path downloadedFile;
+        try
+        {
+            downloadedFile = rangedRemoteArtifactDownloader.download(client, repositoryPath, contentLength);
+        }
+        finally
+        {
+            client.close();
+        }
+
+        try (InputStream is = new BufferedInputStream(Files.newInputStream(downloadedFile)))
+        {
+            return doFetch(repositoryPath, is, remoteChecksumFiles);
+        }
+        finally
+        {
+            Files.deleteIfExists(downloadedFile);
+        }
+    }
+
     private RepositoryPath doFetch(RepositoryPath repositoryPath,
-                                   InputStream is)
+                                   InputStream is,
+                                   RemoteChecksumFiles remoteChecksumFiles)
         throws IOException
     {
-        //We need this to force initialize lazy connection to remote repository.
-        int available = is.available();
-        logger.debug(String.format("Got [%s] avaliable bytes for [%s].", available, repositoryPath));
-        
-        
-        RepositoryPath result = onSuccessfulProxyRepositoryResponse(is, repositoryPath);
+        RepositoryPath result = onSuccessfulProxyRepositoryResponse(is, repositoryPath, remoteChecksumFiles);
+        remoteResourceValidatorsCache.update(repositoryPath,
+                                             StreamUtils.findSource(ProxyRepositoryInputStream.class, is));
         
         RepositoryFileAttributes artifactFileAttributes = Files.readAttributes(repositoryPath,
                                                                                RepositoryFileAttributes.class);
@@ -105,14 +312,230 @@ public class ProxyRepositoryArtifactResolver
                                                                  RepositoryPath repositoryPath)
             throws IOException
     {
-         artifactManagementService.store(repositoryPath, is);
-         
-        // TODO: Add a policy for validating the checksums of downloaded artifacts
-        // TODO: Validate the local checksum against the remote's checksums
-        // sbespalov: we have checksum validation within ArtifactManagementService.store() method, but it's not strict for now (see SB-949)
-        
-        // Serve the downloaded artifact
+        RemoteRepository remoteRepository = repositoryPath.getRepository().getRemoteRepository();
+
+        return onSuccessfulProxyRepositoryResponse(is, repositoryPath,
+                                                   new RemoteChecksumFiles(Collections.emptyMap(),
+                                                                           getChecksumPolicy(remoteRepository)));
+    }
+
+    private RepositoryPath onSuccessfulProxyRepositoryResponse(InputStream is,
+                                                               RepositoryPath repositoryPath,
+                                                               RemoteChecksumFiles remoteChecksumFiles)
+            throws IOException
+    {
+        ProxyRepositoryInputStream remoteStream = StreamUtils.findSource(ProxyRepositoryInputStream.class, is);
+        DigestsValidator digestsValidator = (p, digestMap) -> remoteChecksumFiles.validate(p, digestMap,
+                                                                                           remoteStream);
+
+        ProxyStreamThroughTarget streamThroughTarget = ProxyStreamThroughContext.take(repositoryPath);
+        if (streamThroughTarget == null)
+        {
+            artifactManagementService.store(repositoryPath, is, digestsValidator);
+
+            // Serve the downloaded artifact
+            return repositoryPath;
+        }
+
+        // Serve the artifact while it's being downloaded. The target is completed only once the artifact was
+        // validated and stored, otherwise the partial content is aborted on the target.
+        boolean stored = false;
+        try
+        {
+            OutputStream os = streamThroughTarget.open(repositoryPath, getRemoteChecksums(repositoryPath,
+                                                                                          remoteStream));
+            artifactManagementService.store(repositoryPath, new TeeInputStream(is, os, false), digestsValidator);
+            stored = true;
+        }
+        finally
+        {
+            if (stored)
+            {
+                streamThroughTarget.complete();
+            }
+            else
+            {
+                streamThroughTarget.abort();
+            }
+        }
+
         return repositoryPath;
     }
 
+    /**
+     * @return the checksums announced by the remote repository within the response headers (like
+     * <code>X-Checksum-Sha1</code>), which the digests of the artifact are validated against, see
+     * {@link RemoteChecksumFiles#validate(RepositoryPath, Map, ProxyRepositoryInputStream)}
+     */
+    private Map<String, String> getRemoteChecksums(RepositoryPath repositoryPath,
+                                                   ProxyRepositoryInputStream remoteStream)
+        throws IOException
+    {
+        if (remoteStream == null)
+        {
+            return Collections.emptyMap();
+        }
+
+        Map<String, String> result = new HashMap<>();
+        for (String digestAlgorithm : repositoryPath.getFileSystem().getDigestAlgorithmSet())
+        {
+            String remoteChecksum = remoteStream.getResponseHeader(CHECKSUM_HEADER_PREFIX +
+                                                                   digestAlgorithm.replace("-", ""));
+            if (remoteChecksum != null)
+            {
+                result.put(digestAlgorithm, remoteChecksum.trim());
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * The remote checksum files (like <code>.sha1</code>) and the response header checksums of the fetched artifact,
+     * which its digests are validated against, according to the checksum policy of the remote repository.
+     * <p>
+     * The {@link RepositoryChecksumPolicyValidationTypeEnum#STRICT} policy needs the remote checksums before the
+     * artifact is stored, so they are awaited before the fetch lock is taken, and the artifact is rejected if any of
+     * them is not available or doesn't match. The other policies only report the mismatch once the remote checksum
+     * arrives, so the fetch never waits for them.
+     */
+    private class RemoteChecksumFiles
+    {
+
+        private final Map<String, CompletableFuture<String>> remoteChecksums;
+
+        private final RepositoryChecksumPolicyValidationTypeEnum checksumPolicy;
+
+        private final Map<String, String> requiredChecksums = new HashMap<>();
+
+        private volatile Map<String, String> digestMap;
+
+        private RemoteChecksumFiles(Map<String, CompletableFuture<String>> remoteChecksums,
+                                    RepositoryChecksumPolicyValidationTypeEnum checksumPolicy)
+        {
+            this.remoteChecksums = remoteChecksums;
+            this.checksumPolicy = checksumPolicy;
+        }
+
+        private void awaitRequired(RepositoryPath repositoryPath)
+            throws IOException
+        {
+            if (checksumPolicy != RepositoryChecksumPolicyValidationTypeEnum.STRICT)
+            {
+                return;
+            }
+
+            for (Map.Entry<String, CompletableFuture<String>> remoteChecksum : remoteChecksums.entrySet())
+            {
+                String value = remoteChecksumFetcher.getChecksum(repositoryPath, remoteChecksum.getValue());
+                if (value == null)
+                {
+                    throw new IOException(String.format("The remote [%s] checksum of [%s] is not available.",
+                                                        remoteChecksum.getKey(), repositoryPath));
+                }
+
+                requiredChecksums.put(remoteChecksum.getKey(), value);
+            }
+        }
+
+        private void validate(RepositoryPath repositoryPath,
+                              Map<String, String> digestMap,
+                              ProxyRepositoryInputStream remoteStream)
+            throws IOException
+        {
+            Map<String, String> headerChecksums = getRemoteChecksums(repositoryPath, remoteStream);
+            for (Map.Entry<String, String> digest : digestMap.entrySet())
+            {
+                String remoteChecksum = headerChecksums.get(digest.getKey());
+                if (remoteChecksum == null || remoteChecksum.equalsIgnoreCase(digest.getValue()))
+                {
+                    continue;
+                }
+
+                String message = getMismatchMessage(repositoryPath, digest, remoteChecksum);
+                if (checksumPolicy == RepositoryChecksumPolicyValidationTypeEnum.STRICT)
+                {
+                    throw new IOException(message);
+                }
+
+                reportMismatch(message);
+            }
+
+            if (checksumPolicy != RepositoryChecksumPolicyValidationTypeEnum.STRICT)
+            {
+                // The mismatch is reported once the artifact was stored, see #report(RepositoryPath).
+                this.digestMap = digestMap;
+
+                return;
+            }
+
+            for (Map.Entry<String, String> digest : digestMap.entrySet())
+            {
+                String remoteChecksum = requiredChecksums.get(digest.getKey());
+                if (remoteChecksum != null && !remoteChecksum.equalsIgnoreCase(digest.getValue()))
+                {
+                    throw new IOException(getMismatchMessage(repositoryPath, digest, remoteChecksum));
+                }
+            }
+        }
+
+        private void report(RepositoryPath repositoryPath)
+        {
+            Map<String, String> digests = digestMap;
+            if (digests == null)
+            {
+                cancel();
+
+                return;
+            }
+
+            for (Map.Entry<String, String> digest : digests.entrySet())
+            {
+                CompletableFuture<String> remoteChecksum = remoteChecksums.get(digest.getKey());
+                if (remoteChecksum == null)
+                {
+                    continue;
+                }
+
+                remoteChecksum.thenAccept(value -> {
+                    if (value == null || value.equalsIgnoreCase(digest.getValue()))
+                    {
+                        return;
+                    }
+
+                    reportMismatch(getMismatchMessage(repositoryPath, digest, value));
+                });
+            }
+        }
+
+        private void reportMismatch(String message)
+        {
+            if (checksumPolicy == RepositoryChecksumPolicyValidationTypeEnum.WARN)
+            {
+                logger.warn(message);
+            }
+            else
+            {
+                logger.info(message);
+            }
+        }
+
+        /**
+         * Cancels the remote checksums, which are not needed, as the artifact was not fetched.
+         */
+        private void cancel()
+        {
+            remoteChecksums.values().forEach(remoteChecksum -> remoteChecksum.cancel(false));
+        }
+
+        private String getMismatchMessage(RepositoryPath repositoryPath,
+                                          Map.Entry<String, String> digest,
+                                          String remoteChecksum)
+        {
+            return String.format("The [%s] checksum of [%s] is [%s], but the remote checksum is [%s].",
+                                 digest.getKey(), repositoryPath, digest.getValue(), remoteChecksum);
+        }
+
+    }
+
 }
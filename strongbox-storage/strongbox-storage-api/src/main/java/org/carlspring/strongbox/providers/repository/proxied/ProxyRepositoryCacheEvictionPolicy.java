@@ -0,0 +1,36 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.data.service.support.search.Sort;
+import org.carlspring.strongbox.data.service.support.search.Sort.Order;
+
+/**
+ * The order in which the proxied artifacts are evicted from the proxy repository cache. The ties are broken by the
+ * other usage statistic, and then by the artifact size (the larger artifacts first), so the fewer artifacts are evicted
+ * to reach the storage budget.
+ */
+public enum ProxyRepositoryCacheEvictionPolicy
+{
+
+    /**
+     * The least recently used artifacts are evicted first.
+     */
+    LRU(Sort.by(Order.asc("lastUsed"), Order.asc("downloadCount"), Order.desc("sizeInBytes"))),
+
+    /**
+     * The least frequently used (downloaded) artifacts are evicted first.
+     */
+    LFU(Sort.by(Order.asc("downloadCount"), Order.asc("lastUsed"), Order.desc("sizeInBytes")));
+
+    private final Sort sort;
+
+    ProxyRepositoryCacheEvictionPolicy(Sort sort)
+    {
+        this.sort = sort;
+    }
+
+    public Sort getSort()
+    {
+        return sort;
+    }
+
+}
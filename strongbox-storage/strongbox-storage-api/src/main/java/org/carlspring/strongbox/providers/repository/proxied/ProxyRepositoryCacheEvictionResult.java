@@ -0,0 +1,52 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+/**
+ * The outcome of the single {@link LocalStorageProxyRepositoryCacheEvictor} run.
+ */
+public class ProxyRepositoryCacheEvictionResult
+{
+
+    private long sizeInBytes;
+
+    private long evictedArtifacts;
+
+    private long evictedBytes;
+
+    public ProxyRepositoryCacheEvictionResult(long sizeInBytes)
+    {
+        this.sizeInBytes = sizeInBytes;
+    }
+
+    void onEvicted(long artifactSizeInBytes)
+    {
+        sizeInBytes -= artifactSizeInBytes;
+        evictedArtifacts++;
+        evictedBytes += artifactSizeInBytes;
+    }
+
+    /**
+     * @return the size of the proxy repository cache after the eviction
+     */
+    public long getSizeInBytes()
+    {
+        return sizeInBytes;
+    }
+
+    public long getEvictedArtifacts()
+    {
+        return evictedArtifacts;
+    }
+
+    public long getEvictedBytes()
+    {
+        return evictedBytes;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("evicted [%s] artifacts ([%s] bytes), cache size [%s] bytes", evictedArtifacts,
+                             evictedBytes, sizeInBytes);
+    }
+
+}
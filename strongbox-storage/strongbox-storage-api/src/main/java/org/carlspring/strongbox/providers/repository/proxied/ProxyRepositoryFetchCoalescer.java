@@ -0,0 +1,175 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.artifact.ArtifactNotFoundException;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathLock;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalesces the concurrent remote fetches of the same path (single-flight).
+ * <p>
+ * The first request for the path performs the fetch, while the concurrent requests for the same path within this JVM
+ * attach to the in-flight fetch and resolve the path from the local storage once it's committed. Across the nodes the
+ * fetches are coalesced by the {@link RepositoryPathLock}: only the leading request of each node competes for the
+ * lock, and the nodes which get it after the path has been fetched find the path in the local storage.
+ */
+@Component
+public class ProxyRepositoryFetchCoalescer
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ProxyRepositoryFetchCoalescer.class);
+
+    @Inject
+    private RepositoryPathLock repositoryPathLock;
+
+    private final ConcurrentMap<String, CompletableFuture<Void>> inFlightFetches = new ConcurrentHashMap<>();
+
+    private final LongAdder remoteFetches = new LongAdder();
+
+    private final LongAdder coalescedFetches = new LongAdder();
+
+    /**
+     * @param repositoryPath the path to fetch
+     * @param localFetch     resolves the path from the local storage, returns <code>null</code> if there is no path
+     * @param remoteFetch    fetches the path from the remote repository
+     * @return the fetched path, or <code>null</code> if the path was not found
+     */
+    public RepositoryPath fetch(RepositoryPath repositoryPath,
+                                PathFetch localFetch,
+                                PathFetch remoteFetch)
+        throws IOException
+    {
+        String key = repositoryPath.toUri().toString();
+
+        CompletableFuture<Void> fetch = new CompletableFuture<>();
+        CompletableFuture<Void> inFlightFetch = inFlightFetches.putIfAbsent(key, fetch);
+        if (inFlightFetch != null)
+        {
+            logger.debug(String.format("Attach to the in-flight fetch of [%s].", repositoryPath));
+
+            await(repositoryPath, inFlightFetch);
+            coalescedFetches.increment();
+
+            return localFetch.fetch();
+        }
+
+        try
+        {
+            RepositoryPath result = fetchExclusive(repositoryPath, localFetch, remoteFetch);
+            fetch.complete(null);
+
+            return result;
+        }
+        catch (IOException | RuntimeException e)
+        {
+            fetch.completeExceptionally(e);
+
+            throw e;
+        }
+        finally
+        {
+            inFlightFetches.remove(key, fetch);
+        }
+    }
+
+    private RepositoryPath fetchExclusive(RepositoryPath repositoryPath,
+                                          PathFetch localFetch,
+                                          PathFetch remoteFetch)
+        throws IOException
+    {
+        Lock lock = repositoryPathLock.lock(repositoryPath, "pre-remote-fetch").writeLock();
+        lock.lock();
+
+        try
+        {
+            // This is the second attempt, but this time inside exclusive write lock
+            // Things might have changed, for example the path might have been fetched by another node.
+            RepositoryPath result = localFetch.fetch();
+            if (result != null)
+            {
+                coalescedFetches.increment();
+
+                return result;
+            }
+
+            remoteFetches.increment();
+
+            return remoteFetch.fetch();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    private void await(RepositoryPath repositoryPath,
+                       CompletableFuture<Void> inFlightFetch)
+        throws IOException
+    {
+        try
+        {
+            inFlightFetch.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException(String.format("Interrupted while waiting for [%s] to be fetched.",
+                                                           repositoryPath));
+        }
+        catch (ExecutionException e)
+        {
+            if (e.getCause() instanceof ArtifactNotFoundException)
+            {
+                // There is nothing to resolve from the local storage then.
+                return;
+            }
+
+            throw new IOException(String.format("Failed to fetch [%s].", repositoryPath), e.getCause());
+        }
+    }
+
+    /**
+     * @return the number of the fetches which were actually performed from the remote repository
+     */
+    public long getRemoteFetches()
+    {
+        return remoteFetches.sum();
+    }
+
+    /**
+     * @return the number of the fetches which were served by another fetch of the same path
+     */
+    public long getCoalescedFetches()
+    {
+        return coalescedFetches.sum();
+    }
+
+    public int getInFlightFetches()
+    {
+        return inFlightFetches.size();
+    }
+
+    @FunctionalInterface
+    public interface PathFetch
+    {
+
+        RepositoryPath fetch()
+            throws IOException;
+
+    }
+
+}
@@ -1,12 +1,14 @@
 package org.carlspring.strongbox.providers.repository.proxied;
 
-import java.io.Closeable;
 import java.io.FilterInputStream;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang3.time.StopWatch;
 import org.carlspring.strongbox.artifact.ArtifactNotFoundException;
+import org.carlspring.strongbox.artifact.ArtifactNotModifiedException;
 import org.carlspring.strongbox.client.RemoteRepositoryRetryArtifactDownloadConfiguration;
 import org.carlspring.strongbox.client.RestArtifactResolver;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
@@ -24,46 +26,76 @@ public class ProxyRepositoryInputStream extends FilterInputStream
 
     private RestArtifactResolver client;
 
-    private ThreadLocal<ArtifactCopyContext> artifactCopyContext = new ThreadLocal<>();;
-
-    private ReadTemplate readTemplate = new ReadTemplate();
-
     RemoteArtifactStreamFetcher remoteArtifactStreamFetcher;
 
     private RepositoryPath repositoryPath;
 
+    private final StopWatch stopWatch = new StopWatch();
+
+    private int attempts = 1;
+
+    private long currentOffset;
+
+    private Boolean rangeRequestSupported;
+
     public ProxyRepositoryInputStream(RestArtifactResolver proxyTargetClient,
                                       RepositoryPath path)
         throws IOException
     {
-        super(new RemoteArtifactStreamFetcher(proxyTargetClient).getInputStream(0, path));
+        this(proxyTargetClient, path, Collections.emptyMap());
+    }
+
+    /**
+     * @param conditionalHeaders the conditional request headers (like <code>If-None-Match</code>) of the initial
+     *                           request, the <code>304 Not Modified</code> response is reported with
+     *                           {@link ArtifactNotModifiedException} on the first read
+     */
+    public ProxyRepositoryInputStream(RestArtifactResolver proxyTargetClient,
+                                      RepositoryPath path,
+                                      Map<String, String> conditionalHeaders)
+        throws IOException
+    {
+        super(new RemoteArtifactStreamFetcher(proxyTargetClient).getInputStream(0, path, conditionalHeaders));
 
         this.repositoryPath = path;
         this.client = proxyTargetClient;
         this.remoteArtifactStreamFetcher = new RemoteArtifactStreamFetcher(client);
 
-        StopWatch stopWatch = new StopWatch();
         stopWatch.start();
-
-        ArtifactCopyContext context = new ArtifactCopyContext();
-        context.setAttempts(1);
-        context.setCurrentOffset(0);
-        context.setStopWatch(stopWatch);
-        artifactCopyContext.set(context);
     }
 
     @Override
     public int read()
         throws IOException
     {
-        return (int) readTemplate.doRead(() -> super.read());
+        for (;;)
+        {
+            try
+            {
+                int result = super.read();
+                if (result >= 0)
+                {
+                    currentOffset++;
+                }
+
+                return result;
+            }
+            catch (ArtifactNotFoundException | ArtifactNotModifiedException e)
+            {
+                throw e;
+            }
+            catch (IOException e)
+            {
+                reopen(e);
+            }
+        }
     }
 
     @Override
     public int read(byte[] b)
         throws IOException
     {
-        return (int) readTemplate.doRead(() -> super.read(b));
+        return read(b, 0, b.length);
     }
 
     @Override
@@ -72,14 +104,54 @@ public class ProxyRepositoryInputStream extends FilterInputStream
                     int len)
         throws IOException
     {
-        return (int) readTemplate.doRead(() -> super.read(b, off, len));
+        for (;;)
+        {
+            try
+            {
+                int result = super.read(b, off, len);
+                if (result > 0)
+                {
+                    currentOffset += result;
+                }
+
+                return result;
+            }
+            catch (ArtifactNotFoundException | ArtifactNotModifiedException e)
+            {
+                throw e;
+            }
+            catch (IOException e)
+            {
+                reopen(e);
+            }
+        }
     }
 
     @Override
     public long skip(long n)
         throws IOException
     {
-        return readTemplate.doRead(() -> super.skip(n));
+        for (;;)
+        {
+            try
+            {
+                long result = super.skip(n);
+                if (result > 0)
+                {
+                    currentOffset += result;
+                }
+
+                return result;
+            }
+            catch (ArtifactNotFoundException | ArtifactNotModifiedException e)
+            {
+                throw e;
+            }
+            catch (IOException e)
+            {
+                reopen(e);
+            }
+        }
     }
 
     @Override
@@ -94,6 +166,22 @@ public class ProxyRepositoryInputStream extends FilterInputStream
         return super.available();
     }
 
+    /**
+     * @return the header value of the current remote response, or <code>null</code> if there is no such header
+     */
+    public String getResponseHeader(String name)
+        throws IOException
+    {
+        if (!(in instanceof RemoteArtifactStreamFetcher.RemoteArtifactInputStream))
+        {
+            return null;
+        }
+
+        return ((RemoteArtifactStreamFetcher.RemoteArtifactInputStream) in).getConnection()
+                                                                           .getResponse()
+                                                                           .getHeaderString(name);
+    }
+
     @Override
     public void close()
         throws IOException
@@ -103,7 +191,14 @@ public class ProxyRepositoryInputStream extends FilterInputStream
             super.close();
         } finally
         {
-            this.artifactCopyContext.get().close();
+            try
+            {
+                client.close();
+            }
+            catch (Exception e)
+            {
+                throw new IOException(e);
+            }
         }
 
     }
@@ -127,60 +222,31 @@ public class ProxyRepositoryInputStream extends FilterInputStream
         return false;
     }
 
-    private class ReadTemplate
-    {
-        public long doRead(InputStreamRead f)
-            throws IOException
-        {
-            ArtifactCopyContext ctx = artifactCopyContext.get();
-
-            long offset = 0;
-            try
-            {
-                offset = f.read();
-            }
-            catch (ArtifactNotFoundException e)
-            {
-                throw e;
-            }
-            catch (IOException e)
-            {
-                offset = retryReadIfPossible(f, e);
-            }
-
-            ctx.setCurrentOffset(ctx.getCurrentOffset() + offset);
-
-            return offset;
-        }
-
-    }
-
-    private long retryReadIfPossible(InputStreamRead f,
-                                     IOException lastException)
+    /**
+     * Reopens the remote stream from the current offset, so the read can be retried.
+     */
+    private void reopen(IOException lastException)
         throws IOException
     {
-        ArtifactCopyContext ctx = artifactCopyContext.get();
-        ctx.setAttempts(ctx.getAttempts() + 1);
-
-        logger.debug("Retrying remote stream reading because of [{}]... Attempt number = [{}], Current Offset = [{}] Duration Time = [{}]",
-                     lastException, ctx.getAttempts(), ctx.getCurrentOffset(),
-                     ctx.getStopWatch());
+        do
+        {
+            attempts++;
 
-        finishUnsuccessfullyIfNumberOfAttemptsExceedTheLimit(lastException);
-        tryToSleepRequestedAmountOfTimeBetweenAttempts(lastException);
-        finishUnsuccessfullyIfTimeoutOccurred(lastException);
+            logger.debug("Retrying remote stream reading because of [{}]... Attempt number = [{}], Current Offset = [{}] Duration Time = [{}]",
+                         lastException, attempts, currentOffset, stopWatch);
 
-        if (!checkRemoteRepositoryHeartbeat())
-        {
-            retryReadIfPossible(f, lastException);
+            finishUnsuccessfullyIfNumberOfAttemptsExceedTheLimit(lastException);
+            tryToSleepRequestedAmountOfTimeBetweenAttempts(lastException);
+            finishUnsuccessfullyIfTimeoutOccurred(lastException);
         }
+        while (!checkRemoteRepositoryHeartbeat());
 
-        if (ctx.getRangeRequestSupported() == null && ctx.getCurrentOffset() > 0)
+        if (rangeRequestSupported == null && currentOffset > 0)
         {
-            ctx.setRangeRequestSupported(isRangeRequestSupported());
+            rangeRequestSupported = isRangeRequestSupported();
         }
 
-        if (Boolean.FALSE.equals(ctx.getRangeRequestSupported()))
+        if (Boolean.FALSE.equals(rangeRequestSupported))
         {
             throw new IOException(String.format("Remote resource path [%s] does not support range requests.",
                                                 repositoryPath),
@@ -188,9 +254,7 @@ public class ProxyRepositoryInputStream extends FilterInputStream
         }
 
         this.in.close();
-        this.in = remoteArtifactStreamFetcher.getInputStream(ctx.getCurrentOffset(), repositoryPath);
-
-        return readTemplate.doRead(f);
+        this.in = remoteArtifactStreamFetcher.getInputStream(currentOffset, repositoryPath);
     }
 
     private boolean isRangeRequestSupported()
@@ -210,7 +274,7 @@ public class ProxyRepositoryInputStream extends FilterInputStream
         throws IOException
     {
         int maxAllowedNumberOfRetryAttempts = getMaxAllowedNumberOfRetryAttempts();
-        if (artifactCopyContext.get().getAttempts() > maxAllowedNumberOfRetryAttempts)
+        if (attempts > maxAllowedNumberOfRetryAttempts)
         {
             logger.error(String.format("Maximum retry attempts [%s] reached for [%s]", maxAllowedNumberOfRetryAttempts,
                                        repositoryPath));
@@ -222,7 +286,7 @@ public class ProxyRepositoryInputStream extends FilterInputStream
         throws IOException
     {
         long retryTimeoutMillis = getRetryTimeoutMillis();
-        if (artifactCopyContext.get().getStopWatch().getTime() > retryTimeoutMillis)
+        if (stopWatch.getTime() > retryTimeoutMillis)
         {
             logger.error(String.format("Timeout of [%s] occured while reading [%s]", retryTimeoutMillis,
                                        repositoryPath));
@@ -266,82 +330,4 @@ public class ProxyRepositoryInputStream extends FilterInputStream
         return client.getConfiguration();
     }
 
-    private class ArtifactCopyContext implements Closeable
-    {
-
-        private StopWatch stopWatch;
-        private int attempts;
-        private long currentOffset;
-        private Boolean rangeRequestSupported;
-
-        public StopWatch getStopWatch()
-        {
-            return stopWatch;
-        }
-
-        public void setStopWatch(StopWatch stopWatch)
-        {
-            this.stopWatch = stopWatch;
-        }
-
-        public int getAttempts()
-        {
-            return attempts;
-        }
-
-        public void setAttempts(int attempts)
-        {
-            this.attempts = attempts;
-        }
-
-        public long getCurrentOffset()
-        {
-            return currentOffset;
-        }
-
-        public void setCurrentOffset(long currentOffset)
-        {
-            this.currentOffset = currentOffset;
-        }
-
-        public Boolean getRangeRequestSupported()
-        {
-            return rangeRequestSupported;
-        }
-
-        public void setRangeRequestSupported(Boolean rangeRequestSupported)
-        {
-            this.rangeRequestSupported = rangeRequestSupported;
-        }
-
-        @Override
-        public void close()
-            throws IOException
-        {
-            try
-            {
-                try
-                {
-                    client.close();
-                }
-                catch (Exception e)
-                {
-                    throw new IOException(e);
-                }
-            } finally
-            {
-                artifactCopyContext.remove();
-            }
-        }
-
-    }
-
-    @FunctionalInterface
-    public interface InputStreamRead
-    {
-
-        long read()
-            throws IOException;
-    }
-
 }
@@ -0,0 +1,139 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.artifact.ArtifactNotFoundException;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.providers.repository.RepositoryProvider;
+import org.carlspring.strongbox.providers.repository.RepositoryProviderRegistry;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pre-warms the proxy repository with the listed paths (like the artifacts of the lockfile), so they are served locally
+ * once they are requested. The paths which are already cached are skipped, the other ones are fetched from the remote
+ * repository with the bounded parallelism.
+ * <p>
+ * The paths are fetched through the proxy {@link RepositoryProvider}, like the client requests, so the mirroring shares
+ * the fetch coalescing, the negative lookup cache and the remote repository concurrency limit with them.
+ */
+@Component
+public class ProxyRepositoryMirror
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ProxyRepositoryMirror.class);
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @Inject
+    private RepositoryProviderRegistry repositoryProviderRegistry;
+
+    /**
+     * @param parallelism the maximum number of the concurrent remote fetches
+     */
+    public void mirror(Repository repository,
+                       Collection<String> paths,
+                       int parallelism,
+                       ProxyRepositoryMirrorProgress progress)
+        throws InterruptedException
+    {
+        if (!repository.isProxyRepository() || repository.getRemoteRepository() == null)
+        {
+            throw new IllegalArgumentException(String.format("Repository [%s:%s] is not a proxy repository.",
+                                                             repository.getStorage().getId(), repository.getId()));
+        }
+
+        progress.start(paths.size());
+
+        RepositoryProvider repositoryProvider = repositoryProviderRegistry.getProvider(repository.getType());
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism), r -> {
+            Thread thread = new Thread(r, "proxy-mirror-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        try
+        {
+            List<Future<?>> futures = new ArrayList<>(paths.size());
+            for (String path : paths)
+            {
+                futures.add(executor.submit(() -> mirror(repositoryProvider, repository, path, progress)));
+            }
+
+            for (Future<?> future : futures)
+            {
+                try
+                {
+                    future.get();
+                }
+                catch (ExecutionException e)
+                {
+                    logger.error("Unexpected proxy repository mirroring failure.", e.getCause());
+                }
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+            progress.report();
+        }
+    }
+
+    private void mirror(RepositoryProvider repositoryProvider,
+                        Repository repository,
+                        String path,
+                        ProxyRepositoryMirrorProgress progress)
+    {
+        try
+        {
+            RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository, path);
+            if (Files.exists(repositoryPath))
+            {
+                progress.pathCached();
+
+                return;
+            }
+
+            RepositoryPath result = repositoryProvider.fetchPath(repositoryPath);
+            if (result == null)
+            {
+                logger.warn(String.format("Path [%s] is not available from the remote repository of [%s], it was " +
+                                          "not mirrored.", path, repository.getId()));
+                progress.pathFailed();
+
+                return;
+            }
+
+            progress.pathFetched(Files.size(result));
+        }
+        catch (ArtifactNotFoundException e)
+        {
+            logger.warn(String.format("Path [%s] was not found within the remote repository of [%s].", path,
+                                      repository.getId()));
+            progress.pathFailed();
+        }
+        catch (IOException | RuntimeException e)
+        {
+            logger.warn(String.format("Failed to mirror [%s] into [%s].", path, repository.getId()), e);
+            progress.pathFailed();
+        }
+    }
+
+}
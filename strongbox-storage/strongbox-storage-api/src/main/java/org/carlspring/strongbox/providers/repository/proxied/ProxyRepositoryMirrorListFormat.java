@@ -0,0 +1,213 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * The formats of the lists the proxy repository is mirrored from, each of them is parsed into the repository paths of
+ * the listed artifacts.
+ */
+public enum ProxyRepositoryMirrorListFormat
+{
+
+    /**
+     * The repository paths, one per line.
+     */
+    PATHS
+    {
+        @Override
+        public Set<String> parse(InputStream is)
+            throws IOException
+        {
+            Set<String> result = new LinkedHashSet<>();
+            for (String line : readLines(is))
+            {
+                result.add(StringUtils.removeStart(line, "/"));
+            }
+
+            return result;
+        }
+    },
+
+    /**
+     * The output of the <code>mvn dependency:list</code>, with the artifacts in the form of
+     * <code>groupId:artifactId:type[:classifier]:version[:scope]</code>. The POM of each artifact is mirrored as well.
+     */
+    MAVEN_DEPENDENCY_LIST
+    {
+        @Override
+        public Set<String> parse(InputStream is)
+            throws IOException
+        {
+            Set<String> result = new LinkedHashSet<>();
+            for (String line : readLines(is))
+            {
+                String[] coordinates = StringUtils.removeStart(line, "[INFO]").trim().split("\\s+")[0].split(":");
+                if (coordinates.length < 3)
+                {
+                    continue;
+                }
+
+                String groupId = coordinates[0];
+                String artifactId = coordinates[1];
+                String type = coordinates.length == 3 ? "jar" : coordinates[2];
+                String classifier = coordinates.length == 6 ? coordinates[3] : null;
+                String version = coordinates.length == 3 ? coordinates[2] :
+                                 coordinates.length == 6 ? coordinates[4] : coordinates[3];
+                if ("test-jar".equals(type))
+                {
+                    type = "jar";
+                    classifier = "tests";
+                }
+                else if ("maven-plugin".equals(type) || "bundle".equals(type))
+                {
+                    type = "jar";
+                }
+
+                String basePath = String.format("%s/%s/%s/%s-%s", groupId.replace('.', '/'), artifactId, version,
+                                                artifactId, version);
+                result.add(basePath + ".pom");
+                if (!"pom".equals(type))
+                {
+                    result.add(String.format("%s%s.%s", basePath, classifier == null ? "" : "-" + classifier, type));
+                }
+            }
+
+            return result;
+        }
+    },
+
+    /**
+     * The NPM <code>package-lock.json</code> (both the <code>dependencies</code> tree of the lockfile version 1 and
+     * the <code>packages</code> map of the later versions).
+     */
+    NPM_PACKAGE_LOCK
+    {
+        @Override
+        public Set<String> parse(InputStream is)
+            throws IOException
+        {
+            JsonNode root = new ObjectMapper().readTree(is);
+
+            Set<String> result = new LinkedHashSet<>();
+            for (Iterator<Map.Entry<String, JsonNode>> it = root.path("packages").fields(); it.hasNext(); )
+            {
+                Map.Entry<String, JsonNode> entry = it.next();
+                int nameIndex = entry.getKey().lastIndexOf(NODE_MODULES);
+                if (nameIndex < 0 || entry.getValue().path("link").asBoolean())
+                {
+                    continue;
+                }
+
+                addNpmPackage(result, entry.getKey().substring(nameIndex + NODE_MODULES.length()),
+                              entry.getValue().path("version").asText(null));
+            }
+
+            addNpmDependencies(result, root.path("dependencies"));
+
+            return result;
+        }
+
+        private void addNpmDependencies(Set<String> result,
+                                        JsonNode dependencies)
+        {
+            for (Iterator<Map.Entry<String, JsonNode>> it = dependencies.fields(); it.hasNext(); )
+            {
+                Map.Entry<String, JsonNode> entry = it.next();
+                addNpmPackage(result, entry.getKey(), entry.getValue().path("version").asText(null));
+                addNpmDependencies(result, entry.getValue().path("dependencies"));
+            }
+        }
+
+        private void addNpmPackage(Set<String> result,
+                                   String packageId,
+                                   String version)
+        {
+            // The linked (`file:`) and the aliased (`npm:`) packages are not available from the remote repository.
+            if (version == null || version.contains(":"))
+            {
+                return;
+            }
+
+            String group = packageId;
+            String name = packageId;
+            if (packageId.startsWith("@") && packageId.contains("/"))
+            {
+                group = StringUtils.substringBefore(packageId, "/");
+                name = StringUtils.substringAfter(packageId, "/");
+            }
+
+            result.add(String.format("%s/%s/%s/%s-%s.tgz", group, name, version, name, version));
+        }
+    },
+
+    /**
+     * The NuGet <code>packages.lock.json</code>, with the resolved packages of each target framework.
+     */
+    NUGET_PACKAGES_LOCK
+    {
+        @Override
+        public Set<String> parse(InputStream is)
+            throws IOException
+        {
+            JsonNode root = new ObjectMapper().readTree(is);
+
+            Set<String> result = new LinkedHashSet<>();
+            for (JsonNode framework : root.path("dependencies"))
+            {
+                for (Iterator<Map.Entry<String, JsonNode>> it = framework.fields(); it.hasNext(); )
+                {
+                    Map.Entry<String, JsonNode> entry = it.next();
+                    String version = entry.getValue().path("resolved").asText(null);
+                    if (version == null || "Project".equals(entry.getValue().path("type").asText()))
+                    {
+                        continue;
+                    }
+
+                    result.add(String.format("%s/%s/%s.%s.nupkg", entry.getKey(), version, entry.getKey(), version));
+                }
+            }
+
+            return result;
+        }
+    };
+
+    private static final String NODE_MODULES = "node_modules/";
+
+    /**
+     * @return the repository paths of the listed artifacts
+     */
+    public abstract Set<String> parse(InputStream is)
+        throws IOException;
+
+    private static Set<String> readLines(InputStream is)
+        throws IOException
+    {
+        Set<String> result = new LinkedHashSet<>();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null)
+        {
+            line = line.trim();
+            if (!line.isEmpty() && !line.startsWith("#"))
+            {
+                result.add(line);
+            }
+        }
+
+        return result;
+    }
+
+}
@@ -0,0 +1,145 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Tracks the progress of the proxy repository mirroring, which is updated concurrently by the mirroring workers.
+ * <p>
+ * The listener is notified at most once per {@link #REPORT_INTERVAL_MILLIS} while the mirroring is running and once
+ * again when it completes.
+ */
+public class ProxyRepositoryMirrorProgress
+{
+
+    public static final long REPORT_INTERVAL_MILLIS = 1000;
+
+    private static final long MB = 1024L * 1024L;
+
+    private final Consumer<ProxyRepositoryMirrorProgress> listener;
+
+    private final long startNanos = System.nanoTime();
+
+    private final AtomicLong lastReportNanos = new AtomicLong(startNanos);
+
+    private volatile long totalPaths;
+
+    private final LongAdder fetchedPaths = new LongAdder();
+
+    private final LongAdder cachedPaths = new LongAdder();
+
+    private final LongAdder failedPaths = new LongAdder();
+
+    private final LongAdder bytesFetched = new LongAdder();
+
+    public ProxyRepositoryMirrorProgress()
+    {
+        this(p -> {
+        });
+    }
+
+    public ProxyRepositoryMirrorProgress(Consumer<ProxyRepositoryMirrorProgress> listener)
+    {
+        this.listener = listener;
+    }
+
+    void start(long totalPaths)
+    {
+        this.totalPaths = totalPaths;
+    }
+
+    void pathFetched(long bytes)
+    {
+        fetchedPaths.increment();
+        bytesFetched.add(bytes);
+        reportIfDue();
+    }
+
+    void pathCached()
+    {
+        cachedPaths.increment();
+        reportIfDue();
+    }
+
+    void pathFailed()
+    {
+        failedPaths.increment();
+        reportIfDue();
+    }
+
+    public void report()
+    {
+        lastReportNanos.set(System.nanoTime());
+        listener.accept(this);
+    }
+
+    private void reportIfDue()
+    {
+        long now = System.nanoTime();
+        long last = lastReportNanos.get();
+        if (now - last >= TimeUnit.MILLISECONDS.toNanos(REPORT_INTERVAL_MILLIS) &&
+            lastReportNanos.compareAndSet(last, now))
+        {
+            listener.accept(this);
+        }
+    }
+
+    public long getTotalPaths()
+    {
+        return totalPaths;
+    }
+
+    public long getProcessedPaths()
+    {
+        return getFetchedPaths() + getCachedPaths() + getFailedPaths();
+    }
+
+    public long getFetchedPaths()
+    {
+        return fetchedPaths.sum();
+    }
+
+    /**
+     * @return the number of the paths which were already cached, so they were not fetched
+     */
+    public long getCachedPaths()
+    {
+        return cachedPaths.sum();
+    }
+
+    public long getFailedPaths()
+    {
+        return failedPaths.sum();
+    }
+
+    public long getBytesFetched()
+    {
+        return bytesFetched.sum();
+    }
+
+    public long getElapsedMillis()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * @return the fetch throughput in MB per second
+     */
+    public double getThroughput()
+    {
+        long elapsedMillis = getElapsedMillis();
+
+        return elapsedMillis == 0 ? 0 : (double) getBytesFetched() / MB / (elapsedMillis / 1000d);
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("%s of %s paths processed (%s fetched, %s cached, %s failed), %.1f MB fetched at " +
+                             "%.1f MB/s", getProcessedPaths(), getTotalPaths(), getFetchedPaths(), getCachedPaths(),
+                             getFailedPaths(), (double) getBytesFetched() / MB, getThroughput());
+    }
+
+}
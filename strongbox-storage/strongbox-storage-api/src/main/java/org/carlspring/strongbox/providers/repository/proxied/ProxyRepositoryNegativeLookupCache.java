@@ -0,0 +1,148 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.data.CacheName;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers the paths which were not found within the remote repositories, so the repeated requests for them are
+ * answered without a remote call until the entry expires.
+ * <p>
+ * Each proxy repository has its own bounded map (see {@link CacheName.Repository#REMOTE_NEGATIVE_LOOKUP}), which is
+ * shared across the cluster. The metadata and the artifacts have separate TTLs, as the metadata is expected to show up
+ * within the remote repository much sooner. The entry is invalidated once the path is stored, either deployed or
+ * fetched.
+ */
+@Component
+public class ProxyRepositoryNegativeLookupCache
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ProxyRepositoryNegativeLookupCache.class);
+
+    @Inject
+    private HazelcastInstance hazelcastInstance;
+
+    @Value("${strongbox.proxy.negativeLookupCache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${strongbox.proxy.negativeLookupCache.metadataTimeToLiveSeconds:60}")
+    private long metadataTimeToLiveSeconds;
+
+    @Value("${strongbox.proxy.negativeLookupCache.artifactTimeToLiveSeconds:3600}")
+    private long artifactTimeToLiveSeconds;
+
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * @return <code>true</code> if the path was recently not found within the remote repository
+     */
+    public boolean isMissing(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        if (!enabled)
+        {
+            return false;
+        }
+
+        boolean missing = getMap(repositoryPath).containsKey(RepositoryFiles.relativizePath(repositoryPath));
+        if (missing)
+        {
+            logger.debug(String.format("Path [%s] is known to be missing within the remote repository.",
+                                       repositoryPath));
+
+            hits.increment();
+        }
+
+        return missing;
+    }
+
+    public void missing(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        long timeToLiveSeconds = getTimeToLiveSeconds(repositoryPath);
+        if (!enabled || timeToLiveSeconds <= 0)
+        {
+            return;
+        }
+
+        getMap(repositoryPath).set(RepositoryFiles.relativizePath(repositoryPath), Boolean.TRUE, timeToLiveSeconds,
+                                   TimeUnit.SECONDS);
+    }
+
+    public void invalidate(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        if (!enabled)
+        {
+            return;
+        }
+
+        getMap(repositoryPath).delete(RepositoryFiles.relativizePath(repositoryPath));
+    }
+
+    @EventListener
+    public void handle(ArtifactEvent<RepositoryPath> event)
+    {
+        if (event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType() &&
+            event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_UPDATED.getType() &&
+            event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_METADATA_STORED.getType())
+        {
+            return;
+        }
+
+        RepositoryPath repositoryPath = event.getPath();
+        if (repositoryPath.getRepository().getRemoteRepository() == null)
+        {
+            return;
+        }
+
+        try
+        {
+            invalidate(repositoryPath);
+        }
+        catch (IOException e)
+        {
+            logger.error(String.format("Failed to invalidate negative lookup of [%s]", repositoryPath), e);
+        }
+    }
+
+    private long getTimeToLiveSeconds(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        return Boolean.TRUE.equals(RepositoryFiles.isMetadata(repositoryPath)) ? metadataTimeToLiveSeconds
+                                                                               : artifactTimeToLiveSeconds;
+    }
+
+    private IMap<String, Boolean> getMap(RepositoryPath repositoryPath)
+    {
+        Repository repository = repositoryPath.getRepository();
+
+        return hazelcastInstance.getMap(String.format("%s.%s.%s", CacheName.Repository.REMOTE_NEGATIVE_LOOKUP,
+                                                      repository.getStorage().getId(), repository.getId()));
+    }
+
+    /**
+     * @return the number of the remote lookups which were avoided
+     */
+    public long getHits()
+    {
+        return hits.sum();
+    }
+
+}
@@ -0,0 +1,287 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.repository.RepositoryProvider;
+import org.carlspring.strongbox.providers.repository.RepositoryProviderRegistry;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Warms the proxy repository cache with the paths which are likely to be requested next (like the <code>.jar</code>
+ * after the <code>.pom</code>), so the client doesn't pay the remote round trip for them.
+ * <p>
+ * The prefetches are performed asynchronously on a bounded executor, the prefetches which don't fit into the queue,
+ * or exceed the concurrency limit of the remote repository, are dropped. The paths are tracked (up to
+ * {@link #MAX_TRACKED_PATHS}) from the moment the prefetch is scheduled, so the same path is not prefetched twice,
+ * and the client requests of them are counted as hits, including the requests which join the in-flight prefetch.
+ */
+@Component
+public class ProxyRepositoryPrefetcher
+        implements InitializingBean, DisposableBean
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ProxyRepositoryPrefetcher.class);
+
+    private static final int MAX_TRACKED_PATHS = 10000;
+
+    /**
+     * Marks the prefetch own fetches, so they are not taken for the client requests.
+     */
+    private static final ThreadLocal<Boolean> PREFETCHING = new ThreadLocal<>();
+
+    @Inject
+    private RepositoryProviderRegistry repositoryProviderRegistry;
+
+    @Value("${strongbox.proxy.prefetch.enabled:false}")
+    private boolean enabled;
+
+    @Value("${strongbox.proxy.prefetch.poolSize:4}")
+    private int poolSize;
+
+    @Value("${strongbox.proxy.prefetch.queueCapacity:1000}")
+    private int queueCapacity;
+
+    @Value("${strongbox.proxy.prefetch.remoteConcurrency:2}")
+    private int remoteConcurrency;
+
+    private ThreadPoolExecutor executor;
+
+    private final ConcurrentMap<String, Semaphore> remotePermits = new ConcurrentHashMap<>();
+
+    private final Map<String, PrefetchState> prefetchedPaths = Collections.synchronizedMap(
+            new LinkedHashMap<String, PrefetchState>()
+            {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PrefetchState> eldest)
+                {
+                    return size() > MAX_TRACKED_PATHS;
+                }
+            });
+
+    private final LongAdder prefetches = new LongAdder();
+
+    private final LongAdder droppedPrefetches = new LongAdder();
+
+    private final LongAdder hits = new LongAdder();
+
+    @Override
+    public void afterPropertiesSet()
+    {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                                          new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                                          r -> {
+                                              Thread thread = new Thread(r, "proxy-prefetch-" +
+                                                                            threadNumber.incrementAndGet());
+                                              thread.setDaemon(true);
+
+                                              return thread;
+                                          });
+    }
+
+    @Override
+    public void destroy()
+    {
+        executor.shutdownNow();
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /**
+     * Schedules the prefetch of the path, if the prefetching is enabled.
+     */
+    public void prefetch(RepositoryPath repositoryPath)
+    {
+        if (!enabled || repositoryPath.getRepository().getRemoteRepository() == null)
+        {
+            return;
+        }
+
+        String key = getKey(repositoryPath);
+        if (prefetchedPaths.putIfAbsent(key, PrefetchState.PENDING) != null)
+        {
+            return;
+        }
+
+        try
+        {
+            executor.execute(() -> doPrefetch(repositoryPath));
+        }
+        catch (RejectedExecutionException e)
+        {
+            logger.debug(String.format("Prefetch queue is full, drop the prefetch of [%s].", repositoryPath));
+
+            prefetchedPaths.remove(key);
+            droppedPrefetches.increment();
+        }
+    }
+
+    private void doPrefetch(RepositoryPath repositoryPath)
+    {
+        String key = getKey(repositoryPath);
+        Repository repository = repositoryPath.getRepository();
+        Semaphore permits = remotePermits.computeIfAbsent(repository.getRemoteRepository().getUrl(),
+                                                          k -> new Semaphore(remoteConcurrency));
+        if (!permits.tryAcquire())
+        {
+            logger.debug(String.format("Prefetch concurrency limit of [%s] reached, drop the prefetch of [%s].",
+                                       repository.getRemoteRepository().getUrl(), repositoryPath));
+
+            prefetchedPaths.remove(key);
+            droppedPrefetches.increment();
+
+            return;
+        }
+
+        boolean fetched = false;
+        PREFETCHING.set(Boolean.TRUE);
+        try
+        {
+            if (Files.exists(repositoryPath))
+            {
+                return;
+            }
+
+            RepositoryProvider repositoryProvider = repositoryProviderRegistry.getProvider(repository.getType());
+            fetched = repositoryProvider.fetchPath(repositoryPath) != null;
+        }
+        catch (IOException e)
+        {
+            logger.debug(String.format("Failed to prefetch [%s].", repositoryPath), e);
+        }
+        finally
+        {
+            PREFETCHING.remove();
+            permits.release();
+
+            if (fetched)
+            {
+                prefetches.increment();
+                prefetchedPaths.computeIfPresent(key, (k, state) -> {
+                    if (state == PrefetchState.REQUESTED)
+                    {
+                        // The client has been waiting for this prefetch.
+                        hits.increment();
+
+                        return null;
+                    }
+
+                    return PrefetchState.FETCHED;
+                });
+            }
+            else
+            {
+                prefetchedPaths.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Should be called once the path is requested by the client (either resolved from the local storage, or fetched
+     * from the remote repository), to count the prefetch hits.
+     */
+    public void onRequest(RepositoryPath repositoryPath)
+    {
+        if (!enabled || Boolean.TRUE.equals(PREFETCHING.get()))
+        {
+            return;
+        }
+
+        prefetchedPaths.computeIfPresent(getKey(repositoryPath), (k, state) -> {
+            if (state == PrefetchState.FETCHED)
+            {
+                hits.increment();
+
+                return null;
+            }
+
+            // The prefetch is still in progress, the hit is counted once it's fetched.
+            return PrefetchState.REQUESTED;
+        });
+    }
+
+    private String getKey(RepositoryPath repositoryPath)
+    {
+        return repositoryPath.toUri().toString();
+    }
+
+    /**
+     * @return the number of the paths which were fetched by the prefetches
+     */
+    public long getPrefetches()
+    {
+        return prefetches.sum();
+    }
+
+    /**
+     * @return the number of the prefetches which were dropped due to the queue capacity or the concurrency limits
+     */
+    public long getDroppedPrefetches()
+    {
+        return droppedPrefetches.sum();
+    }
+
+    /**
+     * @return the number of the prefetched paths which were requested afterwards
+     */
+    public long getHits()
+    {
+        return hits.sum();
+    }
+
+    /**
+     * @return the ratio of the prefetched paths which were requested afterwards
+     */
+    public double getHitRatio()
+    {
+        long prefetched = getPrefetches();
+
+        return prefetched == 0 ? 0 : (double) getHits() / prefetched;
+    }
+
+    private enum PrefetchState
+    {
+
+        /**
+         * The prefetch is scheduled or in progress.
+         */
+        PENDING,
+
+        /**
+         * The prefetch is in progress, and the client has requested the path.
+         */
+        REQUESTED,
+
+        /**
+         * The path was prefetched, but not requested yet.
+         */
+        FETCHED
+
+    }
+
+}
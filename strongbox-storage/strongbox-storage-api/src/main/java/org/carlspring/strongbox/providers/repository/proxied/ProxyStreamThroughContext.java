@@ -0,0 +1,63 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+
+/**
+ * Binds the {@link ProxyStreamThroughTarget} to the current thread, so the remote fetch performed by this thread is
+ * able to stream the fetched content through to the target.
+ * <p>
+ * The target is claimed by the first fetch of the path it accepts, so the other fetches performed within the same
+ * request (like the fetches of the related metadata) are not streamed through. The target is bound to the thread, so
+ * the work handed over to the other threads should carry it along, see {@link #current()}.
+ */
+public final class ProxyStreamThroughContext
+{
+
+    private static final ThreadLocal<ProxyStreamThroughTarget> TARGET = new ThreadLocal<>();
+
+    private ProxyStreamThroughContext()
+    {
+
+    }
+
+    public static void bind(ProxyStreamThroughTarget target)
+    {
+        if (target == null)
+        {
+            TARGET.remove();
+            return;
+        }
+
+        TARGET.set(target);
+    }
+
+    public static void unbind()
+    {
+        TARGET.remove();
+    }
+
+    /**
+     * @return the target bound to the current thread, or <code>null</code> if there is no such target
+     */
+    public static ProxyStreamThroughTarget current()
+    {
+        return TARGET.get();
+    }
+
+    /**
+     * @return the bound target if it was claimed for the path, or <code>null</code> otherwise
+     */
+    public static ProxyStreamThroughTarget take(RepositoryPath repositoryPath)
+    {
+        ProxyStreamThroughTarget target = TARGET.get();
+        if (target == null || !target.claim(repositoryPath))
+        {
+            return null;
+        }
+
+        TARGET.remove();
+
+        return target;
+    }
+
+}
@@ -0,0 +1,53 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * The target (typically the client response) which the proxied content is streamed through to while it's being
+ * fetched from the remote repository and stored.
+ * <p>
+ * The fetch holds the path lock while it writes to the target, so the target should never block on the client, but
+ * rather buffer the content and serve it on its own, see {@link #open(RepositoryPath, Map)}.
+ *
+ * @see ProxyStreamThroughContext
+ */
+public interface ProxyStreamThroughTarget
+{
+
+    /**
+     * Claims the target for the fetch of the path. The target can be claimed only once, even if it's shared by the
+     * fetches of several threads.
+     *
+     * @return <code>true</code> if the content of the path should be streamed through to this target
+     */
+    boolean claim(RepositoryPath repositoryPath);
+
+    /**
+     * Opens the target once the remote repository responded with the content.
+     * <p>
+     * The writes to the returned stream should not block on the client. The content is either completed with
+     * {@link #complete()} once it was fetched and validated completely, or aborted with {@link #abort()}, so the target
+     * is able to tell the complete content from the partial one.
+     *
+     * @param checksums the checksums announced by the remote repository (by the digest algorithm), which the content
+     *                  is validated against before it's completed
+     */
+    OutputStream open(RepositoryPath repositoryPath,
+                      Map<String, String> checksums)
+        throws IOException;
+
+    /**
+     * The content was fetched, validated and stored completely.
+     */
+    void complete();
+
+    /**
+     * The fetch failed, the content written so far should be discarded.
+     */
+    void abort();
+
+}
@@ -0,0 +1,383 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.client.CloseableRestResponse;
+import org.carlspring.strongbox.client.RemoteRepositoryRetryArtifactDownloadConfiguration;
+import org.carlspring.strongbox.client.RestArtifactResolver;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.TempRepositoryPath;
+import org.carlspring.strongbox.storage.repository.remote.RemoteRepository;
+
+import javax.inject.Inject;
+import javax.ws.rs.core.Response;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.math.NumberUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Downloads the large remote artifacts with the concurrent range requests, to saturate the high-latency links.
+ * <p>
+ * The artifact is split into the fixed size chunks, which are fetched by up to
+ * {@link RemoteRepository#getRangedDownloadConcurrency()} workers and written into a preallocated temporary file with
+ * the positional writes. Each range request acquires its own permit of the {@link RemoteRepositoryConcurrencyLimiter}
+ * and reports its outcome to the circuit breaker of the remote repository, the failed range requests are resumed
+ * from the received position. The temporary file is created within the temporary directory of the repository, and
+ * the digests are calculated afterwards, while the downloaded file is stored in order.
+ * The ranged download is only used for the artifacts above {@link RemoteRepository#getRangedDownloadThreshold()}, if
+ * the remote repository advertises the range requests support.
+ */
+@Component
+public class RangedRemoteArtifactDownloader
+        implements InitializingBean, DisposableBean
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(RangedRemoteArtifactDownloader.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The amount of the range request workers shared by all the remote repositories.
+     */
+    @Value("${strongbox.proxy.rangedDownload.poolSize:32}")
+    private int poolSize;
+
+    @Inject
+    private RemoteRepositoryConcurrencyLimiter remoteRepositoryConcurrencyLimiter;
+
+    private ExecutorService executor;
+
+    @Override
+    public void afterPropertiesSet()
+    {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(poolSize, r -> {
+            Thread thread = new Thread(r, "ranged-download-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        });
+    }
+
+    @Override
+    public void destroy()
+    {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @return the length of the remote artifact, if it should be downloaded with the range requests, or <code>-1</code>
+     *         otherwise
+     */
+    public long getRangedDownloadLength(RestArtifactResolver client,
+                                        RepositoryPath repositoryPath)
+        throws IOException
+    {
+        RemoteRepository remoteRepository = repositoryPath.getRepository().getRemoteRepository();
+        Integer concurrency = remoteRepository.getRangedDownloadConcurrency();
+        Long threshold = remoteRepository.getRangedDownloadThreshold();
+        if (concurrency == null || concurrency <= 1 || threshold == null ||
+            remoteRepository.getRangedDownloadChunkSize() == null ||
+            !Boolean.TRUE.equals(RepositoryFiles.isArtifact(repositoryPath)))
+        {
+            return -1;
+        }
+
+        Map<String, String> headers = new RemoteArtifactStreamFetcher(client).getHeadHeaders(repositoryPath,
+                                                                                             "Accept-Ranges",
+                                                                                             "Content-Length");
+        if (headers == null || !"bytes".equalsIgnoreCase(StringUtils.trim(headers.get("Accept-Ranges"))))
+        {
+            return -1;
+        }
+
+        long contentLength = NumberUtils.toLong(headers.get("Content-Length"), -1);
+
+        return contentLength > threshold ? contentLength : -1;
+    }
+
+    /**
+     * Downloads the remote artifact into the temporary file of the repository, which should be deleted by the caller.
+     */
+    public Path download(RestArtifactResolver client,
+                         RepositoryPath repositoryPath,
+                         long contentLength)
+        throws IOException
+    {
+        RemoteRepository remoteRepository = repositoryPath.getRepository().getRemoteRepository();
+        long chunkSize = remoteRepository.getRangedDownloadChunkSize();
+        int chunks = (int) ((contentLength + chunkSize - 1) / chunkSize);
+        int workers = Math.min(remoteRepository.getRangedDownloadConcurrency(), chunks);
+
+        logger.debug(String.format("Download [%s] of [%s] bytes with [%s] chunks by [%s] workers.", repositoryPath,
+                                   contentLength, chunks, workers));
+
+        String resource = RepositoryFiles.resolveResource(repositoryPath).toString();
+        // The temporary directory of the repository is on the same file store as the stored artifact.
+        Path tempFile = Files.createTempFile(TempRepositoryPath.of(repositoryPath).getTarget().getParent(),
+                                             repositoryPath.getFileName().toString() + "-", ".ranged");
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE))
+        {
+            // Preallocate the file, so the chunks can be written at any position.
+            channel.write(ByteBuffer.wrap(new byte[1]), contentLength - 1);
+
+            AtomicInteger nextChunk = new AtomicInteger();
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < workers; i++)
+            {
+                futures.add(executor.submit(() -> {
+                    for (int chunk = nextChunk.getAndIncrement(); chunk < chunks; chunk = nextChunk.getAndIncrement())
+                    {
+                        long from = chunk * chunkSize;
+                        long to = Math.min(from + chunkSize, contentLength) - 1;
+
+                        downloadChunk(client, remoteRepository, resource, channel, new Range(from, to));
+                    }
+
+                    return null;
+                }));
+            }
+
+            await(repositoryPath, futures);
+            channel.force(false);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            Files.deleteIfExists(tempFile);
+
+            throw e;
+        }
+
+        return tempFile;
+    }
+
+    /**
+     * Downloads the range, which is resumed from the received position if the range request fails, up to the
+     * configured number of attempts of the remote repository.
+     */
+    private void downloadChunk(RestArtifactResolver client,
+                               RemoteRepository remoteRepository,
+                               String resource,
+                               FileChannel channel,
+                               Range range)
+        throws IOException
+    {
+        RemoteRepositoryRetryArtifactDownloadConfiguration retryConfiguration = client.getConfiguration();
+        int maxAttempts = retryConfiguration == null ? 1 : Math.max(1, retryConfiguration.getMaxNumberOfAttempts());
+        for (int attempt = 1; ; attempt++)
+        {
+            if (!client.isAlive())
+            {
+                throw new IOException(String.format("Remote repository of [%s] is not available.", resource));
+            }
+
+            try
+            {
+                downloadRange(client, remoteRepository, resource, channel, range);
+
+                return;
+            }
+            catch (InterruptedIOException e)
+            {
+                throw e;
+            }
+            catch (IOException e)
+            {
+                if (attempt >= maxAttempts)
+                {
+                    throw e;
+                }
+
+                logger.debug(String.format("Retrying the range [%s] of [%s] because of [%s], attempt [%s].", range,
+                                           resource, e.getMessage(), attempt + 1));
+
+                sleep(retryConfiguration.getMinAttemptsIntervalSeconds(), e);
+            }
+        }
+    }
+
+    private void downloadRange(RestArtifactResolver client,
+                               RemoteRepository remoteRepository,
+                               String resource,
+                               FileChannel channel,
+                               Range range)
+        throws IOException
+    {
+        // Each range request is a remote fetch on its own.
+        AdaptiveConcurrencyLimit.Permit permit = remoteRepositoryConcurrencyLimiter.acquire(remoteRepository);
+        boolean failed = true;
+        try (CloseableRestResponse connection = get(client, resource, range))
+        {
+            Response response = connection.getResponse();
+            RemoteArtifactStreamFetcher.recordOutcome(client, response.getStatus());
+            if (permit != null)
+            {
+                permit.onResponse();
+            }
+
+            if (response.getStatus() != 206)
+            {
+                throw new IOException(String.format("Unexpected response status [%s] for the range [%s] of [%s].",
+                                                    response.getStatus(), range, resource));
+            }
+
+            try (InputStream is = response.readEntity(InputStream.class))
+            {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                for (int n = is.read(buffer); n != -1; n = is.read(buffer))
+                {
+                    if (range.position + n > range.to + 1)
+                    {
+                        throw new IOException(String.format("The range [%s] of [%s] exceeded.", range, resource));
+                    }
+
+                    ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, n);
+                    while (byteBuffer.hasRemaining())
+                    {
+                        range.position += channel.write(byteBuffer, range.position);
+                    }
+                }
+            }
+
+            if (range.position != range.to + 1)
+            {
+                throw new IOException(String.format("The range [%s] of [%s] is incomplete.", range, resource));
+            }
+
+            failed = false;
+        }
+        catch (IOException e)
+        {
+            throw e;
+        }
+        catch (Exception e)
+        {
+            throw new IOException(String.format("Failed to download the range [%s] of [%s].", range, resource), e);
+        }
+        finally
+        {
+            if (permit != null && failed)
+            {
+                permit.releaseFailed();
+            }
+            else if (permit != null)
+            {
+                permit.release();
+            }
+        }
+    }
+
+    private CloseableRestResponse get(RestArtifactResolver client,
+                                      String resource,
+                                      Range range)
+    {
+        Map<String, String> rangeHeader = Collections.singletonMap("Range", String.format("bytes=%s-%s",
+                                                                                          range.position,
+                                                                                          range.to));
+        try
+        {
+            return client.get(resource, 0, rangeHeader);
+        }
+        catch (RuntimeException e)
+        {
+            client.recordFailure();
+
+            throw e;
+        }
+    }
+
+    private void sleep(int seconds,
+                       IOException cause)
+        throws IOException
+    {
+        try
+        {
+            Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+
+            throw cause;
+        }
+    }
+
+    private void await(RepositoryPath repositoryPath,
+                       List<Future<Void>> futures)
+        throws IOException
+    {
+        try
+        {
+            for (Future<Void> future : futures)
+            {
+                future.get();
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException(String.format("Interrupted while downloading [%s].", repositoryPath));
+        }
+        catch (ExecutionException e)
+        {
+            throw new IOException(String.format("Failed to download [%s].", repositoryPath), e.getCause());
+        }
+        finally
+        {
+            futures.forEach(f -> f.cancel(true));
+        }
+    }
+
+    /**
+     * The byte range of the artifact, and the position it was received up to.
+     */
+    private static class Range
+    {
+
+        private final long from;
+
+        private final long to;
+
+        private long position;
+
+        private Range(long from,
+                      long to)
+        {
+            this.from = from;
+            this.to = to;
+            this.position = from;
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.format("%s-%s", from, to);
+        }
+
+    }
+
+}
@@ -3,10 +3,14 @@ package org.carlspring.strongbox.providers.repository.proxied;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
 
 import javax.ws.rs.core.Response;
 
 import org.carlspring.strongbox.artifact.ArtifactNotFoundException;
+import org.carlspring.strongbox.artifact.ArtifactNotModifiedException;
 import org.carlspring.strongbox.client.CloseableRestResponse;
 import org.carlspring.strongbox.client.RestArtifactResolver;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
@@ -26,26 +30,63 @@ public class RemoteArtifactStreamFetcher
     public InputStream getInputStream(long offset,
                                       RepositoryPath artifactPath)
         throws IOException
+    {
+        return getInputStream(offset, artifactPath, Collections.emptyMap());
+    }
+
+    /**
+     * @param headers the additional request headers, the <code>304 Not Modified</code> response to the conditional
+     *                request is reported with {@link ArtifactNotModifiedException}
+     */
+    public InputStream getInputStream(long offset,
+                                      RepositoryPath artifactPath,
+                                      Map<String, String> headers)
+        throws IOException
     {
         URI resource = getRestClientResourcePath(artifactPath);
 
-        return new RemoteArtifactInputStream(resource, offset);
+        return new RemoteArtifactInputStream(resource, offset, headers);
     }
 
     public String getHead(RepositoryPath repositoryPath)
         throws IOException
+    {
+        Map<String, String> headers = getHeadHeaders(repositoryPath, "Accept-Ranges");
+
+        return headers == null ? null : headers.get("Accept-Ranges");
+    }
+
+    /**
+     * @param names the names of the response headers to read
+     * @return the (case insensitive) response headers which are present within the <code>HEAD</code> response, or
+     *         <code>null</code> if the resource is not available
+     */
+    public Map<String, String> getHeadHeaders(RepositoryPath repositoryPath,
+                                              String... names)
+        throws IOException
     {
         URI resource = getRestClientResourcePath(repositoryPath);
-        try (final CloseableRestResponse closeableRestResponse = client.head(resource.toString()))
+        try (final CloseableRestResponse closeableRestResponse = head(resource))
         {
             final Response response = closeableRestResponse.getResponse();
+            recordOutcome(client, response.getStatus());
 
             if (response.getStatus() != 200 || response.getEntity() == null)
             {
                 return null;
             }
 
-            return response.getHeaderString("Accept-Ranges");
+            Map<String, String> result = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (String name : names)
+            {
+                String value = response.getHeaderString(name);
+                if (value != null)
+                {
+                    result.put(name, value);
+                }
+            }
+
+            return result;
         }
 
     }
@@ -56,19 +97,52 @@ public class RemoteArtifactStreamFetcher
         return RepositoryFiles.resolveResource(artifactPath);
     }
 
+    private CloseableRestResponse head(URI resource)
+    {
+        try
+        {
+            return client.head(resource.toString());
+        }
+        catch (RuntimeException e)
+        {
+            client.recordFailure();
+
+            throw e;
+        }
+    }
+
     private CloseableRestResponse getConnection(URI resource,
-                                                long offset)
+                                                long offset,
+                                                Map<String, String> headers)
         throws IOException
     {
-        CloseableRestResponse connection = client.get(resource.toString(), offset);
+        CloseableRestResponse connection;
+        try
+        {
+            connection = headers.isEmpty() ? client.get(resource.toString(), offset)
+                                           : client.get(resource.toString(), offset, headers);
+        }
+        catch (RuntimeException e)
+        {
+            client.recordFailure();
+
+            throw e;
+        }
 
         Response response = connection.getResponse();
+        recordOutcome(client, response.getStatus());
         if (response.getStatus() == 404)
         {
             terminateConnection(connection);
             
             throw new ArtifactNotFoundException(resource);
         }
+        if (response.getStatus() == 304)
+        {
+            terminateConnection(connection);
+
+            throw new ArtifactNotModifiedException(resource);
+        }
         if (response.getStatus() != 200 || response.getEntity() == null)
         {
             terminateConnection(connection);
@@ -80,6 +154,24 @@ public class RemoteArtifactStreamFetcher
         return connection;
     }
 
+    /**
+     * Reports the response to the health tracking of the remote repository: the server errors and the throttling
+     * responses are the failures, while any other response (including <code>404 Not Found</code>) proves the remote
+     * repository is responsive.
+     */
+    static void recordOutcome(RestArtifactResolver client,
+                              int status)
+    {
+        if (status >= 500 || status == 429)
+        {
+            client.recordFailure();
+        }
+        else
+        {
+            client.recordSuccess();
+        }
+    }
+
     private void terminateConnection(CloseableRestResponse connection)
     {
         try
@@ -97,14 +189,23 @@ public class RemoteArtifactStreamFetcher
 
         private URI resource;
         private long offset;
+        private Map<String, String> headers;
         private CloseableRestResponse connection;
         private InputStream target;
 
         public RemoteArtifactInputStream(URI resource,
                                          long offset)
+        {
+            this(resource, offset, Collections.emptyMap());
+        }
+
+        public RemoteArtifactInputStream(URI resource,
+                                         long offset,
+                                         Map<String, String> headers)
         {
             this.resource = resource;
             this.offset = offset;
+            this.headers = headers;
         }
 
         public CloseableRestResponse getConnection()
@@ -114,7 +215,7 @@ public class RemoteArtifactStreamFetcher
             {
                 return connection;
             }
-            return connection = RemoteArtifactStreamFetcher.this.getConnection(resource, offset);
+            return connection = RemoteArtifactStreamFetcher.this.getConnection(resource, offset, headers);
         }
 
         private InputStream getTarget()
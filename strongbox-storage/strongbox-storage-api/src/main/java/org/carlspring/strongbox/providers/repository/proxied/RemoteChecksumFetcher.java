@@ -0,0 +1,152 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.artifact.ArtifactNotFoundException;
+import org.carlspring.strongbox.client.RestArtifactResolver;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
+import org.carlspring.strongbox.storage.repository.remote.RemoteRepository;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fetches the remote checksum files (like <code>.sha1</code>) of the artifact concurrently with the artifact body, so
+ * the downloaded artifact can be validated against them once its digests are calculated.
+ */
+@Component
+public class RemoteChecksumFetcher
+        implements InitializingBean, DisposableBean
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(RemoteChecksumFetcher.class);
+
+    @Inject
+    private RestArtifactResolverFactory restArtifactResolverFactory;
+
+    @Value("${strongbox.proxy.remoteChecksums.poolSize:8}")
+    private int poolSize;
+
+    @Value("${strongbox.proxy.remoteChecksums.timeoutSeconds:30}")
+    private long timeoutSeconds;
+
+    private ExecutorService executor;
+
+    @Override
+    public void afterPropertiesSet()
+    {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(poolSize, r -> {
+            Thread thread = new Thread(r, "remote-checksum-fetch-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        });
+    }
+
+    @Override
+    public void destroy()
+    {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Starts fetching the remote checksums of the artifact for each of the digest algorithms of the repository.
+     *
+     * @return the remote checksums by the digest algorithm, which are completed with <code>null</code> if the remote
+     *         checksum is not available
+     */
+    public Map<String, CompletableFuture<String>> fetchChecksums(RepositoryPath artifactPath)
+    {
+        LayoutFileSystemProvider provider = (LayoutFileSystemProvider) artifactPath.getFileSystem().provider();
+        RemoteRepository remoteRepository = artifactPath.getRepository().getRemoteRepository();
+
+        Map<String, CompletableFuture<String>> result = new HashMap<>();
+        for (String digestAlgorithm : artifactPath.getFileSystem().getDigestAlgorithmSet())
+        {
+            RepositoryPath checksumPath = provider.getChecksumPath(artifactPath, digestAlgorithm);
+            result.put(digestAlgorithm,
+                       CompletableFuture.supplyAsync(() -> fetchChecksum(remoteRepository, checksumPath), executor));
+        }
+
+        return result;
+    }
+
+    /**
+     * @return the remote checksum, or <code>null</code> if it's not available within the timeout (or cancelled)
+     */
+    public String getChecksum(RepositoryPath artifactPath,
+                              CompletableFuture<String> remoteChecksum)
+        throws IOException
+    {
+        try
+        {
+            return remoteChecksum.get(timeoutSeconds, TimeUnit.SECONDS);
+        }
+        catch (CancellationException e)
+        {
+            return null;
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+
+            throw new IOException(String.format("Interrupted while waiting for the remote checksum of [%s].",
+                                                artifactPath), e);
+        }
+        catch (ExecutionException | TimeoutException e)
+        {
+            logger.warn(String.format("Remote checksum of [%s] is not available.", artifactPath), e);
+            // The fetch is not needed anymore, if it's still queued.
+            remoteChecksum.cancel(false);
+
+            return null;
+        }
+    }
+
+    private String fetchChecksum(RemoteRepository remoteRepository,
+                                 RepositoryPath checksumPath)
+    {
+        try (RestArtifactResolver client = restArtifactResolverFactory.newInstance(remoteRepository);
+             InputStream is = new RemoteArtifactStreamFetcher(client).getInputStream(0, checksumPath))
+        {
+            // The checksum file may also contain the file name, like `<checksum>  <file name>`.
+            String content = IOUtils.toString(is, StandardCharsets.UTF_8).trim();
+
+            return StringUtils.isBlank(content) ? null : content.split("\\s+")[0];
+        }
+        catch (ArtifactNotFoundException e)
+        {
+            logger.debug(String.format("Remote checksum [%s] was not found.", checksumPath));
+
+            return null;
+        }
+        catch (IOException e)
+        {
+            logger.debug(String.format("Failed to fetch remote checksum [%s].", checksumPath), e);
+
+            return null;
+        }
+    }
+
+}
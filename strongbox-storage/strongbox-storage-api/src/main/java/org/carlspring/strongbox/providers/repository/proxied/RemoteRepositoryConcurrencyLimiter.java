@@ -0,0 +1,81 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.storage.repository.remote.RemoteRepository;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the {@link AdaptiveConcurrencyLimit} of each remote repository (by the remote repository URL), which bounds
+ * the concurrent remote fetches, so the degraded remote repository sheds the excess fetches quickly instead of
+ * blocking the request threads.
+ */
+@Component
+public class RemoteRepositoryConcurrencyLimiter
+{
+
+    @Value("${strongbox.proxy.concurrencyLimit.enabled:false}")
+    private boolean enabled;
+
+    @Value("${strongbox.proxy.concurrencyLimit.initialLimit:20}")
+    private int initialLimit;
+
+    @Value("${strongbox.proxy.concurrencyLimit.minLimit:1}")
+    private int minLimit;
+
+    @Value("${strongbox.proxy.concurrencyLimit.maxLimit:200}")
+    private int maxLimit;
+
+    @Value("${strongbox.proxy.concurrencyLimit.maxQueueSize:50}")
+    private int maxQueueSize;
+
+    @Value("${strongbox.proxy.concurrencyLimit.queueTimeoutMillis:1000}")
+    private long queueTimeoutMillis;
+
+    @Value("${strongbox.proxy.concurrencyLimit.backoffRatio:0.9}")
+    private double backoffRatio;
+
+    @Value("${strongbox.proxy.concurrencyLimit.latencyTolerance:2.0}")
+    private double latencyTolerance;
+
+    private final ConcurrentMap<String, AdaptiveConcurrencyLimit> limits = new ConcurrentHashMap<>();
+
+    /**
+     * @return the permit of the remote fetch, or <code>null</code> if the limiting is disabled
+     * @throws RemoteRepositoryOverloadedException if the fetch was rejected
+     */
+    public AdaptiveConcurrencyLimit.Permit acquire(RemoteRepository remoteRepository)
+        throws IOException
+    {
+        if (!enabled)
+        {
+            return null;
+        }
+
+        return getLimit(remoteRepository.getUrl()).acquire();
+    }
+
+    /**
+     * @return the limit of the remote repository, or <code>null</code> if none of its fetches was limited yet
+     */
+    public AdaptiveConcurrencyLimit findLimit(String remoteRepositoryUrl)
+    {
+        return limits.get(remoteRepositoryUrl);
+    }
+
+    private AdaptiveConcurrencyLimit getLimit(String remoteRepositoryUrl)
+    {
+        return limits.computeIfAbsent(remoteRepositoryUrl, this::newLimit);
+    }
+
+    private AdaptiveConcurrencyLimit newLimit(String remoteRepositoryUrl)
+    {
+        return new AdaptiveConcurrencyLimit(remoteRepositoryUrl, initialLimit, minLimit, maxLimit, maxQueueSize,
+                                            queueTimeoutMillis, backoffRatio, latencyTolerance);
+    }
+
+}
@@ -0,0 +1,31 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import java.io.IOException;
+
+/**
+ * Signals that the remote repository fetch was rejected, as the remote repository concurrency limit is exhausted.
+ *
+ * @see AdaptiveConcurrencyLimit
+ */
+public class RemoteRepositoryOverloadedException
+        extends IOException
+{
+
+    private final long retryAfterSeconds;
+
+    public RemoteRepositoryOverloadedException(String message,
+                                               long retryAfterSeconds)
+    {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * @return the number of the seconds the client should wait before it retries the request
+     */
+    public long getRetryAfterSeconds()
+    {
+        return retryAfterSeconds;
+    }
+
+}
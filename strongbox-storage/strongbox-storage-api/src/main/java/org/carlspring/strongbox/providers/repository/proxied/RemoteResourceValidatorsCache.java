@@ -0,0 +1,121 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.data.CacheName;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the validators (<code>ETag</code>, <code>Last-Modified</code>) of the remote responses for the proxied
+ * metadata, so the expired metadata can be revalidated with a conditional request instead of being downloaded again.
+ * <p>
+ * The validators are shared across the cluster, as the metadata is shared through the storage.
+ */
+@Component
+public class RemoteResourceValidatorsCache
+{
+
+    @Inject
+    private HazelcastInstance hazelcastInstance;
+
+    public boolean contains(RepositoryPath repositoryPath)
+    {
+        return getMap().containsKey(getKey(repositoryPath));
+    }
+
+    /**
+     * @return the conditional request headers for the path, or an empty map if there are no validators
+     */
+    public Map<String, String> getConditionalHeaders(RepositoryPath repositoryPath)
+    {
+        RemoteResourceValidators validators = getMap().get(getKey(repositoryPath));
+        if (validators == null)
+        {
+            return Collections.emptyMap();
+        }
+
+        Map<String, String> result = new HashMap<>();
+        if (validators.getEtag() != null)
+        {
+            result.put("If-None-Match", validators.getEtag());
+        }
+        if (validators.getLastModified() != null)
+        {
+            result.put("If-Modified-Since", validators.getLastModified());
+        }
+
+        return result;
+    }
+
+    /**
+     * Updates the validators of the metadata from the response it was fetched with.
+     */
+    public void update(RepositoryPath repositoryPath,
+                       ProxyRepositoryInputStream remoteStream)
+        throws IOException
+    {
+        if (remoteStream == null || !Boolean.TRUE.equals(RepositoryFiles.isMetadata(repositoryPath)))
+        {
+            return;
+        }
+
+        String etag = remoteStream.getResponseHeader("ETag");
+        String lastModified = remoteStream.getResponseHeader("Last-Modified");
+        if (etag == null && lastModified == null)
+        {
+            getMap().delete(getKey(repositoryPath));
+
+            return;
+        }
+
+        getMap().set(getKey(repositoryPath), new RemoteResourceValidators(etag, lastModified));
+    }
+
+    private String getKey(RepositoryPath repositoryPath)
+    {
+        return repositoryPath.toUri().toString();
+    }
+
+    private IMap<String, RemoteResourceValidators> getMap()
+    {
+        return hazelcastInstance.getMap(CacheName.Repository.REMOTE_RESOURCE_VALIDATORS);
+    }
+
+    public static class RemoteResourceValidators
+            implements Serializable
+    {
+
+        private final String etag;
+
+        private final String lastModified;
+
+        public RemoteResourceValidators(String etag,
+                                        String lastModified)
+        {
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        public String getEtag()
+        {
+            return etag;
+        }
+
+        public String getLastModified()
+        {
+            return lastModified;
+        }
+
+    }
+
+}
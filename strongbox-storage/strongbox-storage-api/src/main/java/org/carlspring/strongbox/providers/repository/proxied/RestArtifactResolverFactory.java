@@ -53,6 +53,18 @@ public class RestArtifactResolverFactory
                                     {
                                         return remoteRepositoryAlivenessCacheManager.isAlive(repository);
                                     }
+
+                                    @Override
+                                    public void recordSuccess()
+                                    {
+                                        remoteRepositoryAlivenessCacheManager.recordSuccess(repository);
+                                    }
+
+                                    @Override
+                                    public void recordFailure()
+                                    {
+                                        remoteRepositoryAlivenessCacheManager.recordFailure(repository);
+                                    }
                         
                                 };
     }
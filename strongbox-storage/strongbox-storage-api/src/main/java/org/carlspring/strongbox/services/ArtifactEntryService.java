@@ -9,6 +9,7 @@ import org.carlspring.strongbox.artifact.ArtifactTag;
 import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
 import org.carlspring.strongbox.data.service.CrudService;
 import org.carlspring.strongbox.data.service.support.search.PagingCriteria;
+import org.carlspring.strongbox.data.service.support.search.Sort;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.services.support.ArtifactEntrySearchCriteria;
 import org.javatuples.Pair;
@@ -69,6 +70,25 @@ public interface ArtifactEntryService
                         Map<String, String> coordinates,
                         boolean strict);
 
+    /**
+     * Selects the page of the repository artifacts in the given order, which starts right after the given artifact
+     * (the keyset pagination), so the artifacts of the previous pages are neither skipped over nor re-read. The ties
+     * are broken by the uuid, and the artifacts without the value of any of the ordered properties are not selected.
+     *
+     * @param after the last artifact of the previous page, or <code>null</code> for the first page
+     */
+    List<ArtifactEntry> findMatchingAfter(String storageId,
+                                          String repositoryId,
+                                          Sort sort,
+                                          ArtifactEntry after,
+                                          int limit);
+
+    /**
+     * @return the total size of the artifacts stored within the repository
+     */
+    long sumSizeInBytes(String storageId,
+                        String repositoryId);
+
     boolean artifactExists(String storageId,
                            String repositoryId,
                            String path);
@@ -77,4 +97,9 @@ public interface ArtifactEntryService
                                   String repositoryId,
                                   String path);
 
+    /**
+     * @return the detached artifact entry with the record id, or <code>null</code> if there is no such entry
+     */
+    ArtifactEntry findOneArtifactById(String artifactEntryId);
+
 }
@@ -27,6 +27,7 @@ import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
 import org.carlspring.strongbox.providers.io.RepositoryStreamSupport.RepositoryOutputStream;
+import org.carlspring.strongbox.providers.io.StorageFileSystemProvider.TempOutputStream;
 import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
 import org.carlspring.strongbox.providers.layout.LayoutProviderRegistry;
 import org.carlspring.strongbox.storage.ArtifactStorageException;
@@ -88,7 +89,7 @@ public class ArtifactManagementService
         ArtifactCoordinatesValidationException
     {
         performRepositoryAcceptanceValidation(repositoryPath);
-        return doStore(repositoryPath, is);
+        return doStore(repositoryPath, is, null, true);
     }
 
     @Transactional
@@ -99,13 +100,51 @@ public class ArtifactManagementService
         return doStore(repositoryPath, is);
     }
 
+    /**
+     * Stores the artifact, which is committed only if the content was read completely and the calculated digests
+     * were accepted by the validator, otherwise the partially written content is discarded.
+     */
+    @Transactional
+    public long store(RepositoryPath repositoryPath,
+                      InputStream is,
+                      DigestsValidator digestsValidator)
+        throws IOException
+    {
+        return doStore(repositoryPath, is, digestsValidator, false);
+    }
+
     private long doStore(RepositoryPath repositoryPath,
                          InputStream is)
             throws IOException
+    {
+        return doStore(repositoryPath, is, null, false);
+    }
+
+    /**
+     * @param deploy whether the file is deployed by the client, which is expected to upload its checksums next
+     */
+    private long doStore(RepositoryPath repositoryPath,
+                         InputStream is,
+                         DigestsValidator digestsValidator,
+                         boolean deploy)
+            throws IOException
     {
         long result;
         boolean updatedArtifactFile = false;
 
+        LayoutFileSystemProvider provider = (LayoutFileSystemProvider) repositoryPath.getFileSystem().provider();
+        if (provider.resolveVirtualChecksumArtifactPath(repositoryPath) != null)
+        {
+            // Virtual checksums are served from the artifact entry, so we only need to validate the uploaded one.
+            byte[] checksumValue = IOUtils.toByteArray(is);
+            if (checksumValue.length > 0)
+            {
+                validateUploadedChecksumAgainstCache(checksumValue, repositoryPath.toUri());
+            }
+
+            return checksumValue.length;
+        }
+
         if (RepositoryFiles.artifactExists(repositoryPath))
         {
             updatedArtifactFile = RepositoryFiles.isArtifact(repositoryPath);
@@ -113,9 +152,19 @@ public class ArtifactManagementService
         
         try (final RepositoryOutputStream aos = artifactResolutionService.getOutputStream(repositoryPath))
         {
-            result = writeArtifact(repositoryPath, is, aos);
-            logger.debug(String.format("Stored [%s] bytes for [%s].", result, repositoryPath));
-            aos.flush();
+            try
+            {
+                result = writeArtifact(repositoryPath, is, aos, digestsValidator, deploy);
+                logger.debug(String.format("Stored [%s] bytes for [%s].", result, repositoryPath));
+                aos.flush();
+            }
+            catch (IOException | RuntimeException e)
+            {
+                // The content is incomplete or invalid, so it should not replace the stored one.
+                discard(aos);
+
+                throw e;
+            }
         }
         catch (IOException e)
         {
@@ -144,9 +193,20 @@ public class ArtifactManagementService
         return result;
     }
 
+    private void discard(RepositoryOutputStream aos)
+    {
+        TempOutputStream tos = StreamUtils.findSource(TempOutputStream.class, aos);
+        if (tos != null)
+        {
+            tos.discard();
+        }
+    }
+
     private long writeArtifact(RepositoryPath repositoryPath,
                                InputStream is,
-                               OutputStream os)
+                               OutputStream os,
+                               DigestsValidator digestsValidator,
+                               boolean deploy)
             throws IOException
     {
         LayoutOutputStream aos = StreamUtils.findSource(LayoutOutputStream.class, os);
@@ -170,12 +230,25 @@ public class ArtifactManagementService
 
         URI repositoryPathId = repositoryPath.toUri();
         Map<String, String> digestMap = aos.getDigestMap();
+        if (digestsValidator != null)
+        {
+            digestsValidator.validate(repositoryPath, digestMap);
+        }
+
         if (Boolean.FALSE.equals(checksumAttribute) && !digestMap.isEmpty())
         {
-            // Store artifact digests in cache if we have them.
-            addChecksumsToCacheManager(digestMap, repositoryPathId);
+            // Store the digests of the deployed file in cache, to validate the checksums the client uploads next.
+            // The proxied and the internally stored files have no uploaded checksums to wait for.
+            if (deploy)
+            {
+                addChecksumsToCacheManager(digestMap, repositoryPath);
+            }
 
-            writeChecksums(repositoryPath, digestMap);
+            // Virtual checksums are served from the artifact entry digests, so there is no need for checksum files.
+            if (!repository.isVirtualChecksumsEnabled() || !RepositoryFiles.isArtifact(repositoryPath))
+            {
+                writeChecksums(repositoryPath, digestMap);
+            }
         }
 
         if (Boolean.TRUE.equals(checksumAttribute))
@@ -266,11 +339,13 @@ public class ArtifactManagementService
     }
 
     private void addChecksumsToCacheManager(Map<String, String> digestMap,
-                                            URI artifactPath)
+                                            RepositoryPath artifactPath)
     {
+        String artifactPathId = artifactPath.toUri().toString();
         digestMap.entrySet()
                  .stream()
-                 .forEach(e -> checksumCacheManager.addArtifactChecksum(artifactPath.toString(), e.getKey(), e.getValue()));
+                 .forEach(e -> checksumCacheManager.addArtifactChecksum(artifactPathId, artifactPath, e.getKey(),
+                                                                        e.getValue()));
     }
 
     private boolean performRepositoryAcceptanceValidation(RepositoryPath path)
@@ -366,4 +441,20 @@ public class ArtifactManagementService
         }
     }
 
+    /**
+     * Validates the digests of the content being stored before it's committed.
+     */
+    @FunctionalInterface
+    public interface DigestsValidator
+    {
+
+        /**
+         * @throws IOException if the content is invalid and should be discarded
+         */
+        void validate(RepositoryPath repositoryPath,
+                      Map<String, String> digestMap)
+            throws IOException;
+
+    }
+
 }
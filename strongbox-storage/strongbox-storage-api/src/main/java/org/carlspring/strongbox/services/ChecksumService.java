@@ -1,5 +1,7 @@
 package org.carlspring.strongbox.services;
 
+import org.carlspring.strongbox.services.support.ChecksumRegenerationProgress;
+
 import java.io.IOException;
 
 /**
@@ -22,4 +24,21 @@ public interface ChecksumService
                             boolean forceRegeneration)
             throws IOException;
 
+    /**
+     * Regenerate checksum for artifact using artifactPath (string), the regeneration progress is reported into the
+     * given {@link ChecksumRegenerationProgress}.
+     *
+     * @param storageId         String
+     * @param repositoryId      String
+     * @param basePath      String
+     * @param forceRegeneration boolean
+     * @param progress          ChecksumRegenerationProgress
+     */
+    void regenerateChecksum(String storageId,
+                            String repositoryId,
+                            String basePath,
+                            boolean forceRegeneration,
+                            ChecksumRegenerationProgress progress)
+            throws IOException;
+
 }
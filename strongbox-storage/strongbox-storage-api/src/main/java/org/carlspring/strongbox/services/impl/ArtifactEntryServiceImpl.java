@@ -3,6 +3,9 @@ package org.carlspring.strongbox.services.impl;
 import org.carlspring.strongbox.artifact.ArtifactTag;
 import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
 import org.carlspring.strongbox.data.service.support.search.PagingCriteria;
+import org.carlspring.strongbox.data.service.support.search.Sort;
+import org.carlspring.strongbox.data.service.support.search.Sort.Direction;
+import org.carlspring.strongbox.data.service.support.search.Sort.Order;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.domain.ArtifactTagEntry;
 import org.carlspring.strongbox.services.ArtifactEntryService;
@@ -20,6 +23,8 @@ import org.apache.commons.lang3.time.DateUtils;
 import org.javatuples.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -120,8 +125,26 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
             sb.append(" WHERE ");
             parameterMap = new HashMap<>();
 
+            if (searchCriteria.getStorageId() != null)
+            {
+                criteriaQueryClasuse.append(" storageId = :storageId ");
+                parameterMap.put("storageId", searchCriteria.getStorageId());
+            }
+            if (searchCriteria.getRepositoryId() != null)
+            {
+                if (criteriaQueryClasuse.length() > 0)
+                {
+                    criteriaQueryClasuse.append(" AND ");
+                }
+                criteriaQueryClasuse.append(" repositoryId = :repositoryId ");
+                parameterMap.put("repositoryId", searchCriteria.getRepositoryId());
+            }
             if (searchCriteria.getMinSizeInBytes() != null && searchCriteria.getMinSizeInBytes() > 0)
             {
+                if (criteriaQueryClasuse.length() > 0)
+                {
+                    criteriaQueryClasuse.append(" AND ");
+                }
                 criteriaQueryClasuse.append(" sizeInBytes >= :minSizeInBytes ");
                 parameterMap.put("minSizeInBytes", searchCriteria.getMinSizeInBytes());
             }
@@ -148,6 +171,79 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
         return getDelegate().command(oQuery).execute(parameterMap);
     }
 
+    @Override
+    public List<ArtifactEntry> findMatchingAfter(String storageId,
+                                                 String repositoryId,
+                                                 Sort sort,
+                                                 ArtifactEntry after,
+                                                 int limit)
+    {
+        // The uuid breaks the ties, so each artifact has the unique position in the order.
+        List<Order> orders = new ArrayList<>(sort.getOrders());
+        orders.add(Order.asc("uuid"));
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT FROM ").append(getEntityClass().getSimpleName());
+        sb.append(" WHERE storageId = :storageId AND repositoryId = :repositoryId");
+
+        Map<String, Object> parameterMap = new HashMap<>();
+        parameterMap.put("storageId", storageId);
+        parameterMap.put("repositoryId", repositoryId);
+
+        for (Order order : orders)
+        {
+            sb.append(" AND ").append(order.getProperty()).append(" IS NOT NULL");
+        }
+
+        if (after != null)
+        {
+            // (p0 > :after0) OR (p0 = :after0 AND p1 > :after1) OR ...
+            BeanWrapper afterWrapper = PropertyAccessorFactory.forBeanPropertyAccess(after);
+            List<String> keysetClauses = new ArrayList<>();
+            StringBuilder equalityClause = new StringBuilder();
+            for (int i = 0; i < orders.size(); i++)
+            {
+                Order order = orders.get(i);
+                String parameterName = String.format("after%s", i);
+                parameterMap.put(parameterName, afterWrapper.getPropertyValue(order.getProperty()));
+
+                keysetClauses.add(String.format("(%s%s %s :%s)", equalityClause, order.getProperty(),
+                                                order.getDirection() == Direction.DESC ? "<" : ">", parameterName));
+                equalityClause.append(String.format("%s = :%s AND ", order.getProperty(), parameterName));
+            }
+
+            sb.append(" AND (").append(String.join(" OR ", keysetClauses)).append(")");
+        }
+
+        sb.append(" ORDER BY ").append(Sort.by(orders));
+        sb.append(" LIMIT ").append(limit);
+
+        logger.debug("Executing SQL query> " + sb.toString());
+
+        OSQLSynchQuery<ArtifactEntry> oQuery = new OSQLSynchQuery<>(sb.toString());
+
+        return getDelegate().command(oQuery).execute(parameterMap);
+    }
+
+    @Override
+    public long sumSizeInBytes(String storageId,
+                               String repositoryId)
+    {
+        String sQuery = String.format("SELECT sum(sizeInBytes) AS sizeInBytes FROM %s " +
+                                      "WHERE storageId = :storageId AND repositoryId = :repositoryId",
+                                      getEntityClass().getSimpleName());
+        OSQLSynchQuery<ODocument> oQuery = new OSQLSynchQuery<>(sQuery);
+
+        Map<String, Object> parameterMap = new HashMap<>();
+        parameterMap.put("storageId", storageId);
+        parameterMap.put("repositoryId", repositoryId);
+
+        List<ODocument> result = getDelegate().command(oQuery).execute(parameterMap);
+        Number sizeInBytes = result.isEmpty() ? null : result.iterator().next().field("sizeInBytes");
+
+        return sizeInBytes == null ? 0 : sizeInBytes.longValue();
+    }
+
     @Override
     public List<ArtifactEntry> findArtifactList(String storageId,
                                                 String repositoryId,
@@ -372,6 +468,15 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
                        .orElse(null);
     }
 
+    @Override
+    public ArtifactEntry findOneArtifactById(String artifactEntryId)
+    {
+        return Optional.ofNullable(artifactEntryId)
+                       .flatMap(id -> Optional.ofNullable(entityManager.find(ArtifactEntry.class, id)))
+                       .map(e -> detach(e))
+                       .orElse(null);
+    }
+
     @Override
     public void delete(String id)
     {
@@ -1,19 +1,22 @@
 package org.carlspring.strongbox.services.impl;
 
-import org.carlspring.strongbox.artifact.locator.ArtifactDirectoryLocator;
-import org.carlspring.strongbox.artifact.locator.handlers.ArtifactLocationGenerateChecksumOperation;
 import org.carlspring.strongbox.configuration.ConfigurationManager;
 import org.carlspring.strongbox.configuration.Configuration;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.providers.layout.ChecksumRegenerationPool;
+import org.carlspring.strongbox.providers.layout.ChecksumRegenerationTask;
+import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
 import org.carlspring.strongbox.providers.layout.LayoutProvider;
 import org.carlspring.strongbox.providers.layout.LayoutProviderRegistry;
 import org.carlspring.strongbox.services.ChecksumService;
+import org.carlspring.strongbox.services.support.ChecksumRegenerationProgress;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
 
 import javax.inject.Inject;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.Optional;
 
 import org.slf4j.Logger;
@@ -38,12 +41,26 @@ public class ChecksumServiceImpl
     @Inject
     private RepositoryPathResolver repositoryPathResolver;
 
+    @Inject
+    private ChecksumRegenerationPool checksumRegenerationPool;
+
     @Override
     public void regenerateChecksum(String storageId,
                                    String repositoryId,
                                    String basePath,
                                    boolean forceRegeneration)
         throws IOException
+    {
+        regenerateChecksum(storageId, repositoryId, basePath, forceRegeneration, new ChecksumRegenerationProgress());
+    }
+
+    @Override
+    public void regenerateChecksum(String storageId,
+                                   String repositoryId,
+                                   String basePath,
+                                   boolean forceRegeneration,
+                                   ChecksumRegenerationProgress progress)
+        throws IOException
     {
         Storage storage = getConfiguration().getStorage(storageId);
         Repository repository = storage.getRepository(repositoryId);
@@ -61,13 +78,18 @@ public class ChecksumServiceImpl
                                                     .map(p -> repositoryPathResolver.resolve(repository, basePath))
                                                     .orElseGet(() -> repositoryPathResolver.resolve(repository));
         
-        ArtifactLocationGenerateChecksumOperation operation = new ArtifactLocationGenerateChecksumOperation();
-        operation.setBasePath(repositoryBasePath);
-        operation.setForceRegeneration(forceRegeneration);
+        if (!Files.isDirectory(repositoryBasePath))
+        {
+            repositoryBasePath = repositoryBasePath.getParent();
+        }
+
+        LayoutFileSystemProvider provider = (LayoutFileSystemProvider) repositoryBasePath.getFileSystem().provider();
+        checksumRegenerationPool.invoke(new ChecksumRegenerationTask(provider, repositoryBasePath, forceRegeneration,
+                                                                     false, progress));
+        progress.report();
 
-        ArtifactDirectoryLocator locator = new ArtifactDirectoryLocator();
-        locator.setOperation(operation);
-        locator.locateArtifactDirectories();
+        logger.info(String.format("Regenerated checksums for [%s]: %s in %s ms", repositoryBasePath, progress,
+                                  progress.getElapsedMillis()));
     }
 
     public Configuration getConfiguration()
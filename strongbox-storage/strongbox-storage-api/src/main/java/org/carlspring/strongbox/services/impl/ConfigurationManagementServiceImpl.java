@@ -5,6 +5,7 @@ import org.carlspring.strongbox.configuration.*;
 import org.carlspring.strongbox.event.repository.RepositoryEvent;
 import org.carlspring.strongbox.event.repository.RepositoryEventListenerRegistry;
 import org.carlspring.strongbox.event.repository.RepositoryEventTypeEnum;
+import org.carlspring.strongbox.event.server.ServerEventListenerRegistry;
 import org.carlspring.strongbox.providers.layout.LayoutProvider;
 import org.carlspring.strongbox.providers.layout.LayoutProviderRegistry;
 import org.carlspring.strongbox.service.ProxyRepositoryConnectionPoolConfigurationService;
@@ -49,6 +50,9 @@ public class ConfigurationManagementServiceImpl
     @Inject
     private RepositoryEventListenerRegistry repositoryEventListenerRegistry;
 
+    @Inject
+    private ServerEventListenerRegistry serverEventListenerRegistry;
+
     @Inject
     private LayoutProviderRegistry layoutProviderRegistry;
 
@@ -616,6 +620,8 @@ public class ConfigurationManagementServiceImpl
         {
             writeLock.unlock();
         }
+
+        serverEventListenerRegistry.dispatchConfigurationChangedEvent();
     }
 
 }
@@ -1,21 +1,24 @@
 package org.carlspring.strongbox.services.support;
 
 import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.event.server.ServerEvent;
+import org.carlspring.strongbox.event.server.ServerEventTypeEnum;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.storage.repository.Repository;
-import org.carlspring.strongbox.storage.routing.RepositoryIdentifiable;
-import org.carlspring.strongbox.storage.routing.RoutingRule;
 import org.carlspring.strongbox.storage.routing.RoutingRules;
 
 import javax.inject.Inject;
 import java.io.IOException;
-import java.util.List;
+import java.util.Collections;
 
-import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 /**
+ * The routing rules are compiled once (see {@link CompiledRoutingRules}) and re-compiled once the configuration
+ * changes, the checks always see either the previous or the new rules as a whole.
+ *
  * @author Przemyslaw Fusik
  * @see <a href="https://strongbox.github.io/user-guide/artifact-routing-rules.html">Artifact Routing Rules</a>
  */
@@ -26,85 +29,40 @@ public class ArtifactRoutingRulesChecker
     @Inject
     private ConfigurationManager configurationManager;
 
+    private volatile CompiledRoutingRules compiledRoutingRules;
+
     public boolean isDenied(Repository groupRepository,
                             RepositoryPath repositoryPath)
             throws IOException
     {
-        final RoutingRules routingRules = configurationManager.getConfiguration().getRoutingRules();
-        final boolean hasDenyRules = hasCandidates(groupRepository, repositoryPath, routingRules.getDenied());
-        final boolean hasAcceptRules = hasCandidates(groupRepository, repositoryPath, routingRules.getAccepted());
-
-        return hasDenyRules && !hasAcceptRules;
+        return getCompiledRoutingRules().isDenied(groupRepository,
+                                                  repositoryPath.getRepository(),
+                                                  RepositoryFiles.relativizePath(repositoryPath));
     }
 
-    private boolean hasCandidates(Repository groupRepository,
-                                  RepositoryPath repositoryPath,
-                                  List<RoutingRule> routingRules)
-            throws IOException
+    @EventListener
+    public void handle(ServerEvent event)
     {
-
-        String artifactPath = RepositoryFiles.relativizePath(repositoryPath);
-        Repository subRepository = repositoryPath.getRepository();
-
-        return routingRules.stream()
-                           .anyMatch(rule -> {
-                               boolean result = false;
-
-                               if ((isMatch(rule, groupRepository))
-                                   && rule.getRegex().matcher(artifactPath).matches())
-                               {
-                                   // an empty collection means the rule is applied to **all** repositories in the group.
-                                   if (rule.getRepositories().size() == 0)
-                                   {
-                                       result = true;
-                                   }
-                                   else
-                                   {
-                                       result = rule.getRepositories()
-                                                    .stream()
-                                                    .anyMatch(r -> isMatch(r, subRepository));
-                                   }
-                               }
-
-                               return result;
-                           });
-
+        if (event.getType() == ServerEventTypeEnum.EVENT_SERVER_CONFIGURATION_CHANGED.getType())
+        {
+            compile();
+        }
     }
 
-    private boolean isMatch(RepositoryIdentifiable rule,
-                            Repository repository)
+    private CompiledRoutingRules getCompiledRoutingRules()
     {
-        boolean result = false;
+        CompiledRoutingRules result = compiledRoutingRules;
 
-        // exact match == storageId:repositoryId
-        if (equalsIgnoreCase(rule.getStorageIdAndRepositoryId(), repository.getStorageIdAndRepositoryId()))
-        {
-            result = true;
-        }
-        // wildcard == *:*
-        else if (equalsIgnoreCase(rule.getStorageIdAndRepositoryId(), StringUtils.EMPTY))
-        {
-            result = true;
-        }
-        // wildcard == storageId:*
-        else if (equalsIgnoreCase(rule.getRepositoryId(), StringUtils.EMPTY) &&
-                 equalsIgnoreCase(rule.getStorageId(), repository.getStorage().getId()))
-        {
-            result = true;
-        }
-        // wildcard == *:repositoryId
-        else if (equalsIgnoreCase(rule.getStorageId(), StringUtils.EMPTY) &&
-                 equalsIgnoreCase(rule.getRepositoryId(), repository.getId()))
-        {
-            result = true;
-        }
-
-        return result;
+        return result != null ? result : compile();
     }
 
-    private boolean equalsIgnoreCase(final String a,
-                                     final String b)
+    private synchronized CompiledRoutingRules compile()
     {
-        return StringUtils.trimToEmpty(a).equalsIgnoreCase(StringUtils.trimToEmpty(b));
+        // The configuration is read within the lock, so the rules of the latest change are compiled last.
+        RoutingRules routingRules = configurationManager.getConfiguration().getRoutingRules();
+
+        return compiledRoutingRules = new CompiledRoutingRules(routingRules != null ? routingRules.getRules() :
+                                                               Collections.emptyList());
     }
+
 }
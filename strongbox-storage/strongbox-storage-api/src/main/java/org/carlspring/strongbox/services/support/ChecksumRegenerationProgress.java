@@ -0,0 +1,129 @@
+package org.carlspring.strongbox.services.support;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Tracks the progress of the checksum regeneration, which is updated concurrently by the regeneration workers.
+ * <p>
+ * The listener is notified at most once per {@link #REPORT_INTERVAL_MILLIS} while the regeneration is running and
+ * once again when it completes.
+ */
+public class ChecksumRegenerationProgress
+{
+
+    public static final long REPORT_INTERVAL_MILLIS = 1000;
+
+    private static final long MB = 1024L * 1024L;
+
+    private final Consumer<ChecksumRegenerationProgress> listener;
+
+    private final long startNanos = System.nanoTime();
+
+    private final AtomicLong lastReportNanos = new AtomicLong(startNanos);
+
+    private final LongAdder regeneratedFiles = new LongAdder();
+
+    private final LongAdder skippedFiles = new LongAdder();
+
+    private final LongAdder failedFiles = new LongAdder();
+
+    private final LongAdder bytesRead = new LongAdder();
+
+    public ChecksumRegenerationProgress()
+    {
+        this(p -> {
+        });
+    }
+
+    public ChecksumRegenerationProgress(Consumer<ChecksumRegenerationProgress> listener)
+    {
+        this.listener = listener;
+    }
+
+    public void fileRegenerated(long bytes)
+    {
+        regeneratedFiles.increment();
+        bytesRead.add(bytes);
+        reportIfDue();
+    }
+
+    public void fileSkipped()
+    {
+        skippedFiles.increment();
+        reportIfDue();
+    }
+
+    public void fileFailed()
+    {
+        failedFiles.increment();
+        reportIfDue();
+    }
+
+    public void report()
+    {
+        lastReportNanos.set(System.nanoTime());
+        listener.accept(this);
+    }
+
+    private void reportIfDue()
+    {
+        long now = System.nanoTime();
+        long last = lastReportNanos.get();
+        if (now - last >= TimeUnit.MILLISECONDS.toNanos(REPORT_INTERVAL_MILLIS) && lastReportNanos.compareAndSet(last, now))
+        {
+            listener.accept(this);
+        }
+    }
+
+    public long getProcessedFiles()
+    {
+        return getRegeneratedFiles() + getSkippedFiles() + getFailedFiles();
+    }
+
+    public long getRegeneratedFiles()
+    {
+        return regeneratedFiles.sum();
+    }
+
+    public long getSkippedFiles()
+    {
+        return skippedFiles.sum();
+    }
+
+    public long getFailedFiles()
+    {
+        return failedFiles.sum();
+    }
+
+    public long getBytesRead()
+    {
+        return bytesRead.sum();
+    }
+
+    public long getElapsedMillis()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * @return the read throughput in MB per second
+     */
+    public double getThroughput()
+    {
+        long elapsedMillis = getElapsedMillis();
+
+        return elapsedMillis == 0 ? 0 : (double) getBytesRead() / MB / (elapsedMillis / 1000d);
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("%s files processed (%s regenerated, %s skipped, %s failed), %.1f MB read at %.1f MB/s",
+                             getProcessedFiles(), getRegeneratedFiles(), getSkippedFiles(), getFailedFiles(),
+                             (double) getBytesRead() / MB, getThroughput());
+    }
+
+}
@@ -0,0 +1,212 @@
+package org.carlspring.strongbox.services.support;
+
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.routing.RepositoryIdentifiable;
+import org.carlspring.strongbox.storage.routing.RoutingRule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * The routing rules compiled for the fast checks of the group members.
+ * <p>
+ * The rules applied to each pair of the group repository and its member are resolved once, with the repository
+ * wildcards (<code>*:*</code>, <code>storageId:*</code> and <code>*:repositoryId</code>) already evaluated, and the
+ * patterns of the deny and of the accept rules are merged into a single alternation each, so that the check is a
+ * single match per rule type. The instance is immutable (apart from the lazily populated index), it has to be replaced
+ * once the routing rules change.
+ *
+ * @see <a href="https://strongbox.github.io/user-guide/artifact-routing-rules.html">Artifact Routing Rules</a>
+ */
+public class CompiledRoutingRules
+{
+
+    /**
+     * The patterns with the back references can't be merged, as the group numbers are shifted within the alternation.
+     */
+    private static final Pattern BACK_REFERENCE = Pattern.compile("\\\\(\\d|k<)");
+
+    private final List<RoutingRule> denied;
+
+    private final List<RoutingRule> accepted;
+
+    /**
+     * The compiled rules by the group repository and the member.
+     */
+    private final ConcurrentMap<String, MemberRules> memberRules = new ConcurrentHashMap<>();
+
+    public CompiledRoutingRules(List<RoutingRule> rules)
+    {
+        this.denied = ImmutableList.copyOf(rules.stream().filter(RoutingRule::isDeny).collect(Collectors.toList()));
+        this.accepted = ImmutableList.copyOf(rules.stream().filter(RoutingRule::isAccept).collect(Collectors.toList()));
+    }
+
+    public boolean isDenied(Repository groupRepository,
+                            Repository subRepository,
+                            String artifactPath)
+    {
+        String key = groupRepository.getStorageIdAndRepositoryId() + "|" + subRepository.getStorageIdAndRepositoryId();
+
+        return memberRules.computeIfAbsent(key, k -> new MemberRules(compile(denied, groupRepository, subRepository),
+                                                                     compile(accepted, groupRepository, subRepository)))
+                          .isDenied(artifactPath);
+    }
+
+    private static PathMatcher compile(List<RoutingRule> routingRules,
+                                       Repository groupRepository,
+                                       Repository subRepository)
+    {
+        List<Pattern> patterns = routingRules.stream()
+                                             .filter(rule -> isMatch(rule, groupRepository))
+                                             // an empty collection means the rule is applied to **all** repositories
+                                             // in the group.
+                                             .filter(rule -> rule.getRepositories().isEmpty() ||
+                                                             rule.getRepositories()
+                                                                 .stream()
+                                                                 .anyMatch(r -> isMatch(r, subRepository)))
+                                             .map(RoutingRule::getRegex)
+                                             .collect(Collectors.toList());
+
+        return new PathMatcher(patterns);
+    }
+
+    private static boolean isMatch(RepositoryIdentifiable rule,
+                                   Repository repository)
+    {
+        boolean result = false;
+
+        // exact match == storageId:repositoryId
+        if (equalsIgnoreCase(rule.getStorageIdAndRepositoryId(), repository.getStorageIdAndRepositoryId()))
+        {
+            result = true;
+        }
+        // wildcard == *:*
+        else if (equalsIgnoreCase(rule.getStorageIdAndRepositoryId(), StringUtils.EMPTY))
+        {
+            result = true;
+        }
+        // wildcard == storageId:*
+        else if (equalsIgnoreCase(rule.getRepositoryId(), StringUtils.EMPTY) &&
+                 equalsIgnoreCase(rule.getStorageId(), repository.getStorage().getId()))
+        {
+            result = true;
+        }
+        // wildcard == *:repositoryId
+        else if (equalsIgnoreCase(rule.getStorageId(), StringUtils.EMPTY) &&
+                 equalsIgnoreCase(rule.getRepositoryId(), repository.getId()))
+        {
+            result = true;
+        }
+
+        return result;
+    }
+
+    private static boolean equalsIgnoreCase(final String a,
+                                            final String b)
+    {
+        return StringUtils.trimToEmpty(a).equalsIgnoreCase(StringUtils.trimToEmpty(b));
+    }
+
+    private static class MemberRules
+    {
+
+        private final PathMatcher denied;
+
+        private final PathMatcher accepted;
+
+        private MemberRules(PathMatcher denied,
+                            PathMatcher accepted)
+        {
+            this.denied = denied;
+            this.accepted = accepted;
+        }
+
+        private boolean isDenied(String artifactPath)
+        {
+            return denied.matches(artifactPath) && !accepted.matches(artifactPath);
+        }
+
+    }
+
+    /**
+     * Matches the path against any of the patterns, which are merged into a single pattern where possible.
+     */
+    static class PathMatcher
+    {
+
+        private final List<Pattern> patterns;
+
+        PathMatcher(List<Pattern> patterns)
+        {
+            this.patterns = merge(patterns);
+        }
+
+        private static List<Pattern> merge(List<Pattern> patterns)
+        {
+            if (patterns.size() < 2)
+            {
+                return patterns;
+            }
+
+            List<Pattern> result = new ArrayList<>();
+            List<String> mergeable = new ArrayList<>();
+            for (Pattern pattern : patterns)
+            {
+                if (BACK_REFERENCE.matcher(pattern.pattern()).find())
+                {
+                    result.add(pattern);
+                }
+                else
+                {
+                    mergeable.add("(?:" + pattern.pattern() + ")");
+                }
+            }
+
+            if (mergeable.isEmpty())
+            {
+                return patterns;
+            }
+
+            try
+            {
+                result.add(Pattern.compile(mergeable.stream().distinct().collect(Collectors.joining("|"))));
+            }
+            catch (PatternSyntaxException e)
+            {
+                // Like the same named group within several patterns, so they are matched one by one.
+                return patterns;
+            }
+
+            return Collections.unmodifiableList(result);
+        }
+
+        boolean matches(String path)
+        {
+            for (Pattern pattern : patterns)
+            {
+                if (pattern.matcher(path).matches())
+                {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        int getPatternCount()
+        {
+            return patterns.size();
+        }
+
+    }
+
+}
@@ -1,9 +1,11 @@
 package org.carlspring.strongbox.storage.checksum;
 
-import java.util.LinkedHashMap;
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
 
 /**
  * @author mtodorov
@@ -14,13 +16,23 @@ public class ArtifactChecksum
     /**
      * Key: Algorithm Value: Checksum
      */
-    private Map<String, String> checksums = new LinkedHashMap<>();
+    private Map<String, String> checksums = new ConcurrentHashMap<>();
+
+    /**
+     * The artifact path, if it is known, used to dispatch the event when the checksum has expired.
+     */
+    private Path artifactPath;
+
+    /**
+     * The source of the {@link #lastAccessed} time in milliseconds.
+     */
+    private final LongSupplier clock;
 
     /**
      * The last time this checksum object was accessed in any way. Used to determine when to remove entries from the
      * cache manager.
      */
-    private long lastAccessed;
+    private volatile long lastAccessed;
 
     private AtomicInteger numberOfChecksums = new AtomicInteger(0);
 
@@ -28,11 +40,24 @@ public class ArtifactChecksum
 
     public ArtifactChecksum()
     {
+        this(null);
+    }
+
+    public ArtifactChecksum(Path artifactPath)
+    {
+        this(artifactPath, System::currentTimeMillis);
+    }
+
+    public ArtifactChecksum(Path artifactPath,
+                            LongSupplier clock)
+    {
+        this.artifactPath = artifactPath;
+        this.clock = clock;
         updateLastAccessedTime();
     }
 
-    public synchronized void addChecksum(String algorithm,
-                                         String checksum)
+    public void addChecksum(String algorithm,
+                           String checksum)
     {
         checksums.put(algorithm, checksum);
         incrementNumberOfChecksums();
@@ -41,10 +66,10 @@ public class ArtifactChecksum
 
     private void updateLastAccessedTime()
     {
-        lastAccessed = System.currentTimeMillis();
+        lastAccessed = clock.getAsLong();
     }
 
-    public synchronized Optional<String> removeChecksum(String algorithm)
+    public Optional<String> removeChecksum(String algorithm)
     {
         updateLastAccessedTime();
         return checksums.keySet()
@@ -62,12 +87,12 @@ public class ArtifactChecksum
         return checksums.get(algorithm);
     }
 
-    public synchronized void incrementNumberOfChecksums()
+    public void incrementNumberOfChecksums()
     {
         numberOfChecksums.incrementAndGet();
     }
 
-    public synchronized void incrementNumberOfValidatedChecksums()
+    public void incrementNumberOfValidatedChecksums()
     {
         numberOfValidatedChecksums.incrementAndGet();
     }
@@ -82,6 +107,11 @@ public class ArtifactChecksum
         this.checksums = checksums;
     }
 
+    public Path getArtifactPath()
+    {
+        return artifactPath;
+    }
+
     public long getLastAccessed()
     {
         return lastAccessed;
@@ -1,10 +1,20 @@
 package org.carlspring.strongbox.storage.checksum;
 
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
+import org.carlspring.strongbox.event.artifact.ArtifactEventListenerRegistry;
+
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,8 +33,14 @@ import org.slf4j.LoggerFactory;
  * the checksum from the cache. (If the checksums set is empty, remove the respective
  * Checksum from the cachedChecksums).
  * - a checksum is not claimed within cachedChecksumLifetime, trigger an event and log
- * this, then remove the checksum from the cache. (If this checksums set is empty,
+ * this (if the checksum was added with the artifact path, only the debug message is logged
+ * otherwise), then remove the checksum from the cache. (If this checksums set is empty,
  * remove the respective Checksum from the cachedChecksums).
+ * <p>
+ * The cache is lock free, the updates of the same artifact path are serialized by the {@link ConcurrentHashMap}
+ * compute operations. The cache is bounded by {@link #getCachedChecksumMaxSize()}: when it is exceeded, the expired
+ * checksums are removed first, then the least recently accessed ones. The expired checksums are also removed on the
+ * access, so they are never served even if the monitor has not removed them yet.
  *
  * @author mtodorov
  */
@@ -37,20 +53,44 @@ public class ChecksumCacheManager
      * Key:     Artifact path
      * Value:   Artifact checksum.
      */
-    private Map<String, ArtifactChecksum> cachedChecksums = new LinkedHashMap<>();
+    private final Map<String, ArtifactChecksum> cachedChecksums = new ConcurrentHashMap<>();
 
     /**
      * Specifies how long to keep the cached checksums.
      * <p>
      * The default is five minutes.
      */
-    private long cachedChecksumLifetime = 5 * 60000;
+    private volatile long cachedChecksumLifetime = 5 * 60000;
 
     /**
      * Specifies at what interval to check if the checksums have expired.
      * The default is to check once every minute.
      */
-    private long cachedChecksumExpiredCheckInterval = 60000L;
+    private volatile long cachedChecksumExpiredCheckInterval = 60000L;
+
+    /**
+     * Specifies how many artifact paths to keep the checksums for.
+     */
+    private volatile int cachedChecksumMaxSize = 10000;
+
+    private ArtifactEventListenerRegistry artifactEventListenerRegistry;
+
+    /**
+     * The source of the current time in milliseconds, the expiration is checked against.
+     */
+    private volatile LongSupplier clock = System::currentTimeMillis;
+
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder expirations = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private ScheduledExecutorService monitor;
 
 
     public ChecksumCacheManager()
@@ -59,7 +99,7 @@ public class ChecksumCacheManager
 
     public boolean containsArtifactPath(String artifactPath)
     {
-        final boolean containsChecksum = cachedChecksums.containsKey(artifactPath);
+        final boolean containsChecksum = getArtifactChecksum(artifactPath) != null;
         if (containsChecksum)
         {
             logger.debug("Cache contains artifact path '" + artifactPath + "'.");
@@ -71,13 +111,9 @@ public class ChecksumCacheManager
     public String getArtifactChecksum(String artifactBasePath,
                                       String algorithm)
     {
-        if (!cachedChecksums.containsKey(artifactBasePath))
-        {
-            return null;
-        }
-
-        final ArtifactChecksum artifactChecksum = getArtifactChecksum(artifactBasePath);
-        final String checksum = artifactChecksum.getChecksum(algorithm);
+        final ArtifactChecksum artifactChecksum = lookup(artifactBasePath);
+        final String checksum = artifactChecksum == null ? null : artifactChecksum.getChecksum(algorithm);
+        count(checksum != null);
         if (checksum != null)
         {
             logger.debug("Found checksum '" + checksum + "' [" + algorithm + "]" + " for '" + artifactBasePath + "' in cache.");
@@ -88,40 +124,84 @@ public class ChecksumCacheManager
 
     public ArtifactChecksum getArtifactChecksum(String artifactBasePath)
     {
-        return cachedChecksums.get(artifactBasePath);
+        ArtifactChecksum artifactChecksum = lookup(artifactBasePath);
+        count(artifactChecksum != null);
+
+        return artifactChecksum;
+    }
+
+    private ArtifactChecksum lookup(String artifactBasePath)
+    {
+        ArtifactChecksum artifactChecksum = cachedChecksums.get(artifactBasePath);
+        if (artifactChecksum != null && isExpired(artifactChecksum))
+        {
+            expire(artifactBasePath, artifactChecksum);
+            artifactChecksum = null;
+        }
+
+        return artifactChecksum;
+    }
+
+    /**
+     * Each lookup is counted once, as a hit or a miss.
+     */
+    private void count(boolean hit)
+    {
+        if (hit)
+        {
+            hits.increment();
+        }
+        else
+        {
+            misses.increment();
+        }
     }
 
     public boolean validateChecksum(String artifactPath,
                                     String algorithm,
                                     String checksum)
     {
-        return getArtifactChecksum(artifactPath, algorithm).equals(checksum);
+        return checksum.equals(getArtifactChecksum(artifactPath, algorithm));
+    }
+
+    public void addArtifactChecksum(String artifactBasePath,
+                                    String algorithm,
+                                    String checksum)
+    {
+        addArtifactChecksum(artifactBasePath, null, algorithm, checksum);
     }
 
-    public synchronized void addArtifactChecksum(String artifactBasePath,
-                                                 String algorithm,
-                                                 String checksum)
+    /**
+     * @param artifactPath the path of the deployed artifact to dispatch the event with, if the checksum expires
+     *                     unclaimed, or <code>null</code> if the checksum is not expected to be claimed
+     */
+    public void addArtifactChecksum(String artifactBasePath,
+                                    Path artifactPath,
+                                    String algorithm,
+                                    String checksum)
     {
         logger.debug("Adding checksum '" + checksum + "' [" + algorithm + "]" + " for '" + artifactBasePath + "' in cache.");
 
-        if (cachedChecksums.containsKey(artifactBasePath))
-        {
-            final ArtifactChecksum artifactChecksum = getArtifactChecksum(artifactBasePath);
-            artifactChecksum.addChecksum(algorithm, checksum);
-        }
-        else
-        {
-            ArtifactChecksum artifactChecksum = new ArtifactChecksum();
+        cachedChecksums.compute(artifactBasePath, (k, artifactChecksum) -> {
+            if (artifactChecksum == null || isExpired(artifactChecksum))
+            {
+                artifactChecksum = new ArtifactChecksum(artifactPath, clock);
+            }
             artifactChecksum.addChecksum(algorithm, checksum);
 
-            cachedChecksums.put(artifactBasePath, artifactChecksum);
+            return artifactChecksum;
+        });
+
+        if (cachedChecksums.size() > cachedChecksumMaxSize)
+        {
+            evict();
         }
     }
 
-    public synchronized void removeArtifactChecksum(String artifactBasePath,
-                                                    String algorithm)
+    public void removeArtifactChecksum(String artifactBasePath,
+                                       String algorithm)
     {
-        Optional.ofNullable(getArtifactChecksum(artifactBasePath)).map(ac -> {
+        cachedChecksums.computeIfPresent(artifactBasePath, (k, ac) -> {
             logger.debug(ac.removeChecksum(algorithm)
                            .map(c -> String.format("Removed [%s] artifact checksum value [%s] from cache.",
                                                    artifactBasePath,
@@ -129,40 +209,110 @@ public class ChecksumCacheManager
                            .orElseGet(() -> String.format("Checksum algorithm [%s] not found for [%s] in cache.",
                                                           algorithm,
                                                           artifactBasePath)));
-            return ac;
-        }).filter(ac -> ac.getChecksums().isEmpty()).ifPresent(ac -> cachedChecksums.values().remove(ac));
+
+            return ac.getChecksums().isEmpty() ? null : ac;
+        });
     }
 
-    public synchronized void removeArtifactChecksum(String artifactBasePath)
+    public void removeArtifactChecksum(String artifactBasePath)
     {
         Optional.ofNullable(cachedChecksums.remove(artifactBasePath))
                 .ifPresent(ac -> logger.debug(String.format("Removed [%s] artifact checksum value [%s] from cache.",
                                                             artifactBasePath, ac)));
     }
 
-    public synchronized void removeExpiredChecksums()
+    public void removeExpiredChecksums()
     {
-        for (String checksum : getExpiredChecksums())
+        cachedChecksums.forEach((artifactBasePath, artifactChecksum) -> {
+            if (isExpired(artifactChecksum))
+            {
+                expire(artifactBasePath, artifactChecksum);
+            }
+        });
+    }
+
+    private boolean isExpired(ArtifactChecksum artifactChecksum)
+    {
+        return clock.getAsLong() - artifactChecksum.getLastAccessed() > cachedChecksumLifetime;
+    }
+
+    private void expire(String artifactBasePath,
+                        ArtifactChecksum artifactChecksum)
+    {
+        // Only the thread which has actually removed the checksum reports it.
+        if (!cachedChecksums.remove(artifactBasePath, artifactChecksum))
         {
-            removeArtifactChecksum(checksum);
+            return;
         }
+
+        expirations.increment();
+        unclaimed(artifactBasePath, artifactChecksum, "expired");
     }
 
-    private Set<String> getExpiredChecksums()
+    /**
+     * Removes the expired checksums, and then the least recently accessed ones until there is a tenth of the
+     * {@link #getCachedChecksumMaxSize()} free, so that the eviction is not triggered by every new checksum.
+     */
+    private void evict()
     {
-        Set<String> expiredChecksums = new LinkedHashSet<>();
+        if (!evicting.compareAndSet(false, true))
+        {
+            return;
+        }
 
-        for (Map.Entry<String, ArtifactChecksum> artifactChecksumEntry : cachedChecksums.entrySet())
+        try
         {
-            ArtifactChecksum checksum = artifactChecksumEntry.getValue();
+            removeExpiredChecksums();
+
+            int excess = cachedChecksums.size() - cachedChecksumMaxSize + cachedChecksumMaxSize / 10;
+            if (excess <= 0)
+            {
+                return;
+            }
+
+            List<Map.Entry<String, ArtifactChecksum>> leastRecentlyAccessed =
+                    cachedChecksums.entrySet()
+                                   .stream()
+                                   .sorted(Comparator.comparingLong(e -> e.getValue().getLastAccessed()))
+                                   .limit(excess)
+                                   .collect(Collectors.toList());
 
-            if (System.currentTimeMillis() - checksum.getLastAccessed() > cachedChecksumLifetime)
+            for (Map.Entry<String, ArtifactChecksum> e : leastRecentlyAccessed)
             {
-                expiredChecksums.add(artifactChecksumEntry.getKey());
+                if (cachedChecksums.remove(e.getKey(), e.getValue()))
+                {
+                    evictions.increment();
+                    unclaimed(e.getKey(), e.getValue(), "evicted");
+                }
             }
         }
+        finally
+        {
+            evicting.set(false);
+        }
+    }
+
+    private void unclaimed(String artifactBasePath,
+                           ArtifactChecksum artifactChecksum,
+                           String reason)
+    {
+        String message = String.format("Checksum [%s] for [%s] has %s without being claimed.", artifactChecksum,
+                                       artifactBasePath, reason);
+
+        // Only the checksums of the deployed artifacts are expected to be claimed.
+        Path artifactPath = artifactChecksum.getArtifactPath();
+        if (artifactPath == null)
+        {
+            logger.debug(message);
+
+            return;
+        }
 
-        return expiredChecksums;
+        logger.warn(message);
+        if (artifactEventListenerRegistry != null)
+        {
+            artifactEventListenerRegistry.dispatchArtifactChecksumExpiredEvent(artifactPath);
+        }
     }
 
     public long getCachedChecksumLifetime()
@@ -185,41 +335,85 @@ public class ChecksumCacheManager
         this.cachedChecksumExpiredCheckInterval = cachedChecksumExpiredCheckInterval;
     }
 
+    public int getCachedChecksumMaxSize()
+    {
+        return cachedChecksumMaxSize;
+    }
+
+    public void setCachedChecksumMaxSize(int cachedChecksumMaxSize)
+    {
+        this.cachedChecksumMaxSize = cachedChecksumMaxSize;
+    }
+
+    void setClock(LongSupplier clock)
+    {
+        this.clock = clock;
+    }
+
+    public void setArtifactEventListenerRegistry(ArtifactEventListenerRegistry artifactEventListenerRegistry)
+    {
+        this.artifactEventListenerRegistry = artifactEventListenerRegistry;
+    }
+
     public long getSize()
     {
         return cachedChecksums.size();
     }
 
-    public void startMonitor()
+    public long getHits()
+    {
+        return hits.sum();
+    }
+
+    public long getMisses()
     {
-        new CachedChecksumExpirer();
+        return misses.sum();
     }
 
-    private class CachedChecksumExpirer
-            extends Thread
+    public long getExpirations()
     {
+        return expirations.sum();
+    }
+
+    public long getEvictions()
+    {
+        return evictions.sum();
+    }
 
-        private CachedChecksumExpirer()
+    public synchronized void startMonitor()
+    {
+        if (monitor != null)
         {
-            start();
+            return;
         }
 
-        @Override
-        public void run()
+        monitor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "checksum-cache-expirer");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        monitor.scheduleWithFixedDelay(() -> {
+                                           try
+                                           {
+                                               removeExpiredChecksums();
+                                           }
+                                           catch (Exception e)
+                                           {
+                                               logger.error("Failed to remove the expired checksums.", e);
+                                           }
+                                       },
+                                       getCachedChecksumExpiredCheckInterval(),
+                                       getCachedChecksumExpiredCheckInterval(),
+                                       TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stopMonitor()
+    {
+        if (monitor != null)
         {
-            try
-            {
-                //noinspection InfiniteLoopStatement
-                while (true)
-                {
-                    Thread.sleep(getCachedChecksumExpiredCheckInterval());
-                    removeExpiredChecksums();
-                }
-            }
-            catch (InterruptedException e)
-            {
-                logger.error(e.getMessage(), e);
-            }
+            monitor.shutdownNow();
+            monitor = null;
         }
     }
 
@@ -74,7 +74,8 @@ public class RemoteRepositoriesHeartbeatMonitorInitiator
 
         RemoteRepositoryHeartbeatMonitor remoteRepositoryHeartBeatMonitor = new RemoteRepositoryHeartbeatMonitor(remoteRepositoryCacheManager,
                                                                                                                  determineMonitorStrategy(remoteRepository),
-                                                                                                                 remoteRepository);
+                                                                                                                 remoteRepository,
+                                                                                                                 TimeUnit.SECONDS.toMillis(intervalSeconds));
         executor.scheduleWithFixedDelay(new MdcContextProvider(remoteRepositoryHeartBeatMonitor),
                                         0,
                                         intervalSeconds, TimeUnit.SECONDS);
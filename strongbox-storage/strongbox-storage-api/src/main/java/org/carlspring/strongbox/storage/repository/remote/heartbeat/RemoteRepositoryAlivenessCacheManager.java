@@ -5,14 +5,22 @@ import org.carlspring.strongbox.storage.repository.remote.RemoteRepository;
 
 import javax.inject.Inject;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.BooleanUtils;
 import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Component;
 
 /**
+ * Tracks the aliveness of the remote repositories: the outcomes of the active probes are kept within the cache, while
+ * the outcomes of the real remote requests (and the probes) drive the {@link RemoteRepositoryCircuitBreaker} of each
+ * remote repository.
+ *
  * @author Przemyslaw Fusik
  */
 @Component
@@ -22,6 +30,17 @@ public class RemoteRepositoryAlivenessCacheManager
 
     private final Cache cache;
 
+    private final ConcurrentMap<String, RemoteRepositoryCircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    @Value("${strongbox.proxy.circuitBreaker.failureThreshold:5}")
+    private int failureThreshold;
+
+    @Value("${strongbox.proxy.circuitBreaker.initialBackoffSeconds:5}")
+    private long initialBackoffSeconds;
+
+    @Value("${strongbox.proxy.circuitBreaker.maxBackoffSeconds:300}")
+    private long maxBackoffSeconds;
+
     @Inject
     RemoteRepositoryAlivenessCacheManager(CacheManager cacheManager)
     {
@@ -31,13 +50,45 @@ public class RemoteRepositoryAlivenessCacheManager
 
     public boolean isAlive(RemoteRepository remoteRepository)
     {
-        return BooleanUtils.isNotFalse(cache.get(remoteRepository.getUrl(), Boolean.class));
+        return BooleanUtils.isNotFalse(cache.get(remoteRepository.getUrl(), Boolean.class)) &&
+               getCircuitBreaker(remoteRepository).allowsRequests();
     }
 
     public void put(RemoteRepository remoteRepository,
                     boolean aliveness)
     {
         cache.put(remoteRepository.getUrl(), Boolean.valueOf(aliveness));
+
+        if (aliveness)
+        {
+            recordSuccess(remoteRepository);
+        }
+        else
+        {
+            recordFailure(remoteRepository);
+        }
+    }
+
+    public void recordSuccess(RemoteRepository remoteRepository)
+    {
+        getCircuitBreaker(remoteRepository).recordSuccess();
+    }
+
+    public void recordFailure(RemoteRepository remoteRepository)
+    {
+        getCircuitBreaker(remoteRepository).recordFailure();
+    }
+
+    public RemoteRepositoryCircuitBreaker getCircuitBreaker(RemoteRepository remoteRepository)
+    {
+        return circuitBreakers.computeIfAbsent(remoteRepository.getUrl(), this::newCircuitBreaker);
+    }
+
+    private RemoteRepositoryCircuitBreaker newCircuitBreaker(String remoteRepositoryUrl)
+    {
+        return new RemoteRepositoryCircuitBreaker(remoteRepositoryUrl, failureThreshold,
+                                                  TimeUnit.SECONDS.toMillis(initialBackoffSeconds),
+                                                  TimeUnit.SECONDS.toMillis(maxBackoffSeconds));
     }
 
     @Override
@@ -45,5 +96,6 @@ public class RemoteRepositoryAlivenessCacheManager
             throws Exception
     {
         cache.clear();
+        circuitBreakers.clear();
     }
 }
@@ -0,0 +1,181 @@
+package org.carlspring.strongbox.storage.repository.remote.heartbeat;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The circuit breaker of the remote repository, driven by the outcomes of the real remote requests (and the active
+ * probes, while there is no traffic).
+ * <p>
+ * The circuit is {@link State#CLOSED} while the remote repository responds. It's {@link State#OPEN}ed after the
+ * configured number of the consecutive failures, so the remote requests fail fast instead of waiting for the remote
+ * repository timeouts. Once the back-off period has elapsed, the circuit is {@link State#HALF_OPEN} and a single trial
+ * request is let through, while the other requests still fail fast: the successful trial closes the circuit, while the
+ * failed one opens it again with the doubled back-off period (up to the maximum back-off period).
+ */
+public class RemoteRepositoryCircuitBreaker
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(RemoteRepositoryCircuitBreaker.class);
+
+    public enum State
+    {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+
+    private final int failureThreshold;
+
+    private final long initialBackoffMillis;
+
+    private final long maxBackoffMillis;
+
+    private State state = State.CLOSED;
+
+    private int consecutiveFailures;
+
+    private long backoffMillis;
+
+    private long retryAtMillis;
+
+    private volatile long lastOutcomeMillis;
+
+    private final AtomicReference<Trial> trial = new AtomicReference<>();
+
+    public RemoteRepositoryCircuitBreaker(String name,
+                                          int failureThreshold,
+                                          long initialBackoffMillis,
+                                          long maxBackoffMillis)
+    {
+        this.name = name;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = Math.max(initialBackoffMillis, maxBackoffMillis);
+    }
+
+    public synchronized State getState()
+    {
+        if (state == State.OPEN && System.currentTimeMillis() >= retryAtMillis)
+        {
+            logger.info(String.format("Back-off period of [%s] has elapsed, the circuit is half-open.", name));
+
+            state = State.HALF_OPEN;
+        }
+
+        return state;
+    }
+
+    /**
+     * @return <code>false</code> if the circuit is open, or it's half-open and the trial request is made by another
+     * thread, so the remote requests should fail fast
+     */
+    public boolean allowsRequests()
+    {
+        State currentState = getState();
+        if (currentState != State.HALF_OPEN)
+        {
+            return currentState == State.CLOSED;
+        }
+
+        // The thread of the trial request may check the circuit several times while making the request. The trial
+        // which has not recorded its outcome within the back-off period (like the one which never made the request)
+        // is taken over by the next request.
+        Trial currentTrial = trial.get();
+        if (currentTrial != null && currentTrial.thread == Thread.currentThread())
+        {
+            return true;
+        }
+        if (currentTrial != null && System.currentTimeMillis() < currentTrial.expiresAtMillis)
+        {
+            return false;
+        }
+
+        return trial.compareAndSet(currentTrial, new Trial(Thread.currentThread(),
+                                                           System.currentTimeMillis() + getBackoffMillis()));
+    }
+
+    public synchronized void recordSuccess()
+    {
+        lastOutcomeMillis = System.currentTimeMillis();
+        consecutiveFailures = 0;
+        trial.set(null);
+
+        if (state != State.CLOSED)
+        {
+            logger.info(String.format("Remote repository [%s] has recovered, the circuit is closed.", name));
+
+            state = State.CLOSED;
+            backoffMillis = 0;
+        }
+    }
+
+    public synchronized void recordFailure()
+    {
+        lastOutcomeMillis = System.currentTimeMillis();
+        consecutiveFailures++;
+        trial.set(null);
+
+        State currentState = getState();
+        if (currentState == State.HALF_OPEN)
+        {
+            open(Math.min(maxBackoffMillis, Math.max(initialBackoffMillis, backoffMillis * 2)));
+        }
+        else if (currentState == State.CLOSED && consecutiveFailures >= failureThreshold)
+        {
+            open(initialBackoffMillis);
+        }
+    }
+
+    private void open(long backoffMillis)
+    {
+        logger.warn(String.format("Remote repository [%s] has failed [%s] consecutive times, the circuit is open for " +
+                                  "[%s] ms.", name, consecutiveFailures, backoffMillis));
+
+        this.state = State.OPEN;
+        this.backoffMillis = backoffMillis;
+        this.retryAtMillis = System.currentTimeMillis() + backoffMillis;
+    }
+
+    /**
+     * @return <code>true</code> if no remote request outcome was recorded within the period
+     */
+    public boolean isIdle(long periodMillis)
+    {
+        return System.currentTimeMillis() - lastOutcomeMillis >= periodMillis;
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public synchronized int getConsecutiveFailures()
+    {
+        return consecutiveFailures;
+    }
+
+    public synchronized long getBackoffMillis()
+    {
+        return backoffMillis;
+    }
+
+    private static class Trial
+    {
+
+        private final Thread thread;
+
+        private final long expiresAtMillis;
+
+        private Trial(Thread thread,
+                      long expiresAtMillis)
+        {
+            this.thread = thread;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+    }
+
+}
@@ -24,9 +24,16 @@ class RemoteRepositoryHeartbeatMonitor
 
     private final RemoteRepositoryHeartbeatMonitorStrategy monitorStrategy;
 
+    private final long idlePeriodMillis;
+
+    /**
+     * @param idlePeriodMillis the remote repository is only probed if no remote request outcome was recorded within
+     *                         the period
+     */
     RemoteRepositoryHeartbeatMonitor(@Nonnull RemoteRepositoryAlivenessCacheManager remoteRepositoryCacheManager,
                                      @Nonnull RemoteRepositoryHeartbeatMonitorStrategy monitorStrategy,
-                                     @Nonnull RemoteRepository remoteRepository)
+                                     @Nonnull RemoteRepository remoteRepository,
+                                     long idlePeriodMillis)
     {
         Objects.requireNonNull(remoteRepositoryCacheManager);
         Objects.requireNonNull(monitorStrategy);
@@ -35,11 +42,28 @@ class RemoteRepositoryHeartbeatMonitor
         this.remoteRepositoryCacheManager = remoteRepositoryCacheManager;
         this.monitorStrategy = monitorStrategy;
         this.remoteRepository = remoteRepository;
+        this.idlePeriodMillis = idlePeriodMillis;
     }
 
     @Override
     public void run()
     {
+        RemoteRepositoryCircuitBreaker circuitBreaker = remoteRepositoryCacheManager.getCircuitBreaker(
+                remoteRepository);
+        if (!circuitBreaker.isIdle(idlePeriodMillis))
+        {
+            logger.debug("Remote repository [{}] aliveness is tracked by the remote requests, skip the probe.",
+                         remoteRepository.getUrl());
+
+            return;
+        }
+        if (!circuitBreaker.allowsRequests())
+        {
+            logger.debug("Remote repository [{}] circuit is open, back off the probe.", remoteRepository.getUrl());
+
+            return;
+        }
+
         boolean isAlive = false;
         try
         {
@@ -0,0 +1,211 @@
+package org.carlspring.strongbox.artifact;
+
+import org.carlspring.strongbox.booters.PropertiesBooter;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.providers.io.LayoutFileSystem;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathLock;
+import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.storage.StorageDto;
+import org.carlspring.strongbox.storage.repository.RepositoryData;
+import org.carlspring.strongbox.storage.repository.RepositoryDto;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ArtifactDownloadCountAggregatorTest
+{
+
+    private static final Path REPOSITORY_BASEDIR = Paths.get("target/strongbox-vault/storages/storage0/releases")
+                                                        .toAbsolutePath();
+
+    @Mock
+    private ArtifactEntryService artifactEntryService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private RepositoryPathLock repositoryPathLock;
+
+    @Mock
+    private ScheduledExecutorService executor;
+
+    @InjectMocks
+    private ArtifactDownloadCountAggregator aggregator;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private LayoutFileSystem repositoryFileSystem;
+
+    @BeforeEach
+    public void setUp()
+        throws Exception
+    {
+        MockitoAnnotations.initMocks(this);
+        ReflectionTestUtils.setField(aggregator, "executor", executor);
+        ReflectionTestUtils.setField(aggregator, "flushBatchSize", 2);
+        ReflectionTestUtils.setField(aggregator, "lockTimeoutMillis", 10L);
+        ReflectionTestUtils.setField(aggregator, "shutdownFlushAttempts", 3);
+
+        RepositoryDto repository = new RepositoryDto("releases");
+        repository.setStorage(new StorageDto("storage0"));
+        repository.setBasedir(REPOSITORY_BASEDIR.toString());
+        // The paths are neither in the trash nor temporary.
+        LayoutFileSystemProvider provider = Mockito.mock(LayoutFileSystemProvider.class, i -> {
+            if ("readAttributes".equals(i.getMethod().getName()) && i.getArgument(1) instanceof String)
+            {
+                String attribute = i.getArgument(1);
+
+                return Collections.singletonMap(attribute.substring(attribute.indexOf(':') + 1), Boolean.FALSE);
+            }
+
+            return Mockito.RETURNS_DEFAULTS.answer(i);
+        });
+        repositoryFileSystem = new LayoutFileSystem(new PropertiesBooter(), new RepositoryData(repository),
+                                                    FileSystems.getDefault(), provider)
+        {
+            @Override
+            public Set<String> getDigestAlgorithmSet()
+            {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        when(repositoryPathLock.lock(any(RepositoryPath.class), anyString())).thenReturn(lock);
+        // The entries are read within each transaction, as the rolled back changes are not visible.
+        when(artifactEntryService.findOneArtifact(eq("storage0"), eq("releases"), anyString())).thenAnswer(
+                i -> new ArtifactEntry());
+        when(artifactEntryService.save(any(ArtifactEntry.class))).thenAnswer(i -> i.getArgument(0));
+    }
+
+    @Test
+    public void downloadsShouldBeCoalescedAndFlushedInBatches()
+        throws Exception
+    {
+        aggregator.recordDownload(resolve("a/a.jar"));
+        aggregator.recordDownload(resolve("a/a.jar"));
+        aggregator.recordDownload(resolve("a/a.jar"));
+        aggregator.recordDownload(resolve("b/b.jar"));
+        aggregator.recordDownload(resolve("c/c.jar"));
+
+        // The flush is scheduled once the batch size is reached.
+        verify(executor).execute(any(Runnable.class));
+        assertThat(aggregator.getPendingUpdates()).isEqualTo(5);
+
+        aggregator.flush();
+
+        // Three artifacts within two batches.
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(artifactEntryService, times(3)).save(any(ArtifactEntry.class));
+        assertThat(aggregator.getPendingUpdates()).isZero();
+        assertThat(aggregator.getFlushedUpdates()).isEqualTo(5);
+    }
+
+    @Test
+    public void failedFlushShouldBeRetried()
+        throws Exception
+    {
+        when(artifactEntryService.save(any(ArtifactEntry.class))).thenThrow(new IllegalStateException("test"))
+                                                                 .thenAnswer(i -> i.getArgument(0));
+
+        aggregator.recordDownload(resolve("a/a.jar"));
+        aggregator.flush();
+
+        assertThat(aggregator.getFailedFlushes()).isEqualTo(1);
+        assertThat(aggregator.getPendingUpdates()).isEqualTo(1);
+
+        aggregator.recordDownload(resolve("a/a.jar"));
+        aggregator.flush();
+
+        verify(artifactEntryService, times(2)).findOneArtifact("storage0", "releases", "a/a.jar");
+        verify(artifactEntryService, times(2)).save(any(ArtifactEntry.class));
+        assertThat(aggregator.getPendingUpdates()).isZero();
+        assertThat(aggregator.getFlushedUpdates()).isEqualTo(2);
+    }
+
+    @Test
+    public void lockedArtifactShouldBeRetried()
+        throws Exception
+    {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread lockOwner = new Thread(() -> {
+            lock.writeLock().lock();
+            try
+            {
+                locked.countDown();
+                release.await();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+            finally
+            {
+                lock.writeLock().unlock();
+            }
+        });
+        lockOwner.start();
+        locked.await();
+
+        aggregator.recordDownload(resolve("a/a.jar"));
+        aggregator.flush();
+
+        verify(transactionManager, times(0)).getTransaction(any());
+        assertThat(aggregator.getPendingUpdates()).isEqualTo(1);
+
+        release.countDown();
+        lockOwner.join();
+        aggregator.flush();
+
+        verify(artifactEntryService).save(any(ArtifactEntry.class));
+        assertThat(aggregator.getPendingUpdates()).isZero();
+    }
+
+    @Test
+    public void pendingDownloadsShouldBeFlushedOnShutdown()
+        throws Exception
+    {
+        when(artifactEntryService.save(any(ArtifactEntry.class))).thenThrow(new IllegalStateException("test"))
+                                                                 .thenAnswer(i -> i.getArgument(0));
+
+        aggregator.recordDownload(resolve("a/a.jar"));
+        aggregator.destroy();
+
+        verify(executor).shutdown();
+        verify(artifactEntryService, times(2)).save(any(ArtifactEntry.class));
+        assertThat(aggregator.getPendingUpdates()).isZero();
+        assertThat(aggregator.getFlushedUpdates()).isEqualTo(1);
+    }
+
+    private RepositoryPath resolve(String path)
+    {
+        return new RepositoryPath(REPOSITORY_BASEDIR, repositoryFileSystem).resolve(path);
+    }
+
+}
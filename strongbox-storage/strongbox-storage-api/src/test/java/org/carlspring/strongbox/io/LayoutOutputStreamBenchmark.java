@@ -0,0 +1,114 @@
+package org.carlspring.strongbox.io;
+
+import org.carlspring.commons.io.MultipleDigestOutputStream;
+import org.carlspring.strongbox.util.MessageDigestUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.codec.digest.MessageDigestAlgorithms;
+import org.apache.commons.io.output.NullOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the upload digest calculation of the {@link LayoutOutputStream} against the serial
+ * {@link MultipleDigestOutputStream}.
+ * <p>
+ * Run with <code>mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.carlspring.strongbox.io.LayoutOutputStreamBenchmark</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LayoutOutputStreamBenchmark
+{
+
+    private static final long MB = 1024L * 1024L;
+
+    private static final String[] ALGORITHMS = new String[]{ MessageDigestAlgorithms.MD5,
+                                                             MessageDigestAlgorithms.SHA_1 };
+
+    @Param({ "16", "256" })
+    private long fileSizeMb;
+
+    private byte[] chunk;
+
+    @Setup
+    public void setUp()
+    {
+        chunk = new byte[8 * 1024];
+        new Random(0).nextBytes(chunk);
+    }
+
+    @Benchmark
+    public Map<String, String> serial()
+        throws IOException, NoSuchAlgorithmException
+    {
+        OutputStream target = new BufferedOutputStream(new NullOutputStream());
+        try (MultipleDigestOutputStream os = new MultipleDigestOutputStream(target, ALGORITHMS))
+        {
+            write(os);
+
+            Map<String, String> result = new HashMap<>();
+            os.getDigests().forEach((k, v) -> result.put(k, MessageDigestUtils.convertToHexadecimalString(v)));
+
+            return result;
+        }
+    }
+
+    @Benchmark
+    public Map<String, String> pipelined()
+        throws IOException, NoSuchAlgorithmException
+    {
+        try (LayoutOutputStream os = new LayoutOutputStream(new NullOutputStream()))
+        {
+            for (String algorithm : ALGORITHMS)
+            {
+                os.addAlgorithm(algorithm);
+            }
+
+            write(os);
+
+            return os.getDigestMap();
+        }
+    }
+
+    private void write(OutputStream os)
+        throws IOException
+    {
+        long size = fileSizeMb * MB;
+        for (long written = 0; written < size; written += chunk.length)
+        {
+            os.write(chunk, 0, chunk.length);
+        }
+    }
+
+    public static void main(String[] args)
+        throws RunnerException
+    {
+        new Runner(new OptionsBuilder().include(LayoutOutputStreamBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
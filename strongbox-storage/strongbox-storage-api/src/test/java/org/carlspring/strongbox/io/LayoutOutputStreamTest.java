@@ -0,0 +1,51 @@
+package org.carlspring.strongbox.io;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.codec.digest.MessageDigestAlgorithms;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LayoutOutputStreamTest
+{
+
+    @Test
+    public void testDigestsWithPipeline()
+        throws Exception
+    {
+        byte[] content = new byte[(int) LayoutOutputStream.DIGEST_PIPELINE_THRESHOLD * 3 + 17];
+        new Random(0).nextBytes(content);
+
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        try (LayoutOutputStream os = new LayoutOutputStream(target))
+        {
+            os.addAlgorithm(MessageDigestAlgorithms.MD5);
+            os.addAlgorithm(MessageDigestAlgorithms.SHA_1);
+
+            // Mix the single byte and the bulk writes around the pipeline threshold.
+            int offset = 0;
+            Random random = new Random(1);
+            while (offset < content.length)
+            {
+                if (random.nextInt(8) == 0)
+                {
+                    os.write(content[offset++]);
+                    continue;
+                }
+
+                int len = Math.min(content.length - offset, random.nextInt(100 * 1024));
+                os.write(content, offset, len);
+                offset += len;
+            }
+            os.flush();
+
+            assertThat(os.getDigestMap()).containsEntry(MessageDigestAlgorithms.MD5, DigestUtils.md5Hex(content))
+                                         .containsEntry(MessageDigestAlgorithms.SHA_1, DigestUtils.sha1Hex(content));
+        }
+
+        assertThat(target.toByteArray()).isEqualTo(content);
+    }
+
+}
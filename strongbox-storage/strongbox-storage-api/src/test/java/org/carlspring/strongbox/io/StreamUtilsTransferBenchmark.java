@@ -0,0 +1,136 @@
+package org.carlspring.strongbox.io;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.output.ProxyOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the legacy download copy loop (4 KB heap buffer with a flush after every chunk) against
+ * {@link StreamUtils#transfer(FileChannel, java.nio.channels.WritableByteChannel)}.
+ * <p>
+ * Run with <code>mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.carlspring.strongbox.io.StreamUtilsTransferBenchmark</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamUtilsTransferBenchmark
+{
+
+    private static final long MB = 1024L * 1024L;
+
+    @Param({ "16", "256" })
+    private long fileSizeMb;
+
+    private Path source;
+
+    private Path sink;
+
+    @Setup
+    public void setUp()
+        throws IOException
+    {
+        source = Files.createTempFile("strongbox-transfer-source", ".bin");
+        sink = Files.createTempFile("strongbox-transfer-sink", ".bin");
+
+        byte[] chunk = new byte[(int) MB];
+        new Random(0).nextBytes(chunk);
+        try (OutputStream os = Files.newOutputStream(source))
+        {
+            for (long written = 0; written < fileSizeMb * MB; written += chunk.length)
+            {
+                os.write(chunk);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown()
+        throws IOException
+    {
+        Files.deleteIfExists(source);
+        Files.deleteIfExists(sink);
+    }
+
+    @Benchmark
+    public long copyLoop()
+        throws IOException
+    {
+        try (InputStream is = Files.newInputStream(source);
+             OutputStream os = new FileOutputStream(sink.toFile()))
+        {
+            long totalBytes = 0L;
+
+            int readLength;
+            byte[] bytes = new byte[4096];
+            while ((readLength = is.read(bytes, 0, bytes.length)) != -1)
+            {
+                os.write(bytes, 0, readLength);
+                os.flush();
+
+                totalBytes += readLength;
+            }
+
+            return totalBytes;
+        }
+    }
+
+    @Benchmark
+    public long transferToStreamChannel()
+        throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ);
+             OutputStream os = new FileOutputStream(sink.toFile()))
+        {
+            // Wrap the stream so that the target is not recognized as a FileChannel, as with a servlet stream.
+            return StreamUtils.transfer(channel, Channels.newChannel(new ProxyOutputStream(os)));
+        }
+    }
+
+    @Benchmark
+    public long transferToFileChannel()
+        throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel target = FileChannel.open(sink, StandardOpenOption.WRITE,
+                                                   StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            return StreamUtils.transfer(channel, target);
+        }
+    }
+
+    public static void main(String[] args)
+        throws RunnerException
+    {
+        new Runner(new OptionsBuilder().include(StreamUtilsTransferBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
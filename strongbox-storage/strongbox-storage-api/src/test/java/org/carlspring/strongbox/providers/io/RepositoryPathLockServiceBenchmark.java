@@ -0,0 +1,107 @@
+package org.carlspring.strongbox.providers.io;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.IntStream;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the lock acquisition cost of the {@link RepositoryPathLockService} backends.
+ * <p>
+ * Run with <code>mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.carlspring.strongbox.providers.io.RepositoryPathLockServiceBenchmark</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RepositoryPathLockServiceBenchmark
+{
+
+    private static final int LOCK_NAMES = 1000;
+
+    @Param({ "local", "hazelcast" })
+    private String backend;
+
+    private HazelcastInstance hazelcastInstance;
+
+    private RepositoryPathLockService lockService;
+
+    private String[] lockNames;
+
+    private int invocation;
+
+    @Setup
+    public void setUp()
+    {
+        if ("hazelcast".equals(backend))
+        {
+            Config config = new Config("repository-path-lock-benchmark");
+            config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+            config.getNetworkConfig().getJoin().getTcpIpConfig().setEnabled(false);
+
+            hazelcastInstance = Hazelcast.newHazelcastInstance(config);
+            lockService = new HazelcastRepositoryPathLockService(hazelcastInstance);
+        }
+        else
+        {
+            lockService = new LocalRepositoryPathLockService();
+        }
+
+        lockNames = IntStream.range(0, LOCK_NAMES)
+                             .mapToObj(i -> String.format("strongbox:/storage0/releases/org/carlspring/artifact-%s", i))
+                             .toArray(String[]::new);
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        if (hazelcastInstance != null)
+        {
+            hazelcastInstance.shutdown();
+        }
+    }
+
+    /**
+     * Acquires and releases the lock of the next path, every fourth one for writing.
+     */
+    @Benchmark
+    public void acquire()
+    {
+        int i = invocation++;
+        String lockName = lockNames[i % lockNames.length];
+        Lock lock = i % 4 == 0 ? lockService.getReadWriteLock(lockName).writeLock()
+                               : lockService.getReadWriteLock(lockName).readLock();
+
+        lock.lock();
+        lock.unlock();
+    }
+
+    public static void main(String[] args)
+        throws RunnerException
+    {
+        new Runner(new OptionsBuilder().include(RepositoryPathLockServiceBenchmark.class.getSimpleName())
+                                       .build()).run();
+    }
+
+}
@@ -0,0 +1,138 @@
+package org.carlspring.strongbox.providers.io;
+
+import org.carlspring.strongbox.booters.PropertiesBooter;
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.storage.StorageDto;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.repository.RepositoryData;
+import org.carlspring.strongbox.storage.repository.RepositoryDto;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RepositoryPathResolverTest
+{
+
+    private static final String STORAGE_ID = "storage0";
+
+    private static final String REPOSITORY_ID = "releases";
+
+    private static final String PATH = "org/carlspring/cached/1.0/cached-1.0.jar";
+
+    @Mock
+    private ConfigurationManager configurationManager;
+
+    @Mock
+    private ArtifactEntryService artifactEntryService;
+
+    @Mock
+    private RepositoryFileSystemRegistry fileSystemRegistry;
+
+    @InjectMocks
+    private RepositoryPathResolver repositoryPathResolver;
+
+    private Repository repository;
+
+    @BeforeEach
+    public void setUp()
+    {
+        MockitoAnnotations.initMocks(this);
+
+        RepositoryDto repositoryDto = new RepositoryDto(REPOSITORY_ID);
+        repositoryDto.setStorage(new StorageDto(STORAGE_ID));
+        repositoryDto.setBasedir(Paths.get("target/strongbox-vault/storages/storage0/releases")
+                                      .toAbsolutePath()
+                                      .toString());
+        repositoryDto.setType("hosted");
+        repository = new RepositoryData(repositoryDto);
+
+        // The paths are artifacts, which are neither in the trash, nor temporary.
+        LayoutFileSystemProvider provider = Mockito.mock(LayoutFileSystemProvider.class, i -> {
+            if ("readAttributes".equals(i.getMethod().getName()) && i.getArgument(1) instanceof String)
+            {
+                String attribute = i.getArgument(1);
+                String name = attribute.substring(attribute.indexOf(':') + 1);
+
+                return Collections.singletonMap(name, "artifact".equals(name));
+            }
+
+            return Mockito.RETURNS_DEFAULTS.answer(i);
+        });
+        LayoutFileSystem repositoryFileSystem = new LayoutFileSystem(new PropertiesBooter(), repository,
+                                                                     FileSystems.getDefault(), provider)
+        {
+            @Override
+            public Set<String> getDigestAlgorithmSet()
+            {
+                throw new UnsupportedOperationException();
+            }
+        };
+        when(fileSystemRegistry.lookupRepositoryFileSystemFactory(repository)).thenReturn(r -> repositoryFileSystem);
+    }
+
+    @Test
+    public void artifactEntryShouldBeLookedUpOncePerPath()
+        throws Exception
+    {
+        ArtifactEntry artifactEntry = new ArtifactEntry();
+        when(artifactEntryService.findOneArtifact(STORAGE_ID, REPOSITORY_ID, PATH)).thenReturn(artifactEntry);
+
+        RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository, PATH);
+
+        assertThat(repositoryPath.getArtifactEntry()).isSameAs(artifactEntry);
+        assertThat(repositoryPath.getArtifactEntry()).isSameAs(artifactEntry);
+        assertThat(repositoryPath.getArtifactEntry()).isSameAs(artifactEntry);
+        verify(artifactEntryService, times(1)).findOneArtifact(STORAGE_ID, REPOSITORY_ID, PATH);
+    }
+
+    @Test
+    public void missingArtifactEntryShouldBeLookedUpAgain()
+        throws Exception
+    {
+        ArtifactEntry artifactEntry = new ArtifactEntry();
+        when(artifactEntryService.findOneArtifact(STORAGE_ID, REPOSITORY_ID, PATH)).thenReturn(null, artifactEntry);
+
+        RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository, PATH);
+
+        assertThat(repositoryPath.getArtifactEntry()).isNull();
+        assertThat(repositoryPath.getArtifactEntry()).isSameAs(artifactEntry);
+        assertThat(repositoryPath.getArtifactEntry()).isSameAs(artifactEntry);
+        verify(artifactEntryService, times(2)).findOneArtifact(STORAGE_ID, REPOSITORY_ID, PATH);
+    }
+
+    @Test
+    public void invalidatedArtifactEntryShouldBeLookedUpAgain()
+        throws Exception
+    {
+        ArtifactEntry artifactEntry = new ArtifactEntry();
+        ArtifactEntry storedArtifactEntry = new ArtifactEntry();
+        when(artifactEntryService.findOneArtifact(STORAGE_ID, REPOSITORY_ID, PATH)).thenReturn(artifactEntry,
+                                                                                              storedArtifactEntry);
+
+        RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository, PATH);
+        assertThat(repositoryPath.getArtifactEntry()).isSameAs(artifactEntry);
+
+        repositoryPath.invalidateArtifactEntry();
+
+        assertThat(repositoryPath.getArtifactEntry()).isSameAs(storedArtifactEntry);
+        assertThat(repositoryPath.getArtifactEntry()).isSameAs(storedArtifactEntry);
+        verify(artifactEntryService, times(2)).findOneArtifact(STORAGE_ID, REPOSITORY_ID, PATH);
+    }
+
+}
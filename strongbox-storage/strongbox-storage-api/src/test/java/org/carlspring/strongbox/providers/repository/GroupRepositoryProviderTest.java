@@ -0,0 +1,541 @@
+package org.carlspring.strongbox.providers.repository;
+
+import org.carlspring.strongbox.artifact.coordinates.NullArtifactCoordinates;
+import org.carlspring.strongbox.booters.PropertiesBooter;
+import org.carlspring.strongbox.configuration.Configuration;
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.data.criteria.Paginator;
+import org.carlspring.strongbox.data.criteria.Predicate;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.providers.io.LayoutFileSystem;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.providers.io.RootRepositoryPath;
+import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
+import org.carlspring.strongbox.providers.repository.group.GroupMemberArtifactPathFilter;
+import org.carlspring.strongbox.providers.repository.group.GroupRepositoryPathResolutionCache;
+import org.carlspring.strongbox.providers.repository.group.GroupRepositorySetCollector;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyStreamThroughContext;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyStreamThroughTarget;
+import org.carlspring.strongbox.services.support.ArtifactRoutingRulesChecker;
+import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.StorageDto;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.repository.RepositoryData;
+import org.carlspring.strongbox.storage.repository.RepositoryDto;
+import org.carlspring.strongbox.storage.repository.remote.RemoteRepositoryDto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.mockito.stubbing.Answer;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class GroupRepositoryProviderTest
+{
+
+    private static final Path STORAGE_BASEDIR = Paths.get("target/strongbox-vault/storages/storage0").toAbsolutePath();
+
+    private static final String STORAGE_ID = "storage0";
+
+    private static final String PATH = "org/carlspring/hedged/1.0/hedged-1.0.jar";
+
+    @Mock
+    private ConfigurationManager configurationManager;
+
+    @Mock
+    private RepositoryProviderRegistry repositoryProviderRegistry;
+
+    @Mock
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @Mock
+    private ArtifactRoutingRulesChecker artifactRoutingRulesChecker;
+
+    @Mock
+    private GroupRepositoryPathResolutionCache groupRepositoryPathResolutionCache;
+
+    @Mock
+    private GroupMemberArtifactPathFilter groupMemberArtifactPathFilter;
+
+    @Mock
+    private GroupRepositorySetCollector groupRepositorySetCollector;
+
+    @InjectMocks
+    private GroupRepositoryProvider groupRepositoryProvider;
+
+    @Mock
+    private RepositoryProvider proxyRepositoryProvider;
+
+    @Mock
+    private RepositoryProvider hostedRepositoryProvider;
+
+    private final Map<String, RepositoryPath> memberPaths = new LinkedHashMap<>();
+
+    private Storage storage;
+
+    private RepositoryPath groupPath;
+
+    @BeforeEach
+    public void setUp()
+        throws Exception
+    {
+        MockitoAnnotations.initMocks(this);
+
+        storage = Mockito.mock(Storage.class);
+        for (String memberId : new String[]{ "proxy-1", "proxy-2", "proxy-3" })
+        {
+            RemoteRepositoryDto remoteRepository = new RemoteRepositoryDto();
+            remoteRepository.setUrl(String.format("http://localhost:48080/%s/", memberId));
+            RepositoryDto member = repository(memberId, "proxy");
+            member.setRemoteRepository(remoteRepository);
+            RepositoryPath memberPath = repositoryRoot(new RepositoryData(member)).resolve(PATH);
+            when(storage.getRepository(memberId)).thenReturn(memberPath.getRepository());
+            memberPaths.put(memberId, memberPath);
+        }
+        for (String memberId : new String[]{ "hosted-1", "hosted-2" })
+        {
+            RepositoryDto member = repository(memberId, "hosted");
+            RepositoryPath memberPath = repositoryRoot(new RepositoryData(member)).resolve(PATH);
+            when(storage.getRepository(memberId)).thenReturn(memberPath.getRepository());
+            memberPaths.put(memberId, memberPath);
+        }
+        groupPath = groupPath("proxy-group", "proxy-1", "proxy-2", "proxy-3");
+
+        Configuration configuration = Mockito.mock(Configuration.class);
+        when(configuration.getStorage(STORAGE_ID)).thenReturn(storage);
+        when(configurationManager.getConfiguration()).thenReturn(configuration);
+        when(repositoryPathResolver.resolve(any(Repository.class), any(RepositoryPath.class))).thenAnswer(
+                i -> memberPaths.get(((Repository) i.getArgument(0)).getId()));
+        when(groupMemberArtifactPathFilter.mightContain(any(RepositoryPath.class))).thenReturn(true);
+        when(repositoryProviderRegistry.getProvider("proxy")).thenReturn(proxyRepositoryProvider);
+        when(repositoryProviderRegistry.getProvider("hosted")).thenReturn(hostedRepositoryProvider);
+    }
+
+    @AfterEach
+    public void tearDown()
+    {
+        groupRepositoryProvider.destroy();
+        SecurityContextHolder.clearContext();
+        ProxyStreamThroughContext.unbind();
+    }
+
+    @Test
+    public void precedingMemberShouldWinOverTheFasterHedgedMember()
+        throws Exception
+    {
+        startHedgedResolution(10, 4);
+        CountDownLatch hedged = new CountDownLatch(1);
+        fetch("proxy-1", i -> {
+            // The first member responds only once the second one was hedged and has already responded.
+            assertThat(hedged.await(10, TimeUnit.SECONDS)).isTrue();
+
+            return i.getArgument(0);
+        });
+        fetch("proxy-2", i -> {
+            hedged.countDown();
+
+            return i.getArgument(0);
+        });
+
+        RepositoryPath result = groupRepositoryProvider.resolvePathTraversal(groupPath);
+
+        assertThat(result).isSameAs(memberPaths.get("proxy-1"));
+    }
+
+    @Test
+    public void missOfThePrecedingMemberShouldFallBackToTheHedgedMember()
+        throws Exception
+    {
+        startHedgedResolution(10, 4);
+        fetch("proxy-1", i -> null);
+        fetch("proxy-2", i -> null);
+        fetch("proxy-3", i -> i.getArgument(0));
+
+        RepositoryPath result = groupRepositoryProvider.resolvePathTraversal(groupPath);
+
+        assertThat(result).isSameAs(memberPaths.get("proxy-3"));
+    }
+
+    @Test
+    public void losingFetchShouldNotBeInterrupted()
+        throws Exception
+    {
+        startHedgedResolution(10, 4);
+        CountDownLatch hedged = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        fetch("proxy-1", i -> {
+            assertThat(hedged.await(10, TimeUnit.SECONDS)).isTrue();
+
+            return i.getArgument(0);
+        });
+        fetch("proxy-2", i -> {
+            hedged.countDown();
+            try
+            {
+                released.await(10, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException e)
+            {
+                interrupted.set(true);
+            }
+            finally
+            {
+                completed.countDown();
+            }
+
+            return i.getArgument(0);
+        });
+
+        RepositoryPath result = groupRepositoryProvider.resolvePathTraversal(groupPath);
+        released.countDown();
+
+        assertThat(result).isSameAs(memberPaths.get("proxy-1"));
+        assertThat(completed.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(interrupted.get()).isFalse();
+    }
+
+    @Test
+    public void pendingFetchShouldBeCancelled()
+        throws Exception
+    {
+        // The single thread is busy with the first member, so the hedged fetch stays queued.
+        startHedgedResolution(10, 1);
+        fetch("proxy-1", i -> {
+            Thread.sleep(50);
+
+            return i.getArgument(0);
+        });
+        fetch("proxy-2", i -> i.getArgument(0));
+        fetch("proxy-3", i -> i.getArgument(0));
+
+        RepositoryPath result = groupRepositoryProvider.resolvePathTraversal(groupPath);
+        // The queued fetches would run right after the first one, if they were not cancelled.
+        ExecutorService executor = (ExecutorService) ReflectionTestUtils.getField(groupRepositoryProvider,
+                                                                                  "hedgedResolutionExecutor");
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(result).isSameAs(memberPaths.get("proxy-1"));
+        verify(proxyRepositoryProvider, never()).fetchPath(memberPaths.get("proxy-2"));
+        verify(proxyRepositoryProvider, never()).fetchPath(memberPaths.get("proxy-3"));
+    }
+
+    @Test
+    public void hedgedFetchShouldCarryTheCallerContext()
+        throws Exception
+    {
+        startHedgedResolution(10, 4);
+        ProxyStreamThroughTarget streamThroughTarget = Mockito.mock(ProxyStreamThroughTarget.class);
+        Authentication authentication = new TestingAuthenticationToken("user", "password");
+        ProxyStreamThroughContext.bind(streamThroughTarget);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        AtomicReference<ProxyStreamThroughTarget> fetchStreamThroughTarget = new AtomicReference<>();
+        AtomicReference<Authentication> fetchAuthentication = new AtomicReference<>();
+        fetch("proxy-1", i -> {
+            fetchStreamThroughTarget.set(ProxyStreamThroughContext.current());
+            fetchAuthentication.set(SecurityContextHolder.getContext().getAuthentication());
+
+            return i.getArgument(0);
+        });
+
+        groupRepositoryProvider.resolvePathTraversal(groupPath);
+
+        assertThat(fetchStreamThroughTarget.get()).isSameAs(streamThroughTarget);
+        assertThat(fetchAuthentication.get()).isSameAs(authentication);
+    }
+
+    @Test
+    public void onlyTheWinningMemberShouldStreamItsContentThrough()
+        throws Exception
+    {
+        startHedgedResolution(10, 4);
+        StreamThroughTarget streamThroughTarget = new StreamThroughTarget();
+        ProxyStreamThroughContext.bind(streamThroughTarget);
+        CountDownLatch hedged = new CountDownLatch(1);
+        // The members hold the different content of the path.
+        fetch("proxy-1", i -> {
+            assertThat(hedged.await(10, TimeUnit.SECONDS)).isTrue();
+
+            return streamThrough(i.getArgument(0), "proxy-1 content");
+        });
+        fetch("proxy-2", i -> {
+            // The hedged member responds first.
+            RepositoryPath result = streamThrough(i.getArgument(0), "proxy-2 content");
+            hedged.countDown();
+
+            return result;
+        });
+
+        RepositoryPath result = groupRepositoryProvider.resolvePathTraversal(groupPath);
+
+        assertThat(result).isSameAs(memberPaths.get("proxy-1"));
+        assertThat(streamThroughTarget.content.toString("UTF-8")).isEqualTo("proxy-1 content");
+    }
+
+    @Test
+    public void missOfAllTheHostedMembersShouldBeCached()
+        throws Exception
+    {
+        RepositoryPath hostedGroupPath = groupPath("hosted-group", "hosted-1", "hosted-2");
+
+        assertThat(groupRepositoryProvider.resolvePathTraversal(hostedGroupPath)).isNull();
+
+        verify(groupRepositoryPathResolutionCache).missing(hostedGroupPath);
+    }
+
+    @Test
+    public void missOfTheProxyMemberShouldNotBeCached()
+        throws Exception
+    {
+        RepositoryPath mixedGroupPath = groupPath("mixed-group", "hosted-1", "proxy-1");
+
+        assertThat(groupRepositoryProvider.resolvePathTraversal(mixedGroupPath)).isNull();
+
+        verify(proxyRepositoryProvider).fetchPath(memberPaths.get("proxy-1"));
+        verify(groupRepositoryPathResolutionCache, never()).missing(any(RepositoryPath.class));
+    }
+
+    @Test
+    public void failureOfTheMemberShouldNotBeCachedAsMiss()
+        throws Exception
+    {
+        RepositoryPath hostedGroupPath = groupPath("hosted-group", "hosted-1", "hosted-2");
+        when(hostedRepositoryProvider.fetchPath(memberPaths.get("hosted-1"))).thenThrow(new IOException("test"));
+
+        assertThat(groupRepositoryProvider.resolvePathTraversal(hostedGroupPath)).isNull();
+
+        verify(hostedRepositoryProvider).fetchPath(memberPaths.get("hosted-2"));
+        verify(groupRepositoryPathResolutionCache, never()).missing(any(RepositoryPath.class));
+    }
+
+    @Test
+    public void resolvedPathShouldBeCachedWithTheMember()
+        throws Exception
+    {
+        RepositoryPath hostedGroupPath = groupPath("hosted-group", "hosted-1", "hosted-2");
+        RepositoryPath memberPath = memberPaths.get("hosted-2");
+        when(hostedRepositoryProvider.fetchPath(memberPath)).thenReturn(memberPath);
+
+        assertThat(groupRepositoryProvider.resolvePathTraversal(hostedGroupPath)).isSameAs(memberPath);
+
+        verify(groupRepositoryPathResolutionCache).resolved(hostedGroupPath, memberPath.getRepository());
+    }
+
+    @Test
+    public void memberWhichDefinitelyDoesNotHoldThePathShouldBeSkipped()
+        throws Exception
+    {
+        RepositoryPath hostedGroupPath = groupPath("hosted-group", "hosted-1", "hosted-2");
+        RepositoryPath skippedPath = memberPaths.get("hosted-1");
+        RepositoryPath memberPath = memberPaths.get("hosted-2");
+        when(groupMemberArtifactPathFilter.mightContain(skippedPath)).thenReturn(false);
+        when(hostedRepositoryProvider.fetchPath(memberPath)).thenReturn(memberPath);
+
+        assertThat(groupRepositoryProvider.resolvePathTraversal(hostedGroupPath)).isSameAs(memberPath);
+
+        verify(hostedRepositoryProvider, never()).fetchPath(skippedPath);
+    }
+
+    @Test
+    public void searchResultsShouldBeMergedByTheSortKeyCarriedOnThePaths()
+        throws Exception
+    {
+        RepositoryPath hostedGroupPath = groupPath("hosted-group", "hosted-1", "hosted-2");
+        Repository firstMember = memberPaths.get("hosted-1").getRepository();
+        Repository secondMember = memberPaths.get("hosted-2").getRepository();
+        when(storage.getRepository("hosted-group")).thenReturn(hostedGroupPath.getRepository());
+        when(groupRepositorySetCollector.collect(hostedGroupPath.getRepository())).thenReturn(
+                new LinkedHashSet<>(Arrays.asList(firstMember, secondMember)));
+        List<Path> firstMemberResults = Arrays.asList(searchResult(firstMember, "a.jar", 1),
+                                                      searchResult(firstMember, "c.jar", 3));
+        List<Path> secondMemberResults = Arrays.asList(searchResult(secondMember, "b.jar", 2),
+                                                       searchResult(secondMember, "c.jar", 3),
+                                                       searchResult(secondMember, "d.jar", 4));
+        when(hostedRepositoryProvider.search(eq(STORAGE_ID), eq("hosted-1"), any(Predicate.class),
+                                             any(Paginator.class))).thenReturn(firstMemberResults);
+        when(hostedRepositoryProvider.search(eq(STORAGE_ID), eq("hosted-2"), any(Predicate.class),
+                                             any(Paginator.class))).thenReturn(secondMemberResults);
+
+        Paginator paginator = new Paginator();
+        paginator.setProperty("downloadCount");
+        paginator.setLimit(10);
+        List<Path> result = groupRepositoryProvider.search(STORAGE_ID, "hosted-group", Predicate.empty(), paginator);
+
+        // The artifact held by both the members is taken from the first one.
+        assertThat(result).containsExactly(firstMemberResults.get(0), secondMemberResults.get(0),
+                                           firstMemberResults.get(1), secondMemberResults.get(2));
+        for (Path path : result)
+        {
+            verify((RepositoryPath) path, never()).getArtifactEntry();
+        }
+    }
+
+    private void startHedgedResolution(long delayMillis,
+                                       int poolSize)
+    {
+        ReflectionTestUtils.setField(groupRepositoryProvider, "hedgedResolutionEnabled", true);
+        ReflectionTestUtils.setField(groupRepositoryProvider, "hedgingDelayMillis", delayMillis);
+        ReflectionTestUtils.setField(groupRepositoryProvider, "hedgedResolutionPoolSize", poolSize);
+        groupRepositoryProvider.afterPropertiesSet();
+    }
+
+    private void fetch(String memberId,
+                       Answer<?> answer)
+        throws Exception
+    {
+        when(proxyRepositoryProvider.fetchPath(memberPaths.get(memberId))).thenAnswer(answer);
+    }
+
+    private Path searchResult(Repository member,
+                              String fileName,
+                              int downloadCount)
+    {
+        ArtifactEntry artifactEntry = new ArtifactEntry();
+        artifactEntry.setArtifactCoordinates(new NullArtifactCoordinates("org/carlspring/searched/" + fileName));
+        artifactEntry.setDownloadCount(downloadCount);
+
+        return Mockito.spy(repositoryRoot(member).resolve(artifactEntry));
+    }
+
+    private static RepositoryPath streamThrough(RepositoryPath repositoryPath,
+                                                String content)
+        throws IOException
+    {
+        ProxyStreamThroughTarget streamThroughTarget = ProxyStreamThroughContext.take(repositoryPath);
+        if (streamThroughTarget != null)
+        {
+            try (OutputStream os = streamThroughTarget.open(repositoryPath, Collections.emptyMap()))
+            {
+                os.write(content.getBytes(StandardCharsets.UTF_8));
+            }
+            streamThroughTarget.complete();
+        }
+
+        return repositoryPath;
+    }
+
+    private RepositoryPath groupPath(String groupId,
+                                     String... memberIds)
+    {
+        RepositoryDto group = repository(groupId, "group");
+        group.setGroupRepositories(new LinkedHashSet<>(Arrays.asList(memberIds)));
+
+        return repositoryRoot(new RepositoryData(group)).resolve(PATH);
+    }
+
+    private RepositoryDto repository(String repositoryId,
+                                     String type)
+    {
+        RepositoryDto repository = new RepositoryDto(repositoryId);
+        repository.setStorage(new StorageDto(STORAGE_ID));
+        repository.setBasedir(STORAGE_BASEDIR.resolve(repositoryId).toString());
+        repository.setType(type);
+
+        return repository;
+    }
+
+    private RootRepositoryPath repositoryRoot(Repository repository)
+    {
+        // The paths are not artifacts, their coordinates are only told apart by the file name.
+        LayoutFileSystemProvider provider = Mockito.mock(LayoutFileSystemProvider.class, i -> {
+            if ("readAttributes".equals(i.getMethod().getName()) && i.getArgument(1) instanceof String)
+            {
+                String attribute = i.getArgument(1);
+                String name = attribute.substring(attribute.indexOf(':') + 1);
+                if ("coordinates".equals(name))
+                {
+                    Path path = i.getArgument(0);
+
+                    return Collections.singletonMap(name, new NullArtifactCoordinates(path.getFileName().toString()));
+                }
+
+                return Collections.singletonMap(name, Boolean.FALSE);
+            }
+
+            return Mockito.RETURNS_DEFAULTS.answer(i);
+        });
+        LayoutFileSystem repositoryFileSystem = new LayoutFileSystem(new PropertiesBooter(), repository,
+                                                                     FileSystems.getDefault(), provider)
+        {
+            @Override
+            public Set<String> getDigestAlgorithmSet()
+            {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        return new RootRepositoryPath(Paths.get(repository.getBasedir()), repositoryFileSystem);
+    }
+
+    private static class StreamThroughTarget
+            implements ProxyStreamThroughTarget
+    {
+
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+        @Override
+        public boolean claim(RepositoryPath repositoryPath)
+        {
+            return claimed.compareAndSet(false, true);
+        }
+
+        @Override
+        public OutputStream open(RepositoryPath repositoryPath,
+                                 Map<String, String> checksums)
+        {
+            return content;
+        }
+
+        @Override
+        public void complete()
+        {
+        }
+
+        @Override
+        public void abort()
+        {
+            content.reset();
+        }
+
+    }
+
+}
@@ -0,0 +1,312 @@
+package org.carlspring.strongbox.providers.repository.group;
+
+import org.carlspring.strongbox.artifact.coordinates.NullArtifactCoordinates;
+import org.carlspring.strongbox.booters.PropertiesBooter;
+import org.carlspring.strongbox.configuration.Configuration;
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.data.service.support.search.Sort;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.event.repository.RepositoryEvent;
+import org.carlspring.strongbox.event.repository.RepositoryEventTypeEnum;
+import org.carlspring.strongbox.event.server.ServerEvent;
+import org.carlspring.strongbox.event.server.ServerEventTypeEnum;
+import org.carlspring.strongbox.providers.io.LayoutFileSystem;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathLock;
+import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.StorageDto;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.repository.RepositoryData;
+import org.carlspring.strongbox.storage.repository.RepositoryDto;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class GroupMemberArtifactPathFilterTest
+{
+
+    private static final Path REPOSITORY_BASEDIR = Paths.get("target/strongbox-vault/storages/storage0/filtered")
+                                                        .toAbsolutePath();
+
+    private static final String STORAGE_ID = "storage0";
+
+    private static final String REPOSITORY_ID = "filtered";
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Mock
+    private ConfigurationManager configurationManager;
+
+    @Mock
+    private ArtifactEntryService artifactEntryService;
+
+    @InjectMocks
+    private GroupMemberArtifactPathFilter filter;
+
+    private Storage storage;
+
+    private Repository repository;
+
+    private RepositoryPath repositoryRoot;
+
+    @BeforeEach
+    public void setUp()
+    {
+        MockitoAnnotations.initMocks(this);
+
+        RepositoryDto repositoryDto = new RepositoryDto(REPOSITORY_ID);
+        repositoryDto.setStorage(new StorageDto(STORAGE_ID));
+        repositoryDto.setBasedir(REPOSITORY_BASEDIR.toString());
+        repositoryDto.setType("hosted");
+        repository = new RepositoryData(repositoryDto);
+
+        storage = Mockito.mock(Storage.class);
+        Mockito.doReturn(Collections.singletonMap(REPOSITORY_ID, repository)).when(storage).getRepositories();
+        Configuration configuration = Mockito.mock(Configuration.class);
+        when(configuration.getStorages()).thenReturn(Collections.singletonMap(STORAGE_ID, storage));
+        when(configurationManager.getConfiguration()).thenReturn(configuration);
+        when(artifactEntryService.countArtifacts(eq(STORAGE_ID), eq(REPOSITORY_ID), anyMap(),
+                                                 anyBoolean())).thenReturn(1L);
+
+        // The paths are artifacts, which are neither in the trash, nor temporary.
+        LayoutFileSystemProvider provider = Mockito.mock(LayoutFileSystemProvider.class, i -> {
+            if ("readAttributes".equals(i.getMethod().getName()) && i.getArgument(1) instanceof String)
+            {
+                String attribute = i.getArgument(1);
+                String name = attribute.substring(attribute.indexOf(':') + 1);
+
+                return Collections.singletonMap(name, "artifact".equals(name));
+            }
+
+            return Mockito.RETURNS_DEFAULTS.answer(i);
+        });
+        LayoutFileSystem repositoryFileSystem = new LayoutFileSystem(new PropertiesBooter(), repository,
+                                                                     FileSystems.getDefault(), provider)
+        {
+            @Override
+            public Set<String> getDigestAlgorithmSet()
+            {
+                throw new UnsupportedOperationException();
+            }
+        };
+        repositoryRoot = new RepositoryPath(REPOSITORY_BASEDIR, repositoryFileSystem);
+
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "falsePositiveProbability", 0.01);
+        ReflectionTestUtils.setField(filter, "minExpectedInsertions", 100L);
+        ReflectionTestUtils.setField(filter, "maxSizeInBytes", 1024L);
+        ReflectionTestUtils.setField(filter, "lockMode", RepositoryPathLock.LOCK_MODE_LOCAL);
+        // The filters are built right away.
+        ReflectionTestUtils.setField(filter, "rebuildExecutor", MoreExecutors.newDirectExecutorService());
+    }
+
+    @Test
+    public void builtFilterShouldSkipTheMissingPaths()
+        throws Exception
+    {
+        scan(Collections.singletonList(artifactEntry(path(1))));
+
+        filter.rebuildAll();
+
+        assertThat(filter.mightContain(repositoryRoot.resolve(path(1)))).isTrue();
+        assertThat(filter.mightContain(repositoryRoot.resolve(path(2)))).isFalse();
+        assertThat(filter.getSkippedLookups()).isEqualTo(1);
+        assertThat(filter.getSizeInBytes()).isPositive();
+        assertThat(filter.getFalsePositiveProbability()).isLessThan(0.01);
+    }
+
+    @Test
+    public void anyPathShouldBeExpectedUntilTheFilterIsBuilt()
+        throws Exception
+    {
+        assertThat(filter.mightContain(repositoryRoot.resolve(path(1)))).isTrue();
+        assertThat(filter.getSizeInBytes()).isZero();
+        assertThat(filter.getFalsePositiveProbability()).isZero();
+    }
+
+    @Test
+    public void storedPathShouldBePutIntoTheFilter()
+        throws Exception
+    {
+        scan(Collections.emptyList());
+        filter.rebuildAll();
+
+        filter.put(repositoryRoot.resolve(path(1)));
+
+        assertThat(filter.mightContain(repositoryRoot.resolve(path(1)))).isTrue();
+    }
+
+    @Test
+    public void pathStoredDuringTheRebuildShouldBeKept()
+        throws Exception
+    {
+        when(artifactEntryService.findMatchingAfter(eq(STORAGE_ID), eq(REPOSITORY_ID), any(Sort.class), isNull(),
+                                                    eq(BATCH_SIZE))).thenAnswer(i -> {
+            // The path is stored once the scan has passed it.
+            filter.put(repositoryRoot.resolve(path(2)));
+
+            return Collections.singletonList(artifactEntry(path(1)));
+        });
+
+        filter.rebuildAll();
+
+        assertThat(filter.mightContain(repositoryRoot.resolve(path(1)))).isTrue();
+        assertThat(filter.mightContain(repositoryRoot.resolve(path(2)))).isTrue();
+    }
+
+    @Test
+    public void scanShouldContinueAfterTheLastEntryOfThePage()
+        throws Exception
+    {
+        List<ArtifactEntry> firstPage = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++)
+        {
+            firstPage.add(artifactEntry(path(i)));
+        }
+        ArtifactEntry lastEntry = firstPage.get(BATCH_SIZE - 1);
+        when(artifactEntryService.findMatchingAfter(eq(STORAGE_ID), eq(REPOSITORY_ID), any(Sort.class), isNull(),
+                                                    eq(BATCH_SIZE))).thenReturn(firstPage);
+        when(artifactEntryService.findMatchingAfter(eq(STORAGE_ID), eq(REPOSITORY_ID), any(Sort.class),
+                                                    same(lastEntry), eq(BATCH_SIZE))).thenReturn(
+                Collections.singletonList(artifactEntry(path(BATCH_SIZE))));
+
+        filter.rebuildAll();
+
+        assertThat(filter.mightContain(repositoryRoot.resolve(path(0)))).isTrue();
+        assertThat(filter.mightContain(repositoryRoot.resolve(path(BATCH_SIZE)))).isTrue();
+    }
+
+    @Test
+    public void deletedPathsShouldRebuildTheFilter()
+        throws Exception
+    {
+        when(artifactEntryService.findMatchingAfter(eq(STORAGE_ID), eq(REPOSITORY_ID), any(Sort.class), isNull(),
+                                                    eq(BATCH_SIZE))).thenReturn(
+                Collections.singletonList(artifactEntry(path(1))), Collections.emptyList());
+        filter.rebuildAll();
+        assertThat(filter.mightContain(repositoryRoot.resolve(path(1)))).isTrue();
+
+        filter.handle(event(path(1), ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED));
+
+        assertThat(filter.mightContain(repositoryRoot.resolve(path(1)))).isFalse();
+    }
+
+    @Test
+    public void createdRepositoryShouldBeFiltered()
+        throws Exception
+    {
+        Mockito.doReturn(Collections.emptyMap()).when(storage).getRepositories();
+        filter.rebuildAll();
+        scan(Collections.singletonList(artifactEntry(path(1))));
+        Mockito.doReturn(Collections.singletonMap(REPOSITORY_ID, repository)).when(storage).getRepositories();
+
+        filter.handle(new RepositoryEvent(STORAGE_ID, REPOSITORY_ID,
+                                          RepositoryEventTypeEnum.EVENT_REPOSITORY_CREATED.getType()));
+
+        assertThat(filter.mightContain(repositoryRoot.resolve(path(1)))).isTrue();
+        assertThat(filter.mightContain(repositoryRoot.resolve(path(2)))).isFalse();
+    }
+
+    @Test
+    public void deletedRepositoryShouldNotBeFiltered()
+        throws Exception
+    {
+        scan(Collections.singletonList(artifactEntry(path(1))));
+        filter.rebuildAll();
+
+        filter.handle(new RepositoryEvent(STORAGE_ID, REPOSITORY_ID,
+                                          RepositoryEventTypeEnum.EVENT_REPOSITORY_DELETED.getType()));
+
+        assertThat(filter.mightContain(repositoryRoot.resolve(path(2)))).isTrue();
+        assertThat(filter.getSizeInBytes()).isZero();
+    }
+
+    @Test
+    public void configurationChangeShouldSynchronizeTheFilters()
+        throws Exception
+    {
+        scan(Collections.singletonList(artifactEntry(path(1))));
+        filter.rebuildAll();
+
+        // The repository is gone.
+        Mockito.doReturn(Collections.emptyMap()).when(storage).getRepositories();
+        filter.handle(new ServerEvent(ServerEventTypeEnum.EVENT_SERVER_CONFIGURATION_CHANGED.getType()));
+
+        assertThat(filter.mightContain(repositoryRoot.resolve(path(2)))).isTrue();
+
+        // The repository is back.
+        Mockito.doReturn(Collections.singletonMap(REPOSITORY_ID, repository)).when(storage).getRepositories();
+        filter.handle(new ServerEvent(ServerEventTypeEnum.EVENT_SERVER_CONFIGURATION_CHANGED.getType()));
+
+        assertThat(filter.mightContain(repositoryRoot.resolve(path(1)))).isTrue();
+        assertThat(filter.mightContain(repositoryRoot.resolve(path(2)))).isFalse();
+    }
+
+    @Test
+    public void filterShouldNotBeUsedWithTheDistributedLocks()
+        throws Exception
+    {
+        ReflectionTestUtils.setField(filter, "lockMode", RepositoryPathLock.LOCK_MODE_DISTRIBUTED);
+        filter.afterPropertiesSet();
+
+        filter.rebuildAll();
+
+        assertThat(filter.mightContain(repositoryRoot.resolve(path(1)))).isTrue();
+        verify(artifactEntryService, never()).findMatchingAfter(any(), any(), any(), any(), anyInt());
+    }
+
+    private void scan(List<ArtifactEntry> artifactEntries)
+    {
+        when(artifactEntryService.findMatchingAfter(eq(STORAGE_ID), eq(REPOSITORY_ID), any(Sort.class), isNull(),
+                                                    eq(BATCH_SIZE))).thenReturn(artifactEntries);
+    }
+
+    private ArtifactEvent<RepositoryPath> event(String path,
+                                                ArtifactEventTypeEnum type)
+    {
+        return new ArtifactEvent<>(repositoryRoot.resolve(path), type.getType());
+    }
+
+    private static ArtifactEntry artifactEntry(String path)
+    {
+        ArtifactEntry artifactEntry = new ArtifactEntry();
+        artifactEntry.setArtifactCoordinates(new NullArtifactCoordinates(path));
+
+        return artifactEntry;
+    }
+
+    private static String path(int number)
+    {
+        return String.format("org/carlspring/filtered/1.0/filtered-1.0-%s.jar", number);
+    }
+
+}
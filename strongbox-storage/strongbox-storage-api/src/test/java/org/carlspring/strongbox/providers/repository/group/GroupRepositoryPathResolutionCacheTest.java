@@ -0,0 +1,205 @@
+package org.carlspring.strongbox.providers.repository.group;
+
+import org.carlspring.strongbox.booters.PropertiesBooter;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.event.server.ServerEvent;
+import org.carlspring.strongbox.event.server.ServerEventTypeEnum;
+import org.carlspring.strongbox.providers.io.LayoutFileSystem;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
+import org.carlspring.strongbox.providers.repository.event.ProxyRepositoryPathExpiredEvent;
+import org.carlspring.strongbox.storage.StorageDto;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.repository.RepositoryData;
+import org.carlspring.strongbox.storage.repository.RepositoryDto;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GroupRepositoryPathResolutionCacheTest
+{
+
+    private static final Path STORAGE_BASEDIR = Paths.get("target/strongbox-vault/storages/storage0")
+                                                     .toAbsolutePath();
+
+    private static final String PATH = "org/carlspring/cached/1.0/cached-1.0.jar";
+
+    private final GroupRepositoryPathResolutionCache cache = new GroupRepositoryPathResolutionCache();
+
+    private RepositoryPath firstGroupPath;
+
+    private RepositoryPath secondGroupPath;
+
+    private RepositoryPath memberPath;
+
+    @BeforeEach
+    public void setUp()
+    {
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maximumSize", 100L);
+        ReflectionTestUtils.setField(cache, "negativeTimeToLiveSeconds", 60L);
+        cache.afterPropertiesSet();
+
+        firstGroupPath = path("group-1", "group");
+        secondGroupPath = path("group-2", "group");
+        memberPath = path("hosted", "hosted");
+    }
+
+    @Test
+    public void resolutionShouldBeCachedPerGroup()
+        throws Exception
+    {
+        cache.resolved(firstGroupPath, memberPath.getRepository());
+        cache.missing(secondGroupPath);
+
+        GroupRepositoryPathResolutionCache.Entry resolved = cache.get(firstGroupPath);
+        assertThat(resolved.isMissing()).isFalse();
+        assertThat(resolved.getMember()).isSameAs(memberPath.getRepository());
+        GroupRepositoryPathResolutionCache.Entry missing = cache.get(secondGroupPath);
+        assertThat(missing.isMissing()).isTrue();
+        assertThat(missing.getMember()).isNull();
+
+        // Both the groups share the entry of the path.
+        assertThat(cache.getSize()).isEqualTo(1);
+        assertThat(cache.getHits()).isEqualTo(2);
+    }
+
+    @Test
+    public void missShouldNotBeCachedWithoutTimeToLive()
+        throws Exception
+    {
+        ReflectionTestUtils.setField(cache, "negativeTimeToLiveSeconds", 0L);
+
+        cache.missing(firstGroupPath);
+
+        assertThat(cache.get(firstGroupPath)).isNull();
+        assertThat(cache.getHits()).isZero();
+    }
+
+    @Test
+    public void nothingShouldBeCachedWhenDisabled()
+        throws Exception
+    {
+        ReflectionTestUtils.setField(cache, "enabled", false);
+
+        cache.resolved(firstGroupPath, memberPath.getRepository());
+
+        assertThat(cache.get(firstGroupPath)).isNull();
+        assertThat(cache.getSize()).isZero();
+    }
+
+    @Test
+    public void storedPathShouldBeInvalidatedWithinAllTheGroups()
+        throws Exception
+    {
+        cacheWithinAllTheGroups();
+
+        cache.handle(new ArtifactEvent<>(memberPath, ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType()));
+
+        assertThat(cache.get(firstGroupPath)).isNull();
+        assertThat(cache.get(secondGroupPath)).isNull();
+    }
+
+    @Test
+    public void deletedPathShouldBeInvalidatedWithinAllTheGroups()
+        throws Exception
+    {
+        cacheWithinAllTheGroups();
+
+        cache.handle(new ArtifactEvent<>(memberPath, ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType()));
+
+        assertThat(cache.get(firstGroupPath)).isNull();
+        assertThat(cache.get(secondGroupPath)).isNull();
+    }
+
+    @Test
+    public void expiredPathShouldBeInvalidatedWithinAllTheGroups()
+        throws Exception
+    {
+        cacheWithinAllTheGroups();
+
+        cache.handle(new ProxyRepositoryPathExpiredEvent(memberPath));
+
+        assertThat(cache.get(firstGroupPath)).isNull();
+        assertThat(cache.get(secondGroupPath)).isNull();
+    }
+
+    @Test
+    public void configurationChangeShouldInvalidateAllThePaths()
+        throws Exception
+    {
+        RepositoryPath otherGroupPath = firstGroupPath.resolveSibling("cached-1.0.pom");
+        cacheWithinAllTheGroups();
+        cache.missing(otherGroupPath);
+
+        cache.handle(new ServerEvent(ServerEventTypeEnum.EVENT_SERVER_CONFIGURATION_CHANGED.getType()));
+
+        assertThat(cache.getSize()).isZero();
+        assertThat(cache.get(firstGroupPath)).isNull();
+        assertThat(cache.get(otherGroupPath)).isNull();
+    }
+
+    @Test
+    public void downloadedPathShouldNotBeInvalidated()
+        throws Exception
+    {
+        cacheWithinAllTheGroups();
+
+        cache.handle(new ArtifactEvent<>(memberPath,
+                                         ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_DOWNLOADED.getType()));
+
+        assertThat(cache.get(firstGroupPath)).isNotNull();
+        assertThat(cache.get(secondGroupPath)).isNotNull();
+    }
+
+    private void cacheWithinAllTheGroups()
+        throws Exception
+    {
+        cache.resolved(firstGroupPath, memberPath.getRepository());
+        cache.missing(secondGroupPath);
+    }
+
+    private RepositoryPath path(String repositoryId,
+                                String type)
+    {
+        RepositoryDto repositoryDto = new RepositoryDto(repositoryId);
+        repositoryDto.setStorage(new StorageDto("storage0"));
+        repositoryDto.setBasedir(STORAGE_BASEDIR.resolve(repositoryId).toString());
+        repositoryDto.setType(type);
+        Repository repository = new RepositoryData(repositoryDto);
+
+        // The paths are neither in the trash, nor temporary.
+        LayoutFileSystemProvider provider = Mockito.mock(LayoutFileSystemProvider.class, i -> {
+            if ("readAttributes".equals(i.getMethod().getName()) && i.getArgument(1) instanceof String)
+            {
+                String attribute = i.getArgument(1);
+
+                return Collections.singletonMap(attribute.substring(attribute.indexOf(':') + 1), Boolean.FALSE);
+            }
+
+            return Mockito.RETURNS_DEFAULTS.answer(i);
+        });
+        LayoutFileSystem repositoryFileSystem = new LayoutFileSystem(new PropertiesBooter(), repository,
+                                                                     FileSystems.getDefault(), provider)
+        {
+            @Override
+            public Set<String> getDigestAlgorithmSet()
+            {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        return new RepositoryPath(Paths.get(repository.getBasedir()), repositoryFileSystem).resolve(PATH);
+    }
+
+}
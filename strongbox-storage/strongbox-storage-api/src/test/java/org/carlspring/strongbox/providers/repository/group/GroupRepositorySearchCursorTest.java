@@ -0,0 +1,99 @@
+package org.carlspring.strongbox.providers.repository.group;
+
+import org.carlspring.strongbox.data.criteria.Paginator;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GroupRepositorySearchCursorTest
+{
+
+    @Test
+    public void cursorsShouldBeMergedInOrder()
+    {
+        Paginator paginator = new Paginator();
+        paginator.setProperty("name");
+        paginator.setOrder(Paginator.Order.DESC);
+
+        List<Paginator> queries = new ArrayList<>();
+        PriorityQueue<GroupRepositorySearchCursor> cursors = new PriorityQueue<>(
+                GroupRepositorySearchCursor.comparator(paginator));
+        for (GroupRepositorySearchCursor cursor : new GroupRepositorySearchCursor[]{
+                createCursor(0, paginator, queries, "e", "c", "a"),
+                createCursor(1, paginator, queries, "f", "c", "b") })
+        {
+            assertThat(cursor.hasNext()).isTrue();
+            cursors.add(cursor);
+        }
+
+        List<String> result = new ArrayList<>();
+        while (!cursors.isEmpty())
+        {
+            GroupRepositorySearchCursor cursor = cursors.poll();
+            result.add(cursor.getMemberIndex() + ":" + cursor.next().getFileName());
+            if (cursor.hasNext())
+            {
+                cursors.add(cursor);
+            }
+        }
+
+        assertThat(result).containsExactly("1:f", "0:e", "0:c", "1:c", "1:b", "0:a");
+        // The page sizes are doubled: [0, 1), [1, 3) and [3, 7), which is empty.
+        assertThat(queries.stream().map(p -> p.getSkip() + "+" + p.getLimit()).collect(Collectors.toList()))
+                .containsExactly("0+1", "0+1", "1+2", "1+2", "3+4", "3+4");
+    }
+
+    @Test
+    public void nestedPropertyShouldBeRead()
+    {
+        TestBean bean = new TestBean(Collections.singletonMap("version", "1.0"));
+
+        assertThat(GroupRepositorySearchCursor.getPropertyValue(bean, "coordinates.version")).isEqualTo("1.0");
+        assertThat(GroupRepositorySearchCursor.getPropertyValue(bean, "coordinates.id")).isNull();
+        assertThat(GroupRepositorySearchCursor.getPropertyValue(bean, "version")).isNull();
+    }
+
+    private GroupRepositorySearchCursor createCursor(int memberIndex,
+                                                     Paginator paginator,
+                                                     List<Paginator> queries,
+                                                     String... names)
+    {
+        List<Path> paths = IntStream.range(0, names.length)
+                                    .mapToObj(i -> Paths.get(names[i]))
+                                    .collect(Collectors.toList());
+
+        return new GroupRepositorySearchCursor(memberIndex, p -> {
+            queries.add(p);
+
+            return paths.subList(Math.min(p.getSkip(), paths.size()),
+                                 Math.min(p.getSkip() + p.getLimit(), paths.size()));
+        }, paginator, 1, p -> p.getFileName().toString());
+    }
+
+    public static class TestBean
+    {
+
+        private final Object coordinates;
+
+        public TestBean(Object coordinates)
+        {
+            this.coordinates = coordinates;
+        }
+
+        public Object getCoordinates()
+        {
+            return coordinates;
+        }
+
+    }
+
+}
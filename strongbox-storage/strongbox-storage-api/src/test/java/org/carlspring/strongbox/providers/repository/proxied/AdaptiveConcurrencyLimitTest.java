@@ -0,0 +1,85 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class AdaptiveConcurrencyLimitTest
+{
+
+    private static final String REMOTE_URL = "http://localhost:48080/acl-remote/";
+
+    @Test
+    public void fetchesAboveTheLimitShouldBeRejectedOnceTheQueueIsFull()
+        throws Exception
+    {
+        AdaptiveConcurrencyLimit concurrencyLimit = new AdaptiveConcurrencyLimit(REMOTE_URL, 2, 1, 10, 0, 10, 0.5,
+                                                                                 2.0);
+
+        AdaptiveConcurrencyLimit.Permit first = concurrencyLimit.acquire();
+        concurrencyLimit.acquire();
+        assertThat(concurrencyLimit.getInFlight()).isEqualTo(2);
+
+        assertThatExceptionOfType(RemoteRepositoryOverloadedException.class).isThrownBy(concurrencyLimit::acquire);
+        assertThat(concurrencyLimit.getRejections()).isEqualTo(1);
+
+        first.release();
+        assertThat(concurrencyLimit.getInFlight()).isEqualTo(1);
+        concurrencyLimit.acquire();
+        assertThat(concurrencyLimit.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    public void queuedFetchShouldBeRejectedIfThePermitIsNotAcquiredInTime()
+        throws Exception
+    {
+        AdaptiveConcurrencyLimit concurrencyLimit = new AdaptiveConcurrencyLimit(REMOTE_URL, 1, 1, 10, 1, 10, 0.5,
+                                                                                 2.0);
+        concurrencyLimit.acquire();
+
+        Throwable rejection = catchThrowable(concurrencyLimit::acquire);
+        assertThat(rejection).isInstanceOf(RemoteRepositoryOverloadedException.class);
+        // The client is asked to retry once the queue timeout has elapsed.
+        assertThat(((RemoteRepositoryOverloadedException) rejection).getRetryAfterSeconds()).isEqualTo(1);
+        assertThat(concurrencyLimit.getQueueDepth()).isEqualTo(0);
+    }
+
+    @Test
+    public void limitShouldShrinkOnFailuresAndGrowWhileUtilized()
+        throws Exception
+    {
+        // The latency tolerance is high enough to not be exceeded by the latency jitter of the test.
+        AdaptiveConcurrencyLimit concurrencyLimit = new AdaptiveConcurrencyLimit(REMOTE_URL, 8, 1, 10, 0, 10, 0.5,
+                                                                                 1000.0);
+
+        concurrencyLimit.acquire().releaseFailed();
+        assertThat(concurrencyLimit.getLimit()).isEqualTo(4);
+
+        concurrencyLimit.acquire().releaseFailed();
+        concurrencyLimit.acquire().releaseFailed();
+        concurrencyLimit.acquire().releaseFailed();
+        assertThat(concurrencyLimit.getLimit()).isEqualTo(1);
+
+        for (int i = 0; i < 5; i++)
+        {
+            List<AdaptiveConcurrencyLimit.Permit> permits = new ArrayList<>();
+            for (int j = 0; j < concurrencyLimit.getLimit(); j++)
+            {
+                permits.add(concurrencyLimit.acquire());
+            }
+            for (AdaptiveConcurrencyLimit.Permit permit : permits)
+            {
+                permit.onResponse();
+                permit.release();
+            }
+        }
+
+        assertThat(concurrencyLimit.getLimit()).isGreaterThan(1);
+        assertThat(concurrencyLimit.getInFlight()).isEqualTo(0);
+    }
+
+}
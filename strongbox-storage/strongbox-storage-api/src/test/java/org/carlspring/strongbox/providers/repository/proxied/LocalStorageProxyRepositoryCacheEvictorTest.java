@@ -0,0 +1,178 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.configuration.Configuration;
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.providers.io.RootRepositoryPath;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.services.ArtifactManagementService;
+import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.repository.remote.RemoteRepository;
+import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteRepositoryAlivenessCacheManager;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class LocalStorageProxyRepositoryCacheEvictorTest
+{
+
+    private static final String STORAGE_ID = "storage0";
+
+    private static final String REPOSITORY_ID = "evicted";
+
+    @Mock
+    private ConfigurationManager configurationManager;
+
+    @Mock
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @Mock
+    private ArtifactEntryService artifactEntryService;
+
+    @Mock
+    private RemoteRepositoryAlivenessCacheManager remoteRepositoryAlivenessCacheManager;
+
+    @Mock
+    private ArtifactManagementService artifactManagementService;
+
+    @InjectMocks
+    private LocalStorageProxyRepositoryCacheEvictor evictor;
+
+    @Mock
+    private RootRepositoryPath repositoryRoot;
+
+    private final Map<ArtifactEntry, RepositoryPath> paths = new IdentityHashMap<>();
+
+    private final List<ProxyRepositoryCacheEvictionResult> progress = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp()
+    {
+        MockitoAnnotations.initMocks(this);
+
+        Repository repository = Mockito.mock(Repository.class);
+        when(repository.isProxyRepository()).thenReturn(true);
+        when(repository.getRemoteRepository()).thenReturn(Mockito.mock(RemoteRepository.class));
+        Storage storage = Mockito.mock(Storage.class);
+        when(storage.getRepository(REPOSITORY_ID)).thenReturn(repository);
+        Configuration configuration = Mockito.mock(Configuration.class);
+        when(configuration.getStorage(STORAGE_ID)).thenReturn(storage);
+        when(configurationManager.getConfiguration()).thenReturn(configuration);
+
+        when(remoteRepositoryAlivenessCacheManager.isAlive(any(RemoteRepository.class))).thenReturn(true);
+        when(repositoryPathResolver.resolve(repository)).thenReturn(repositoryRoot);
+    }
+
+    @Test
+    public void batchesShouldContinueAfterTheLastCandidate()
+        throws Exception
+    {
+        ArtifactEntry first = artifactEntry(100);
+        ArtifactEntry second = artifactEntry(100);
+        ArtifactEntry third = artifactEntry(100);
+        when(artifactEntryService.sumSizeInBytes(STORAGE_ID, REPOSITORY_ID)).thenReturn(300L);
+        when(artifactEntryService.findMatchingAfter(eq(STORAGE_ID), eq(REPOSITORY_ID),
+                                                    eq(ProxyRepositoryCacheEvictionPolicy.LRU.getSort()), isNull(),
+                                                    eq(2))).thenReturn(Arrays.asList(first, second));
+        when(artifactEntryService.findMatchingAfter(eq(STORAGE_ID), eq(REPOSITORY_ID),
+                                                    eq(ProxyRepositoryCacheEvictionPolicy.LRU.getSort()),
+                                                    same(second), eq(2))).thenReturn(Collections.singletonList(third));
+        // The first candidate fails to be evicted, so it's passed over.
+        doThrow(new IOException("test")).when(artifactManagementService).delete(same(path(first)), anyBoolean());
+
+        ProxyRepositoryCacheEvictionResult result = evictor.evict(STORAGE_ID, REPOSITORY_ID, 250, 0,
+                                                                  ProxyRepositoryCacheEvictionPolicy.LRU, 2,
+                                                                  progress::add);
+
+        assertThat(result.getEvictedArtifacts()).isEqualTo(2);
+        assertThat(result.getEvictedBytes()).isEqualTo(200);
+        assertThat(result.getSizeInBytes()).isEqualTo(100);
+        verify(artifactManagementService).delete(same(path(second)), eq(true));
+        verify(artifactManagementService).delete(same(path(third)), eq(true));
+        // The progress is reported after each batch.
+        assertThat(progress).hasSize(2);
+    }
+
+    @Test
+    public void evictionShouldStopAtTheLowWatermark()
+        throws Exception
+    {
+        ArtifactEntry first = artifactEntry(100);
+        ArtifactEntry second = artifactEntry(100);
+        // The budget is larger than Integer.MAX_VALUE.
+        long maxSizeInBytes = 3L * Integer.MAX_VALUE;
+        when(artifactEntryService.sumSizeInBytes(STORAGE_ID, REPOSITORY_ID)).thenReturn(maxSizeInBytes + 100);
+        when(artifactEntryService.findMatchingAfter(eq(STORAGE_ID), eq(REPOSITORY_ID),
+                                                    eq(ProxyRepositoryCacheEvictionPolicy.LFU.getSort()), isNull(),
+                                                    anyInt())).thenReturn(Arrays.asList(first, second));
+
+        ProxyRepositoryCacheEvictionResult result = evictor.evict(STORAGE_ID, REPOSITORY_ID, maxSizeInBytes,
+                                                                  maxSizeInBytes,
+                                                                  ProxyRepositoryCacheEvictionPolicy.LFU, 10,
+                                                                  progress::add);
+
+        assertThat(result.getEvictedArtifacts()).isEqualTo(1);
+        assertThat(result.getEvictedBytes()).isEqualTo(100);
+        assertThat(result.getSizeInBytes()).isEqualTo(maxSizeInBytes);
+        verify(artifactManagementService, never()).delete(same(path(second)), anyBoolean());
+        verify(artifactEntryService, never()).findMatchingAfter(any(), any(), any(), same(second), anyInt());
+    }
+
+    @Test
+    public void repositoryWithinTheBudgetShouldNotBeEvicted()
+        throws Exception
+    {
+        when(artifactEntryService.sumSizeInBytes(STORAGE_ID, REPOSITORY_ID)).thenReturn(100L);
+
+        ProxyRepositoryCacheEvictionResult result = evictor.evict(STORAGE_ID, REPOSITORY_ID, 100, 0,
+                                                                  ProxyRepositoryCacheEvictionPolicy.LRU, 10,
+                                                                  progress::add);
+
+        assertThat(result.getEvictedArtifacts()).isZero();
+        assertThat(progress).isEmpty();
+        verify(artifactEntryService, never()).findMatchingAfter(any(), any(), any(), any(), anyInt());
+    }
+
+    private ArtifactEntry artifactEntry(long sizeInBytes)
+    {
+        ArtifactEntry artifactEntry = new ArtifactEntry();
+        artifactEntry.setSizeInBytes(sizeInBytes);
+        RepositoryPath repositoryPath = Mockito.mock(RepositoryPath.class);
+        when(repositoryRoot.resolve(same(artifactEntry))).thenReturn(repositoryPath);
+        paths.put(artifactEntry, repositoryPath);
+
+        return artifactEntry;
+    }
+
+    private RepositoryPath path(ArtifactEntry artifactEntry)
+    {
+        return paths.get(artifactEntry);
+    }
+
+}
@@ -0,0 +1,419 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.artifact.ArtifactNotFoundException;
+import org.carlspring.strongbox.booters.PropertiesBooter;
+import org.carlspring.strongbox.client.RemoteRepositoryRetryArtifactDownloadConfiguration;
+import org.carlspring.strongbox.client.RestArtifactResolver;
+import org.carlspring.strongbox.event.artifact.ArtifactEventListenerRegistry;
+import org.carlspring.strongbox.providers.io.LayoutFileSystem;
+import org.carlspring.strongbox.providers.io.RepositoryFileAttributes;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathLock;
+import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
+import org.carlspring.strongbox.services.ArtifactManagementService;
+import org.carlspring.strongbox.services.ArtifactManagementService.DigestsValidator;
+import org.carlspring.strongbox.storage.StorageDto;
+import org.carlspring.strongbox.storage.repository.RepositoryChecksumPolicyValidationTypeEnum;
+import org.carlspring.strongbox.storage.repository.RepositoryData;
+import org.carlspring.strongbox.storage.repository.RepositoryDto;
+import org.carlspring.strongbox.storage.repository.remote.RemoteRepository;
+import org.carlspring.strongbox.storage.repository.remote.RemoteRepositoryDto;
+import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteRepositoryAlivenessCacheManager;
+
+import javax.ws.rs.client.ClientBuilder;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.codec.digest.MessageDigestAlgorithms;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.slf4j.LoggerFactory;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ProxyRepositoryArtifactResolverChecksumTest
+{
+
+    private static final Path REPOSITORY_BASEDIR = Paths.get("target/strongbox-vault/storages/storage0/checksums")
+                                                        .toAbsolutePath();
+
+    private static final String PATH = "org/carlspring/checksums/1.0/checksums-1.0.jar";
+
+    private static final byte[] CONTENT = new byte[4096];
+
+    private static final String SHA_1 = DigestUtils.sha1Hex(CONTENT);
+
+    private static final String OTHER_SHA_1 = DigestUtils.sha1Hex("other");
+
+    @Mock
+    private RemoteRepositoryAlivenessCacheManager remoteRepositoryAlivenessCacheManager;
+
+    @Mock
+    private ArtifactEventListenerRegistry artifactEventListenerRegistry;
+
+    @Mock
+    private RestArtifactResolverFactory restArtifactResolverFactory;
+
+    @Mock
+    private RepositoryPathLock repositoryPathLock;
+
+    @Mock
+    private ArtifactManagementService artifactManagementService;
+
+    @Mock
+    private RemoteResourceValidatorsCache remoteResourceValidatorsCache;
+
+    @Mock
+    private RangedRemoteArtifactDownloader rangedRemoteArtifactDownloader;
+
+    @Mock
+    private RemoteChecksumFetcher remoteChecksumFetcher;
+
+    @Mock
+    private RemoteRepositoryConcurrencyLimiter remoteRepositoryConcurrencyLimiter;
+
+    @InjectMocks
+    private ProxyRepositoryArtifactResolver resolver;
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private final ListAppender<ILoggingEvent> logEvents = new ListAppender<>();
+
+    private volatile boolean found = true;
+
+    private volatile String checksumHeader;
+
+    private HttpServer server;
+
+    private String url;
+
+    private RepositoryPath repositoryPath;
+
+    @BeforeEach
+    public void setUp()
+        throws Exception
+    {
+        MockitoAnnotations.initMocks(this);
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/remote/", this::handle);
+        server.start();
+        url = String.format("http://localhost:%s/remote/", server.getAddress().getPort());
+
+        when(remoteRepositoryAlivenessCacheManager.isAlive(any(RemoteRepository.class))).thenReturn(true);
+        when(repositoryPathLock.lock(any(RepositoryPath.class), anyString())).thenReturn(
+                new ReentrantReadWriteLock());
+        when(restArtifactResolverFactory.newInstance(any(RemoteRepository.class))).thenAnswer(i -> newClient());
+        // The artifact is stored the way the artifact management service does, with the SHA-1 digest only.
+        when(artifactManagementService.store(any(RepositoryPath.class), any(InputStream.class),
+                                             any(DigestsValidator.class))).thenAnswer(i -> {
+            byte[] content = IOUtils.toByteArray((InputStream) i.getArgument(1));
+            DigestsValidator digestsValidator = i.getArgument(2);
+            digestsValidator.validate(i.getArgument(0), Collections.singletonMap(MessageDigestAlgorithms.SHA_1,
+                                                                                 DigestUtils.sha1Hex(content)));
+
+            return (long) content.length;
+        });
+        // The checksum which is not completed yet is reported as not available within the timeout.
+        when(remoteChecksumFetcher.getChecksum(any(RepositoryPath.class), any())).thenAnswer(
+                i -> ((CompletableFuture<?>) i.getArgument(1)).getNow(null));
+
+        Logger logger = (Logger) LoggerFactory.getLogger(ProxyRepositoryArtifactResolver.class);
+        logger.setLevel(Level.INFO);
+        logger.addAppender(logEvents);
+        logEvents.start();
+    }
+
+    @AfterEach
+    public void tearDown()
+    {
+        ((Logger) LoggerFactory.getLogger(ProxyRepositoryArtifactResolver.class)).detachAppender(logEvents);
+        server.stop(0);
+    }
+
+    @Test
+    public void strictPolicyShouldAcceptMatchingChecksum()
+        throws Exception
+    {
+        fetchChecksum(RepositoryChecksumPolicyValidationTypeEnum.STRICT, SHA_1);
+
+        assertThat(resolver.fetchRemoteResource(repositoryPath)).isEqualTo(repositoryPath);
+        assertThat(getMismatchMessages()).isEmpty();
+    }
+
+    @Test
+    public void strictPolicyShouldRejectMismatchingChecksum()
+    {
+        fetchChecksum(RepositoryChecksumPolicyValidationTypeEnum.STRICT, OTHER_SHA_1);
+
+        assertThatExceptionOfType(IOException.class).isThrownBy(() -> resolver.fetchRemoteResource(repositoryPath))
+                                                    .withMessageContaining(OTHER_SHA_1);
+    }
+
+    @Test
+    public void strictPolicyShouldRejectMissingChecksum()
+        throws Exception
+    {
+        fetchChecksum(RepositoryChecksumPolicyValidationTypeEnum.STRICT, null);
+
+        assertThatExceptionOfType(IOException.class).isThrownBy(() -> resolver.fetchRemoteResource(repositoryPath))
+                                                    .withMessageContaining("not available");
+
+        // The artifact is rejected before it's fetched.
+        assertThat(requests.get()).isZero();
+        verify(artifactManagementService, never()).store(any(RepositoryPath.class), any(InputStream.class),
+                                                         any(DigestsValidator.class));
+    }
+
+    @Test
+    public void strictPolicyShouldRejectTimedOutChecksum()
+    {
+        fetchChecksum(RepositoryChecksumPolicyValidationTypeEnum.STRICT, new CompletableFuture<>());
+
+        assertThatExceptionOfType(IOException.class).isThrownBy(() -> resolver.fetchRemoteResource(repositoryPath))
+                                                    .withMessageContaining("not available");
+        assertThat(requests.get()).isZero();
+    }
+
+    @Test
+    public void warnPolicyShouldReportMismatchingChecksum()
+        throws Exception
+    {
+        fetchChecksum(RepositoryChecksumPolicyValidationTypeEnum.WARN, OTHER_SHA_1);
+
+        assertThat(resolver.fetchRemoteResource(repositoryPath)).isEqualTo(repositoryPath);
+        assertThat(getMismatchMessages()).extracting(ILoggingEvent::getLevel)
+                                         .containsExactly(Level.WARN);
+    }
+
+    @Test
+    public void warnPolicyShouldAcceptMatchingAndMissingChecksums()
+        throws Exception
+    {
+        fetchChecksum(RepositoryChecksumPolicyValidationTypeEnum.WARN, SHA_1);
+        assertThat(resolver.fetchRemoteResource(repositoryPath)).isEqualTo(repositoryPath);
+
+        fetchChecksum(RepositoryChecksumPolicyValidationTypeEnum.WARN, null);
+        assertThat(resolver.fetchRemoteResource(repositoryPath)).isEqualTo(repositoryPath);
+
+        assertThat(getMismatchMessages()).isEmpty();
+    }
+
+    @Test
+    public void logPolicyShouldReportMismatchingChecksum()
+        throws Exception
+    {
+        fetchChecksum(RepositoryChecksumPolicyValidationTypeEnum.LOG, OTHER_SHA_1);
+
+        assertThat(resolver.fetchRemoteResource(repositoryPath)).isEqualTo(repositoryPath);
+        assertThat(getMismatchMessages()).extracting(ILoggingEvent::getLevel)
+                                         .containsExactly(Level.INFO);
+    }
+
+    @Test
+    public void logPolicyShouldAcceptMatchingAndMissingChecksums()
+        throws Exception
+    {
+        fetchChecksum(RepositoryChecksumPolicyValidationTypeEnum.LOG, SHA_1);
+        assertThat(resolver.fetchRemoteResource(repositoryPath)).isEqualTo(repositoryPath);
+
+        fetchChecksum(RepositoryChecksumPolicyValidationTypeEnum.LOG, null);
+        assertThat(resolver.fetchRemoteResource(repositoryPath)).isEqualTo(repositoryPath);
+
+        assertThat(getMismatchMessages()).isEmpty();
+    }
+
+    @Test
+    public void lateChecksumShouldBeReportedOnceAvailable()
+        throws Exception
+    {
+        CompletableFuture<String> remoteChecksum = new CompletableFuture<>();
+        fetchChecksum(RepositoryChecksumPolicyValidationTypeEnum.WARN, remoteChecksum);
+
+        // The fetch doesn't wait for the remote checksum.
+        assertThat(resolver.fetchRemoteResource(repositoryPath)).isEqualTo(repositoryPath);
+        assertThat(getMismatchMessages()).isEmpty();
+
+        remoteChecksum.complete(OTHER_SHA_1);
+        assertThat(getMismatchMessages()).hasSize(1);
+    }
+
+    @Test
+    public void checksumsShouldBeCancelledIfArtifactIsNotFound()
+    {
+        found = false;
+        CompletableFuture<String> remoteChecksum = new CompletableFuture<>();
+        fetchChecksum(RepositoryChecksumPolicyValidationTypeEnum.WARN, remoteChecksum);
+
+        assertThatExceptionOfType(ArtifactNotFoundException.class).isThrownBy(
+                () -> resolver.fetchRemoteResource(repositoryPath));
+
+        assertThat(remoteChecksum.isCancelled()).isTrue();
+    }
+
+    @Test
+    public void strictPolicyShouldRejectMismatchingHeaderChecksum()
+    {
+        checksumHeader = OTHER_SHA_1;
+        fetchChecksum(RepositoryChecksumPolicyValidationTypeEnum.STRICT, SHA_1);
+
+        assertThatExceptionOfType(IOException.class).isThrownBy(() -> resolver.fetchRemoteResource(repositoryPath))
+                                                    .withMessageContaining(OTHER_SHA_1);
+    }
+
+    @Test
+    public void warnPolicyShouldReportMismatchingHeaderChecksum()
+        throws Exception
+    {
+        checksumHeader = OTHER_SHA_1;
+        fetchChecksum(RepositoryChecksumPolicyValidationTypeEnum.WARN, SHA_1);
+
+        assertThat(resolver.fetchRemoteResource(repositoryPath)).isEqualTo(repositoryPath);
+        assertThat(getMismatchMessages()).extracting(ILoggingEvent::getLevel)
+                                         .containsExactly(Level.WARN);
+    }
+
+    @Test
+    public void logPolicyShouldReportMismatchingHeaderChecksum()
+        throws Exception
+    {
+        checksumHeader = OTHER_SHA_1;
+        fetchChecksum(RepositoryChecksumPolicyValidationTypeEnum.LOG, SHA_1);
+
+        assertThat(resolver.fetchRemoteResource(repositoryPath)).isEqualTo(repositoryPath);
+        assertThat(getMismatchMessages()).extracting(ILoggingEvent::getLevel)
+                                         .containsExactly(Level.INFO);
+    }
+
+    private void fetchChecksum(RepositoryChecksumPolicyValidationTypeEnum checksumPolicy,
+                               String remoteChecksum)
+    {
+        fetchChecksum(checksumPolicy, CompletableFuture.completedFuture(remoteChecksum));
+    }
+
+    private void fetchChecksum(RepositoryChecksumPolicyValidationTypeEnum checksumPolicy,
+                               CompletableFuture<String> remoteChecksum)
+    {
+        RemoteRepositoryDto remoteRepository = new RemoteRepositoryDto();
+        remoteRepository.setUrl(url);
+        remoteRepository.setChecksumValidation(true);
+        remoteRepository.setChecksumPolicy(checksumPolicy.getPolicyType());
+        RepositoryDto repository = new RepositoryDto("checksums");
+        repository.setStorage(new StorageDto("storage0"));
+        repository.setBasedir(REPOSITORY_BASEDIR.toString());
+        repository.setRemoteRepository(remoteRepository);
+        // The path is an artifact.
+        LayoutFileSystemProvider provider = Mockito.mock(LayoutFileSystemProvider.class, i -> {
+            if ("readAttributes".equals(i.getMethod().getName()) && i.getArgument(1) instanceof String)
+            {
+                String attribute = i.getArgument(1);
+                attribute = attribute.substring(attribute.indexOf(':') + 1);
+
+                return Collections.singletonMap(attribute, "artifact".equals(attribute));
+            }
+            if ("readAttributes".equals(i.getMethod().getName()))
+            {
+                return Mockito.mock(RepositoryFileAttributes.class);
+            }
+
+            return Mockito.RETURNS_DEFAULTS.answer(i);
+        });
+        LayoutFileSystem repositoryFileSystem = new LayoutFileSystem(new PropertiesBooter(),
+                                                                     new RepositoryData(repository),
+                                                                     FileSystems.getDefault(), provider)
+        {
+            @Override
+            public Set<String> getDigestAlgorithmSet()
+            {
+                return Collections.singleton(MessageDigestAlgorithms.SHA_1);
+            }
+        };
+        repositoryPath = new RepositoryPath(REPOSITORY_BASEDIR, repositoryFileSystem).resolve(PATH);
+
+        Map<String, CompletableFuture<String>> remoteChecksums = Collections.singletonMap(
+                MessageDigestAlgorithms.SHA_1, remoteChecksum);
+        when(remoteChecksumFetcher.fetchChecksums(repositoryPath)).thenReturn(remoteChecksums);
+    }
+
+    private List<ILoggingEvent> getMismatchMessages()
+    {
+        return logEvents.list.stream()
+                             .filter(e -> e.getFormattedMessage().contains("but the remote checksum is"))
+                             .collect(Collectors.toList());
+    }
+
+    private RestArtifactResolver newClient()
+    {
+        RemoteRepositoryRetryArtifactDownloadConfiguration retryConfiguration = Mockito.mock(
+                RemoteRepositoryRetryArtifactDownloadConfiguration.class);
+
+        return new RestArtifactResolver(ClientBuilder.newClient(), url, retryConfiguration)
+        {
+            @Override
+            public boolean isAlive()
+            {
+                return true;
+            }
+        };
+    }
+
+    private void handle(HttpExchange exchange)
+        throws IOException
+    {
+        try
+        {
+            requests.incrementAndGet();
+            if (!found)
+            {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            if (checksumHeader != null)
+            {
+                exchange.getResponseHeaders().add("X-Checksum-Sha1", checksumHeader);
+            }
+            exchange.sendResponseHeaders(200, CONTENT.length);
+            try (OutputStream os = exchange.getResponseBody())
+            {
+                os.write(CONTENT);
+            }
+        }
+        finally
+        {
+            exchange.close();
+        }
+    }
+
+}
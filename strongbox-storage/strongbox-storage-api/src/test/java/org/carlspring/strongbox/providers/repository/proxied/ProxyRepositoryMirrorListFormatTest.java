@@ -0,0 +1,64 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProxyRepositoryMirrorListFormatTest
+{
+
+    @Test
+    public void mavenDependencyListShouldBeParsed()
+        throws Exception
+    {
+        String list = "[INFO] The following files have been resolved:\n" +
+                      "[INFO]    org.slf4j:slf4j-api:jar:1.7.25:compile\n" +
+                      "[INFO]    org.foo:foo-core:jar:tests:1.0:test\n" +
+                      "[INFO]    org.foo:foo-bom:pom:1.0:import\n" +
+                      "[INFO]\n";
+
+        assertThat(ProxyRepositoryMirrorListFormat.MAVEN_DEPENDENCY_LIST.parse(toInputStream(list)))
+                .containsExactly("org/slf4j/slf4j-api/1.7.25/slf4j-api-1.7.25.pom",
+                                 "org/slf4j/slf4j-api/1.7.25/slf4j-api-1.7.25.jar",
+                                 "org/foo/foo-core/1.0/foo-core-1.0.pom",
+                                 "org/foo/foo-core/1.0/foo-core-1.0-tests.jar",
+                                 "org/foo/foo-bom/1.0/foo-bom-1.0.pom");
+    }
+
+    @Test
+    public void npmPackageLockShouldBeParsed()
+        throws Exception
+    {
+        String packageLock = "{\"lockfileVersion\": 2, \"packages\": {" +
+                             "\"\": {\"name\": \"app\", \"version\": \"1.0.0\"}," +
+                             "\"node_modules/lodash\": {\"version\": \"4.17.21\"}," +
+                             "\"node_modules/@babel/core\": {\"version\": \"7.0.0\"}," +
+                             "\"node_modules/local\": {\"resolved\": \"../local\", \"link\": true}}," +
+                             "\"dependencies\": {\"lodash\": {\"version\": \"4.17.21\"}}}";
+
+        assertThat(ProxyRepositoryMirrorListFormat.NPM_PACKAGE_LOCK.parse(toInputStream(packageLock)))
+                .containsExactly("lodash/lodash/4.17.21/lodash-4.17.21.tgz",
+                                 "@babel/core/7.0.0/core-7.0.0.tgz");
+    }
+
+    @Test
+    public void nugetPackagesLockShouldBeParsed()
+        throws Exception
+    {
+        String packagesLock = "{\"version\": 1, \"dependencies\": {\"net6.0\": {" +
+                              "\"Newtonsoft.Json\": {\"type\": \"Direct\", \"resolved\": \"13.0.1\"}," +
+                              "\"App.Core\": {\"type\": \"Project\"}}}}";
+
+        assertThat(ProxyRepositoryMirrorListFormat.NUGET_PACKAGES_LOCK.parse(toInputStream(packagesLock)))
+                .containsExactly("Newtonsoft.Json/13.0.1/Newtonsoft.Json.13.0.1.nupkg");
+    }
+
+    private InputStream toInputStream(String content)
+    {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,195 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.artifact.ArtifactNotFoundException;
+import org.carlspring.strongbox.booters.PropertiesBooter;
+import org.carlspring.strongbox.providers.io.LayoutFileSystem;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
+import org.carlspring.strongbox.providers.repository.RepositoryProvider;
+import org.carlspring.strongbox.providers.repository.RepositoryProviderRegistry;
+import org.carlspring.strongbox.storage.StorageDto;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.repository.RepositoryData;
+import org.carlspring.strongbox.storage.repository.RepositoryDto;
+import org.carlspring.strongbox.storage.repository.remote.RemoteRepositoryDto;
+
+import java.nio.file.FileSystems;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ProxyRepositoryMirrorTest
+{
+
+    private static final Path REPOSITORY_BASEDIR = Paths.get("target/strongbox-vault/storages/storage0/mirrored")
+                                                        .toAbsolutePath();
+
+    private static final String CACHED_PATH = "org/carlspring/mirrored/1.0/cached-1.0.jar";
+
+    private static final long SIZE_IN_BYTES = 100;
+
+    @Mock
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @Mock
+    private RepositoryProviderRegistry repositoryProviderRegistry;
+
+    @Mock
+    private RepositoryProvider repositoryProvider;
+
+    @InjectMocks
+    private ProxyRepositoryMirror mirror;
+
+    private Repository repository;
+
+    private final List<ProxyRepositoryMirrorProgress> reports = new ArrayList<>();
+
+    private final ProxyRepositoryMirrorProgress progress = new ProxyRepositoryMirrorProgress(reports::add);
+
+    @BeforeEach
+    public void setUp()
+    {
+        MockitoAnnotations.initMocks(this);
+        when(repositoryProviderRegistry.getProvider("proxy")).thenReturn(repositoryProvider);
+
+        RemoteRepositoryDto remoteRepository = new RemoteRepositoryDto();
+        remoteRepository.setUrl("http://localhost:48080/mirrored/");
+        RepositoryDto repositoryDto = new RepositoryDto("mirrored");
+        repositoryDto.setStorage(new StorageDto("storage0"));
+        repositoryDto.setBasedir(REPOSITORY_BASEDIR.toString());
+        repositoryDto.setType("proxy");
+        repositoryDto.setRemoteRepository(remoteRepository);
+        repository = new RepositoryData(repositoryDto);
+
+        BasicFileAttributes attributes = Mockito.mock(BasicFileAttributes.class);
+        when(attributes.size()).thenReturn(SIZE_IN_BYTES);
+        // The paths are not artifacts and only the cached one exists locally.
+        LayoutFileSystemProvider provider = Mockito.mock(LayoutFileSystemProvider.class, i -> {
+            if ("readAttributes".equals(i.getMethod().getName()) && i.getArgument(1) instanceof String)
+            {
+                String attribute = i.getArgument(1);
+
+                return Collections.singletonMap(attribute.substring(attribute.indexOf(':') + 1), Boolean.FALSE);
+            }
+            if ("readAttributes".equals(i.getMethod().getName()))
+            {
+                return attributes;
+            }
+            if ("checkAccess".equals(i.getMethod().getName()) && !i.getArgument(0).toString().endsWith(CACHED_PATH))
+            {
+                throw new NoSuchFileException(i.getArgument(0).toString());
+            }
+
+            return Mockito.RETURNS_DEFAULTS.answer(i);
+        });
+        LayoutFileSystem repositoryFileSystem = new LayoutFileSystem(new PropertiesBooter(), repository,
+                                                                     FileSystems.getDefault(), provider)
+        {
+            @Override
+            public Set<String> getDigestAlgorithmSet()
+            {
+                throw new UnsupportedOperationException();
+            }
+        };
+        RepositoryPath repositoryRoot = new RepositoryPath(REPOSITORY_BASEDIR, repositoryFileSystem);
+        when(repositoryPathResolver.resolve(eq(repository), anyString())).thenAnswer(
+                i -> repositoryRoot.resolve((String) i.getArgument(1)));
+    }
+
+    @Test
+    public void pathsShouldBeFetchedWithTheBoundedParallelism()
+        throws Exception
+    {
+        List<String> paths = Arrays.asList(path(1), path(2), path(3), path(4), path(5), path(6));
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        CountDownLatch parallelFetches = new CountDownLatch(2);
+        when(repositoryProvider.fetchPath(any(Path.class))).thenAnswer(i -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try
+            {
+                // The first fetches wait for each other, so they are in flight at once.
+                parallelFetches.countDown();
+                parallelFetches.await(10, TimeUnit.SECONDS);
+            }
+            finally
+            {
+                inFlight.decrementAndGet();
+            }
+
+            return i.getArgument(0);
+        });
+
+        mirror.mirror(repository, paths, 2, progress);
+
+        assertThat(maxInFlight.get()).isEqualTo(2);
+        assertThat(progress.getFetchedPaths()).isEqualTo(6);
+        assertThat(progress.getBytesFetched()).isEqualTo(6 * SIZE_IN_BYTES);
+    }
+
+    @Test
+    public void progressShouldCountFetchedCachedAndFailedPaths()
+        throws Exception
+    {
+        List<String> paths = Arrays.asList(path(1), path(2), CACHED_PATH, path(3), path(4));
+        when(repositoryProvider.fetchPath(any(Path.class))).thenAnswer(i -> {
+            String path = i.getArgument(0).toString();
+            if (path.endsWith(path(3)))
+            {
+                throw new ArtifactNotFoundException(null, path);
+            }
+            if (path.endsWith(path(4)))
+            {
+                // The path is known to be missing, or the remote repository is down.
+                return null;
+            }
+
+            return i.getArgument(0);
+        });
+
+        mirror.mirror(repository, paths, 2, progress);
+
+        assertThat(progress.getTotalPaths()).isEqualTo(5);
+        assertThat(progress.getProcessedPaths()).isEqualTo(5);
+        assertThat(progress.getFetchedPaths()).isEqualTo(2);
+        assertThat(progress.getCachedPaths()).isEqualTo(1);
+        assertThat(progress.getFailedPaths()).isEqualTo(2);
+        assertThat(progress.getBytesFetched()).isEqualTo(2 * SIZE_IN_BYTES);
+        // The completed mirroring is reported once again.
+        assertThat(reports).isNotEmpty();
+        assertThat(reports.get(reports.size() - 1).getProcessedPaths()).isEqualTo(5);
+
+        RepositoryPath cachedPath = repositoryPathResolver.resolve(repository, CACHED_PATH);
+        verify(repositoryProvider, never()).fetchPath(eq(cachedPath));
+    }
+
+    private static String path(int number)
+    {
+        return String.format("org/carlspring/mirrored/1.0/mirrored-1.0-%s.jar", number);
+    }
+
+}
@@ -0,0 +1,239 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.booters.PropertiesBooter;
+import org.carlspring.strongbox.providers.io.LayoutFileSystem;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
+import org.carlspring.strongbox.providers.repository.RepositoryProvider;
+import org.carlspring.strongbox.providers.repository.RepositoryProviderRegistry;
+import org.carlspring.strongbox.storage.StorageDto;
+import org.carlspring.strongbox.storage.repository.RepositoryData;
+import org.carlspring.strongbox.storage.repository.RepositoryDto;
+import org.carlspring.strongbox.storage.repository.remote.RemoteRepositoryDto;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ProxyRepositoryPrefetcherTest
+{
+
+    private static final Path REPOSITORY_BASEDIR = Paths.get("target/strongbox-vault/storages/storage0/prefetched")
+                                                        .toAbsolutePath();
+
+    private static final String PATH = "org/carlspring/prefetched/1.0/prefetched-1.0.jar";
+
+    @Mock
+    private RepositoryProviderRegistry repositoryProviderRegistry;
+
+    @Mock
+    private RepositoryProvider repositoryProvider;
+
+    @InjectMocks
+    private ProxyRepositoryPrefetcher prefetcher;
+
+    private RepositoryPath repositoryPath;
+
+    @BeforeEach
+    public void setUp()
+    {
+        MockitoAnnotations.initMocks(this);
+        ReflectionTestUtils.setField(prefetcher, "enabled", true);
+        ReflectionTestUtils.setField(prefetcher, "poolSize", 1);
+        ReflectionTestUtils.setField(prefetcher, "queueCapacity", 10);
+        ReflectionTestUtils.setField(prefetcher, "remoteConcurrency", 1);
+        prefetcher.afterPropertiesSet();
+        when(repositoryProviderRegistry.getProvider(anyString())).thenReturn(repositoryProvider);
+
+        RemoteRepositoryDto remoteRepository = new RemoteRepositoryDto();
+        remoteRepository.setUrl("http://localhost:48080/prefetched/");
+        RepositoryDto repository = new RepositoryDto("prefetched");
+        repository.setStorage(new StorageDto("storage0"));
+        repository.setBasedir(REPOSITORY_BASEDIR.toString());
+        repository.setType("proxy");
+        repository.setRemoteRepository(remoteRepository);
+        // The path is not an artifact and it doesn't exist locally.
+        LayoutFileSystemProvider provider = Mockito.mock(LayoutFileSystemProvider.class, i -> {
+            if ("readAttributes".equals(i.getMethod().getName()) && i.getArgument(1) instanceof String)
+            {
+                String attribute = i.getArgument(1);
+
+                return Collections.singletonMap(attribute.substring(attribute.indexOf(':') + 1), Boolean.FALSE);
+            }
+            if ("checkAccess".equals(i.getMethod().getName()))
+            {
+                throw new NoSuchFileException(i.getArgument(0).toString());
+            }
+
+            return Mockito.RETURNS_DEFAULTS.answer(i);
+        });
+        LayoutFileSystem repositoryFileSystem = new LayoutFileSystem(new PropertiesBooter(),
+                                                                     new RepositoryData(repository),
+                                                                     FileSystems.getDefault(), provider)
+        {
+            @Override
+            public Set<String> getDigestAlgorithmSet()
+            {
+                throw new UnsupportedOperationException();
+            }
+        };
+        repositoryPath = new RepositoryPath(REPOSITORY_BASEDIR, repositoryFileSystem).resolve(PATH);
+    }
+
+    @AfterEach
+    public void tearDown()
+    {
+        prefetcher.destroy();
+    }
+
+    @Test
+    public void prefetchedPathShouldBeCountedOnceRequested()
+        throws Exception
+    {
+        when(repositoryProvider.fetchPath(any(Path.class))).thenReturn(repositoryPath);
+
+        prefetcher.prefetch(repositoryPath);
+        awaitPrefetches(1);
+
+        assertThat(prefetcher.getPrefetches()).isEqualTo(1);
+        assertThat(prefetcher.getHits()).isZero();
+
+        prefetcher.onRequest(repositoryPath);
+        prefetcher.onRequest(repositoryPath);
+
+        assertThat(prefetcher.getHits()).isEqualTo(1);
+        assertThat(prefetcher.getHitRatio()).isEqualTo(1.0);
+    }
+
+    @Test
+    public void requestDuringInFlightPrefetchShouldBeCountedAsHit()
+        throws Exception
+    {
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch fetched = new CountDownLatch(1);
+        when(repositoryProvider.fetchPath(any(Path.class))).thenAnswer(i -> {
+            fetching.countDown();
+            fetched.await();
+
+            return repositoryPath;
+        });
+
+        prefetcher.prefetch(repositoryPath);
+        // The client joins the prefetch, which is still queued.
+        prefetcher.onRequest(repositoryPath);
+        assertThat(fetching.await(10, TimeUnit.SECONDS)).isTrue();
+
+        fetched.countDown();
+        awaitPrefetches(1);
+
+        assertThat(prefetcher.getPrefetches()).isEqualTo(1);
+        assertThat(prefetcher.getHits()).isEqualTo(1);
+
+        // The hit was already counted.
+        prefetcher.onRequest(repositoryPath);
+        assertThat(prefetcher.getHits()).isEqualTo(1);
+    }
+
+    @Test
+    public void pendingPathShouldNotBePrefetchedTwice()
+        throws Exception
+    {
+        CountDownLatch fetched = new CountDownLatch(1);
+        when(repositoryProvider.fetchPath(any(Path.class))).thenAnswer(i -> {
+            fetched.await();
+
+            return repositoryPath;
+        });
+
+        prefetcher.prefetch(repositoryPath);
+        prefetcher.prefetch(repositoryPath);
+
+        fetched.countDown();
+        awaitPrefetches(1);
+
+        verify(repositoryProvider, times(1)).fetchPath(any(Path.class));
+        assertThat(prefetcher.getPrefetches()).isEqualTo(1);
+        assertThat(prefetcher.getDroppedPrefetches()).isZero();
+    }
+
+    @Test
+    public void prefetchOwnFetchShouldNotBeCountedAsHit()
+        throws Exception
+    {
+        // The proxy repository provider reports each fetch, including the one of the prefetch.
+        when(repositoryProvider.fetchPath(any(Path.class))).thenAnswer(i -> {
+            prefetcher.onRequest(repositoryPath);
+
+            return repositoryPath;
+        });
+
+        prefetcher.prefetch(repositoryPath);
+        awaitPrefetches(1);
+
+        assertThat(prefetcher.getPrefetches()).isEqualTo(1);
+        assertThat(prefetcher.getHits()).isZero();
+    }
+
+    @Test
+    public void failedPrefetchShouldNotBeCounted()
+        throws Exception
+    {
+        when(repositoryProvider.fetchPath(any(Path.class))).thenThrow(new IOException("test"));
+
+        prefetcher.prefetch(repositoryPath);
+        prefetcher.onRequest(repositoryPath);
+        awaitPrefetches(1);
+        prefetcher.onRequest(repositoryPath);
+
+        assertThat(prefetcher.getPrefetches()).isZero();
+        assertThat(prefetcher.getHits()).isZero();
+        assertThat(prefetcher.getHitRatio()).isZero();
+
+        // The path is not tracked anymore, so it can be prefetched again.
+        Mockito.reset(repositoryProvider);
+        when(repositoryProvider.fetchPath(any(Path.class))).thenReturn(repositoryPath);
+        prefetcher.prefetch(repositoryPath);
+        awaitPrefetches(2);
+
+        assertThat(prefetcher.getPrefetches()).isEqualTo(1);
+    }
+
+    /**
+     * Waits until the given number of the scheduled prefetches are completed.
+     */
+    private void awaitPrefetches(long count)
+        throws InterruptedException
+    {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(prefetcher, "executor");
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (executor.getCompletedTaskCount() < count && System.currentTimeMillis() < deadline)
+        {
+            Thread.sleep(10);
+        }
+
+        assertThat(executor.getCompletedTaskCount()).isEqualTo(count);
+    }
+
+}
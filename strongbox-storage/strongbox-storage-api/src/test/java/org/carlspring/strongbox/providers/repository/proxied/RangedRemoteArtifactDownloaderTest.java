@@ -0,0 +1,286 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.booters.PropertiesBooter;
+import org.carlspring.strongbox.client.RemoteRepositoryRetryArtifactDownloadConfiguration;
+import org.carlspring.strongbox.client.RestArtifactResolver;
+import org.carlspring.strongbox.providers.io.LayoutFileSystem;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
+import org.carlspring.strongbox.storage.StorageDto;
+import org.carlspring.strongbox.storage.repository.RepositoryData;
+import org.carlspring.strongbox.storage.repository.RepositoryDto;
+import org.carlspring.strongbox.storage.repository.remote.RemoteRepository;
+import org.carlspring.strongbox.storage.repository.remote.RemoteRepositoryDto;
+
+import javax.ws.rs.client.ClientBuilder;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RangedRemoteArtifactDownloaderTest
+{
+
+    private static final Path REPOSITORY_BASEDIR = Paths.get("target/strongbox-vault/storages/storage0/ranged")
+                                                        .toAbsolutePath();
+
+    private static final String PATH = "org/carlspring/ranged/1.0/ranged-1.0.bin";
+
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d+)");
+
+    private static final int CHUNK_SIZE = 1024;
+
+    private static final byte[] CONTENT = new byte[10 * CHUNK_SIZE + 100];
+
+    @Mock
+    private RemoteRepositoryConcurrencyLimiter remoteRepositoryConcurrencyLimiter;
+
+    @InjectMocks
+    private RangedRemoteArtifactDownloader downloader;
+
+    private final AdaptiveConcurrencyLimit concurrencyLimit = new AdaptiveConcurrencyLimit("ranged", 4, 1, 4, 100,
+                                                                                           10000, 0.9, 2.0);
+
+    private final List<String> requestedRanges = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger failingRequests = new AtomicInteger();
+
+    private final AtomicInteger truncatedRequests = new AtomicInteger();
+
+    private final AtomicInteger successes = new AtomicInteger();
+
+    private final AtomicInteger failures = new AtomicInteger();
+
+    private volatile boolean alive = true;
+
+    private HttpServer server;
+
+    private RestArtifactResolver client;
+
+    private RepositoryPath repositoryPath;
+
+    @BeforeEach
+    public void setUp()
+        throws Exception
+    {
+        MockitoAnnotations.initMocks(this);
+        ReflectionTestUtils.setField(downloader, "poolSize", 4);
+        downloader.afterPropertiesSet();
+        when(remoteRepositoryConcurrencyLimiter.acquire(any(RemoteRepository.class))).thenAnswer(
+                i -> concurrencyLimit.acquire());
+
+        new Random(1).nextBytes(CONTENT);
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/remote/", this::handle);
+        server.start();
+        String url = String.format("http://localhost:%s/remote/", server.getAddress().getPort());
+
+        RemoteRepositoryRetryArtifactDownloadConfiguration retryConfiguration = Mockito.mock(
+                RemoteRepositoryRetryArtifactDownloadConfiguration.class);
+        when(retryConfiguration.getMaxNumberOfAttempts()).thenReturn(3);
+        client = new RestArtifactResolver(ClientBuilder.newClient(), url, retryConfiguration)
+        {
+            @Override
+            public boolean isAlive()
+            {
+                return alive;
+            }
+
+            @Override
+            public void recordSuccess()
+            {
+                successes.incrementAndGet();
+            }
+
+            @Override
+            public void recordFailure()
+            {
+                failures.incrementAndGet();
+            }
+        };
+
+        RemoteRepositoryDto remoteRepository = new RemoteRepositoryDto();
+        remoteRepository.setUrl(url);
+        remoteRepository.setRangedDownloadChunkSize(CHUNK_SIZE);
+        remoteRepository.setRangedDownloadConcurrency(4);
+        RepositoryDto repository = new RepositoryDto("ranged");
+        repository.setStorage(new StorageDto("storage0"));
+        repository.setBasedir(REPOSITORY_BASEDIR.toString());
+        repository.setRemoteRepository(remoteRepository);
+        // The path is not an artifact, so it's requested by its relative path.
+        LayoutFileSystemProvider provider = Mockito.mock(LayoutFileSystemProvider.class, i -> {
+            if ("readAttributes".equals(i.getMethod().getName()) && i.getArgument(1) instanceof String)
+            {
+                String attribute = i.getArgument(1);
+
+                return Collections.singletonMap(attribute.substring(attribute.indexOf(':') + 1), Boolean.FALSE);
+            }
+
+            return Mockito.RETURNS_DEFAULTS.answer(i);
+        });
+        LayoutFileSystem repositoryFileSystem = new LayoutFileSystem(new PropertiesBooter(),
+                                                                     new RepositoryData(repository),
+                                                                     FileSystems.getDefault(), provider)
+        {
+            @Override
+            public Set<String> getDigestAlgorithmSet()
+            {
+                throw new UnsupportedOperationException();
+            }
+        };
+        repositoryPath = new RepositoryPath(REPOSITORY_BASEDIR, repositoryFileSystem).resolve(PATH);
+    }
+
+    @AfterEach
+    public void tearDown()
+    {
+        server.stop(0);
+        client.close();
+        downloader.destroy();
+    }
+
+    @Test
+    public void rangesShouldBeDownloadedIntoTheRepositoryTemporaryDirectory()
+        throws Exception
+    {
+        Path downloadedFile = downloader.download(client, repositoryPath, CONTENT.length);
+        try
+        {
+            assertThat(Files.readAllBytes(downloadedFile)).isEqualTo(CONTENT);
+            assertThat(downloadedFile.startsWith(REPOSITORY_BASEDIR.resolve(LayoutFileSystem.TEMP))).isTrue();
+        }
+        finally
+        {
+            Files.deleteIfExists(downloadedFile);
+        }
+
+        // Each range request is limited and reported on its own.
+        assertThat(requestedRanges).hasSize(11);
+        verify(remoteRepositoryConcurrencyLimiter, times(11)).acquire(any(RemoteRepository.class));
+        assertThat(concurrencyLimit.getInFlight()).isZero();
+        assertThat(successes.get()).isEqualTo(11);
+        assertThat(failures.get()).isZero();
+    }
+
+    @Test
+    public void failedRangesShouldBeResumed()
+        throws Exception
+    {
+        failingRequests.set(1);
+        truncatedRequests.set(1);
+
+        Path downloadedFile = downloader.download(client, repositoryPath, CONTENT.length);
+        try
+        {
+            assertThat(Files.readAllBytes(downloadedFile)).isEqualTo(CONTENT);
+        }
+        finally
+        {
+            Files.deleteIfExists(downloadedFile);
+        }
+
+        assertThat(requestedRanges).hasSize(13);
+        // The truncated range is resumed from the received position.
+        assertThat(requestedRanges.stream().filter(r -> Long.parseLong(r.split("-")[0]) % CHUNK_SIZE != 0))
+                .hasSize(1);
+        assertThat(failures.get()).isEqualTo(1);
+        assertThat(concurrencyLimit.getInFlight()).isZero();
+    }
+
+    @Test
+    public void unavailableRemoteRepositoryShouldFailTheDownload()
+        throws Exception
+    {
+        alive = false;
+
+        assertThatExceptionOfType(IOException.class).isThrownBy(
+                () -> downloader.download(client, repositoryPath, CONTENT.length));
+
+        assertThat(requestedRanges).isEmpty();
+        try (Stream<Path> files = Files.list(REPOSITORY_BASEDIR.resolve(LayoutFileSystem.TEMP)
+                                                                .resolve(PATH)
+                                                                .getParent()))
+        {
+            assertThat(files.filter(p -> p.toString().endsWith(".ranged"))).isEmpty();
+        }
+    }
+
+    private void handle(HttpExchange exchange)
+        throws IOException
+    {
+        try
+        {
+            Matcher range = RANGE.matcher(String.valueOf(exchange.getRequestHeaders().getFirst("Range")));
+            if (!range.matches())
+            {
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+
+            int from = Integer.parseInt(range.group(1));
+            int to = Integer.parseInt(range.group(2));
+            requestedRanges.add(from + "-" + to);
+
+            if (failingRequests.getAndDecrement() > 0)
+            {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+
+            int length = to - from + 1;
+            exchange.getResponseHeaders().set("Content-Range",
+                                              String.format("bytes %s-%s/%s", from, to, CONTENT.length));
+            if (truncatedRequests.getAndDecrement() > 0)
+            {
+                // Only the half of the range is sent.
+                exchange.sendResponseHeaders(206, 0);
+                try (OutputStream os = exchange.getResponseBody())
+                {
+                    os.write(CONTENT, from, length / 2);
+                }
+                return;
+            }
+
+            exchange.sendResponseHeaders(206, length);
+            try (OutputStream os = exchange.getResponseBody())
+            {
+                os.write(CONTENT, from, length);
+            }
+        }
+        finally
+        {
+            exchange.close();
+        }
+    }
+
+}
@@ -0,0 +1,169 @@
+package org.carlspring.strongbox.services.support;
+
+import org.carlspring.strongbox.storage.StorageDto;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.repository.RepositoryDto;
+import org.carlspring.strongbox.storage.routing.MutableRoutingRule;
+import org.carlspring.strongbox.storage.routing.MutableRoutingRuleRepository;
+import org.carlspring.strongbox.storage.routing.MutableRoutingRules;
+import org.carlspring.strongbox.storage.routing.RepositoryIdentifiable;
+import org.carlspring.strongbox.storage.routing.RoutingRule;
+import org.carlspring.strongbox.storage.routing.RoutingRuleTypeEnum;
+import org.carlspring.strongbox.storage.routing.RoutingRules;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the {@link CompiledRoutingRules} with the per-rule evaluation the {@link ArtifactRoutingRulesChecker} used
+ * before (which, in addition, copied the whole configuration, and so re-compiled all the patterns, on each check).
+ * <p>
+ * Run with <code>mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.carlspring.strongbox.services.support.CompiledRoutingRulesBenchmark</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompiledRoutingRulesBenchmark
+{
+
+    private static final int MEMBER_COUNT = 8;
+
+    @Param({ "10", "100", "500" })
+    private int ruleCount;
+
+    private Repository groupRepository;
+
+    private List<Repository> members;
+
+    private List<String> paths;
+
+    private RoutingRules routingRules;
+
+    private CompiledRoutingRules compiledRoutingRules;
+
+    private int invocation;
+
+    @Setup
+    public void setUp()
+    {
+        StorageDto storage = new StorageDto("storage0");
+        groupRepository = createRepository(storage, "group");
+
+        members = new ArrayList<>();
+        for (int i = 0; i < MEMBER_COUNT; i++)
+        {
+            members.add(createRepository(storage, "member" + i));
+        }
+
+        MutableRoutingRules mutableRoutingRules = new MutableRoutingRules();
+        for (int i = 0; i < ruleCount; i++)
+        {
+            // Every fourth rule accepts the vendor for a single member, the other ones deny it within all the members.
+            boolean accept = i % 4 == 0;
+            mutableRoutingRules.getRules()
+                               .add(MutableRoutingRule.create(i % 2 == 0 ? "storage0" : null,
+                                                              i % 3 == 0 ? null : "group",
+                                                              accept ? Collections.singletonList(
+                                                                      new MutableRoutingRuleRepository(
+                                                                              "storage0", "member" + i % MEMBER_COUNT))
+                                                                     : Collections.emptyList(),
+                                                              String.format("org/vendor%s/.*", i),
+                                                              accept ? RoutingRuleTypeEnum.ACCEPT
+                                                                     : RoutingRuleTypeEnum.DENY));
+        }
+        routingRules = new RoutingRules(mutableRoutingRules);
+        compiledRoutingRules = new CompiledRoutingRules(routingRules.getRules());
+
+        paths = new ArrayList<>();
+        for (int i = 0; i < 64; i++)
+        {
+            paths.add(String.format("org/vendor%s/library/1.0/library-1.0.jar", i * 7 % (ruleCount * 2)));
+        }
+    }
+
+    @Benchmark
+    public boolean compiled()
+    {
+        int i = invocation++;
+
+        return compiledRoutingRules.isDenied(groupRepository, members.get(i % MEMBER_COUNT),
+                                             paths.get(i % paths.size()));
+    }
+
+    @Benchmark
+    public boolean perRule()
+    {
+        int i = invocation++;
+        Repository subRepository = members.get(i % MEMBER_COUNT);
+        String path = paths.get(i % paths.size());
+
+        return hasCandidates(subRepository, path, routingRules.getDenied()) &&
+               !hasCandidates(subRepository, path, routingRules.getAccepted());
+    }
+
+    private boolean hasCandidates(Repository subRepository,
+                                  String artifactPath,
+                                  List<RoutingRule> rules)
+    {
+        return rules.stream()
+                    .anyMatch(rule -> isMatch(rule, groupRepository) &&
+                                      rule.getRegex().matcher(artifactPath).matches() &&
+                                      (rule.getRepositories().size() == 0 ||
+                                       rule.getRepositories().stream().anyMatch(r -> isMatch(r, subRepository))));
+    }
+
+    private boolean isMatch(RepositoryIdentifiable rule,
+                            Repository repository)
+    {
+        return equalsIgnoreCase(rule.getStorageIdAndRepositoryId(), repository.getStorageIdAndRepositoryId()) ||
+               equalsIgnoreCase(rule.getStorageIdAndRepositoryId(), StringUtils.EMPTY) ||
+               (equalsIgnoreCase(rule.getRepositoryId(), StringUtils.EMPTY) &&
+                equalsIgnoreCase(rule.getStorageId(), repository.getStorage().getId())) ||
+               (equalsIgnoreCase(rule.getStorageId(), StringUtils.EMPTY) &&
+                equalsIgnoreCase(rule.getRepositoryId(), repository.getId()));
+    }
+
+    private boolean equalsIgnoreCase(final String a,
+                                     final String b)
+    {
+        return StringUtils.trimToEmpty(a).equalsIgnoreCase(StringUtils.trimToEmpty(b));
+    }
+
+    private static RepositoryDto createRepository(StorageDto storage,
+                                                  String repositoryId)
+    {
+        RepositoryDto repository = new RepositoryDto(repositoryId);
+        repository.setStorage(storage);
+
+        return repository;
+    }
+
+    public static void main(String[] args)
+        throws RunnerException
+    {
+        new Runner(new OptionsBuilder().include(CompiledRoutingRulesBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
@@ -0,0 +1,97 @@
+package org.carlspring.strongbox.services.support;
+
+import org.carlspring.strongbox.storage.StorageDto;
+import org.carlspring.strongbox.storage.repository.RepositoryDto;
+import org.carlspring.strongbox.storage.routing.MutableRoutingRule;
+import org.carlspring.strongbox.storage.routing.MutableRoutingRuleRepository;
+import org.carlspring.strongbox.storage.routing.MutableRoutingRules;
+import org.carlspring.strongbox.storage.routing.RoutingRuleTypeEnum;
+import org.carlspring.strongbox.storage.routing.RoutingRules;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompiledRoutingRulesTest
+{
+
+    private final StorageDto storage = new StorageDto("storage0");
+
+    private final RepositoryDto group = createRepository("group");
+
+    private final RepositoryDto releases = createRepository("releases");
+
+    private final RepositoryDto snapshots = createRepository("snapshots");
+
+    @Test
+    public void deniedPathShouldBeAcceptedByAcceptRule()
+    {
+        CompiledRoutingRules compiledRoutingRules = compile(
+                MutableRoutingRule.create("storage0", "group", Collections.emptyList(), ".*/org/carlspring/.*",
+                                          RoutingRuleTypeEnum.DENY),
+                MutableRoutingRule.create("storage0", "group",
+                                          Collections.singletonList(new MutableRoutingRuleRepository("storage0",
+                                                                                                     "releases")),
+                                          ".*/org/carlspring/strongbox/.*", RoutingRuleTypeEnum.ACCEPT));
+
+        assertThat(compiledRoutingRules.isDenied(group, releases, "x/org/carlspring/strongbox/a.jar")).isFalse();
+        assertThat(compiledRoutingRules.isDenied(group, snapshots, "x/org/carlspring/strongbox/a.jar")).isTrue();
+        assertThat(compiledRoutingRules.isDenied(group, releases, "x/org/carlspring/commons/a.jar")).isTrue();
+        assertThat(compiledRoutingRules.isDenied(group, releases, "x/org/apache/a.jar")).isFalse();
+    }
+
+    @Test
+    public void wildcardRulesShouldBeApplied()
+    {
+        CompiledRoutingRules compiledRoutingRules = compile(
+                MutableRoutingRule.create(null, null, Collections.emptyList(), "a/.*", RoutingRuleTypeEnum.DENY),
+                MutableRoutingRule.create("storage0", null,
+                                          Collections.singletonList(new MutableRoutingRuleRepository(null,
+                                                                                                     "snapshots")),
+                                          "b/.*", RoutingRuleTypeEnum.DENY),
+                MutableRoutingRule.create("STORAGE0", "Group", Collections.emptyList(), "c/.*",
+                                          RoutingRuleTypeEnum.DENY),
+                MutableRoutingRule.create("storage1", "group", Collections.emptyList(), "d/.*",
+                                          RoutingRuleTypeEnum.DENY));
+
+        assertThat(compiledRoutingRules.isDenied(group, releases, "a/a.jar")).isTrue();
+        assertThat(compiledRoutingRules.isDenied(group, releases, "b/b.jar")).isFalse();
+        assertThat(compiledRoutingRules.isDenied(group, snapshots, "b/b.jar")).isTrue();
+        assertThat(compiledRoutingRules.isDenied(group, releases, "c/c.jar")).isTrue();
+        assertThat(compiledRoutingRules.isDenied(group, releases, "d/d.jar")).isFalse();
+    }
+
+    @Test
+    public void patternsShouldBeMergedUnlessTheyHaveBackReferences()
+    {
+        CompiledRoutingRules.PathMatcher pathMatcher = new CompiledRoutingRules.PathMatcher(
+                Arrays.asList(Pattern.compile("a/.*"), Pattern.compile("(?i)B/.*"), Pattern.compile("(x)/\\1/.*")));
+
+        assertThat(pathMatcher.getPatternCount()).isEqualTo(2);
+        assertThat(pathMatcher.matches("a/a.jar")).isTrue();
+        assertThat(pathMatcher.matches("b/b.jar")).isTrue();
+        assertThat(pathMatcher.matches("x/x/x.jar")).isTrue();
+        assertThat(pathMatcher.matches("x/y/x.jar")).isFalse();
+        assertThat(pathMatcher.matches("A/a.jar")).isFalse();
+    }
+
+    private CompiledRoutingRules compile(MutableRoutingRule... rules)
+    {
+        MutableRoutingRules routingRules = new MutableRoutingRules();
+        routingRules.setRules(Arrays.asList(rules));
+
+        return new CompiledRoutingRules(new RoutingRules(routingRules).getRules());
+    }
+
+    private RepositoryDto createRepository(String repositoryId)
+    {
+        RepositoryDto repository = new RepositoryDto(repositoryId);
+        repository.setStorage(storage);
+
+        return repository;
+    }
+
+}
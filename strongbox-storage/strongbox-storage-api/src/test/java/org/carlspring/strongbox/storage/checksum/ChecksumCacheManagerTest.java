@@ -1,26 +1,34 @@
 package org.carlspring.strongbox.storage.checksum;
 
 import org.carlspring.commons.encryption.EncryptionAlgorithmsEnum;
+import org.carlspring.strongbox.event.artifact.ArtifactEventListenerRegistry;
 import org.carlspring.strongbox.util.MessageDigestUtils;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 import static org.assertj.core.api.Assertions.fail;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 /**
  * @author mtodorov
  */
-@Disabled
 public class ChecksumCacheManagerTest
 {
 
 
     @Test
+    @Disabled
     public void testChecksumManagement()
             throws Exception
     {
@@ -57,6 +65,97 @@ public class ChecksumCacheManagerTest
     }
 
     @Test
+    public void testExpiredChecksums()
+            throws Exception
+    {
+        AtomicLong clock = new AtomicLong();
+        ChecksumCacheManager manager = new ChecksumCacheManager();
+        manager.setClock(clock::get);
+        manager.setCachedChecksumLifetime(50L);
+
+        final String artifactBasePath = "storage0/repositories/releases/org/carlspring/maven/test-project/1.0/test-project-1.0.jar";
+
+        manager.addArtifactChecksum(artifactBasePath, "MD5", "120ea8a25e5d487bf68b5f7096440019");
+
+        assertThat(manager.getArtifactChecksum(artifactBasePath, "MD5")).isEqualTo("120ea8a25e5d487bf68b5f7096440019");
+        assertThat(manager.getArtifactChecksum(artifactBasePath + ".pom", "MD5")).isNull();
+        // The artifact is cached, but not its SHA-1 checksum, so it's a single miss.
+        assertThat(manager.getArtifactChecksum(artifactBasePath, "SHA-1")).isNull();
+        assertThat(manager.getHits()).isEqualTo(1);
+        assertThat(manager.getMisses()).isEqualTo(2);
+
+        clock.addAndGet(50L);
+
+        // The checksum is accessed within its lifetime.
+        assertThat(manager.getArtifactChecksum(artifactBasePath, "MD5")).isEqualTo("120ea8a25e5d487bf68b5f7096440019");
+
+        clock.addAndGet(51L);
+
+        // The expired checksum is not served, even though it has not been removed by the monitor yet.
+        assertThat(manager.getArtifactChecksum(artifactBasePath, "MD5")).isNull();
+        assertThat(manager.getSize()).isEqualTo(0);
+        assertThat(manager.getExpirations()).isEqualTo(1);
+
+        manager.addArtifactChecksum(artifactBasePath, "MD5", "120ea8a25e5d487bf68b5f7096440019");
+
+        clock.addAndGet(51L);
+
+        manager.removeExpiredChecksums();
+
+        assertThat(manager.getSize()).isEqualTo(0);
+        assertThat(manager.getExpirations()).isEqualTo(2);
+    }
+
+    @Test
+    public void testUnclaimedChecksumsOfDeployedArtifacts()
+    {
+        AtomicLong clock = new AtomicLong();
+        ArtifactEventListenerRegistry artifactEventListenerRegistry = Mockito.mock(ArtifactEventListenerRegistry.class);
+        ChecksumCacheManager manager = new ChecksumCacheManager();
+        manager.setClock(clock::get);
+        manager.setCachedChecksumLifetime(50L);
+        manager.setArtifactEventListenerRegistry(artifactEventListenerRegistry);
+
+        final String artifactBasePath = "storage0/repositories/releases/org/carlspring/maven/test-project/1.0/test-project-1.0";
+        final Path deployedArtifactPath = Paths.get("target/strongbox-vault/test-project-1.0.jar");
+
+        manager.addArtifactChecksum(artifactBasePath + ".pom", "MD5", "120ea8a25e5d487bf68b5f7096440019");
+
+        clock.addAndGet(51L);
+        manager.removeExpiredChecksums();
+
+        // The checksum which is not expected to be claimed expires silently.
+        assertThat(manager.getExpirations()).isEqualTo(1);
+        verify(artifactEventListenerRegistry, never()).dispatchArtifactChecksumExpiredEvent(any());
+
+        manager.addArtifactChecksum(artifactBasePath + ".jar", deployedArtifactPath, "MD5",
+                                    "120ea8a25e5d487bf68b5f7096440019");
+
+        clock.addAndGet(51L);
+        manager.removeExpiredChecksums();
+
+        assertThat(manager.getExpirations()).isEqualTo(2);
+        verify(artifactEventListenerRegistry).dispatchArtifactChecksumExpiredEvent(deployedArtifactPath);
+    }
+
+    @Test
+    public void testMaxSize()
+    {
+        ChecksumCacheManager manager = new ChecksumCacheManager();
+        manager.setCachedChecksumMaxSize(100);
+
+        for (int i = 0; i < 1000; i++)
+        {
+            manager.addArtifactChecksum("storage0/repositories/releases/test-project-" + i + ".jar", "MD5",
+                                        "120ea8a25e5d487bf68b5f7096440019");
+        }
+
+        assertThat(manager.getSize()).isLessThanOrEqualTo(100);
+        assertThat(manager.getEvictions()).isEqualTo(1000 - manager.getSize());
+    }
+
+    @Test
+    @Disabled
     public void testDigests()
             throws NoSuchAlgorithmException, IOException, CloneNotSupportedException
     {
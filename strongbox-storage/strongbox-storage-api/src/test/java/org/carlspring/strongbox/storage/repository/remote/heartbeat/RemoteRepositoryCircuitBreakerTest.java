@@ -0,0 +1,109 @@
+package org.carlspring.strongbox.storage.repository.remote.heartbeat;
+
+import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteRepositoryCircuitBreaker.State;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RemoteRepositoryCircuitBreakerTest
+{
+
+    private static final String REMOTE_URL = "http://localhost:48080/cb-remote/";
+
+    @Test
+    public void circuitShouldBeOpenedAfterConsecutiveFailures()
+    {
+        RemoteRepositoryCircuitBreaker circuitBreaker = new RemoteRepositoryCircuitBreaker(REMOTE_URL, 3, 60000,
+                                                                                           60000);
+
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordSuccess();
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+        assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(circuitBreaker.allowsRequests()).isTrue();
+
+        circuitBreaker.recordFailure();
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+        assertThat(circuitBreaker.allowsRequests()).isFalse();
+    }
+
+    @Test
+    public void halfOpenCircuitShouldBeReopenedWithDoubledBackoffOrClosed()
+        throws Exception
+    {
+        RemoteRepositoryCircuitBreaker circuitBreaker = new RemoteRepositoryCircuitBreaker(REMOTE_URL, 1, 50, 150);
+
+        circuitBreaker.recordFailure();
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+        assertThat(circuitBreaker.getBackoffMillis()).isEqualTo(50);
+
+        Thread.sleep(100);
+        assertThat(circuitBreaker.getState()).isEqualTo(State.HALF_OPEN);
+        assertThat(circuitBreaker.allowsRequests()).isTrue();
+
+        circuitBreaker.recordFailure();
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+        assertThat(circuitBreaker.getBackoffMillis()).isEqualTo(100);
+
+        Thread.sleep(150);
+        circuitBreaker.recordFailure();
+        assertThat(circuitBreaker.getBackoffMillis()).isEqualTo(150);
+
+        Thread.sleep(200);
+        circuitBreaker.recordSuccess();
+        assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(circuitBreaker.getConsecutiveFailures()).isEqualTo(0);
+    }
+
+    @Test
+    public void halfOpenCircuitShouldAllowSingleTrialRequest()
+        throws Exception
+    {
+        RemoteRepositoryCircuitBreaker circuitBreaker = new RemoteRepositoryCircuitBreaker(REMOTE_URL, 1, 50, 60000);
+
+        circuitBreaker.recordFailure();
+        Thread.sleep(100);
+        assertThat(circuitBreaker.getState()).isEqualTo(State.HALF_OPEN);
+
+        // The trial request may check the circuit again, while the concurrent request is rejected.
+        assertThat(circuitBreaker.allowsRequests()).isTrue();
+        assertThat(circuitBreaker.allowsRequests()).isTrue();
+        assertThat(CompletableFuture.supplyAsync(circuitBreaker::allowsRequests).get()).isFalse();
+
+        circuitBreaker.recordSuccess();
+        assertThat(CompletableFuture.supplyAsync(circuitBreaker::allowsRequests).get()).isTrue();
+        assertThat(circuitBreaker.allowsRequests()).isTrue();
+    }
+
+    @Test
+    public void trialRequestWithoutOutcomeShouldBeTakenOverAfterBackoff()
+        throws Exception
+    {
+        RemoteRepositoryCircuitBreaker circuitBreaker = new RemoteRepositoryCircuitBreaker(REMOTE_URL, 1, 50, 60000);
+
+        circuitBreaker.recordFailure();
+        Thread.sleep(100);
+        assertThat(circuitBreaker.allowsRequests()).isTrue();
+        assertThat(CompletableFuture.supplyAsync(circuitBreaker::allowsRequests).get()).isFalse();
+
+        Thread.sleep(100);
+        assertThat(CompletableFuture.supplyAsync(circuitBreaker::allowsRequests).get()).isTrue();
+        assertThat(circuitBreaker.allowsRequests()).isFalse();
+    }
+
+    @Test
+    public void circuitShouldBeIdleWithoutRecentOutcomes()
+    {
+        RemoteRepositoryCircuitBreaker circuitBreaker = new RemoteRepositoryCircuitBreaker(REMOTE_URL, 1, 50, 150);
+        assertThat(circuitBreaker.isIdle(60000)).isTrue();
+
+        circuitBreaker.recordSuccess();
+        assertThat(circuitBreaker.isIdle(60000)).isFalse();
+        assertThat(circuitBreaker.isIdle(0)).isTrue();
+    }
+
+}
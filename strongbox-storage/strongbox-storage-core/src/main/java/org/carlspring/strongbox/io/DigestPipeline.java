@@ -0,0 +1,202 @@
+package org.carlspring.strongbox.io;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Calculates the {@link MessageDigest}s on the worker threads, so that the hashing doesn't block the writer thread
+ * and the digests are calculated concurrently with each other.
+ * <p>
+ * The written bytes are staged into the bounded ring of buffers, each full buffer is submitted to every digest, and the
+ * buffer is reused once all the digests are updated with it. The writer is blocked if there is no free buffer. Each
+ * digest is updated with the buffers in the order they were written.
+ * <p>
+ * This class is not thread safe, it should be used by the single writer thread.
+ */
+public class DigestPipeline
+{
+
+    public static final int BUFFER_SIZE = 256 * 1024;
+
+    public static final int RING_SIZE = 8;
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(Runtime.getRuntime()
+                                                                                        .availableProcessors(),
+                                                                                 r -> {
+                                                                                     Thread thread = new Thread(r, DigestPipeline.class.getSimpleName());
+                                                                                     thread.setDaemon(true);
+
+                                                                                     return thread;
+                                                                                 });
+
+    private final List<MessageDigest> digests;
+
+    private final List<CompletableFuture<Void>> tails;
+
+    private final BlockingQueue<byte[]> freeBuffers = new ArrayBlockingQueue<>(RING_SIZE);
+
+    private int allocatedBuffers;
+
+    private byte[] buffer;
+
+    private int bufferLength;
+
+    public DigestPipeline(Collection<MessageDigest> digests)
+    {
+        this.digests = new ArrayList<>(digests);
+        this.tails = new ArrayList<>(digests.size());
+        for (int i = 0; i < digests.size(); i++)
+        {
+            tails.add(CompletableFuture.completedFuture(null));
+        }
+    }
+
+    public void update(int b)
+        throws IOException
+    {
+        if (buffer == null)
+        {
+            buffer = takeBuffer();
+        }
+
+        buffer[bufferLength++] = (byte) b;
+        if (bufferLength == buffer.length)
+        {
+            submit();
+        }
+    }
+
+    public void update(byte[] b,
+                       int off,
+                       int len)
+        throws IOException
+    {
+        while (len > 0)
+        {
+            if (buffer == null)
+            {
+                buffer = takeBuffer();
+            }
+
+            int n = Math.min(len, buffer.length - bufferLength);
+            System.arraycopy(b, off, buffer, bufferLength, n);
+            bufferLength += n;
+            off += n;
+            len -= n;
+
+            if (bufferLength == buffer.length)
+            {
+                submit();
+            }
+        }
+    }
+
+    /**
+     * Waits until all the written bytes are digested.
+     */
+    public void await()
+        throws IOException
+    {
+        if (buffer != null && bufferLength > 0)
+        {
+            submit();
+        }
+
+        try
+        {
+            CompletableFuture.allOf(tails.toArray(new CompletableFuture[tails.size()])).join();
+        }
+        catch (CompletionException e)
+        {
+            throw new IOException("Failed to calculate digests.", e.getCause());
+        }
+    }
+
+    private void submit()
+    {
+        Chunk chunk = new Chunk(buffer, bufferLength, digests.size());
+        for (int i = 0; i < digests.size(); i++)
+        {
+            MessageDigest digest = digests.get(i);
+            tails.set(i, tails.get(i).thenRunAsync(() -> chunk.digest(digest), EXECUTOR));
+        }
+
+        buffer = null;
+        bufferLength = 0;
+    }
+
+    private byte[] takeBuffer()
+        throws IOException
+    {
+        byte[] result = freeBuffers.poll();
+        if (result != null)
+        {
+            return result;
+        }
+
+        if (allocatedBuffers < RING_SIZE)
+        {
+            allocatedBuffers++;
+
+            return new byte[BUFFER_SIZE];
+        }
+
+        try
+        {
+            return freeBuffers.take();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException("Interrupted while waiting for the digest buffer.");
+        }
+    }
+
+    private class Chunk
+    {
+
+        private final byte[] bytes;
+
+        private final int length;
+
+        private final AtomicInteger pendingDigests;
+
+        private Chunk(byte[] bytes,
+                      int length,
+                      int digests)
+        {
+            this.bytes = bytes;
+            this.length = length;
+            this.pendingDigests = new AtomicInteger(digests);
+        }
+
+        private void digest(MessageDigest digest)
+        {
+            try
+            {
+                digest.update(bytes, 0, length);
+            }
+            finally
+            {
+                if (pendingDigests.decrementAndGet() == 0)
+                {
+                    freeBuffers.offer(bytes);
+                }
+            }
+        }
+
+    }
+
+}
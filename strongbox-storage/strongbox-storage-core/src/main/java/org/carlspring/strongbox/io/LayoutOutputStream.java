@@ -6,7 +6,10 @@ import org.carlspring.strongbox.util.MessageDigestUtils;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -24,11 +27,18 @@ import org.slf4j.LoggerFactory;
  *     ArtifactOutputStream aos = (ArtifactOutputStream) Files.newOutputStream(repositoryPath); 
  * </pre>
  * 
+ * The digests are updated on the writer thread for the small files, and with the {@link DigestPipeline} once the
+ * amount of written bytes exceeds the {@link #DIGEST_PIPELINE_THRESHOLD}.
+ * 
  * @author Sergey Bespalov
  */
 public class LayoutOutputStream extends MultipleDigestOutputStream
 {
 
+    public static final long DIGEST_PIPELINE_THRESHOLD = 1024 * 1024;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     private static final Logger logger = LoggerFactory.getLogger(LayoutOutputStream.class);
 
     private Function<byte[], String> digestStringifier = MessageDigestUtils::convertToHexadecimalString;
@@ -39,11 +49,15 @@ public class LayoutOutputStream extends MultipleDigestOutputStream
     private OutputStream cacheOutputStream;
     private Function<OutputStreamFunction, ?> cacheOutputStreamTemplate = this::doWithOutputStream;
     private Map<String, String> digestMap;
+
+    private DigestPipeline digestPipeline;
+
+    private long digestedBytes;
     
     public LayoutOutputStream(OutputStream source)
             throws NoSuchAlgorithmException
     {
-        super(new BufferedOutputStream(source), new String[]{});
+        super(new BufferedOutputStream(source, BUFFER_SIZE), new String[]{});
     }
 
     public void setCacheOutputStreamTemplate(Function<OutputStreamFunction, ?> chahceOutputStreamTemplate)
@@ -86,6 +100,27 @@ public class LayoutOutputStream extends MultipleDigestOutputStream
         return digestMap;
     }
 
+    /**
+     * Waits for the {@link DigestPipeline} (if any) before the digests are provided.
+     */
+    @Override
+    public Map<String, MessageDigest> getDigests()
+    {
+        if (digestPipeline != null)
+        {
+            try
+            {
+                digestPipeline.await();
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        return super.getDigests();
+    }
+
     protected String stringifyDigest(Function<byte[], String> digestStringifier,
                                      byte[] d)
     {
@@ -96,7 +131,8 @@ public class LayoutOutputStream extends MultipleDigestOutputStream
     public void write(int b)
         throws IOException
     {
-        super.write(b);
+        out.write(b);
+        updateDigests(b);
         cacheOutputStreamTemplate.apply(o -> o.write(b));
     }
 
@@ -106,7 +142,8 @@ public class LayoutOutputStream extends MultipleDigestOutputStream
                       int len)
         throws IOException
     {
-        super.write(b, off, len);
+        out.write(b, off, len);
+        updateDigests(b, off, len);
         cacheOutputStreamTemplate.apply(o -> o.write(b, off, len));
     }
 
@@ -114,8 +151,71 @@ public class LayoutOutputStream extends MultipleDigestOutputStream
     public void write(byte[] b)
             throws IOException
     {
-        super.write(b);
-        cacheOutputStreamTemplate.apply(o -> o.write(b));
+        write(b, 0, b.length);
+    }
+
+    private void updateDigests(int b)
+        throws IOException
+    {
+        Collection<MessageDigest> digests = super.getDigests().values();
+        if (digests.isEmpty())
+        {
+            return;
+        }
+
+        if (usePipeline(digests, 1))
+        {
+            digestPipeline.update(b);
+            return;
+        }
+
+        for (MessageDigest digest : digests)
+        {
+            digest.update((byte) b);
+        }
+    }
+
+    private void updateDigests(byte[] b,
+                               int off,
+                               int len)
+        throws IOException
+    {
+        Collection<MessageDigest> digests = super.getDigests().values();
+        if (digests.isEmpty())
+        {
+            return;
+        }
+
+        if (usePipeline(digests, len))
+        {
+            digestPipeline.update(b, off, len);
+            return;
+        }
+
+        for (MessageDigest digest : digests)
+        {
+            digest.update(b, off, len);
+        }
+    }
+
+    private boolean usePipeline(Collection<MessageDigest> digests,
+                                int len)
+    {
+        if (digestPipeline != null)
+        {
+            return true;
+        }
+
+        digestedBytes += len;
+        if (digestedBytes <= DIGEST_PIPELINE_THRESHOLD)
+        {
+            return false;
+        }
+
+        // All the bytes written before were already digested on this thread, so the order is preserved.
+        digestPipeline = new DigestPipeline(digests);
+
+        return true;
     }
 
     @Override
@@ -41,6 +41,8 @@ public interface Repository
 
     boolean isChecksumHeadersEnabled();
 
+    boolean isVirtualChecksumsEnabled();
+
     Set<String> getGroupRepositories();
 
     Set<String> getArtifactCoordinateValidators();
@@ -25,4 +25,21 @@ public enum RepositoryChecksumPolicyValidationTypeEnum
         return policyType;
     }
 
+    /**
+     * @return the policy matching the policy type (or name), ignoring the case, or the default policy if there is none
+     */
+    public static RepositoryChecksumPolicyValidationTypeEnum ofPolicyType(String policyType,
+                                                                          RepositoryChecksumPolicyValidationTypeEnum defaultPolicy)
+    {
+        for (RepositoryChecksumPolicyValidationTypeEnum policy : values())
+        {
+            if (policy.getPolicyType().equalsIgnoreCase(policyType) || policy.name().equalsIgnoreCase(policyType))
+            {
+                return policy;
+            }
+        }
+
+        return defaultPolicy;
+    }
+
 }
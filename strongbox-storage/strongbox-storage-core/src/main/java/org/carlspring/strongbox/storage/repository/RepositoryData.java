@@ -73,6 +73,8 @@ public class RepositoryData
 
     private boolean checksumHeadersEnabled;
 
+    private boolean virtualChecksumsEnabled;
+
     private ProxyConfiguration proxyConfiguration;
 
     private RemoteRepositoryData remoteRepository;
@@ -122,6 +124,7 @@ public class RepositoryData
         this.allowsDelete = delegate.allowsDeletion();
         this.allowsDirectoryBrowsing = delegate.allowsDirectoryBrowsing();
         this.checksumHeadersEnabled = delegate.isChecksumHeadersEnabled();
+        this.virtualChecksumsEnabled = delegate.isVirtualChecksumsEnabled();
 
         RepositoryDto mutableRepository = (RepositoryDto)delegate;
         this.proxyConfiguration = immuteProxyConfiguration(mutableRepository.getProxyConfiguration());
@@ -278,6 +281,12 @@ public class RepositoryData
         return checksumHeadersEnabled;
     }
 
+    @Override
+    public boolean isVirtualChecksumsEnabled()
+    {
+        return virtualChecksumsEnabled;
+    }
+
     public ProxyConfiguration getProxyConfiguration()
     {
         return proxyConfiguration;
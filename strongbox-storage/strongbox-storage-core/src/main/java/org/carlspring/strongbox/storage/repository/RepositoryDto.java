@@ -58,6 +58,11 @@ public class RepositoryDto
 
     private boolean checksumHeadersEnabled;
 
+    /**
+     * The artifact checksums are served from the digests stored within the artifact entries instead of checksum files.
+     */
+    private boolean virtualChecksumsEnabled;
+
     /**
      * The per-repository proxy settings that override the overall global proxy settings.
      */
@@ -228,6 +233,16 @@ public class RepositoryDto
         this.checksumHeadersEnabled = checksumHeadersEnabled;
     }
 
+    public boolean isVirtualChecksumsEnabled()
+    {
+        return virtualChecksumsEnabled;
+    }
+
+    public void setVirtualChecksumsEnabled(boolean virtualChecksumsEnabled)
+    {
+        this.virtualChecksumsEnabled = virtualChecksumsEnabled;
+    }
+
     public MutableProxyConfiguration getProxyConfiguration()
     {
         return proxyConfiguration;
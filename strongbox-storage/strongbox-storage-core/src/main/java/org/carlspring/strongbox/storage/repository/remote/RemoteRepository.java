@@ -31,5 +31,21 @@ public interface RemoteRepository
 
     boolean isAutoImportRemoteSSLCertificate();
 
+    /**
+     * @return the minimal size (in bytes) of the artifacts, which are downloaded with the concurrent range requests
+     */
+    Long getRangedDownloadThreshold();
+
+    /**
+     * @return the size (in bytes) of the range requested by each of the concurrent range requests
+     */
+    Integer getRangedDownloadChunkSize();
+
+    /**
+     * @return the maximum number of the concurrent range requests per artifact, <code>1</code> disables the ranged
+     *         downloads
+     */
+    Integer getRangedDownloadConcurrency();
+
     CustomRemoteRepositoryConfiguration getCustomConfiguration();
 }
@@ -39,6 +39,12 @@ public class RemoteRepositoryData
 
     private String url;
 
+    private Long rangedDownloadThreshold;
+
+    private Integer rangedDownloadChunkSize;
+
+    private Integer rangedDownloadConcurrency;
+
     private CustomRemoteRepositoryConfigurationData customConfiguration;
 
     RemoteRepositoryData()
@@ -58,6 +64,9 @@ public class RemoteRepositoryData
         this.checkIntervalSeconds = other.getCheckIntervalSeconds();
         this.allowsDirectoryBrowsing = other.allowsDirectoryBrowsing();
         this.autoImportRemoteSSLCertificate = other.isAutoImportRemoteSSLCertificate();
+        this.rangedDownloadThreshold = other.getRangedDownloadThreshold();
+        this.rangedDownloadChunkSize = other.getRangedDownloadChunkSize();
+        this.rangedDownloadConcurrency = other.getRangedDownloadConcurrency();
         this.customConfiguration = immuteRemoteRepositoryConfiguration(other.getCustomConfiguration());
     }
 
@@ -111,6 +120,21 @@ public class RemoteRepositoryData
         return autoImportRemoteSSLCertificate;
     }
 
+    public Long getRangedDownloadThreshold()
+    {
+        return rangedDownloadThreshold;
+    }
+
+    public Integer getRangedDownloadChunkSize()
+    {
+        return rangedDownloadChunkSize;
+    }
+
+    public Integer getRangedDownloadConcurrency()
+    {
+        return rangedDownloadConcurrency;
+    }
+
     public CustomRemoteRepositoryConfigurationData getCustomConfiguration()
     {
         return customConfiguration;
@@ -14,6 +14,12 @@ public class RemoteRepositoryDto
         implements RemoteRepository
 {
 
+    public static final long DEFAULT_RANGED_DOWNLOAD_THRESHOLD = 64L * 1024 * 1024;
+
+    public static final int DEFAULT_RANGED_DOWNLOAD_CHUNK_SIZE = 8 * 1024 * 1024;
+
+    public static final int DEFAULT_RANGED_DOWNLOAD_CONCURRENCY = 1;
+
     private String url;
 
     private boolean downloadRemoteIndexes;
@@ -34,6 +40,12 @@ public class RemoteRepositoryDto
 
     private boolean autoImportRemoteSSLCertificate;
 
+    private Long rangedDownloadThreshold = DEFAULT_RANGED_DOWNLOAD_THRESHOLD;
+
+    private Integer rangedDownloadChunkSize = DEFAULT_RANGED_DOWNLOAD_CHUNK_SIZE;
+
+    private Integer rangedDownloadConcurrency = DEFAULT_RANGED_DOWNLOAD_CONCURRENCY;
+
     private RemoteRepositoryConfigurationDto customConfiguration;
 
     public String getUrl()
@@ -136,6 +148,36 @@ public class RemoteRepositoryDto
         return allowsDirectoryBrowsing;
     }
 
+    public Long getRangedDownloadThreshold()
+    {
+        return rangedDownloadThreshold;
+    }
+
+    public void setRangedDownloadThreshold(Long rangedDownloadThreshold)
+    {
+        this.rangedDownloadThreshold = rangedDownloadThreshold;
+    }
+
+    public Integer getRangedDownloadChunkSize()
+    {
+        return rangedDownloadChunkSize;
+    }
+
+    public void setRangedDownloadChunkSize(Integer rangedDownloadChunkSize)
+    {
+        this.rangedDownloadChunkSize = rangedDownloadChunkSize;
+    }
+
+    public Integer getRangedDownloadConcurrency()
+    {
+        return rangedDownloadConcurrency;
+    }
+
+    public void setRangedDownloadConcurrency(Integer rangedDownloadConcurrency)
+    {
+        this.rangedDownloadConcurrency = rangedDownloadConcurrency;
+    }
+
     public RemoteRepositoryConfigurationDto getCustomConfiguration()
     {
         return customConfiguration;
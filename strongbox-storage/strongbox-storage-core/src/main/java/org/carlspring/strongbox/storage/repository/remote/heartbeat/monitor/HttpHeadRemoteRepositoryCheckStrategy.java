@@ -8,20 +8,25 @@ import java.io.IOException;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpHead;
+import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 /**
+ * Probes the remote repository with the HTTP HEAD request, so the directory listing is not transferred. The probe
+ * falls back to the HTTP GET request, if the remote repository doesn't allow the HEAD requests.
+ *
  * @author Przemyslaw Fusik
  */
 @Component
-class HttpGetRemoteRepositoryCheckStrategy
+class HttpHeadRemoteRepositoryCheckStrategy
         implements RemoteRepositoryHeartbeatMonitorStrategy
 {
 
-    private static final Logger logger = LoggerFactory.getLogger(HttpGetRemoteRepositoryCheckStrategy.class);
+    private static final Logger logger = LoggerFactory.getLogger(HttpHeadRemoteRepositoryCheckStrategy.class);
 
     @Inject
     private ProxyRepositoryConnectionPoolConfigurationService proxyRepositoryConnectionPoolConfigurationService;
@@ -34,23 +39,33 @@ class HttpGetRemoteRepositoryCheckStrategy
         {
             try (final CloseableHttpClient httpClient = proxyRepositoryConnectionPoolConfigurationService.getHttpClient())
             {
-                try (final CloseableHttpResponse httpResponse = httpClient.execute(new HttpGet(remoteRepositoryUrl)))
+                int statusCode = execute(httpClient, new HttpHead(remoteRepositoryUrl));
+                if (HttpStatus.SC_METHOD_NOT_ALLOWED == statusCode)
                 {
-
-                    int statusCode = httpResponse.getStatusLine().getStatusCode();
-
-                    response = HttpStatus.SC_OK == statusCode || HttpStatus.SC_MOVED_PERMANENTLY == statusCode ||
-                               HttpStatus.SC_MOVED_TEMPORARILY == statusCode;
+                    statusCode = execute(httpClient, new HttpGet(remoteRepositoryUrl));
                 }
+
+                response = HttpStatus.SC_OK == statusCode || HttpStatus.SC_MOVED_PERMANENTLY == statusCode ||
+                           HttpStatus.SC_MOVED_TEMPORARILY == statusCode;
             }
         }
         catch (IOException e)
         {
-            logger.error("Problem executing HTTP GET request to " + remoteRepositoryUrl, e);
+            logger.error("Problem executing HTTP HEAD request to " + remoteRepositoryUrl, e);
         }
         finally
         {
             return response;
         }
     }
+
+    private int execute(CloseableHttpClient httpClient,
+                        HttpRequestBase request)
+        throws IOException
+    {
+        try (final CloseableHttpResponse httpResponse = httpClient.execute(request))
+        {
+            return httpResponse.getStatusLine().getStatusCode();
+        }
+    }
 }
@@ -12,12 +12,12 @@ public class RemoteRepositoryHeartbeatMonitorStrategyRegistry
 {
 
     @Inject
-    private RemoteRepositoryHeartbeatMonitorStrategy httpGetRemoteRepositoryCheckStrategy;
+    private RemoteRepositoryHeartbeatMonitorStrategy httpHeadRemoteRepositoryCheckStrategy;
 
 
     public RemoteRepositoryHeartbeatMonitorStrategy of(boolean allowsDirectoryBrowsing)
     {
-        return allowsDirectoryBrowsing ? httpGetRemoteRepositoryCheckStrategy :
+        return allowsDirectoryBrowsing ? httpHeadRemoteRepositoryCheckStrategy :
                PingRemoteRepositoryUrlStrategy.INSTANCE;
     }
 
@@ -10,6 +10,7 @@ import org.carlspring.strongbox.providers.io.RepositoryPathLock;
 import org.carlspring.strongbox.providers.layout.Maven2LayoutProvider;
 import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryArtifactResolver;
 import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryInputStream;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryPrefetcher;
 import org.carlspring.strongbox.providers.repository.proxied.RestArtifactResolverFactory;
 import org.carlspring.strongbox.storage.metadata.MetadataHelper;
 import org.carlspring.strongbox.storage.metadata.MetadataType;
@@ -36,6 +37,10 @@ public class MavenArtifactFetchedFromRemoteEventListener
         extends BaseMavenArtifactEventListener
 {
 
+    private static final String POM_EXTENSION = ".pom";
+
+    private static final String JAR_EXTENSION = ".jar";
+
     @Inject
     private ProxyRepositoryArtifactResolver proxyRepositoryArtifactResolver;
 
@@ -44,7 +49,11 @@ public class MavenArtifactFetchedFromRemoteEventListener
     
     @Inject
     protected RestArtifactResolverFactory restArtifactResolverFactory;
-    
+
+    @Inject
+    private ProxyRepositoryPrefetcher proxyRepositoryPrefetcher;
+
+
     @AsyncEventListener
     public void handle(final ArtifactEvent<RepositoryPath> event)
     {
@@ -60,10 +69,30 @@ public class MavenArtifactFetchedFromRemoteEventListener
             return;
         }
 
+        prefetchSiblings(event.getPath());
         resolveArtifactMetadataAtArtifactIdLevel(event);
         updateMetadataInGroupsContainingRepository(event, path -> path.getParent().getParent());
     }
 
+    /**
+     * The client which has fetched the <code>.pom</code> almost always asks for the <code>.jar</code> next. The
+     * checksums don't need to be prefetched, as they are generated once the artifact is stored.
+     */
+    private void prefetchSiblings(final RepositoryPath artifactPath)
+    {
+        if (!proxyRepositoryPrefetcher.isEnabled())
+        {
+            return;
+        }
+
+        String fileName = artifactPath.getFileName().toString();
+        if (fileName.endsWith(POM_EXTENSION))
+        {
+            String baseName = fileName.substring(0, fileName.length() - POM_EXTENSION.length());
+            proxyRepositoryPrefetcher.prefetch(artifactPath.resolveSibling(baseName + JAR_EXTENSION));
+        }
+    }
+
     private void resolveArtifactMetadataAtArtifactIdLevel(final ArtifactEvent<RepositoryPath> event)
     {
         try
@@ -2,6 +2,7 @@ package org.carlspring.strongbox.providers.io;
 
 import org.carlspring.commons.encryption.EncryptionAlgorithmsEnum;
 import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryArtifactResolver;
+import org.carlspring.strongbox.providers.repository.proxied.RemoteResourceValidatorsCache;
 import org.carlspring.strongbox.storage.repository.RepositoryData;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.util.ThrowingFunction;
@@ -28,6 +29,9 @@ public class MavenMetadataExpiredRepositoryPathHandler
     @Inject
     private ProxyRepositoryArtifactResolver proxyRepositoryArtifactResolver;
 
+    @Inject
+    private RemoteResourceValidatorsCache remoteResourceValidatorsCache;
+
     @Override
     public boolean supports(final RepositoryPath repositoryPath)
             throws IOException
@@ -50,6 +54,15 @@ public class MavenMetadataExpiredRepositoryPathHandler
     public void handleExpiration(final RepositoryPath repositoryPath)
             throws IOException
     {
+        if (remoteResourceValidatorsCache.contains(repositoryPath))
+        {
+            // A single conditional request, which only transfers maven-metadata.xml if it was changed.
+            logger.debug("maven-metadata.xml will be revalidated.");
+            proxyRepositoryArtifactResolver.revalidateRemoteResource(repositoryPath);
+
+            return;
+        }
+
         Decision refetchMetadata = determineMetadataRefetch(repositoryPath,
                                                             EncryptionAlgorithmsEnum.SHA1);
         if (refetchMetadata == I_DONT_KNOW)
@@ -0,0 +1,146 @@
+package org.carlspring.strongbox.event.artifact;
+
+import org.carlspring.strongbox.booters.PropertiesBooter;
+import org.carlspring.strongbox.providers.io.LayoutFileSystem;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
+import org.carlspring.strongbox.providers.layout.Maven2LayoutProvider;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryArtifactResolver;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryPrefetcher;
+import org.carlspring.strongbox.repository.group.metadata.MavenMetadataGroupRepositoryComponent;
+import org.carlspring.strongbox.storage.StorageDto;
+import org.carlspring.strongbox.storage.metadata.MavenMetadataManager;
+import org.carlspring.strongbox.storage.repository.RepositoryData;
+import org.carlspring.strongbox.storage.repository.RepositoryDto;
+import org.carlspring.strongbox.storage.repository.remote.RemoteRepositoryDto;
+
+import java.io.FileNotFoundException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MavenArtifactFetchedFromRemoteEventListenerTest
+{
+
+    private static final Path REPOSITORY_BASEDIR = Paths.get("target/strongbox-vault/storages/storage0/prefetched")
+                                                        .toAbsolutePath();
+
+    private static final String ARTIFACT_BASE_PATH = "org/carlspring/prefetched/1.0/";
+
+    @Mock
+    private ProxyRepositoryPrefetcher proxyRepositoryPrefetcher;
+
+    @Mock
+    private ProxyRepositoryArtifactResolver proxyRepositoryArtifactResolver;
+
+    @Mock
+    private MavenMetadataManager mavenMetadataManager;
+
+    @Mock
+    private MavenMetadataGroupRepositoryComponent mavenMetadataGroupRepositoryComponent;
+
+    @InjectMocks
+    private MavenArtifactFetchedFromRemoteEventListener listener;
+
+    private RepositoryPath repositoryRoot;
+
+    @BeforeEach
+    public void setUp()
+        throws Exception
+    {
+        MockitoAnnotations.initMocks(this);
+        when(proxyRepositoryPrefetcher.isEnabled()).thenReturn(true);
+        // The remote metadata is fetched, as there is no local one.
+        when(mavenMetadataManager.readMetadata(any(Path.class))).thenThrow(new FileNotFoundException());
+
+        RemoteRepositoryDto remoteRepository = new RemoteRepositoryDto();
+        remoteRepository.setUrl("http://localhost:48080/prefetched/");
+        RepositoryDto repository = new RepositoryDto("prefetched");
+        repository.setStorage(new StorageDto("storage0"));
+        repository.setBasedir(REPOSITORY_BASEDIR.toString());
+        repository.setLayout(Maven2LayoutProvider.ALIAS);
+        repository.setRemoteRepository(remoteRepository);
+        // The paths are not artifacts.
+        LayoutFileSystemProvider provider = Mockito.mock(LayoutFileSystemProvider.class, i -> {
+            if ("readAttributes".equals(i.getMethod().getName()) && i.getArgument(1) instanceof String)
+            {
+                String attribute = i.getArgument(1);
+
+                return Collections.singletonMap(attribute.substring(attribute.indexOf(':') + 1), Boolean.FALSE);
+            }
+
+            return Mockito.RETURNS_DEFAULTS.answer(i);
+        });
+        LayoutFileSystem repositoryFileSystem = new LayoutFileSystem(new PropertiesBooter(),
+                                                                     new RepositoryData(repository),
+                                                                     FileSystems.getDefault(), provider)
+        {
+            @Override
+            public Set<String> getDigestAlgorithmSet()
+            {
+                throw new UnsupportedOperationException();
+            }
+        };
+        repositoryRoot = new RepositoryPath(REPOSITORY_BASEDIR, repositoryFileSystem);
+    }
+
+    @Test
+    public void fetchedPomShouldTriggerJarPrefetch()
+    {
+        listener.handle(fetchedFromRemote("prefetched-1.0.pom"));
+
+        ArgumentCaptor<RepositoryPath> prefetchedPath = ArgumentCaptor.forClass(RepositoryPath.class);
+        verify(proxyRepositoryPrefetcher).prefetch(prefetchedPath.capture());
+        assertThat(prefetchedPath.getValue()).isEqualTo(repositoryRoot.resolve(ARTIFACT_BASE_PATH)
+                                                                      .resolve("prefetched-1.0.jar"));
+    }
+
+    @Test
+    public void fetchedJarShouldNotTriggerPrefetch()
+    {
+        listener.handle(fetchedFromRemote("prefetched-1.0.jar"));
+
+        verify(proxyRepositoryPrefetcher, never()).prefetch(any());
+    }
+
+    @Test
+    public void disabledPrefetcherShouldNotBeTriggered()
+    {
+        when(proxyRepositoryPrefetcher.isEnabled()).thenReturn(false);
+
+        listener.handle(fetchedFromRemote("prefetched-1.0.pom"));
+
+        verify(proxyRepositoryPrefetcher, never()).prefetch(any());
+    }
+
+    @Test
+    public void otherEventsShouldNotTriggerPrefetch()
+    {
+        listener.handle(new ArtifactEvent<>(repositoryRoot.resolve(ARTIFACT_BASE_PATH).resolve("prefetched-1.0.pom"),
+                                            ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType()));
+
+        verify(proxyRepositoryPrefetcher, never()).prefetch(any());
+    }
+
+    private ArtifactEvent<RepositoryPath> fetchedFromRemote(String fileName)
+    {
+        return new ArtifactEvent<>(repositoryRoot.resolve(ARTIFACT_BASE_PATH).resolve(fileName),
+                                   ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_FETCHED_FROM_REMOTE.getType());
+    }
+
+}
@@ -1,8 +1,11 @@
 package org.carlspring.strongbox.providers.io;
 
 import org.carlspring.commons.encryption.EncryptionAlgorithmsEnum;
+import org.carlspring.strongbox.client.CloseableRestResponse;
+import org.carlspring.strongbox.client.RestArtifactResolver;
 import org.carlspring.strongbox.config.Maven2LayoutProviderTestConfig;
 import org.carlspring.strongbox.providers.repository.ProxyRepositoryProvider;
+import org.carlspring.strongbox.providers.repository.proxied.RemoteResourceValidatorsCache;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.testing.MavenIndexedRepositorySetup;
 import org.carlspring.strongbox.testing.repository.MavenRepository;
@@ -10,17 +13,25 @@ import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementT
 import org.carlspring.strongbox.testing.storage.repository.TestRepository.Remote;
 
 import javax.inject.Inject;
+import javax.ws.rs.core.Response;
 import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+
+import org.apache.commons.io.FilenameUtils;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.parallel.Execution;
+import org.mockito.Mockito;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
 import static org.carlspring.strongbox.storage.repository.RepositoryPolicyEnum.SNAPSHOT;
 import static org.carlspring.strongbox.util.MessageDigestUtils.calculateChecksum;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.junit.jupiter.api.parallel.ExecutionMode.SAME_THREAD;
 
 /**
@@ -45,9 +56,14 @@ public class MavenMetadataExpirationProxyCaseTest
     private static final String PROXY_REPOSITORY_URL =
             "http://localhost:48080/storages/" + STORAGE0 + "/" + REPOSITORY_HOSTED + "/";
 
+    private static final String ETAG = "\"mmepc-metadata-etag\"";
+
     @Inject
     private ProxyRepositoryProvider proxyRepositoryProvider;
 
+    @Inject
+    private RemoteResourceValidatorsCache remoteResourceValidatorsCache;
+
     @ExtendWith(RepositoryManagementTestExecutionListener.class)
     @Test
     public void expiredProxyRepositoryMetadataPathShouldBeRefetched(@MavenRepository(repositoryId = REPOSITORY_HOSTED,
@@ -128,6 +144,72 @@ public class MavenMetadataExpirationProxyCaseTest
         assertThat(calculatedProxiedPathChecksum).isEqualTo(sha1ProxiedPathChecksum);
     }
 
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    @Test
+    public void expiredProxyRepositoryMetadataPathShouldBeRevalidated(@MavenRepository(repositoryId = REPOSITORY_HOSTED,
+                                                                                       policy = SNAPSHOT)
+                                                                      Repository hostedRepository,
+                                                                      @MavenRepository(repositoryId = REPOSITORY_LOCAL_SOURCE,
+                                                                                       policy = SNAPSHOT)
+                                                                      Repository localSourceRepository,
+                                                                      @Remote(url = PROXY_REPOSITORY_URL)
+                                                                      @MavenRepository(repositoryId = REPOSITORY_PROXY,
+                                                                                       setup = MavenIndexedRepositorySetup.class)
+                                                                      Repository proxyRepository)
+            throws Exception
+    {
+        mockHostedRepositoryMetadataUpdate(hostedRepository.getId(),
+                                           localSourceRepository.getId(),
+                                           versionLevelMetadata,
+                                           artifactLevelMetadata);
+
+        mockResolvingProxiedRemoteArtifactsToHostedRepository(REPOSITORY_HOSTED);
+
+        final RepositoryPath proxiedPath = resolvePath(proxyRepository.getId(),
+                                                       true,
+                                                       "maven-metadata.xml");
+        final String proxiedPathRelativized = FilenameUtils.separatorsToUnix(RepositoryFiles.relativizePath(proxiedPath));
+
+        // The remote responds with the validator, and with `304 Not Modified` to the conditional requests.
+        RestArtifactResolver artifactResolver = artifactResolverFactory.newInstance(proxyRepository.getRemoteRepository());
+        Response response = artifactResolver.get(proxiedPathRelativized, 0L).getResponse();
+        Mockito.when(response.getHeaderString("ETag")).thenReturn(ETAG);
+
+        Response notModifiedResponse = Mockito.mock(Response.class);
+        Mockito.when(notModifiedResponse.getStatus()).thenReturn(304);
+        CloseableRestResponse notModifiedRestResponse = Mockito.mock(CloseableRestResponse.class);
+        Mockito.when(notModifiedRestResponse.getResponse()).thenReturn(notModifiedResponse);
+        Mockito.when(artifactResolver.get(eq(proxiedPathRelativized), any(Long.class), any()))
+               .thenReturn(notModifiedRestResponse);
+
+        proxyRepositoryProvider.fetchPath(proxiedPath);
+        assertThat(RepositoryFiles.artifactExists(proxiedPath)).isTrue();
+        assertThat(remoteResourceValidatorsCache.contains(proxiedPath)).isTrue();
+
+        String calculatedProxiedPathChecksum = calculateChecksum(proxiedPath,
+                                                                 EncryptionAlgorithmsEnum.SHA1.getAlgorithm());
+
+        // The remote metadata changes, but the remote claims it was not modified.
+        mockHostedRepositoryMetadataUpdate(hostedRepository.getId(),
+                                           localSourceRepository.getId(),
+                                           versionLevelMetadata,
+                                           artifactLevelMetadata);
+
+        FileTime expiredTime = oneHourAgo();
+        Files.setLastModifiedTime(proxiedPath, expiredTime);
+
+        proxyRepositoryProvider.fetchPath(proxiedPath);
+
+        Mockito.verify(artifactResolver).get(eq(proxiedPathRelativized),
+                                             any(Long.class),
+                                             argThat(headers -> ETAG.equals(headers.get("If-None-Match"))));
+
+        // Only the expiry was touched.
+        assertThat(Files.getLastModifiedTime(proxiedPath)).isGreaterThan(expiredTime);
+        assertThat(calculateChecksum(proxiedPath, EncryptionAlgorithmsEnum.SHA1.getAlgorithm()))
+                .isEqualTo(calculatedProxiedPathChecksum);
+    }
+
     @Override
     protected String getRepositoryHostedId()
     {
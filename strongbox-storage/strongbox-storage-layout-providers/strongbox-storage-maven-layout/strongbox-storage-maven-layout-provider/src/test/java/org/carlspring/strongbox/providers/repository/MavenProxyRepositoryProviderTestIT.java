@@ -6,6 +6,8 @@ import org.carlspring.strongbox.data.CacheManagerTestExecutionListener;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryNegativeLookupCache;
+import org.carlspring.strongbox.services.ArtifactResolutionService;
 import org.carlspring.strongbox.services.ArtifactEntryService;
 import org.carlspring.strongbox.storage.metadata.MavenMetadataManager;
 import org.carlspring.strongbox.storage.repository.Repository;
@@ -65,6 +67,12 @@ public class MavenProxyRepositoryProviderTestIT
     @Inject
     private ArtifactResolutionServiceHelper artifactResolutionServiceHelper;
 
+    @Inject
+    private ArtifactResolutionService artifactResolutionService;
+
+    @Inject
+    private ProxyRepositoryNegativeLookupCache proxyRepositoryNegativeLookupCache;
+
     @ExtendWith({ RepositoryManagementTestExecutionListener.class })
     @Test
     public void whenDownloadingArtifactMetadaFileShouldAlsoBeResolved(@MavenRepository(storageId = STORAGE_ID,
@@ -218,6 +226,25 @@ public class MavenProxyRepositoryProviderTestIT
                                                             "org/carlspring/maven/derby-maven-plugin/1.10/derby-maven-plugin-1.10.jar.sha1");
     }
 
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class })
+    @Test
+    public void whenPathIsMissingWithinRemoteRepositoryItShouldNotBeRequestedAgain(@MavenRepository(storageId = STORAGE_ID,
+                                                                                                    repositoryId = CENTRAL_REPOSITORY_ID + "-whenPathIsMissingWithinRemoteRepositoryItShouldNotBeRequestedAgain")
+                                                                                   @Remote(url = CENTRAL_URL)
+                                                                                   Repository proxyRepository)
+            throws Exception
+    {
+        String storageId = proxyRepository.getStorage().getId();
+        String repositoryId = proxyRepository.getId();
+        String path = "org/carlspring/strongbox/strongbox-missing-artifact/1.0/strongbox-missing-artifact-1.0.jar";
+
+        assertThat(artifactResolutionService.resolvePath(storageId, repositoryId, path)).isNull();
+
+        long hits = proxyRepositoryNegativeLookupCache.getHits();
+        assertThat(artifactResolutionService.resolvePath(storageId, repositoryId, path)).isNull();
+        assertThat(proxyRepositoryNegativeLookupCache.getHits()).isGreaterThan(hits);
+    }
+
     @Disabled // Broken while Docker is being worked on, as there is no running instance of the Strongbox service.
     @ExtendWith({ RepositoryManagementTestExecutionListener.class })
     @Test
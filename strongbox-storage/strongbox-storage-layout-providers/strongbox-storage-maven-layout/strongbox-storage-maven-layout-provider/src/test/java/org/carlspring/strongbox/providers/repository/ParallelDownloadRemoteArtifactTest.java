@@ -1,7 +1,9 @@
 package org.carlspring.strongbox.providers.repository;
 
+import org.carlspring.strongbox.artifact.ArtifactDownloadCountAggregator;
 import org.carlspring.strongbox.artifact.MavenArtifactUtils;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryFetchCoalescer;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.testing.artifact.MavenArtifactTestUtils;
 import org.carlspring.strongbox.testing.repository.MavenRepository;
@@ -52,6 +54,12 @@ public class ParallelDownloadRemoteArtifactTest
     @Inject
     private PlatformTransactionManager transactionManager;
 
+    @Inject
+    private ArtifactDownloadCountAggregator artifactDownloadCountAggregator;
+
+    @Inject
+    private ProxyRepositoryFetchCoalescer proxyRepositoryFetchCoalescer;
+
     @Override
     public InputStream getInputStream()
     {
@@ -93,6 +101,8 @@ public class ParallelDownloadRemoteArtifactTest
         assertThat(Files.exists(artifactPath)).isFalse();
         assertThat(remoteRepositoryConnectionOwnerMap.containsKey(remoteArtifactInputStream)).isFalse();
 
+        long remoteFetches = proxyRepositoryFetchCoalescer.getRemoteFetches();
+
         // when
         List<Throwable> result = IntStream.range(0, concurrency)
                                           .mapToObj(i -> new WorkerThread(storageId, repositoryId, path))
@@ -126,7 +136,11 @@ public class ParallelDownloadRemoteArtifactTest
         assertThat(result).hasSize(concurrency);
 
         assertThat(actual).isEqualTo(expected);
+        assertThat(proxyRepositoryFetchCoalescer.getRemoteFetches() - remoteFetches).isEqualTo(1);
+        assertThat(proxyRepositoryFetchCoalescer.getInFlightFetches()).isEqualTo(0);
         
+        artifactDownloadCountAggregator.flush();
+
         RepositoryPath repositoryPath = repositoryPathResolver.resolve(storageId,
                                                                        repositoryId,
                                                                        path);
@@ -0,0 +1,96 @@
+package org.carlspring.strongbox.providers.repository;
+
+import org.carlspring.strongbox.config.Maven2LayoutProviderCronTasksTestConfig;
+import org.carlspring.strongbox.data.CacheManagerTestExecutionListener;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.repository.proxied.LocalStorageProxyRepositoryCacheEvictor;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryCacheEvictionPolicy;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryCacheEvictionResult;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.testing.MavenIndexedRepositorySetup;
+import org.carlspring.strongbox.testing.repository.MavenRepository;
+import org.carlspring.strongbox.testing.storage.repository.RepositoryManagementTestExecutionListener;
+import org.carlspring.strongbox.testing.storage.repository.TestRepository.Remote;
+
+import javax.inject.Inject;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.mockito.Mockito;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestExecutionListeners;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
+import static org.mockito.ArgumentMatchers.argThat;
+
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+@ContextConfiguration(classes = Maven2LayoutProviderCronTasksTestConfig.class)
+@TestExecutionListeners(listeners = { CacheManagerTestExecutionListener.class },
+                        mergeMode = TestExecutionListeners.MergeMode.MERGE_WITH_DEFAULTS)
+@Execution(CONCURRENT)
+public class WhenProxyRepositoryExceedsBudgetEvictArtifactsTestIT
+        extends BaseLocalStorageProxyRepositoryExpiredArtifactsCleanerTest
+{
+
+    private static final String REPOSITORY_ID = "maven-central-evicted";
+
+    private static final String REMOTE_URL = "http://central.maven.org/maven2/";
+
+    @Inject
+    private LocalStorageProxyRepositoryCacheEvictor localStorageProxyRepositoryCacheEvictor;
+
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    @Test
+    public void artifactsShouldBeEvictedUnderTheLowWatermark(@Remote(url = REMOTE_URL)
+                                                             @MavenRepository(storageId = STORAGE_ID,
+                                                                              repositoryId = REPOSITORY_ID,
+                                                                              setup = MavenIndexedRepositorySetup.class)
+                                                             Repository proxyRepository)
+            throws Exception
+    {
+        ArtifactEntry artifactEntry = downloadAndSaveArtifactEntry();
+
+        Mockito.when(remoteRepositoryAlivenessCacheManager.isAlive(
+                argThat(argument -> argument != null && REMOTE_URL.equals(argument.getUrl()))))
+               .thenReturn(true);
+
+        long sizeInBytes = artifactEntryService.sumSizeInBytes(STORAGE_ID, REPOSITORY_ID);
+        assertThat(sizeInBytes).isGreaterThanOrEqualTo(artifactEntry.getSizeInBytes());
+
+        ProxyRepositoryCacheEvictionResult result = localStorageProxyRepositoryCacheEvictor.evict(
+                STORAGE_ID, REPOSITORY_ID, sizeInBytes, 0, ProxyRepositoryCacheEvictionPolicy.LRU, 10, r -> {});
+        assertThat(result.getEvictedArtifacts()).isEqualTo(0);
+
+        result = localStorageProxyRepositoryCacheEvictor.evict(STORAGE_ID, REPOSITORY_ID, sizeInBytes - 1, 0,
+                                                               ProxyRepositoryCacheEvictionPolicy.LRU, 10, r -> {});
+        assertThat(result.getEvictedBytes()).isEqualTo(sizeInBytes);
+        assertThat(result.getSizeInBytes()).isEqualTo(0);
+
+        assertThat(artifactEntryService.findOneArtifact(STORAGE_ID, REPOSITORY_ID, getPath())).isNull();
+        assertThat(RepositoryFiles.artifactExists(repositoryPathResolver.resolve(proxyRepository,
+                                                                                 getPath()))).isFalse();
+    }
+
+    @Override
+    protected String getRepositoryId()
+    {
+        return REPOSITORY_ID;
+    }
+
+    @Override
+    protected String getPath()
+    {
+        return "org/carlspring/maven/maven-commons/1.3/maven-commons-1.3.jar";
+    }
+
+    @Override
+    protected String getVersion()
+    {
+        return "1.3";
+    }
+}
@@ -2,6 +2,7 @@ package org.carlspring.strongbox.services;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import org.carlspring.strongbox.artifact.ArtifactDownloadCountAggregator;
 import org.carlspring.strongbox.artifact.ArtifactTag;
 import org.carlspring.strongbox.artifact.MavenArtifact;
 import org.carlspring.strongbox.artifact.MavenArtifactUtils;
@@ -28,6 +29,7 @@ import javax.inject.Inject;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -41,7 +43,10 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.codec.digest.MessageDigestAlgorithms;
 import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.maven.artifact.Artifact;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -91,6 +96,10 @@ public class ArtifactManagementServiceImplTest
 
     private static final String LAST_VERSION_RELEASES = "last-version-releases";
 
+    private static final String TVC_RELEASES = "tvc-releases";
+
+    private static final String TDIS_RELEASES = "tdis-releases";
+
     @Inject
     private ArtifactManagementService mavenArtifactManagementService;
 
@@ -109,6 +118,9 @@ public class ArtifactManagementServiceImplTest
     @Inject
     private RepositoryPathResolver repositoryPathResolver;
 
+    @Inject
+    private ArtifactDownloadCountAggregator artifactDownloadCountAggregator;
+
     @ExtendWith({ RepositoryManagementTestExecutionListener.class,
                   ArtifactManagementTestExecutionListener.class })
     @Test
@@ -522,6 +534,8 @@ public class ArtifactManagementServiceImplTest
             assertThat(Long.valueOf(CONTENT_SIZE)).as(message).isEqualTo(resultList.get(i));
         }
 
+        artifactDownloadCountAggregator.flush();
+
         RepositoryPath repositoryPathResult = repositoryPathResolver.resolve(repository, path);
         ArtifactEntry artifactEntry = repositoryPathResult.getArtifactEntry();
 
@@ -538,6 +552,124 @@ public class ArtifactManagementServiceImplTest
 
     }
 
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class })
+    @Test
+    public void testVirtualChecksums(@MavenRepository(repositoryId = TVC_RELEASES)
+                                     @RepositoryAttributes(virtualChecksumsEnabled = true)
+                                     Repository repository)
+            throws Exception
+    {
+        final String storageId = repository.getStorage().getId();
+        final String repositoryId = repository.getId();
+
+        String gavtc = "org.carlspring.strongbox:strongbox-vc-artifact:1.0:jar";
+        String artifactPath = MavenArtifactUtils.convertArtifactToPath(MavenArtifactTestUtils.getArtifactFromGAVTC(gavtc));
+        byte[] content = "strongbox-vc-artifact-content".getBytes(StandardCharsets.UTF_8);
+
+        RepositoryPath repositoryPath = repositoryPathResolver.resolve(storageId, repositoryId, artifactPath);
+        try (InputStream is = new ByteArrayInputStream(content))
+        {
+            mavenArtifactManagementService.validateAndStore(repositoryPath, is);
+        }
+
+        RepositoryPath sha1Path = repositoryPath.resolveSibling(repositoryPath.getFileName() + ".sha1");
+        RepositoryPath sha256Path = repositoryPath.resolveSibling(repositoryPath.getFileName() + ".sha256");
+
+        // No checksum files should be stored, the checksums are served from the artifact entry.
+        assertThat(sha1Path.toFile().exists()).isFalse();
+        assertThat(Files.exists(sha1Path)).isTrue();
+        assertThat(Files.exists(sha256Path)).isTrue();
+
+        try (InputStream is = artifactResolutionService.getInputStream(sha1Path))
+        {
+            assertThat(IOUtils.toString(is, StandardCharsets.UTF_8)).isEqualTo(DigestUtils.sha1Hex(content));
+        }
+        try (InputStream is = artifactResolutionService.getInputStream(sha256Path))
+        {
+            assertThat(IOUtils.toString(is, StandardCharsets.UTF_8)).isEqualTo(DigestUtils.sha256Hex(content));
+        }
+        assertThat(sha256Path.toFile().exists()).isFalse();
+
+        // All the virtual checksums are calculated and stored while the artifact is stored.
+        ArtifactEntry artifactEntry = artifactEntryService.findOneArtifact(storageId, repositoryId, artifactPath);
+        assertThat(artifactEntry.getChecksums()).containsEntry(MessageDigestAlgorithms.SHA_256,
+                                                               DigestUtils.sha256Hex(content))
+                                                .containsEntry(MessageDigestAlgorithms.SHA_512,
+                                                               DigestUtils.sha512Hex(content));
+
+        // The checksum which the entry doesn't hold is not found, rather than calculated from the artifact.
+        artifactEntry.getChecksums().remove(MessageDigestAlgorithms.SHA_512);
+        artifactEntryService.save(artifactEntry);
+        RepositoryPath sha512Path = repositoryPathResolver.resolve(storageId, repositoryId,
+                                                                   artifactPath + ".sha512");
+        assertThat(Files.exists(sha512Path)).isFalse();
+    }
+
+    @ExtendWith({ RepositoryManagementTestExecutionListener.class })
+    @Test
+    public void testDiscardIncompleteStore(@MavenRepository(repositoryId = TDIS_RELEASES)
+                                           Repository repository)
+            throws Exception
+    {
+        final String storageId = repository.getStorage().getId();
+        final String repositoryId = repository.getId();
+
+        String gavtc = "org.carlspring.strongbox:strongbox-discard-artifact:1.0:jar";
+        String artifactPath = MavenArtifactUtils.convertArtifactToPath(MavenArtifactTestUtils.getArtifactFromGAVTC(gavtc));
+        byte[] content = "strongbox-discard-artifact-content".getBytes(StandardCharsets.UTF_8);
+
+        RepositoryPath repositoryPath = repositoryPathResolver.resolve(storageId, repositoryId, artifactPath);
+
+        // The source fails in the middle of the content.
+        try (InputStream is = new SequenceInputStream(new ByteArrayInputStream(content, 0, content.length / 2),
+                                                      new InputStream()
+                                                      {
+                                                          @Override
+                                                          public int read()
+                                                              throws IOException
+                                                          {
+                                                              throw new IOException("Connection reset");
+                                                          }
+                                                      }))
+        {
+            mavenArtifactManagementService.store(repositoryPath, is);
+            fail("The store should fail.");
+        }
+        catch (IOException e)
+        {
+            // Expected
+        }
+
+        assertThat(Files.exists(repositoryPath)).isFalse();
+
+        // The digests are rejected.
+        try (InputStream is = new ByteArrayInputStream(content))
+        {
+            mavenArtifactManagementService.store(repositoryPath, is, (p, digestMap) -> {
+                throw new IOException("Checksum mismatch");
+            });
+            fail("The store should fail.");
+        }
+        catch (IOException e)
+        {
+            // Expected
+        }
+
+        assertThat(Files.exists(repositoryPath)).isFalse();
+        assertThat(Files.exists(repositoryPath.resolveSibling(repositoryPath.getFileName() + ".sha1"))).isFalse();
+        assertThat(artifactEntryService.findOneArtifact(storageId, repositoryId, artifactPath)).isNull();
+
+        // The accepted digests are committed.
+        try (InputStream is = new ByteArrayInputStream(content))
+        {
+            mavenArtifactManagementService.store(repositoryPath, is, (p, digestMap) -> {
+                assertThat(digestMap).containsEntry(MessageDigestAlgorithms.SHA_1, DigestUtils.sha1Hex(content));
+            });
+        }
+
+        assertThat(Files.exists(repositoryPath)).isTrue();
+    }
+
     @ExtendWith({ RepositoryManagementTestExecutionListener.class })
     @Test
     public void testLastVersionManagement(@MavenRepository(repositoryId = LAST_VERSION_RELEASES)
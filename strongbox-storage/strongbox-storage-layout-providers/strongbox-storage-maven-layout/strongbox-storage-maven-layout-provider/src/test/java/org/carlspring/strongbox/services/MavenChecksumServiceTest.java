@@ -1,6 +1,7 @@
 package org.carlspring.strongbox.services;
 
 import org.carlspring.strongbox.config.Maven2LayoutProviderTestConfig;
+import org.carlspring.strongbox.services.support.ChecksumRegenerationProgress;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.testing.artifact.ArtifactManagementTestExecutionListener;
 import org.carlspring.strongbox.testing.artifact.MavenTestArtifact;
@@ -12,8 +13,10 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.security.NoSuchAlgorithmException;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.codec.digest.MessageDigestAlgorithms;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
@@ -49,6 +52,8 @@ public class MavenChecksumServiceTest
     
     private static final String A3 = "org/carlspring/strongbox/checksum/maven/checksum-rewrite/1.0/checksum-rewrite-1.0.jar";
     
+    private static final String A4 = "org/carlspring/strongbox/checksum/maven/checksum-incremental/1.0/checksum-incremental-1.0.jar";
+
     private static final String S2 = "org/carlspring/strongbox/checksum/maven/strongbox-checksum/2.0-SNAPSHOT/strongbox-checksum-2.0-20180320.011625-1.jar";
     
     @Inject
@@ -403,4 +408,46 @@ public class MavenChecksumServiceTest
                 .isTrue();
     }
 
+    @Test
+    @ExtendWith({RepositoryManagementTestExecutionListener.class,
+                 ArtifactManagementTestExecutionListener.class})
+    public void testIncrementalMavenChecksumRegeneration(@MavenRepository(repositoryId = REPOSITORY_RELEASES)
+                                                         Repository repository,
+                                                         @MavenTestArtifact(repositoryId = REPOSITORY_RELEASES,
+                                                                            resource = A4)
+                                                         Path artifact)
+            throws IOException,
+                   XmlPullParserException,
+                   NoSuchAlgorithmException
+    {
+        final String storageId = repository.getStorage().getId();
+        final String repositoryId = repository.getId();
+        final String basePath = "org/carlspring/strongbox/checksum/maven/checksum-incremental";
+
+        artifactMetadataService.rebuildMetadata(storageId, repositoryId, basePath);
+
+        checksumService.regenerateChecksum(storageId, repositoryId, basePath, false);
+
+        // All the checksums are up to date, so none of the files should be read.
+        ChecksumRegenerationProgress progress = new ChecksumRegenerationProgress();
+        checksumService.regenerateChecksum(storageId, repositoryId, basePath, false, progress);
+
+        assertThat(progress.getRegeneratedFiles()).isEqualTo(0);
+        assertThat(progress.getSkippedFiles()).isGreaterThan(0);
+        assertThat(progress.getBytesRead()).isEqualTo(0);
+
+        // The checksum file which is older than the artifact should be rewritten.
+        Path md5File = artifact.resolveSibling(artifact.getFileName().toString() + ".md5");
+        Files.write(md5File, "".getBytes());
+        Files.setLastModifiedTime(md5File, FileTime.fromMillis(Files.getLastModifiedTime(artifact).toMillis()
+                - TimeUnit.MINUTES.toMillis(1)));
+
+        progress = new ChecksumRegenerationProgress();
+        checksumService.regenerateChecksum(storageId, repositoryId, basePath, false, progress);
+
+        assertThat(progress.getRegeneratedFiles()).isEqualTo(1);
+        assertThat(progress.getBytesRead()).isEqualTo(Files.size(artifact));
+        assertThat(Files.size(md5File)).as("The checksum file for artifact is empty!").isGreaterThan(0);
+    }
+
 }
@@ -0,0 +1,42 @@
+package org.carlspring.strongbox.actuator;
+
+import org.carlspring.strongbox.artifact.ArtifactDownloadCountAggregator;
+
+import javax.inject.Inject;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the {@link ArtifactDownloadCountAggregator} state through the metrics endpoint.
+ */
+@Component
+public class ArtifactDownloadCountMetrics implements MeterBinder
+{
+
+    @Inject
+    private ArtifactDownloadCountAggregator artifactDownloadCountAggregator;
+
+    @Override
+    public void bindTo(MeterRegistry registry)
+    {
+        Gauge.builder("strongbox.artifact.downloads.pending", artifactDownloadCountAggregator,
+                      ArtifactDownloadCountAggregator::getPendingUpdates)
+             .description("Artifact downloads which are not yet written into the artifact entries")
+             .register(registry);
+
+        FunctionCounter.builder("strongbox.artifact.downloads.flushed", artifactDownloadCountAggregator,
+                                ArtifactDownloadCountAggregator::getFlushedUpdates)
+                       .description("Artifact downloads written into the artifact entries")
+                       .register(registry);
+
+        FunctionCounter.builder("strongbox.artifact.downloads.failedFlushes", artifactDownloadCountAggregator,
+                                ArtifactDownloadCountAggregator::getFailedFlushes)
+                       .description("Failed download count flushes")
+                       .register(registry);
+    }
+
+}
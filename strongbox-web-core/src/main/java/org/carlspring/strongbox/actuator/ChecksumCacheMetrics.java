@@ -0,0 +1,51 @@
+package org.carlspring.strongbox.actuator;
+
+import org.carlspring.strongbox.storage.checksum.ChecksumCacheManager;
+
+import javax.inject.Inject;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the {@link ChecksumCacheManager} state through the metrics endpoint.
+ */
+@Component
+public class ChecksumCacheMetrics implements MeterBinder
+{
+
+    @Inject
+    private ChecksumCacheManager checksumCacheManager;
+
+    @Override
+    public void bindTo(MeterRegistry registry)
+    {
+        Gauge.builder("strongbox.checksum.cache.size", checksumCacheManager, ChecksumCacheManager::getSize)
+             .description("Artifact paths with the cached upload checksums")
+             .register(registry);
+
+        FunctionCounter.builder("strongbox.checksum.cache.hits", checksumCacheManager,
+                                ChecksumCacheManager::getHits)
+                       .description("Checksum cache lookups which found the checksums")
+                       .register(registry);
+
+        FunctionCounter.builder("strongbox.checksum.cache.misses", checksumCacheManager,
+                                ChecksumCacheManager::getMisses)
+                       .description("Checksum cache lookups which didn't find the checksums")
+                       .register(registry);
+
+        FunctionCounter.builder("strongbox.checksum.cache.expirations", checksumCacheManager,
+                                ChecksumCacheManager::getExpirations)
+                       .description("Cached checksums which have expired without being claimed")
+                       .register(registry);
+
+        FunctionCounter.builder("strongbox.checksum.cache.evictions", checksumCacheManager,
+                                ChecksumCacheManager::getEvictions)
+                       .description("Cached checksums which have been evicted by the cache size limit")
+                       .register(registry);
+    }
+
+}
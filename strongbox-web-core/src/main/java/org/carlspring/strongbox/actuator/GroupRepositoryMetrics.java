@@ -0,0 +1,57 @@
+package org.carlspring.strongbox.actuator;
+
+import org.carlspring.strongbox.providers.repository.group.GroupMemberArtifactPathFilter;
+import org.carlspring.strongbox.providers.repository.group.GroupRepositoryPathResolutionCache;
+
+import javax.inject.Inject;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the {@link GroupRepositoryPathResolutionCache} and the {@link GroupMemberArtifactPathFilter} state through
+ * the metrics endpoint.
+ */
+@Component
+public class GroupRepositoryMetrics implements MeterBinder
+{
+
+    @Inject
+    private GroupRepositoryPathResolutionCache groupRepositoryPathResolutionCache;
+
+    @Inject
+    private GroupMemberArtifactPathFilter groupMemberArtifactPathFilter;
+
+    @Override
+    public void bindTo(MeterRegistry registry)
+    {
+        Gauge.builder("strongbox.group.resolutionCache.size", groupRepositoryPathResolutionCache,
+                      GroupRepositoryPathResolutionCache::getSize)
+             .description("Paths with the cached group resolutions")
+             .register(registry);
+
+        FunctionCounter.builder("strongbox.group.resolutionCache.hits", groupRepositoryPathResolutionCache,
+                                GroupRepositoryPathResolutionCache::getHits)
+                       .description("Group lookups answered from the resolution cache")
+                       .register(registry);
+
+        FunctionCounter.builder("strongbox.group.memberFilter.skippedLookups", groupMemberArtifactPathFilter,
+                                GroupMemberArtifactPathFilter::getSkippedLookups)
+                       .description("Group member lookups skipped by the member path filters")
+                       .register(registry);
+
+        Gauge.builder("strongbox.group.memberFilter.sizeInBytes", groupMemberArtifactPathFilter,
+                      GroupMemberArtifactPathFilter::getSizeInBytes)
+             .description("Size of the built member path filters")
+             .register(registry);
+
+        Gauge.builder("strongbox.group.memberFilter.falsePositiveProbability", groupMemberArtifactPathFilter,
+                      GroupMemberArtifactPathFilter::getFalsePositiveProbability)
+             .description("Highest false positive probability of the built member path filters")
+             .register(registry);
+    }
+
+}
@@ -0,0 +1,76 @@
+package org.carlspring.strongbox.actuator;
+
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryFetchCoalescer;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryNegativeLookupCache;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryPrefetcher;
+
+import javax.inject.Inject;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the {@link ProxyRepositoryFetchCoalescer}, the {@link ProxyRepositoryNegativeLookupCache} and the
+ * {@link ProxyRepositoryPrefetcher} state through the metrics endpoint.
+ */
+@Component
+public class ProxyRepositoryFetchMetrics implements MeterBinder
+{
+
+    @Inject
+    private ProxyRepositoryFetchCoalescer proxyRepositoryFetchCoalescer;
+
+    @Inject
+    private ProxyRepositoryNegativeLookupCache proxyRepositoryNegativeLookupCache;
+
+    @Inject
+    private ProxyRepositoryPrefetcher proxyRepositoryPrefetcher;
+
+    @Override
+    public void bindTo(MeterRegistry registry)
+    {
+        FunctionCounter.builder("strongbox.proxy.fetches.remote", proxyRepositoryFetchCoalescer,
+                                ProxyRepositoryFetchCoalescer::getRemoteFetches)
+                       .description("Proxy cache misses fetched from the remote repository")
+                       .register(registry);
+
+        FunctionCounter.builder("strongbox.proxy.fetches.coalesced", proxyRepositoryFetchCoalescer,
+                                ProxyRepositoryFetchCoalescer::getCoalescedFetches)
+                       .description("Proxy cache misses served by another in-flight fetch of the same path")
+                       .register(registry);
+
+        Gauge.builder("strongbox.proxy.fetches.inFlight", proxyRepositoryFetchCoalescer,
+                      ProxyRepositoryFetchCoalescer::getInFlightFetches)
+             .description("Remote fetches in progress")
+             .register(registry);
+
+        FunctionCounter.builder("strongbox.proxy.fetches.negativeLookup", proxyRepositoryNegativeLookupCache,
+                                ProxyRepositoryNegativeLookupCache::getHits)
+                       .description("Proxy cache misses answered by the negative lookup cache")
+                       .register(registry);
+
+        FunctionCounter.builder("strongbox.proxy.prefetches", proxyRepositoryPrefetcher,
+                                ProxyRepositoryPrefetcher::getPrefetches)
+                       .description("Paths fetched from the remote repository by the prefetches")
+                       .register(registry);
+
+        FunctionCounter.builder("strongbox.proxy.prefetches.dropped", proxyRepositoryPrefetcher,
+                                ProxyRepositoryPrefetcher::getDroppedPrefetches)
+                       .description("Prefetches dropped due to the queue capacity or the remote concurrency limit")
+                       .register(registry);
+
+        FunctionCounter.builder("strongbox.proxy.prefetches.hits", proxyRepositoryPrefetcher,
+                                ProxyRepositoryPrefetcher::getHits)
+                       .description("Prefetched paths which were requested afterwards")
+                       .register(registry);
+
+        Gauge.builder("strongbox.proxy.prefetches.hitRatio", proxyRepositoryPrefetcher,
+                      ProxyRepositoryPrefetcher::getHitRatio)
+             .description("Ratio of the prefetched paths which were requested afterwards")
+             .register(registry);
+    }
+
+}
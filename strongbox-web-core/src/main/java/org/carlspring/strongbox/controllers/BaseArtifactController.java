@@ -1,14 +1,19 @@
 package org.carlspring.strongbox.controllers;
 
+import org.carlspring.strongbox.event.artifact.ArtifactEventListenerRegistry;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryStreamSupport.RepositoryInputStream;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyStreamThroughContext;
 import org.carlspring.strongbox.services.ArtifactManagementService;
 import org.carlspring.strongbox.utils.ArtifactControllerHelper;
 
 import javax.inject.Inject;
+import java.io.IOException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.InputStream;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.RequestMethod;
@@ -20,6 +25,105 @@ public abstract class BaseArtifactController
     @Inject
     protected ArtifactManagementService artifactManagementService;
 
+    /**
+     * Non-ranged downloads are transferred straight from the storage channel when enabled,
+     * see {@link #transferToResponse(RepositoryInputStream, HttpServletResponse)}.
+     */
+    @Value("${strongbox.download.zeroCopy:true}")
+    protected boolean zeroCopyDownload;
+
+    /**
+     * The proxied artifacts, which are not cached yet, are served while they are being fetched from the remote
+     * repository when enabled, instead of being served once they were stored.
+     */
+    @Value("${strongbox.download.proxy.streamThrough:false}")
+    protected boolean streamThroughProxyDownload;
+
+    @Inject
+    protected StreamThroughResponseExecutor streamThroughResponseExecutor;
+
+    @Inject
+    protected ArtifactEventListenerRegistry artifactEventListenerRegistry;
+
+    /**
+     * Resolves the path and provides the download response, see
+     * {@link #provideArtifactDownloadResponse(HttpServletRequest, HttpServletResponse, HttpHeaders, RepositoryPath)}.
+     * <p>
+     * If the path is fetched from the remote repository during the resolution, the fetched content is streamed through
+     * to the response while it's being stored, see {@link StreamThroughResponse}. The response is completed only if
+     * the content was fetched and validated completely, otherwise the response is aborted and the partially stored
+     * content is discarded.
+     */
+    protected boolean resolveAndProvideArtifactDownloadResponse(HttpServletRequest request,
+                                                                HttpServletResponse response,
+                                                                HttpHeaders httpHeaders,
+                                                                String storageId,
+                                                                String repositoryId,
+                                                                String path)
+            throws Exception
+    {
+        if (!streamThroughProxyDownload ||
+            !request.getMethod().equals(RequestMethod.GET.name()) ||
+            ArtifactControllerHelper.isRangedRequest(httpHeaders))
+        {
+            RepositoryPath repositoryPath = artifactResolutionService.resolvePath(storageId, repositoryId, path);
+
+            return provideArtifactDownloadResponse(request, response, httpHeaders, repositoryPath);
+        }
+
+        StreamThroughResponse streamThroughResponse = new StreamThroughResponse(request, response, path,
+                                                                                streamThroughResponseExecutor);
+        RepositoryPath repositoryPath;
+
+        ProxyStreamThroughContext.bind(streamThroughResponse);
+        try
+        {
+            repositoryPath = artifactResolutionService.resolvePath(storageId, repositoryId, path);
+        }
+        catch (Exception e)
+        {
+            // If the response was committed, it should be aborted, instead of being completed with the error body.
+            try
+            {
+                streamThroughResponse.await();
+            }
+            catch (IOException abortedException)
+            {
+                abortedException.addSuppressed(e);
+
+                throw abortedException;
+            }
+
+            throw e;
+        }
+        finally
+        {
+            ProxyStreamThroughContext.unbind();
+        }
+
+        if (!streamThroughResponse.isOpened())
+        {
+            return provideArtifactDownloadResponse(request, response, httpHeaders, repositoryPath);
+        }
+
+        // The path lock is released by now, so only this thread waits for the client.
+        long totalBytes = streamThroughResponse.await();
+        if (response.getStatus() == HttpStatus.NOT_MODIFIED.value())
+        {
+            return true;
+        }
+
+        logger.debug("Streamed through {} bytes: {}", totalBytes, repositoryPath);
+
+        if (RepositoryFiles.isArtifact(repositoryPath))
+        {
+            artifactEventListenerRegistry.dispatchArtifactDownloadingEvent(repositoryPath);
+            artifactEventListenerRegistry.dispatchArtifactDownloadedEvent(repositoryPath);
+        }
+
+        return true;
+    }
+
     protected boolean provideArtifactDownloadResponse(HttpServletRequest request,
                                                       HttpServletResponse response,
                                                       HttpHeaders httpHeaders,
@@ -27,27 +131,37 @@ public abstract class BaseArtifactController
             throws Exception
     {
         logger.debug("Resolved path: {}", repositoryPath);
-        ArtifactControllerHelper.provideArtifactHeaders(response, repositoryPath);
+        ArtifactControllerHelper.provideArtifactHeaders(request, response, repositoryPath);
         if (response.getStatus() == HttpStatus.NOT_FOUND.value())
         {
             return false;
         }
-        else if (request.getMethod().equals(RequestMethod.HEAD.name()))
+        else if (response.getStatus() == HttpStatus.NOT_MODIFIED.value() ||
+                 request.getMethod().equals(RequestMethod.HEAD.name()))
         {
             return true;
         }
 
         
-        try (InputStream is = artifactResolutionService.getInputStream(repositoryPath);)
+        try (RepositoryInputStream is = artifactResolutionService.getInputStream(repositoryPath);)
         {
             if (ArtifactControllerHelper.isRangedRequest(httpHeaders))
             {
                 logger.debug("Detected ranged request.");
 
                 ArtifactControllerHelper.handlePartialDownload(is, httpHeaders, response);
+                
+                copyToResponse(is, response);
+            }
+            // Checksums are tiny and could be served virtually from the artifact entry, so they are just copied.
+            else if (zeroCopyDownload && !RepositoryFiles.isChecksum(repositoryPath))
+            {
+                transferToResponse(is, response);
+            }
+            else
+            {
+                copyToResponse(is, response);
             }
-            
-            copyToResponse(is, response);
         }
 
         return true;
@@ -8,6 +8,7 @@ import org.carlspring.strongbox.controllers.support.ListEntityBody;
 import org.carlspring.strongbox.controllers.support.ResponseEntityBody;
 import org.carlspring.strongbox.exception.ExceptionHandlingOutputStream;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.providers.io.RepositoryStreamSupport.RepositoryInputStream;
 import org.carlspring.strongbox.services.ArtifactResolutionService;
 import org.carlspring.strongbox.services.ConfigurationManagementService;
 import org.carlspring.strongbox.storage.Storage;
@@ -19,6 +20,8 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.util.List;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -309,4 +312,27 @@ public abstract class BaseController
             response.flushBuffer();
         }
     }
+
+    /**
+     * Streams the artifact content to the client straight from the storage channel, see
+     * {@link RepositoryInputStream#transferTo(WritableByteChannel)}. The <code>Content-Length</code> header is
+     * expected to be already provided.
+     *
+     * @param is       RepositoryInputStream
+     * @param response HttpServletResponse
+     * @throws IOException
+     */
+    protected void transferToResponse(RepositoryInputStream is,
+                                      HttpServletResponse response)
+            throws IOException
+    {
+        try (OutputStream os = new ExceptionHandlingOutputStream(response.getOutputStream()))
+        {
+            long totalBytes = is.transferTo(Channels.newChannel(os));
+
+            logger.debug("Transferred {} bytes to the response.", totalBytes);
+
+            response.flushBuffer();
+        }
+    }
 }
@@ -7,6 +7,8 @@ import org.carlspring.strongbox.exception.Http202PropogateException;
 import org.carlspring.strongbox.exception.RepositoryNotFoundException;
 import org.carlspring.strongbox.exception.ServiceUnavailableException;
 import org.carlspring.strongbox.exception.StorageNotFoundException;
+import org.carlspring.strongbox.exception.StreamThroughAbortedException;
+import org.carlspring.strongbox.providers.repository.proxied.RemoteRepositoryOverloadedException;
 import org.carlspring.strongbox.validation.RequestBodyValidationError;
 import org.carlspring.strongbox.validation.RequestBodyValidationException;
 
@@ -89,6 +91,22 @@ public class DefaultExceptionHandler extends ResponseEntityExceptionHandler
         return handleExceptionInternal(ex, body, headers, HttpStatus.SERVICE_UNAVAILABLE, request);
     }
     
+    /**
+     * The fetch was shed by the remote repository concurrency limit, which is the expected overload response rather
+     * than an error, so the client is asked to retry later.
+     */
+    @ExceptionHandler(RemoteRepositoryOverloadedException.class)
+    protected ResponseEntity<?> handleRemoteRepositoryOverloadedException(final RemoteRepositoryOverloadedException ex,
+                                                                          final WebRequest request)
+    {
+        logger.debug(ex.getMessage());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+
+        return handleExceptionInternal(ex, null, headers, HttpStatus.SERVICE_UNAVAILABLE, request);
+    }
+
     @ExceptionHandler(Http202PropogateException.class)
     protected void handleHttp202PropogateException(Exception ex, HttpServletResponse httpResponse)
     {
@@ -96,6 +114,19 @@ public class DefaultExceptionHandler extends ResponseEntityExceptionHandler
         httpResponse.setStatus(202);
     }
 
+    /**
+     * The response is already committed, so the exception is propagated to the container, which aborts the connection,
+     * instead of completing the response with the error body.
+     */
+    @ExceptionHandler(StreamThroughAbortedException.class)
+    protected void handleStreamThroughAbortedException(StreamThroughAbortedException ex)
+        throws StreamThroughAbortedException
+    {
+        logger.warn(ex.getMessage(), ex.getCause());
+
+        throw ex;
+    }
+
     @ExceptionHandler(Exception.class)
     protected ResponseEntity<?> handleUnknownError(Exception ex,
                                                    WebRequest request)
@@ -0,0 +1,351 @@
+package org.carlspring.strongbox.controllers;
+
+import org.carlspring.strongbox.exception.ExceptionHandlingOutputStream;
+import org.carlspring.strongbox.exception.Http202PropogateException;
+import org.carlspring.strongbox.exception.StreamThroughAbortedException;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.TempRepositoryPath;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyStreamThroughTarget;
+import org.carlspring.strongbox.utils.ArtifactControllerHelper;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullOutputStream;
+import org.springframework.http.HttpStatus;
+
+/**
+ * The client response, which the proxied artifact is streamed through to while it's being fetched from the remote
+ * repository.
+ * <p>
+ * The fetched content is spooled into the temporary file of the repository, which is written to the client by the
+ * {@link StreamThroughResponseExecutor}, so the fetch never blocks on the client while it holds the path lock. The
+ * request thread awaits the written response once the fetch is over, see {@link #await()}. If the fetch failed, the
+ * response is aborted, so the client is not able to take the partial content for the complete one.
+ */
+class StreamThroughResponse
+        implements ProxyStreamThroughTarget
+{
+
+    private final HttpServletRequest request;
+
+    private final HttpServletResponse response;
+
+    private final String path;
+
+    private final StreamThroughResponseExecutor executor;
+
+    private final AtomicBoolean claimed = new AtomicBoolean();
+
+    private volatile boolean opened;
+
+    private volatile Spool spool;
+
+    private volatile Future<Long> writer;
+
+    StreamThroughResponse(HttpServletRequest request,
+                          HttpServletResponse response,
+                          String path,
+                          StreamThroughResponseExecutor executor)
+    {
+        this.request = request;
+        this.response = response;
+        this.path = path.startsWith("/") ? path.substring(1) : path;
+        this.executor = executor;
+    }
+
+    @Override
+    public boolean claim(RepositoryPath repositoryPath)
+    {
+        try
+        {
+            return path.equals(RepositoryFiles.relativizePath(repositoryPath)) && claimed.compareAndSet(false, true);
+        }
+        catch (IOException e)
+        {
+            return false;
+        }
+    }
+
+    @Override
+    public OutputStream open(RepositoryPath repositoryPath,
+                             Map<String, String> checksums)
+        throws IOException
+    {
+        opened = true;
+
+        ArtifactControllerHelper.provideStreamThroughHeaders(request, response, repositoryPath, checksums);
+        if (response.getStatus() == HttpStatus.NOT_MODIFIED.value())
+        {
+            // The artifact is still fetched and stored, but there is nothing to serve.
+            return NullOutputStream.NULL_OUTPUT_STREAM;
+        }
+
+        Path spoolDirectory = TempRepositoryPath.of(repositoryPath).getTarget().getParent();
+        spool = new Spool(Files.createTempFile(spoolDirectory, repositoryPath.getFileName().toString() + "-",
+                                               ".stream"));
+        writer = executor.submit(this::write);
+
+        return spool.getOutputStream();
+    }
+
+    @Override
+    public void complete()
+    {
+        Spool s = spool;
+        if (s != null)
+        {
+            s.complete();
+        }
+    }
+
+    @Override
+    public void abort()
+    {
+        Spool s = spool;
+        if (s != null)
+        {
+            s.abort();
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the response was provided by this target
+     */
+    boolean isOpened()
+    {
+        return opened;
+    }
+
+    /**
+     * Waits until the spooled content was written to the client.
+     *
+     * @return the number of the written bytes
+     * @throws StreamThroughAbortedException if the fetch failed, so the response should be aborted
+     */
+    long await()
+        throws IOException
+    {
+        Spool s = spool;
+        if (s == null)
+        {
+            return 0;
+        }
+
+        try
+        {
+            return writer.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            writer.cancel(true);
+
+            throw new StreamThroughAbortedException(String.format("Interrupted while streaming [%s].", path), e);
+        }
+        catch (ExecutionException e)
+        {
+            if (e.getCause() instanceof Http202PropogateException)
+            {
+                throw (Http202PropogateException) e.getCause();
+            }
+
+            throw new StreamThroughAbortedException(String.format("Failed to stream [%s].", path), e.getCause());
+        }
+        finally
+        {
+            s.close();
+        }
+    }
+
+    private long write()
+        throws IOException
+    {
+        try (InputStream is = spool.getInputStream())
+        {
+            OutputStream os = new ExceptionHandlingOutputStream(response.getOutputStream());
+            long totalBytes = IOUtils.copyLarge(is, os);
+            os.flush();
+
+            return totalBytes;
+        }
+    }
+
+    /**
+     * The file, which is written by the single writer and read by the single reader, which waits for the content to
+     * be written until it's either completed or aborted.
+     */
+    private static class Spool
+            implements Closeable
+    {
+
+        private final Path file;
+
+        private final OutputStream out;
+
+        private long length;
+
+        private boolean completed;
+
+        private boolean aborted;
+
+        private Spool(Path file)
+            throws IOException
+        {
+            this.file = file;
+            this.out = Files.newOutputStream(file);
+        }
+
+        private OutputStream getOutputStream()
+        {
+            return new OutputStream()
+            {
+
+                @Override
+                public void write(int b)
+                    throws IOException
+                {
+                    write(new byte[]{ (byte) b }, 0, 1);
+                }
+
+                @Override
+                public void write(byte[] b,
+                                  int off,
+                                  int len)
+                    throws IOException
+                {
+                    // The file stream is not buffered, so the written content is visible to the reader.
+                    out.write(b, off, len);
+                    written(len);
+                }
+
+            };
+        }
+
+        private InputStream getInputStream()
+            throws IOException
+        {
+            InputStream in = Files.newInputStream(file);
+
+            return new InputStream()
+            {
+
+                private long position;
+
+                @Override
+                public int read()
+                    throws IOException
+                {
+                    byte[] b = new byte[1];
+
+                    return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+                }
+
+                @Override
+                public int read(byte[] b,
+                                int off,
+                                int len)
+                    throws IOException
+                {
+                    long available = awaitAvailable(position);
+                    if (available < 0)
+                    {
+                        return -1;
+                    }
+
+                    int result = in.read(b, off, (int) Math.min(len, available));
+                    if (result > 0)
+                    {
+                        position += result;
+                    }
+
+                    return result;
+                }
+
+                @Override
+                public void close()
+                    throws IOException
+                {
+                    in.close();
+                }
+
+            };
+        }
+
+        private synchronized void written(int len)
+        {
+            length += len;
+            notifyAll();
+        }
+
+        private synchronized void complete()
+        {
+            completed = true;
+            notifyAll();
+        }
+
+        private synchronized void abort()
+        {
+            aborted = true;
+            notifyAll();
+        }
+
+        /**
+         * @return the number of the bytes available from the position, or <code>-1</code> if the content was
+         * completed and read
+         */
+        private synchronized long awaitAvailable(long position)
+            throws IOException
+        {
+            while (!aborted && !completed && length == position)
+            {
+                try
+                {
+                    wait();
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+
+                    throw new InterruptedIOException();
+                }
+            }
+
+            if (aborted)
+            {
+                throw new IOException("The fetch of the content was aborted.");
+            }
+
+            return length > position ? length - position : -1;
+        }
+
+        @Override
+        public void close()
+            throws IOException
+        {
+            try
+            {
+                out.close();
+            }
+            finally
+            {
+                Files.deleteIfExists(file);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,42 @@
+package org.carlspring.strongbox.controllers;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the writers of the streamed through responses (see {@link StreamThroughResponse}), which block on the client, so
+ * the remote fetch, which holds the path lock, doesn't. Each writer is awaited by its request thread, so the amount of
+ * the writers is bounded by the amount of the request threads.
+ */
+@Component
+public class StreamThroughResponseExecutor
+        implements DisposableBean
+{
+
+    private final AtomicInteger threadNumber = new AtomicInteger();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "stream-through-response-" + threadNumber.incrementAndGet());
+        thread.setDaemon(true);
+
+        return thread;
+    });
+
+    public <T> Future<T> submit(Callable<T> task)
+    {
+        return executor.submit(task);
+    }
+
+    @Override
+    public void destroy()
+    {
+        executor.shutdownNow();
+    }
+
+}
@@ -1,7 +1,10 @@
 package org.carlspring.strongbox.controllers.configuration;
 
+import org.carlspring.strongbox.controllers.support.ConcurrencyLimitEntityBody;
 import org.carlspring.strongbox.controllers.support.NumberOfConnectionsEntityBody;
 import org.carlspring.strongbox.controllers.support.PoolStatsEntityBody;
+import org.carlspring.strongbox.providers.repository.proxied.AdaptiveConcurrencyLimit;
+import org.carlspring.strongbox.providers.repository.proxied.RemoteRepositoryConcurrencyLimiter;
 import org.carlspring.strongbox.service.ProxyRepositoryConnectionPoolConfigurationService;
 import org.carlspring.strongbox.services.ConfigurationManagementService;
 import org.carlspring.strongbox.storage.repository.RepositoryData;
@@ -37,11 +40,15 @@ public class HttpConnectionPoolConfigurationManagementController
 {
     private final ProxyRepositoryConnectionPoolConfigurationService proxyRepositoryConnectionPoolConfigurationService;
 
+    private final RemoteRepositoryConcurrencyLimiter remoteRepositoryConcurrencyLimiter;
+
     public HttpConnectionPoolConfigurationManagementController(ConfigurationManagementService configurationManagementService,
-                                                               ProxyRepositoryConnectionPoolConfigurationService proxyRepositoryConnectionPoolConfigurationService)
+                                                               ProxyRepositoryConnectionPoolConfigurationService proxyRepositoryConnectionPoolConfigurationService,
+                                                               RemoteRepositoryConcurrencyLimiter remoteRepositoryConcurrencyLimiter)
     {
         super(configurationManagementService);
         this.proxyRepositoryConnectionPoolConfigurationService = proxyRepositoryConnectionPoolConfigurationService;
+        this.remoteRepositoryConcurrencyLimiter = remoteRepositoryConcurrencyLimiter;
     }
 
     @ApiOperation(value = "Update number of pool connections pool for proxy repository")
@@ -102,6 +109,39 @@ public class HttpConnectionPoolConfigurationManagementController
         return ResponseEntity.ok(getPoolStatsEntityBody(poolStats, accept));
     }
 
+    @ApiOperation(value = "Get proxy repository adaptive concurrency limit stats")
+    @ApiResponses(value = { @ApiResponse(code = 200,
+                                         message = "Proxy repository concurrency limit stats were retrieved."),
+                            @ApiResponse(code = 400,
+                                         message = "Repository doesn't have remote repository!"),
+                            @ApiResponse(code = 404,
+                                         message = "The (storage/repository) does not exist, or its remote fetches " +
+                                                   "were not limited yet!") })
+    @GetMapping(value = "{storageId}/{repositoryId}/concurrency-limit",
+                produces = { MediaType.TEXT_PLAIN_VALUE,
+                             MediaType.APPLICATION_JSON_VALUE })
+    public ResponseEntity getConcurrencyLimitForProxyRepository(@RepositoryMapping Repository repository,
+                                                                @RequestHeader(HttpHeaders.ACCEPT) String accept)
+    {
+        final RepositoryData immutableRepository = (RepositoryData) repository;
+        if (immutableRepository.getRemoteRepository() == null)
+        {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                                 .body(getResponseEntityBody("Repository doesn't have remote repository!", accept));
+        }
+
+        // The lookup doesn't create the limit, so the limits are not kept for the repositories which are not fetched.
+        AdaptiveConcurrencyLimit concurrencyLimit = remoteRepositoryConcurrencyLimiter.findLimit(
+                immutableRepository.getRemoteRepository().getUrl());
+        if (concurrencyLimit == null)
+        {
+            String message = "Remote repository fetches were not limited yet!";
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(getResponseEntityBody(message, accept));
+        }
+
+        return ResponseEntity.ok(getConcurrencyLimitEntityBody(concurrencyLimit, accept));
+    }
+
     @ApiOperation(value = "Update default number of connections for proxy repository")
     @ApiResponses(value = { @ApiResponse(code = 200,
                                          message = "Default number of connections for proxy repository was updated successfully."),
@@ -176,6 +216,19 @@ public class HttpConnectionPoolConfigurationManagementController
         }
     }
 
+    private Object getConcurrencyLimitEntityBody(AdaptiveConcurrencyLimit concurrencyLimit, String accept)
+    {
+        ConcurrencyLimitEntityBody body = new ConcurrencyLimitEntityBody(concurrencyLimit);
+        if (MediaType.APPLICATION_JSON_VALUE.equals(accept))
+        {
+            return body;
+        }
+        else
+        {
+            return body.toString();
+        }
+    }
+
     private Object getPoolStatsEntityBody(PoolStats poolStats, String accept)
     {
         if (MediaType.APPLICATION_JSON_VALUE.equals(accept))
@@ -68,9 +68,7 @@ public class MavenArtifactController
         logger.debug("Requested /{}/{}/{}.", storageId, repositoryId, artifactPath);
 
         artifactPath = correctIndexPathIfNecessary(repository, artifactPath);
-        RepositoryPath repositoryPath = artifactResolutionService.resolvePath(storageId, repositoryId, artifactPath);
-        
-        provideArtifactDownloadResponse(request, response, httpHeaders, repositoryPath);
+        resolveAndProvideArtifactDownloadResponse(request, response, httpHeaders, storageId, repositoryId, artifactPath);
     }
 
     @ApiOperation(value = "Used to deploy an artifact")
@@ -0,0 +1,70 @@
+package org.carlspring.strongbox.controllers.support;
+
+import org.carlspring.strongbox.providers.repository.proxied.AdaptiveConcurrencyLimit;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ConcurrencyLimitEntityBody
+{
+
+    @JsonProperty("limit")
+    private final int limit;
+
+    @JsonProperty("inFlight")
+    private final int inFlight;
+
+    @JsonProperty("queueDepth")
+    private final int queueDepth;
+
+    @JsonProperty("rejections")
+    private final long rejections;
+
+    @JsonProperty("averageLatencyMillis")
+    private final long averageLatencyMillis;
+
+    @JsonCreator
+    public ConcurrencyLimitEntityBody(AdaptiveConcurrencyLimit concurrencyLimit)
+    {
+        this.limit = concurrencyLimit.getLimit();
+        this.inFlight = concurrencyLimit.getInFlight();
+        this.queueDepth = concurrencyLimit.getQueueDepth();
+        this.rejections = concurrencyLimit.getRejections();
+        this.averageLatencyMillis = concurrencyLimit.getAverageLatencyMillis();
+    }
+
+    public int getLimit()
+    {
+        return limit;
+    }
+
+    public int getInFlight()
+    {
+        return inFlight;
+    }
+
+    public int getQueueDepth()
+    {
+        return queueDepth;
+    }
+
+    public long getRejections()
+    {
+        return rejections;
+    }
+
+    public long getAverageLatencyMillis()
+    {
+        return averageLatencyMillis;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("[limit: %s; inFlight: %s; queueDepth: %s; rejections: %s; averageLatencyMillis: %s]",
+                             limit, inFlight, queueDepth, rejections, averageLatencyMillis);
+    }
+
+}
@@ -3,6 +3,8 @@ package org.carlspring.strongbox.converters.configuration;
 import org.carlspring.strongbox.forms.configuration.RemoteRepositoryForm;
 import org.carlspring.strongbox.storage.repository.remote.RemoteRepositoryDto;
 
+import java.util.Optional;
+
 import org.springframework.core.convert.converter.Converter;
 
 /**
@@ -28,6 +30,10 @@ public enum RemoteRepositoryFormConverter
         result.setCheckIntervalSeconds(source.getCheckIntervalSeconds());
         result.setAllowsDirectoryBrowsing(source.isAllowsDirectoryBrowsing());
         result.setAutoImportRemoteSSLCertificate(source.isAutoImportRemoteSSLCertificate());
+        // The ranged download settings are optional, the defaults are kept unless they are specified.
+        Optional.ofNullable(source.getRangedDownloadThreshold()).ifPresent(result::setRangedDownloadThreshold);
+        Optional.ofNullable(source.getRangedDownloadChunkSize()).ifPresent(result::setRangedDownloadChunkSize);
+        Optional.ofNullable(source.getRangedDownloadConcurrency()).ifPresent(result::setRangedDownloadConcurrency);
         return result;
     }
 }
@@ -0,0 +1,19 @@
+package org.carlspring.strongbox.exception;
+
+import java.io.IOException;
+
+/**
+ * The streamed through response is already committed, but its content is not complete, so the response should be
+ * aborted (rather than completed with the error body), see
+ * {@link org.carlspring.strongbox.controllers.DefaultExceptionHandler}.
+ */
+public class StreamThroughAbortedException extends IOException
+{
+
+    public StreamThroughAbortedException(String message,
+                                         Throwable cause)
+    {
+        super(message, cause);
+    }
+
+}
@@ -2,12 +2,14 @@ package org.carlspring.strongbox.utils;
 
 import org.carlspring.commons.http.range.ByteRange;
 import org.carlspring.commons.http.range.ByteRangeHeaderParser;
+import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.io.ByteRangeInputStream;
 import org.carlspring.strongbox.io.StreamUtils;
 import org.carlspring.strongbox.providers.io.RepositoryFileAttributes;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.FilterInputStream;
 import java.io.IOException;
@@ -17,12 +19,15 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 
+import org.apache.commons.codec.digest.MessageDigestAlgorithms;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.web.context.request.ServletWebRequest;
 import static org.springframework.http.HttpStatus.PARTIAL_CONTENT;
 import static org.springframework.http.HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE;
 
@@ -140,7 +145,13 @@ public class ArtifactControllerHelper
         }
     }
 
-    public static void provideArtifactHeaders(HttpServletResponse response,
+    /**
+     * Provides the artifact response headers. If the request conditions (<code>If-None-Match</code>,
+     * <code>If-Modified-Since</code>) match the current state of the path, the response status is set to
+     * <code>304 Not Modified</code> and only the validator headers are provided.
+     */
+    public static void provideArtifactHeaders(HttpServletRequest request,
+                                              HttpServletResponse response,
                                               RepositoryPath path)
         throws IOException
     {
@@ -150,31 +161,29 @@ public class ArtifactControllerHelper
             return;
         }
         RepositoryFileAttributes fileAttributes = Files.readAttributes(path, RepositoryFileAttributes.class);
+        long lastModified = fileAttributes.lastModifiedTime().toMillis();
 
-        response.setHeader("Content-Length", String.valueOf(fileAttributes.size()));
         response.setHeader("Last-Modified", DateTimeFormatter.RFC_1123_DATE_TIME.format(
                 ZonedDateTime.ofInstant(fileAttributes.lastModifiedTime().toInstant(), ZoneId.systemDefault())));
-
-        // TODO: This is far from optimal and will need to have a content type approach at some point:
-        if (RepositoryFiles.isChecksum(path) || (path.getFileName().toString().endsWith(".properties")))
-        {
-            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
-        }
-        else if (path.getFileName().toString().endsWith("xml"))
-        {
-            response.setContentType(MediaType.APPLICATION_XML_VALUE);
-        }
-        else if (path.getFileName().toString().endsWith(".gz"))
-        {
-            response.setContentType(com.google.common.net.MediaType.GZIP.toString());
-        }
-        else
+        if (new ServletWebRequest(request, response).checkNotModified(calculateETag(path, fileAttributes),
+                                                                      lastModified))
         {
-            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            logger.debug("Path [{}] was not modified.", path);
+            return;
         }
 
+        response.setHeader("Content-Length", String.valueOf(fileAttributes.size()));
+
+        provideContentType(response, path);
+
         response.setHeader("Accept-Ranges", "bytes");
 
+        if (path.getRepository().isVirtualChecksumsEnabled() && fileAttributes.isArtifact())
+        {
+            provideVirtualChecksumHeaders(response, path);
+            return;
+        }
+
         path.getFileSystem().provider().resolveChecksumPathMap(path).entrySet().stream().forEach(e -> {
             String checksumValue;
             try
@@ -193,4 +202,104 @@ public class ArtifactControllerHelper
         
     }
 
+    /**
+     * Provides the response headers of the artifact which is streamed through while it's being fetched from the remote
+     * repository (see {@link #provideArtifactHeaders(HttpServletRequest, HttpServletResponse, RepositoryPath)}). The
+     * entity tag and the checksum headers are provided from the remote checksums, which the content is validated
+     * against, as the content and its length are not known yet. If the request conditions match the remote checksum,
+     * the response status is set to <code>304 Not Modified</code>.
+     */
+    public static void provideStreamThroughHeaders(HttpServletRequest request,
+                                                   HttpServletResponse response,
+                                                   RepositoryPath path,
+                                                   Map<String, String> checksums)
+        throws IOException
+    {
+        response.setStatus(HttpStatus.OK.value());
+        response.setHeader("Last-Modified", DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                ZonedDateTime.now(ZoneId.systemDefault())));
+
+        String sha1 = checksums.get(MessageDigestAlgorithms.SHA_1);
+        if (sha1 != null &&
+            new ServletWebRequest(request, response).checkNotModified(String.format("\"%s\"", sha1), -1))
+        {
+            logger.debug("Path [{}] was not modified.", path);
+            return;
+        }
+
+        provideContentType(response, path);
+
+        response.setHeader("Accept-Ranges", "bytes");
+
+        checksums.forEach((digestAlgorithm, checksumValue) -> response.setHeader(
+                String.format("Checksum-%s", digestAlgorithm.toUpperCase().replaceAll("-", "")), checksumValue));
+    }
+
+    private static void provideVirtualChecksumHeaders(HttpServletResponse response,
+                                                      RepositoryPath path)
+        throws IOException
+    {
+        ArtifactEntry artifactEntry = path.getArtifactEntry();
+        if (artifactEntry == null)
+        {
+            return;
+        }
+
+        for (String digestAlgorithm : path.getFileSystem().getDigestAlgorithmSet())
+        {
+            String checksumValue = artifactEntry.getChecksums().get(digestAlgorithm);
+            if (checksumValue == null)
+            {
+                continue;
+            }
+
+            response.setHeader(String.format("Checksum-%s", digestAlgorithm.toUpperCase().replaceAll("-", "")),
+                               checksumValue);
+        }
+    }
+
+    public static void provideContentType(HttpServletResponse response,
+                                          RepositoryPath path)
+        throws IOException
+    {
+        // TODO: This is far from optimal and will need to have a content type approach at some point:
+        if (RepositoryFiles.isChecksum(path) || (path.getFileName().toString().endsWith(".properties")))
+        {
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        }
+        else if (path.getFileName().toString().endsWith("xml"))
+        {
+            response.setContentType(MediaType.APPLICATION_XML_VALUE);
+        }
+        else if (path.getFileName().toString().endsWith(".gz"))
+        {
+            response.setContentType(com.google.common.net.MediaType.GZIP.toString());
+        }
+        else
+        {
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        }
+    }
+
+    /**
+     * Calculates a strong entity tag for the path: the SHA-1 digest stored within the {@link ArtifactEntry} for
+     * artifacts, and a hash of the file size and modification time for everything else (metadata, checksums, etc.).
+     */
+    public static String calculateETag(RepositoryPath path,
+                                       RepositoryFileAttributes fileAttributes)
+        throws IOException
+    {
+        ArtifactEntry artifactEntry = fileAttributes.isArtifact() ? path.getArtifactEntry() : null;
+        String sha1 = artifactEntry != null ? artifactEntry.getChecksums().get(MessageDigestAlgorithms.SHA_1) : null;
+        if (sha1 != null && artifactEntry.getSizeInBytes() != null
+                && artifactEntry.getSizeInBytes() == fileAttributes.size())
+        {
+            return String.format("\"%s\"", sha1);
+        }
+
+        return String.format("\"%s-%s\"",
+                             Long.toHexString(fileAttributes.size()),
+                             Long.toHexString(fileAttributes.lastModifiedTime().toMillis()));
+    }
+
 }
@@ -0,0 +1,320 @@
+package org.carlspring.strongbox.controllers;
+
+import org.carlspring.strongbox.booters.PropertiesBooter;
+import org.carlspring.strongbox.event.artifact.ArtifactEventListenerRegistry;
+import org.carlspring.strongbox.exception.StreamThroughAbortedException;
+import org.carlspring.strongbox.providers.io.LayoutFileSystem;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyStreamThroughContext;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyStreamThroughTarget;
+import org.carlspring.strongbox.services.ArtifactResolutionService;
+import org.carlspring.strongbox.storage.StorageDto;
+import org.carlspring.strongbox.storage.repository.RepositoryData;
+import org.carlspring.strongbox.storage.repository.RepositoryDto;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.codec.digest.MessageDigestAlgorithms;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BaseArtifactControllerStreamThroughTest
+{
+
+    private static final Path REPOSITORY_BASEDIR = Paths.get("target/strongbox-vault/storages/storage0/proxied")
+                                                        .toAbsolutePath();
+
+    private static final String PATH = "org/carlspring/test/1.0/test-1.0.jar";
+
+    private static final String SHA_1 = "2fd4e1c67a2d28fced849ee1bb76e7391b93eb12";
+
+    private static final byte[] CONTENT = new byte[64 * 1024];
+
+    @Mock
+    private ArtifactResolutionService artifactResolutionService;
+
+    @Mock
+    private ArtifactEventListenerRegistry artifactEventListenerRegistry;
+
+    @InjectMocks
+    private TestArtifactController controller = new TestArtifactController();
+
+    private StreamThroughResponseExecutor streamThroughResponseExecutor = new StreamThroughResponseExecutor();
+
+    private RepositoryPath repositoryPath;
+
+    @BeforeEach
+    public void setUp()
+    {
+        MockitoAnnotations.initMocks(this);
+        ReflectionTestUtils.setField(controller, "streamThroughProxyDownload", true);
+        ReflectionTestUtils.setField(controller, "streamThroughResponseExecutor", streamThroughResponseExecutor);
+
+        Arrays.fill(CONTENT, (byte) 'a');
+
+        RepositoryDto repository = new RepositoryDto("proxied");
+        repository.setStorage(new StorageDto("storage0"));
+        repository.setBasedir(REPOSITORY_BASEDIR.toString());
+        // The paths are artifacts, which are neither in the trash nor temporary.
+        LayoutFileSystemProvider provider = Mockito.mock(LayoutFileSystemProvider.class, i -> {
+            if ("readAttributes".equals(i.getMethod().getName()) && i.getArgument(1) instanceof String)
+            {
+                String attribute = i.getArgument(1);
+                attribute = attribute.substring(attribute.indexOf(':') + 1);
+
+                return Collections.singletonMap(attribute, "artifact".equals(attribute));
+            }
+
+            return Mockito.RETURNS_DEFAULTS.answer(i);
+        });
+        LayoutFileSystem repositoryFileSystem = new LayoutFileSystem(new PropertiesBooter(),
+                                                                     new RepositoryData(repository),
+                                                                     FileSystems.getDefault(), provider)
+        {
+            @Override
+            public Set<String> getDigestAlgorithmSet()
+            {
+                throw new UnsupportedOperationException();
+            }
+        };
+        repositoryPath = new RepositoryPath(REPOSITORY_BASEDIR, repositoryFileSystem).resolve(PATH);
+    }
+
+    @AfterEach
+    public void tearDown()
+    {
+        streamThroughResponseExecutor.destroy();
+    }
+
+    @Test
+    public void fetchedArtifactShouldBeStreamedThrough()
+        throws Exception
+    {
+        when(artifactResolutionService.resolvePath("storage0", "proxied", PATH)).thenAnswer(i -> fetch(true));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(download(new MockHttpServletRequest("GET", PATH), response)).isTrue();
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getContentAsByteArray()).isEqualTo(CONTENT);
+        assertThat(response.getHeader("Checksum-SHA1")).isEqualTo(SHA_1);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"" + SHA_1 + "\"");
+        assertThat(response.getHeader(HttpHeaders.LAST_MODIFIED)).isNotNull();
+        verify(artifactEventListenerRegistry).dispatchArtifactDownloadingEvent(repositoryPath);
+        verify(artifactEventListenerRegistry).dispatchArtifactDownloadedEvent(repositoryPath);
+    }
+
+    @Test
+    public void failedFetchShouldAbortTheResponse()
+        throws Exception
+    {
+        when(artifactResolutionService.resolvePath("storage0", "proxied", PATH)).thenAnswer(i -> fetch(false));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThatThrownBy(() -> download(new MockHttpServletRequest("GET", PATH), response))
+                .isInstanceOf(StreamThroughAbortedException.class)
+                .hasSuppressedException(new IOException("test"));
+
+        assertThat(response.getContentAsByteArray().length).isLessThan(CONTENT.length);
+        verify(artifactEventListenerRegistry, never()).dispatchArtifactDownloadingEvent(any());
+    }
+
+    @Test
+    public void fetchShouldNotBlockOnTheClient()
+        throws Exception
+    {
+        CountDownLatch fetched = new CountDownLatch(1);
+        when(artifactResolutionService.resolvePath("storage0", "proxied", PATH)).thenAnswer(i -> {
+            RepositoryPath result = fetch(true);
+            fetched.countDown();
+
+            return result;
+        });
+
+        CountDownLatch clientReady = new CountDownLatch(1);
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        MockHttpServletResponse response = new MockHttpServletResponse()
+        {
+            @Override
+            public ServletOutputStream getOutputStream()
+            {
+                return new BlockingServletOutputStream(content, clientReady);
+            }
+        };
+
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        Thread requestThread = new Thread(() -> {
+            try
+            {
+                download(new MockHttpServletRequest("GET", PATH), response);
+            }
+            catch (Exception e)
+            {
+                failure.set(e);
+            }
+        });
+        requestThread.start();
+
+        // The whole content is fetched (and the path lock is released), while the client doesn't read anything.
+        assertThat(fetched.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(content.size()).isZero();
+
+        clientReady.countDown();
+        requestThread.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertThat(failure.get()).isNull();
+        assertThat(content.toByteArray()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    public void notModifiedArtifactShouldNotBeStreamedThrough()
+        throws Exception
+    {
+        when(artifactResolutionService.resolvePath("storage0", "proxied", PATH)).thenAnswer(i -> fetch(true));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", PATH);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + SHA_1 + "\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(download(request, response)).isTrue();
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        verify(artifactEventListenerRegistry, never()).dispatchArtifactDownloadingEvent(any());
+    }
+
+    @Test
+    public void streamThroughShouldBeOptIn()
+        throws Exception
+    {
+        ReflectionTestUtils.setField(controller, "streamThroughProxyDownload", false);
+        when(artifactResolutionService.resolvePath("storage0", "proxied", PATH)).thenAnswer(i -> {
+            assertThat(ProxyStreamThroughContext.current()).isNull();
+
+            return null;
+        });
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(download(new MockHttpServletRequest("GET", PATH), response)).isFalse();
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
+    }
+
+    private boolean download(MockHttpServletRequest request,
+                             MockHttpServletResponse response)
+        throws Exception
+    {
+        HttpHeaders httpHeaders = new HttpHeaders();
+        Collections.list(request.getHeaderNames()).forEach(h -> httpHeaders.add(h, request.getHeader(h)));
+
+        return controller.resolveAndProvideArtifactDownloadResponse(request, response, httpHeaders, "storage0",
+                                                                    "proxied", PATH);
+    }
+
+    /**
+     * Fetches the path the way the proxy repository resolver does.
+     */
+    private RepositoryPath fetch(boolean successful)
+        throws IOException
+    {
+        ProxyStreamThroughTarget target = ProxyStreamThroughContext.take(repositoryPath);
+        assertThat(target).isNotNull();
+
+        OutputStream os = target.open(repositoryPath, Collections.singletonMap(MessageDigestAlgorithms.SHA_1, SHA_1));
+        if (!successful)
+        {
+            os.write(CONTENT, 0, CONTENT.length / 2);
+            target.abort();
+
+            throw new IOException("test");
+        }
+
+        os.write(CONTENT);
+        target.complete();
+
+        return repositoryPath;
+    }
+
+    private static class TestArtifactController
+            extends BaseArtifactController
+    {
+
+    }
+
+    private static class BlockingServletOutputStream
+            extends ServletOutputStream
+    {
+
+        private final OutputStream target;
+
+        private final CountDownLatch ready;
+
+        private BlockingServletOutputStream(OutputStream target,
+                                            CountDownLatch ready)
+        {
+            this.target = target;
+            this.ready = ready;
+        }
+
+        @Override
+        public void write(int b)
+            throws IOException
+        {
+            try
+            {
+                ready.await();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+
+                throw new IOException(e);
+            }
+
+            target.write(b);
+        }
+
+        @Override
+        public boolean isReady()
+        {
+            return ready.getCount() == 0;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
+}
@@ -0,0 +1,47 @@
+package org.carlspring.strongbox.controllers;
+
+import org.carlspring.strongbox.providers.repository.proxied.RemoteRepositoryOverloadedException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.ServletWebRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DefaultExceptionHandlerTest
+{
+
+    private final DefaultExceptionHandler exceptionHandler = new DefaultExceptionHandler();
+
+    private ServletWebRequest request;
+
+    @BeforeEach
+    public void setUp()
+    {
+        ReflectionTestUtils.setField(exceptionHandler, "contentNegotiationManager", new ContentNegotiationManager());
+
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/storages/storage0/proxied/a.jar");
+        servletRequest.addHeader(HttpHeaders.ACCEPT, MediaType.TEXT_PLAIN_VALUE);
+        request = new ServletWebRequest(servletRequest, new MockHttpServletResponse());
+    }
+
+    @Test
+    public void overloadedRemoteRepositoryShouldBeReportedAsServiceUnavailable()
+    {
+        RemoteRepositoryOverloadedException ex = new RemoteRepositoryOverloadedException("overloaded", 3);
+
+        ResponseEntity<?> response = exceptionHandler.handleRemoteRepositoryOverloadedException(ex, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+        assertThat(response.getBody()).isEqualTo("overloaded");
+    }
+
+}
@@ -294,6 +294,30 @@ public class CronTaskControllerTest
                .expect(MockMvcResultMatchers.jsonPath("errors[0].name").value(equalTo("fields[0].value")));
     }
 
+    @Test
+    public void shouldValidateLongTypeFields()
+    {
+        CronTaskConfigurationForm cronTaskConfigurationForm = new CronTaskConfigurationForm();
+        cronTaskConfigurationForm.setJobClass(EvictProxyRepositoryCacheCronJob.class.getName());
+        cronTaskConfigurationForm.setCronExpression("0 11 11 11 11 ? 2100");
+        cronTaskConfigurationForm.setFields(
+                Arrays.asList(new CronTaskConfigurationFormField[]{ CronTaskConfigurationFormField.newBuilder().name(
+                        "maxSizeInBytes").value("dziesiec").build() }));
+
+        mockMvc.contentType(MediaType.APPLICATION_JSON_VALUE)
+               .accept(MediaType.APPLICATION_JSON_VALUE)
+               .body(cronTaskConfigurationForm)
+               .when()
+               .put(getContextBaseUrl())
+               .peek()
+               .then()
+               .statusCode(HttpStatus.BAD_REQUEST.value())
+               .expect(MockMvcResultMatchers.jsonPath("errors[0].messages").value(hasItem(stringContainsInOrder(
+                       Arrays.asList(
+                               new String[]{ "Invalid value [dziesiec] type provided. [long] was expected." })))))
+               .expect(MockMvcResultMatchers.jsonPath("errors[0].name").value(equalTo("fields[0].value")));
+    }
+
     @Test
     public void shouldValidateBooleanTypeFields()
     {
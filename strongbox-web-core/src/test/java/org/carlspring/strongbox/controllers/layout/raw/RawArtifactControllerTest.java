@@ -17,6 +17,8 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
+import io.restassured.module.mockmvc.response.MockMvcResponse;
+import io.restassured.response.ExtractableResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -107,4 +109,61 @@ public class RawArtifactControllerTest
         assertThat(Files.exists(artifactRepositoryPath.toAbsolutePath())).as("Artifact does not exist!").isTrue();
     }
 
+    @ExtendWith(RepositoryManagementTestExecutionListener.class)
+    @Test
+    public void testConditionalDownload(@TestRepository(layout = RawLayoutProvider.ALIAS,
+                                                        repositoryId = REPOSITORY_RELEASES)
+                                        Repository repository)
+    {
+        final String storageId = repository.getStorage().getId();
+        final String repositoryId = repository.getId();
+
+        String path = "org/foo/bar/conditional.txt";
+        byte[] content = "This is a conditional test file\n".getBytes();
+
+        String url = getContextBaseUrl() + "/storages/" + storageId + "/" + repositoryId + "/" + path;
+
+        mockMvc.header(HttpHeaders.USER_AGENT, "Raw/*")
+               .contentType(MediaType.MULTIPART_FORM_DATA_VALUE)
+               .body(content)
+               .when()
+               .put(url)
+               .then()
+               .statusCode(HttpStatus.OK.value());
+
+        ExtractableResponse<MockMvcResponse> response = mockMvc.header(HttpHeaders.USER_AGENT, "Raw/*")
+                                                               .when()
+                                                               .get(url)
+                                                               .then()
+                                                               .statusCode(HttpStatus.OK.value())
+                                                               .extract();
+
+        String eTag = response.header(HttpHeaders.ETAG);
+        String lastModified = response.header(HttpHeaders.LAST_MODIFIED);
+        assertThat(eTag).isNotBlank();
+        assertThat(lastModified).isNotBlank();
+
+        mockMvc.header(HttpHeaders.USER_AGENT, "Raw/*")
+               .header(HttpHeaders.IF_NONE_MATCH, eTag)
+               .when()
+               .get(url)
+               .then()
+               .statusCode(HttpStatus.NOT_MODIFIED.value())
+               .header(HttpHeaders.ETAG, eTag);
+
+        mockMvc.header(HttpHeaders.USER_AGENT, "Raw/*")
+               .header(HttpHeaders.IF_MODIFIED_SINCE, lastModified)
+               .when()
+               .get(url)
+               .then()
+               .statusCode(HttpStatus.NOT_MODIFIED.value());
+
+        mockMvc.header(HttpHeaders.USER_AGENT, "Raw/*")
+               .header(HttpHeaders.IF_NONE_MATCH, "\"outdated\"")
+               .when()
+               .get(url)
+               .then()
+               .statusCode(HttpStatus.OK.value());
+    }
+
 }
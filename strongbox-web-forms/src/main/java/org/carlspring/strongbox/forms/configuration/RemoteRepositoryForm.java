@@ -2,6 +2,7 @@ package org.carlspring.strongbox.forms.configuration;
 
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 
 /**
@@ -33,6 +34,15 @@ public class RemoteRepositoryForm
 
     private boolean autoImportRemoteSSLCertificate;
 
+    @PositiveOrZero(message = "A rangedDownloadThreshold must be positive or zero.")
+    private Long rangedDownloadThreshold;
+
+    @Positive(message = "A rangedDownloadChunkSize must be positive.")
+    private Integer rangedDownloadChunkSize;
+
+    @Positive(message = "A rangedDownloadConcurrency must be positive.")
+    private Integer rangedDownloadConcurrency;
+
     public String getUrl()
     {
         return url;
@@ -92,4 +102,34 @@ public class RemoteRepositoryForm
     {
         return autoImportRemoteSSLCertificate;
     }
+
+    public Long getRangedDownloadThreshold()
+    {
+        return rangedDownloadThreshold;
+    }
+
+    public void setRangedDownloadThreshold(Long rangedDownloadThreshold)
+    {
+        this.rangedDownloadThreshold = rangedDownloadThreshold;
+    }
+
+    public Integer getRangedDownloadChunkSize()
+    {
+        return rangedDownloadChunkSize;
+    }
+
+    public void setRangedDownloadChunkSize(Integer rangedDownloadChunkSize)
+    {
+        this.rangedDownloadChunkSize = rangedDownloadChunkSize;
+    }
+
+    public Integer getRangedDownloadConcurrency()
+    {
+        return rangedDownloadConcurrency;
+    }
+
+    public void setRangedDownloadConcurrency(Integer rangedDownloadConcurrency)
+    {
+        this.rangedDownloadConcurrency = rangedDownloadConcurrency;
+    }
 }
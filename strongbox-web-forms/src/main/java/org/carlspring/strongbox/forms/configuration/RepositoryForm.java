@@ -66,6 +66,8 @@ public class RepositoryForm
 
     private boolean checksumHeadersEnabled;
 
+    private boolean virtualChecksumsEnabled;
+
     @Valid
     private ProxyConfigurationForm proxyConfiguration;
 
@@ -242,6 +244,16 @@ public class RepositoryForm
         this.checksumHeadersEnabled = checksumHeadersEnabled;
     }
 
+    public boolean isVirtualChecksumsEnabled()
+    {
+        return virtualChecksumsEnabled;
+    }
+
+    public void setVirtualChecksumsEnabled(final boolean virtualChecksumsEnabled)
+    {
+        this.virtualChecksumsEnabled = virtualChecksumsEnabled;
+    }
+
     public ProxyConfigurationForm getProxyConfiguration()
     {
         return proxyConfiguration;